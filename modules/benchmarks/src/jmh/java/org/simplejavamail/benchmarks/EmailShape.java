@@ -0,0 +1,97 @@
+package org.simplejavamail.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.CalendarMethod;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.util.Random;
+
+/**
+ * One email per {@code SpecializedMimeMessageProducer}, so each MimeMessage structure is measured separately. The enum names follow
+ * the producer names (MimeMessageProducerSimple, MimeMessageProducerAlternative etc.).
+ */
+public enum EmailShape {
+	SIMPLE(false, false, false),
+	ALTERNATIVE(false, false, true),
+	RELATED(false, true, false),
+	MIXED(true, false, false),
+	MIXED_RELATED(true, true, false),
+	MIXED_ALTERNATIVE(true, false, true),
+	RELATED_ALTERNATIVE(false, true, true),
+	MIXED_RELATED_ALTERNATIVE(true, true, true);
+
+	static final String FROM_ADDRESS = "benchmark.sender@simplejavamail.org";
+	static final String TO_ADDRESS = "benchmark.receiver@simplejavamail.org";
+
+	private static final int ATTACHMENT_SIZE = 256 * 1024;
+	private static final int EMBEDDED_IMAGE_SIZE = 16 * 1024;
+
+	private final boolean mixed;
+	private final boolean related;
+	private final boolean alternative;
+
+	EmailShape(final boolean mixed, final boolean related, final boolean alternative) {
+		this.mixed = mixed;
+		this.related = related;
+		this.alternative = alternative;
+	}
+
+	/**
+	 * @return A complete (valid) email that is produced by exactly the {@code SpecializedMimeMessageProducer} matching this shape.
+	 */
+	@NotNull
+	public Email produceEmail() {
+		final EmailPopulatingBuilder builder = EmailBuilder.startingBlank()
+				.from("Benchmark Sender", FROM_ADDRESS)
+				.to("Benchmark Receiver", TO_ADDRESS)
+				.withSubject("Benchmark email: " + name())
+				.withHeader("X-Benchmark-Shape", name());
+
+		if (related) {
+			builder.withHTMLText(html() + "<img src='cid:logo'>");
+			builder.withEmbeddedImage("logo", randomBytes(EMBEDDED_IMAGE_SIZE, 1), "image/png");
+			if (alternative) {
+				builder.withPlainText(plainText());
+			}
+		} else if (alternative) {
+			builder.withPlainText(plainText());
+			builder.withHTMLText(html());
+			builder.withCalendarText(CalendarMethod.REQUEST, "BEGIN:VCALENDAR\r\nMETHOD:REQUEST\r\nEND:VCALENDAR");
+		} else {
+			builder.withPlainText(plainText());
+		}
+
+		if (mixed) {
+			builder.withAttachment("statement.pdf", randomBytes(ATTACHMENT_SIZE, 2), "application/pdf");
+			builder.withAttachment("terms.txt", plainText().getBytes(), "text/plain");
+		}
+		return builder.buildEmail();
+	}
+
+	@NotNull
+	private static String plainText() {
+		final StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			text.append("Line ").append(i).append(": Dear customer, please find your monthly statement enclosed. Kind regards.\n");
+		}
+		return text.toString();
+	}
+
+	@NotNull
+	private static String html() {
+		final StringBuilder html = new StringBuilder("<html><body>");
+		for (int i = 0; i < 50; i++) {
+			html.append("<p>Line ").append(i).append(": Dear customer, please find your <b>monthly statement</b> enclosed. Kind regards.</p>");
+		}
+		return html.append("</body></html>").toString();
+	}
+
+	@NotNull
+	private static byte[] randomBytes(final int size, final long seed) {
+		final byte[] bytes = new byte[size];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,73 @@
+package org.simplejavamail.benchmarks;
+
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.converter.internal.mimemessage.MimeHeaderCache;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares encoding the headers and sender addresses that are identical for every email with and without the {@link MimeHeaderCache}, both
+ * for a single sending thread and for several threads contending for the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeaderEncodingBenchmark {
+
+	private static final String[][] HEADERS = {
+			{ "List-Unsubscribe", "<mailto:unsubscribe@simplejavamail.org?subject=unsubscribe>, <https://simplejavamail.org/unsubscribe/newsletter>" },
+			{ "List-Unsubscribe-Post", "List-Unsubscribe=One-Click" },
+			{ "X-Mailer", "Simple Java Mail Benchmark" },
+			{ "X-Campaign", "Monthly statement – Ünïcode edition" },
+	};
+
+	private static final Recipient FROM = new Recipient("Bénchmark Sender", EmailShape.FROM_ADDRESS, null);
+	private static final Recipient REPLY_TO = new Recipient("Bénchmark Support", "benchmark.support@simplejavamail.org", null);
+
+	@Benchmark
+	public void uncached(final Blackhole blackhole)
+			throws UnsupportedEncodingException {
+		for (final String[] header : HEADERS) {
+			blackhole.consume(MimeUtility.fold(header[0].length() + 2, MimeUtility.encodeText(header[1], UTF_8.name(), null)));
+		}
+		blackhole.consume(new InternetAddress(FROM.getAddress(), FROM.getName(), UTF_8.name()));
+		blackhole.consume(new InternetAddress(REPLY_TO.getAddress(), REPLY_TO.getName(), UTF_8.name()));
+	}
+
+	@Benchmark
+	public void cached(final Blackhole blackhole)
+			throws UnsupportedEncodingException {
+		for (final String[] header : HEADERS) {
+			blackhole.consume(MimeHeaderCache.encodeAndFoldHeaderValue(header[0], header[1]));
+		}
+		blackhole.consume(MimeHeaderCache.asInternetAddress(FROM));
+		blackhole.consume(MimeHeaderCache.asInternetAddress(REPLY_TO));
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void uncachedContended(final Blackhole blackhole)
+			throws UnsupportedEncodingException {
+		uncached(blackhole);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void cachedContended(final Blackhole blackhole)
+			throws UnsupportedEncodingException {
+		cached(blackhole);
+	}
+}
@@ -0,0 +1,104 @@
+package org.simplejavamail.benchmarks;
+
+import com.sanctionco.jmail.EmailValidator;
+import com.sanctionco.jmail.JMail;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.mailer.MailerHelper;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the individual steps {@code MailerImpl.sendMail} and {@code TransportRunner} run for every email, without an actual
+ * SMTP server, so library overhead can be told apart from network and server overhead (see {@link SmtpSendBenchmark} for the latter).
+ * <p>
+ * Each step includes the steps before it, so the cost of a single step is the difference with the previous benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SendPipelineBenchmark {
+
+	@Param
+	private EmailShape shape;
+
+	private Session session;
+	private EmailGovernance emailGovernance;
+	private EmailValidator emailValidator;
+	private Email userProvidedEmail;
+	private Email governedEmail;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		session = Session.getInstance(new Properties());
+		emailValidator = JMail.strictValidator();
+		emailGovernance = new EmailGovernanceImpl(emailValidator, null, null, null);
+		userProvidedEmail = shape.produceEmail();
+		governedEmail = emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
+	}
+
+	@Benchmark
+	public Email produceEmailApplyingDefaultsAndOverrides() {
+		return emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
+	}
+
+	@Benchmark
+	public boolean validate() {
+		return MailerHelper.validate(governedEmail, emailValidator);
+	}
+
+	@Benchmark
+	public MimeMessage produceMimeMessage()
+			throws UnsupportedEncodingException, MessagingException {
+		return MimeMessageProducerHelper.produceMimeMessage(governedEmail, session);
+	}
+
+	@Benchmark
+	public MimeMessage produceMimeMessageAndSaveChanges()
+			throws UnsupportedEncodingException, MessagingException {
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(governedEmail, session);
+		message.saveChanges();
+		return message;
+	}
+
+	@Benchmark
+	public MimeMessage produceMimeMessageAndWriteTo()
+			throws IOException, MessagingException {
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(governedEmail, session);
+		message.saveChanges();
+		message.writeTo(NullOutputStream.INSTANCE);
+		return message;
+	}
+
+	/**
+	 * The complete path as run for a single email by the Mailer, minus the Transport.
+	 */
+	@Benchmark
+	public MimeMessage fullPipeline()
+			throws IOException, MessagingException {
+		final Email email = emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
+		MailerHelper.validate(email, emailValidator);
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(email, session);
+		message.saveChanges();
+		message.writeTo(NullOutputStream.INSTANCE);
+		return message;
+	}
+}
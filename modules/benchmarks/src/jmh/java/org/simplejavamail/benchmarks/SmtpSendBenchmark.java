@@ -0,0 +1,101 @@
+package org.simplejavamail.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import org.subethamail.smtp.server.SMTPServer;
+import org.subethamail.wiser.Wiser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static jakarta.mail.Message.RecipientType.TO;
+
+/**
+ * Measures {@link Mailer#sendMail(Email)} end-to-end against a local SubEtha SMTP server (the same {@link Wiser} server used by
+ * {@code SmtpServerExtension} in the junit tests), so the results include connecting, the SMTP dialog and closing the connection.
+ * <p>
+ * Compare with {@link SendPipelineBenchmark#fullPipeline()} to see how much of the time is spent in the library itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SmtpSendBenchmark {
+
+	private static final int SERVER_PORT = 25568;
+	private static final int FAN_OUT_RECIPIENT_COUNT = 20;
+
+	@Param
+	private EmailShape shape;
+
+	private Wiser wiser;
+	private Mailer mailer;
+	private Email email;
+	private List<Recipient> fanOutRecipients;
+	private List<Email> emailPerRecipient;
+
+	@Setup(Level.Trial)
+	public void startServer() {
+		wiser = Wiser.create(SMTPServer.port(SERVER_PORT));
+		wiser.start();
+		mailer = MailerBuilder
+				.withSMTPServer("localhost", SERVER_PORT)
+				.withTransportStrategy(TransportStrategy.SMTP)
+				.buildMailer();
+		email = shape.produceEmail();
+		fanOutRecipients = new ArrayList<>();
+		emailPerRecipient = new ArrayList<>();
+		for (int i = 0; i < FAN_OUT_RECIPIENT_COUNT; i++) {
+			final Recipient recipient = new Recipient("Receiver " + i, "receiver" + i + "@simplejavamail.org", TO);
+			fanOutRecipients.add(recipient);
+			emailPerRecipient.add(EmailBuilder.copying(email).clearRecipients().withRecipient(recipient).buildEmail());
+		}
+	}
+
+	/**
+	 * Wiser keeps every received message in memory, which would otherwise skew the results of later iterations.
+	 */
+	@Setup(Level.Iteration)
+	public void clearReceivedMessages() {
+		wiser.getMessages().clear();
+	}
+
+	@TearDown(Level.Trial)
+	public void stopServer()
+			throws Exception {
+		mailer.close();
+		wiser.stop();
+	}
+
+	@Benchmark
+	public void sendMail() {
+		mailer.sendMail(email);
+	}
+
+	/**
+	 * Baseline for {@link #sendMailToEach()}: the same recipients, but with a separately produced email for each of them.
+	 */
+	@Benchmark
+	public void sendMailsPerRecipient() {
+		mailer.sendMails(emailPerRecipient);
+	}
+
+	@Benchmark
+	public void sendMailToEach() {
+		mailer.sendMailToEach(email, fanOutRecipients);
+	}
+}
@@ -25,7 +25,16 @@ public enum ContentTransferEncoding {
 	QUOTED_PRINTABLE("quoted-printable"),
 	UU("uuencode"),
 	X_UU("x-uuencode"),
-	X_UUE("x-uue");
+	X_UUE("x-uue"),
+	/**
+	 * Not an encoder itself: selects 7bit, quoted-printable or base64 for each text part, whichever results in the smallest part. Only applies to
+	 * the content bodies; attachments with this encoding are encoded as if none was given.
+	 * <p>
+	 * To use 8bit as well for servers that advertise 8BITMIME, enable the Session property {@code mail.smtp.allow8bitmime} (or {@code mail.smtps.allow8bitmime}),
+	 * with which Jakarta Mail converts text parts to 8bit while sending. Note that this changes the message after signing, so this doesn't go
+	 * together with DKIM.
+	 */
+	AUTO("auto");
 
 	private final String encoder;
 
@@ -16,9 +16,11 @@ import org.simplejavamail.api.internal.clisupport.model.CliBuilderApiType;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.internal.config.EmailProperty;
+import org.simplejavamail.internal.util.PathDataSource;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -1126,6 +1128,18 @@ public interface EmailPopulatingBuilder {
 	 */
 	EmailPopulatingBuilder withEmbeddedImage(@Nullable String name, @NotNull DataSource imagedata);
 
+	/**
+	 * Delegates to {@link #withEmbeddedImage(String, DataSource)}, with a {@link PathDataSource} for the given file. The file is only read while the
+	 * email is being written to the server (or to any other stream), and then in small chunks rather than as a whole, so large or often used
+	 * images don't occupy the heap.
+	 *
+	 * @param name The name of the image as being referred to from the message content body (e.g. 'src="cid:yourImageName"'). If not provided, the
+	 *             file name is used instead.
+	 * @param file The image file, of which the mimetype is determined by its extension.
+	 */
+	@Cli.ExcludeApi(reason = "This API is specifically for Java use")
+	EmailPopulatingBuilder withEmbeddedImage(@Nullable String name, @NotNull Path file);
+
 	/**
 	 * Delegates to {@link #withEmbeddedImage(String, DataSource)} for each embedded image.
 	 */
@@ -1219,6 +1233,17 @@ public interface EmailPopulatingBuilder {
 	@Cli.OptionNameOverride("withEncodedDescribedAttachment")
 	EmailPopulatingBuilder withAttachment(@Nullable String name, @NotNull DataSource filedata, @Nullable final String description, @Nullable final ContentTransferEncoding contentTransferEncoding);
 
+	/**
+	 * Delegates to {@link #withAttachment(String, DataSource)}, with a {@link PathDataSource} for the given file. The file is only read while the
+	 * email is being written to the server (or to any other stream), and then in small chunks rather than as a whole, so large attachments sent
+	 * with many emails don't occupy the heap.
+	 *
+	 * @param name Optional name of the attachment (e.g. 'filename.ext'). If omitted, the file name is used.
+	 * @param file The file to attach, of which the mimetype is determined by its extension.
+	 */
+	@Cli.ExcludeApi(reason = "This API is specifically for Java use")
+	EmailPopulatingBuilder withAttachment(@Nullable String name, @NotNull Path file);
+
 	/**
 	 * Delegates to {@link #withAttachment(String, DataSource)} for each attachment.
 	 */
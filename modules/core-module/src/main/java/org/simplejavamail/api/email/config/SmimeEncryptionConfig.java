@@ -7,11 +7,12 @@ import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
-import org.simplejavamail.internal.util.CertificationUtil;
+import org.simplejavamail.api.internal.smimesupport.Pkcs12KeyStoreCache;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.security.NoSuchProviderException;
@@ -19,6 +20,7 @@ import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
 import static java.lang.String.format;
+import static org.simplejavamail.internal.util.MiscUtil.readInputStreamToBytes;
 
 /**
  * @see #getKeyEncapsulationAlgorithm()
@@ -137,11 +139,19 @@ public class SmimeEncryptionConfig implements Serializable {
         }
 
         /**
-         * Delegates to {@link #x509Certificate(X509Certificate)}.
+         * Delegates to {@link #x509Certificate(X509Certificate)}. The certificate is read only the first time the same PEM data is seen.
+         *
+         * @see Pkcs12KeyStoreCache#x509CertificateFor(byte[])
          */
         public SmimeEncryptionConfigBuilder x509Certificate(@NotNull final InputStream pemStream) {
+            final byte[] pemData;
+            try {
+                pemData = readInputStreamToBytes(pemStream);
+            } catch (IOException e) {
+                throw new IllegalStateException("Was unable to read PEM data from input stream", e);
+            }
             try {
-                return x509Certificate(CertificationUtil.readFromPem(pemStream));
+                return x509Certificate(Pkcs12KeyStoreCache.x509CertificateFor(pemData));
             } catch (CertificateException e) {
                 throw new IllegalStateException("Was unable to convert PEM data to X509 certificate", e);
             } catch (NoSuchProviderException e) {
@@ -0,0 +1,166 @@
+package org.simplejavamail.api.internal.dkimsupport;
+
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.email.config.DkimConfig.Canonicalization;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Process-wide cache of the {@link DkimSigningMaterial} of each {@link DkimConfig}, so the DKIM module doesn't decode the same private key and
+ * resolve the same headers for every message. Entries are keyed by a SHA-256 fingerprint of the complete config (so the raw private key isn't
+ * retained as a key), and the least recently used entry is evicted once the cache is full.
+ *
+ * @see org.simplejavamail.internal.modules.DKIMModule#resolveSigningMaterial(DkimConfig)
+ */
+public final class DkimSignerCache {
+
+	static final int MAXIMUM_ENTRIES = 64;
+
+	/**
+	 * The headers signed by default, as recommended by <a href="https://tools.ietf.org/html/rfc6376#section-5.4.1">RFC 6376 section 5.4.1</a>.
+	 */
+	static final List<String> DEFAULT_HEADERS_TO_SIGN = unmodifiableList(asList(
+			"Content-Description", "Content-ID", "Content-Type", "Content-Transfer-Encoding", "Cc", "Date", "From", "In-Reply-To", "List-Subscribe",
+			"List-Post", "List-Owner", "List-Id", "List-Archive", "List-Help", "List-Unsubscribe", "MIME-Version", "Message-ID", "Resent-Sender",
+			"Resent-Cc", "Resent-Date", "Resent-To", "Reply-To", "References", "Resent-Message-ID", "Resent-From", "Sender", "Subject", "To"));
+
+	static final String DEFAULT_SIGNING_ALGORITHM = "SHA256_WITH_RSA";
+
+	private static final String PEM_BOUNDARY_PREFIX = "-----";
+
+	/**
+	 * Guarded by itself.
+	 */
+	private static final Map<String, DkimSigningMaterial> SIGNING_MATERIALS = new LinkedHashMap<String, DkimSigningMaterial>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, DkimSigningMaterial> eldest) {
+			return size() > MAXIMUM_ENTRIES;
+		}
+	};
+
+	private DkimSignerCache() {
+	}
+
+	/**
+	 * @return The parsed private key and resolved settings for the given config, parsed only the first time the config is seen.
+	 * @throws IllegalArgumentException If the private key can't be decoded.
+	 */
+	@NotNull
+	public static DkimSigningMaterial signingMaterialFor(@NotNull final DkimConfig dkimConfig) {
+		val fingerprint = fingerprint(dkimConfig);
+		synchronized (SIGNING_MATERIALS) {
+			val signingMaterial = SIGNING_MATERIALS.get(fingerprint);
+			if (signingMaterial != null) {
+				return signingMaterial;
+			}
+		}
+		val signingMaterial = resolveSigningMaterial(dkimConfig);
+		synchronized (SIGNING_MATERIALS) {
+			SIGNING_MATERIALS.put(fingerprint, signingMaterial);
+		}
+		return signingMaterial;
+	}
+
+	@NotNull
+	static String fingerprint(@NotNull final DkimConfig dkimConfig) {
+		final MessageDigest digest = sha256();
+		digest.update(dkimConfig.getDkimPrivateKeyData());
+		for (final String field : asList(
+				dkimConfig.getDkimSigningDomain(),
+				dkimConfig.getDkimSelector(),
+				valueOf(dkimConfig.getUseLengthParam()),
+				valueOf(dkimConfig.getExcludedHeadersFromDkimDefaultSigningList() != null
+						? new TreeSet<>(dkimConfig.getExcludedHeadersFromDkimDefaultSigningList())
+						: null),
+				valueOf(dkimConfig.getHeaderCanonicalization()),
+				valueOf(dkimConfig.getBodyCanonicalization()),
+				valueOf(dkimConfig.getSigningAlgorithm()))) {
+			digest.update((byte) 0);
+			digest.update(valueOf(field).getBytes(UTF_8));
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	@NotNull
+	private static DkimSigningMaterial resolveSigningMaterial(@NotNull final DkimConfig dkimConfig) {
+		val signingAlgorithm = dkimConfig.getSigningAlgorithm() != null ? dkimConfig.getSigningAlgorithm() : DEFAULT_SIGNING_ALGORITHM;
+		return new DkimSigningMaterial(
+				parsePrivateKey(dkimConfig.getDkimPrivateKeyData(), signingAlgorithm, dkimConfig.getDkimSigningDomain()),
+				dkimConfig.getDkimSigningDomain(),
+				dkimConfig.getDkimSelector(),
+				resolveHeadersToSign(dkimConfig.getExcludedHeadersFromDkimDefaultSigningList()),
+				dkimConfig.getHeaderCanonicalization() != null ? dkimConfig.getHeaderCanonicalization() : Canonicalization.RELAXED,
+				dkimConfig.getBodyCanonicalization() != null ? dkimConfig.getBodyCanonicalization() : Canonicalization.RELAXED,
+				signingAlgorithm,
+				Boolean.TRUE.equals(dkimConfig.getUseLengthParam()));
+	}
+
+	@NotNull
+	static List<String> resolveHeadersToSign(@Nullable final Set<String> excludedHeaders) {
+		val headersToSign = new ArrayList<String>(DEFAULT_HEADERS_TO_SIGN);
+		if (excludedHeaders != null) {
+			headersToSign.removeIf(header -> excludedHeaders.stream().anyMatch(header::equalsIgnoreCase));
+		}
+		return unmodifiableList(headersToSign);
+	}
+
+	/**
+	 * Accepts PKCS#8 keys, either DER encoded or PEM encoded.
+	 */
+	@NotNull
+	static PrivateKey parsePrivateKey(final byte@NotNull[] privateKeyData, @NotNull final String signingAlgorithm, @NotNull final String signingDomain) {
+		try {
+			val keyAlgorithm = signingAlgorithm.toUpperCase().contains("ED25519") ? "Ed25519" : "RSA";
+			return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyData)));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IllegalArgumentException(format("invalid DKIM private key for signing domain %s", signingDomain), e);
+		}
+	}
+
+	private static byte@NotNull[] decodePem(final byte@NotNull[] privateKeyData) {
+		val text = new String(privateKeyData, US_ASCII);
+		if (!text.trim().startsWith(PEM_BOUNDARY_PREFIX)) {
+			return privateKeyData;
+		}
+		val base64 = new StringBuilder();
+		for (final String line : text.split("\r?\n")) {
+			if (!line.startsWith(PEM_BOUNDARY_PREFIX)) {
+				base64.append(line.trim());
+			}
+		}
+		return Base64.getDecoder().decode(base64.toString());
+	}
+
+	@NotNull
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is supported by every Java platform", e);
+		}
+	}
+}
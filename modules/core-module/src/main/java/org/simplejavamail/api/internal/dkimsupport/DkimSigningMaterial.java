@@ -0,0 +1,38 @@
+package org.simplejavamail.api.internal.dkimsupport;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.email.config.DkimConfig.Canonicalization;
+
+import java.security.PrivateKey;
+import java.util.List;
+
+/**
+ * Everything the DKIM module needs from a {@link DkimConfig} to sign a message, parsed and resolved once: the private key, the headers to sign
+ * and the (defaulted) canonicalization and signing settings.
+ *
+ * @see DkimSignerCache#signingMaterialFor(DkimConfig)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@ToString(exclude = "privateKey")
+public final class DkimSigningMaterial {
+
+	@NotNull private final PrivateKey privateKey;
+	@NotNull private final String signingDomain;
+	@NotNull private final String selector;
+
+	/**
+	 * The default headers to sign, minus {@link DkimConfig#getExcludedHeadersFromDkimDefaultSigningList()}, in their original case.
+	 */
+	@NotNull private final List<String> headersToSign;
+
+	@NotNull private final Canonicalization headerCanonicalization;
+	@NotNull private final Canonicalization bodyCanonicalization;
+	@NotNull private final String signingAlgorithm;
+	private final boolean useLengthParam;
+}
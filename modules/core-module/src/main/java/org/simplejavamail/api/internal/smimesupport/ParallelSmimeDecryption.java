@@ -0,0 +1,140 @@
+package org.simplejavamail.api.internal.smimesupport;
+
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.OriginalSmimeDetails;
+import org.simplejavamail.api.internal.smimesupport.builder.SmimeParseResult;
+import org.simplejavamail.api.internal.smimesupport.model.AttachmentDecryptionResult;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.internal.modules.SMIMEModule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Decrypts and verifies the S/MIME attachments of a message concurrently, rather than one after another, while keeping the order of the
+ * attachments. Attachments are independent of each other, so each is handed to the S/MIME module on its own.
+ *
+ * @see SMIMEModule#decryptAttachments(List, jakarta.mail.internet.MimeMessage, Pkcs12Config, Executor)
+ */
+public final class ParallelSmimeDecryption {
+
+	private ParallelSmimeDecryption() {
+	}
+
+	/**
+	 * Determines the message's own S/MIME details by letting the S/MIME module parse the message without attachments, after which the attachments
+	 * are decrypted in parallel. The signed or encrypted email is only ever the single attachment of a message, so with more attachments it is
+	 * never set.
+	 * <p>
+	 * This relies on the module determining the message-level S/MIME details from the message alone: the module's message-level finalize step must
+	 * not depend on the attachment list, or the details parsed without attachments would differ from those of the sequential decryption. The same
+	 * details are then handed to each per-attachment decryption, exactly as the sequential decryption does for all attachments at once.
+	 *
+	 * @param messageDecrypter Parses the message with the given attachments, as the module's sequential {@code decryptAttachments} does.
+	 */
+	@NotNull
+	public static SmimeParseResult decryptAttachments(@NotNull final SMIMEModule smimeModule, @NotNull final List<AttachmentResource> attachments,
+			@NotNull final Function<List<AttachmentResource>, SmimeParseResult> messageDecrypter, @Nullable final Pkcs12Config pkcs12Config,
+			@NotNull final Executor executor) {
+		if (attachments.size() < 2) {
+			return messageDecrypter.apply(attachments);
+		}
+		val messageSmimeDetails = messageDecrypter.apply(emptyList()).getOriginalSmimeDetails();
+		val decryptionResults = decryptInParallel(attachments, smimeModule::isSmimeAttachment,
+				attachment -> smimeModule.decryptAttachments(singletonList(attachment), pkcs12Config, messageSmimeDetails), executor);
+		return new ParallelSmimeParseResult(messageSmimeDetails, decryptionResults);
+	}
+
+	/**
+	 * Only S/MIME attachments are handed to the executor; the other attachments are merely copied, which isn't worth a thread.
+	 *
+	 * @return The results of all attachments, in the order of the attachments.
+	 */
+	@NotNull
+	static List<AttachmentDecryptionResult> decryptInParallel(@NotNull final List<AttachmentResource> attachments,
+			@NotNull final Predicate<AttachmentResource> isSmimeAttachment,
+			@NotNull final Function<AttachmentResource, List<AttachmentDecryptionResult>> attachmentDecrypter, @NotNull final Executor executor) {
+		val pendingResults = new ArrayList<CompletableFuture<List<AttachmentDecryptionResult>>>(attachments.size());
+		for (final AttachmentResource attachment : attachments) {
+			pendingResults.add(isSmimeAttachment.test(attachment)
+					? CompletableFuture.supplyAsync(() -> attachmentDecrypter.apply(attachment), executor)
+					: CompletableFuture.completedFuture(attachmentDecrypter.apply(attachment)));
+		}
+		val results = new ArrayList<AttachmentDecryptionResult>(attachments.size());
+		for (final CompletableFuture<List<AttachmentDecryptionResult>> pendingResult : pendingResults) {
+			results.addAll(awaitResult(pendingResult));
+		}
+		return results;
+	}
+
+	/**
+	 * Rethrows the failure the decryption would have thrown had it been done on the current thread.
+	 */
+	@NotNull
+	private static List<AttachmentDecryptionResult> awaitResult(@NotNull final CompletableFuture<List<AttachmentDecryptionResult>> pendingResult) {
+		try {
+			return pendingResult.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static final class ParallelSmimeParseResult implements SmimeParseResult {
+
+		@NotNull private final OriginalSmimeDetails originalSmimeDetails;
+		@NotNull private final List<AttachmentDecryptionResult> decryptedAttachmentResults;
+		@NotNull private final List<AttachmentResource> decryptedAttachments;
+
+		private ParallelSmimeParseResult(@NotNull final OriginalSmimeDetails originalSmimeDetails,
+				@NotNull final List<AttachmentDecryptionResult> decryptedAttachmentResults) {
+			this.originalSmimeDetails = originalSmimeDetails;
+			this.decryptedAttachmentResults = unmodifiableList(decryptedAttachmentResults);
+			val decryptedAttachments = new ArrayList<AttachmentResource>(decryptedAttachmentResults.size());
+			for (final AttachmentDecryptionResult decryptedAttachmentResult : decryptedAttachmentResults) {
+				decryptedAttachments.add(decryptedAttachmentResult.getAttachmentResource());
+			}
+			this.decryptedAttachments = unmodifiableList(decryptedAttachments);
+		}
+
+		@NotNull
+		@Override
+		public OriginalSmimeDetails getOriginalSmimeDetails() {
+			return originalSmimeDetails;
+		}
+
+		@Nullable
+		@Override
+		public AttachmentResource getSmimeSignedOrEncryptedEmail() {
+			return null;
+		}
+
+		@NotNull
+		@Override
+		public List<AttachmentDecryptionResult> getDecryptedAttachmentResults() {
+			return decryptedAttachmentResults;
+		}
+
+		@NotNull
+		@Override
+		public List<AttachmentResource> getDecryptedAttachments() {
+			return decryptedAttachments;
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package org.simplejavamail.api.internal.smimesupport;
+
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.internal.util.CertificationUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Process-wide cache of decoded PKCS12 keystores (see {@link #keyStoreMaterialFor(Pkcs12Config)}) and PEM certificates (see
+ * {@link #x509CertificateFor(byte[])}), so the S/MIME module doesn't run the password based key derivation of the same keystore for every
+ * message. Entries are keyed by a SHA-256 fingerprint of the store data and passwords (so neither is retained as a key), expire an hour after
+ * they were decoded, so decoded private keys of configs no longer in use don't stay in memory, and the least recently used entry is evicted once
+ * the cache is full.
+ *
+ * @see org.simplejavamail.internal.modules.SMIMEModule#resolveKeyStoreMaterial(Pkcs12Config)
+ */
+public final class Pkcs12KeyStoreCache {
+
+	static final int MAXIMUM_ENTRIES = 64;
+	static final long TIME_TO_LIVE_NANOS = TimeUnit.HOURS.toNanos(1);
+
+	private static final String KEYSTORE_TYPE = "PKCS12";
+
+	private static final ExpiringCache<Pkcs12KeyStoreMaterial> KEYSTORE_MATERIALS = new ExpiringCache<>();
+	private static final ExpiringCache<X509Certificate> CERTIFICATES = new ExpiringCache<>();
+
+	private Pkcs12KeyStoreCache() {
+	}
+
+	/**
+	 * @return The loaded keystore with the private key and certificates under the configured key alias, decoded only the first time the config
+	 * is seen (within the hour).
+	 * @throws IllegalArgumentException If the keystore can't be loaded, or doesn't hold a private key with certificate under the key alias.
+	 */
+	@NotNull
+	public static Pkcs12KeyStoreMaterial keyStoreMaterialFor(@NotNull final Pkcs12Config pkcs12Config) {
+		return keyStoreMaterialFor(pkcs12Config, System.nanoTime());
+	}
+
+	@NotNull
+	static Pkcs12KeyStoreMaterial keyStoreMaterialFor(@NotNull final Pkcs12Config pkcs12Config, final long nowNanos) {
+		val storePassword = pkcs12Config.getStorePassword();
+		val keyPassword = pkcs12Config.getKeyPassword();
+		try {
+			val fingerprint = fingerprint(pkcs12Config.getPkcs12StoreData(), storePassword, pkcs12Config.getKeyAlias().toCharArray(), keyPassword);
+			val cachedMaterial = KEYSTORE_MATERIALS.get(fingerprint, nowNanos);
+			if (cachedMaterial != null) {
+				return cachedMaterial;
+			}
+			val keyStoreMaterial = decodeKeyStore(pkcs12Config.getPkcs12StoreData(), storePassword, pkcs12Config.getKeyAlias(), keyPassword);
+			KEYSTORE_MATERIALS.put(fingerprint, keyStoreMaterial, nowNanos);
+			return keyStoreMaterial;
+		} finally {
+			Arrays.fill(storePassword, '\0');
+			Arrays.fill(keyPassword, '\0');
+		}
+	}
+
+	/**
+	 * @return The certificate read from the given PEM data, read only the first time the data is seen (within the hour).
+	 * @see CertificationUtil#readFromPem(java.io.InputStream)
+	 */
+	@NotNull
+	public static X509Certificate x509CertificateFor(final byte@NotNull[] pemData)
+			throws CertificateException, NoSuchProviderException {
+		val nowNanos = System.nanoTime();
+		val fingerprint = fingerprint(pemData);
+		val cachedCertificate = CERTIFICATES.get(fingerprint, nowNanos);
+		if (cachedCertificate != null) {
+			return cachedCertificate;
+		}
+		val certificate = CertificationUtil.readFromPem(new ByteArrayInputStream(pemData));
+		CERTIFICATES.put(fingerprint, certificate, nowNanos);
+		return certificate;
+	}
+
+	@NotNull
+	private static Pkcs12KeyStoreMaterial decodeKeyStore(final byte@NotNull[] pkcs12StoreData, @NotNull final char[] storePassword,
+			@NotNull final String keyAlias, @NotNull final char[] keyPassword) {
+		try {
+			val keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
+			keyStore.load(new ByteArrayInputStream(pkcs12StoreData), storePassword);
+			val privateKey = (PrivateKey) keyStore.getKey(keyAlias, keyPassword);
+			val certificateChain = keyStore.getCertificateChain(keyAlias);
+			if (privateKey == null || certificateChain == null || certificateChain.length == 0) {
+				throw new IllegalArgumentException(format("PKCS12 keystore has no private key with certificate under key alias %s", keyAlias));
+			}
+			val certificates = new ArrayList<X509Certificate>();
+			for (final Certificate certificate : certificateChain) {
+				certificates.add((X509Certificate) certificate);
+			}
+			return new Pkcs12KeyStoreMaterial(keyStore, privateKey, unmodifiableList(certificates), certificates.get(0));
+		} catch (GeneralSecurityException | IOException | ClassCastException e) {
+			throw new IllegalArgumentException(format("invalid PKCS12 keystore or password for key alias %s", keyAlias), e);
+		}
+	}
+
+	@NotNull
+	static String fingerprint(final byte@NotNull[] data, @NotNull final char[]... secrets) {
+		final MessageDigest digest = sha256();
+		digest.update(data);
+		for (final char[] secret : secrets) {
+			digest.update((byte) 0);
+			digest.update(UTF_8.encode(CharBuffer.wrap(secret)));
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	@NotNull
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is supported by every Java platform", e);
+		}
+	}
+
+	/**
+	 * LRU cache of which the entries expire after {@link #TIME_TO_LIVE_NANOS}.
+	 */
+	private static final class ExpiringCache<T> {
+
+		/**
+		 * Guarded by this.
+		 */
+		private final Map<String, ExpiringEntry<T>> entries = new LinkedHashMap<String, ExpiringEntry<T>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, ExpiringEntry<T>> eldest) {
+				return size() > MAXIMUM_ENTRIES;
+			}
+		};
+
+		@Nullable
+		synchronized T get(@NotNull final String fingerprint, final long nowNanos) {
+			val entry = entries.get(fingerprint);
+			if (entry == null) {
+				return null;
+			} else if (nowNanos - entry.expiresAtNanos >= 0) {
+				entries.remove(fingerprint);
+				return null;
+			}
+			return entry.value;
+		}
+
+		synchronized void put(@NotNull final String fingerprint, @NotNull final T value, final long nowNanos) {
+			entries.put(fingerprint, new ExpiringEntry<>(value, nowNanos + TIME_TO_LIVE_NANOS));
+		}
+	}
+
+	private static final class ExpiringEntry<T> {
+		@NotNull private final T value;
+		private final long expiresAtNanos;
+
+		private ExpiringEntry(@NotNull final T value, final long expiresAtNanos) {
+			this.value = value;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package org.simplejavamail.api.internal.smimesupport;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+/**
+ * Everything the S/MIME module needs from a {@link Pkcs12Config} to sign or decrypt a message, decoded once: the loaded keystore and the private
+ * key and certificates under the configured key alias.
+ * <p>
+ * These objects are shared between threads, so they should only be read from, never modified.
+ *
+ * @see Pkcs12KeyStoreCache#keyStoreMaterialFor(Pkcs12Config)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@ToString(of = "certificate")
+public final class Pkcs12KeyStoreMaterial {
+
+	@NotNull private final KeyStore keyStore;
+	@NotNull private final PrivateKey privateKey;
+
+	/**
+	 * The certificate chain of the key alias, starting with its own {@link #certificate}.
+	 */
+	@NotNull private final List<X509Certificate> certificateChain;
+
+	@NotNull private final X509Certificate certificate;
+}
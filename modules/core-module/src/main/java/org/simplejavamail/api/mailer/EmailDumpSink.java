@@ -0,0 +1,24 @@
+package org.simplejavamail.api.mailer;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+
+import java.io.IOException;
+
+/**
+ * Receives every email in {@link MailerGenericBuilder#withTransportModeLoggingOnly(Boolean) logging only mode}, instead of the email being
+ * rendered completely into a single String and logged at INFO level. Implementations are expected to stream the message (for example with
+ * {@link MimeMessage#writeTo(java.io.OutputStream)}), so the memory needed doesn't grow with the size of the attachments.
+ * <p>
+ * Simple Java Mail comes with implementations that write each email to a rotating directory of EML files and that log the email with its
+ * attachments truncated, see {@code org.simplejavamail.mailer.EmailDumpSinks}.
+ * <p>
+ * <strong>Note:</strong> the sink is called concurrently when sending asynchronously.
+ *
+ * @see MailerGenericBuilder#withEmailDumpSink(EmailDumpSink)
+ */
+public interface EmailDumpSink {
+	void dump(@NotNull Email email, @NotNull MimeMessage message) throws IOException, MessagingException;
+}
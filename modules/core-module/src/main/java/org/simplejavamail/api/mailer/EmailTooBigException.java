@@ -11,4 +11,11 @@ public class EmailTooBigException extends RuntimeException {
     public EmailTooBigException(final long emailSize, final long maximumEmailSize) {
         super(format("Email size of %s bytes exceeds maximum allowed size of %s bytes", emailSize, maximumEmailSize));
     }
+
+    /**
+     * For when rendering the email was stopped as soon as it exceeded the maximum, so its actual size is unknown.
+     */
+    public EmailTooBigException(final long maximumEmailSize) {
+        super(format("Email size exceeds maximum allowed size of %s bytes", maximumEmailSize));
+    }
 }
@@ -0,0 +1,70 @@
+package org.simplejavamail.api.mailer;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of the cache of encoded attachments and embedded images, which is only used when enabled.
+ * <p>
+ * A hit count that stays low compared to the miss count means the attachments are hardly ever the same, or that the cache is too small to keep
+ * them until they are used again (in which case the eviction count rises along with the miss count).
+ *
+ * @see Mailer#getEncodedAttachmentCacheStats()
+ * @see MailerGenericBuilder#withEncodedAttachmentCache(long)
+ */
+public final class EncodedAttachmentCacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long evictionCount;
+	private final int entryCount;
+	private final long sizeInBytes;
+
+	public EncodedAttachmentCacheStats(final long hitCount, final long missCount, final long evictionCount, final int entryCount, final long sizeInBytes) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.entryCount = entryCount;
+		this.sizeInBytes = sizeInBytes;
+	}
+
+	/**
+	 * @return How many times an attachment's encoded body was taken from the cache.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return How many times an attachment had to be encoded because it wasn't in the cache.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return How many encoded bodies were removed from the cache to stay within its size.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return The number of encoded bodies currently in the cache.
+	 */
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * @return The combined size of the encoded bodies currently in the cache.
+	 */
+	public long getSizeInBytes() {
+		return sizeInBytes;
+	}
+
+	@Override
+	public String toString() {
+		return format("EncodedAttachmentCacheStats{hitCount=%s, missCount=%s, evictionCount=%s, entryCount=%s, sizeInBytes=%s}",
+				hitCount, missCount, evictionCount, entryCount, sizeInBytes);
+	}
+}
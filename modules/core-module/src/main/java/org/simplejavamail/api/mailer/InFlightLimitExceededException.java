@@ -0,0 +1,17 @@
+package org.simplejavamail.api.mailer;
+
+import org.simplejavamail.api.mailer.config.InFlightLimitPolicy;
+
+import static java.lang.String.format;
+
+/**
+ * Thrown when an email is sent asynchronously while the maximum number of in-flight async sends has been reached.
+ *
+ * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+ * @see InFlightLimitPolicy#REJECT
+ */
+public class InFlightLimitExceededException extends RuntimeException {
+    public InFlightLimitExceededException(final int maximumInFlightSends) {
+        super(format("Maximum of %s in-flight async sends reached", maximumInFlightSends));
+    }
+}
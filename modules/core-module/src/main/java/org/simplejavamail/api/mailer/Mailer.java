@@ -7,14 +7,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.MailException;
 import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.api.mailer.config.ServerConfig;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * Mailing tool created exclusively using {@link MailerRegularBuilder}. This class is the facade to most Simple Java Mail functionality
@@ -88,6 +92,74 @@ public interface Mailer extends AutoCloseable {
 	 * @see #validate(Email)
 	 */
 	@NotNull CompletableFuture<Void> sendMail(Email email, @SuppressWarnings("SameParameterValue") boolean async);
+
+	/**
+	 * Sends all given emails over a single SMTP connection (claimed from the connection pool, if one is used), rather than connecting for every email
+	 * as {@link #sendMail(Email)} does. When the connection is lost halfway, a new one is made for the remaining emails.
+	 * <p>
+	 * All emails are governed and validated up front (see {@link #sendMail(Email, boolean)}), so when one of them is invalid, none are sent.
+	 * <p>
+	 * Emails are sent in sequence on the same thread, which is a separate thread when {@link OperationalConfig#isAsync()} is {@code true}.
+	 * Send failures are reported through the returned futures, also when not sending asynchronously: a failed email does not stop the others from
+	 * being sent, unless the connection cannot be (re)established, in which case all remaining futures fail as well.
+	 *
+	 * @param emails The emails to send, in order.
+	 * @return One {@link CompletableFuture} per email, in the same order as the given emails.
+	 * @throws MailException When any of the emails doesn't validate.
+	 */
+	@NotNull List<CompletableFuture<Void>> sendMails(@NotNull Collection<Email> emails);
+
+	/**
+	 * Delegates to {@link #sendMails(Collection)}. Note that the stream is consumed completely before sending starts, since all emails are validated
+	 * up front.
+	 */
+	@NotNull List<CompletableFuture<Void>> sendMails(@NotNull Stream<Email> emails);
+
+	/**
+	 * Sends a separate copy of the email to each of the given recipients, each with only that recipient in its To header and SMTP envelope. Unlike
+	 * sending an {@link Email} per recipient with {@link #sendMails(Collection)}, the email is produced and encoded only once: the copies share the
+	 * rendered body and only get their own To header and Message-ID.
+	 * <p>
+	 * The recipients of the email itself (including any added by defaults or overrides) are replaced by the given recipients, and their
+	 * {@link Recipient#getType() types} are ignored. Override receivers still apply to every copy. The email and all recipients are validated up
+	 * front, so when any of them is invalid, nothing is sent.
+	 * <p>
+	 * When the email is signed with DKIM, which covers the To header and Message-ID, when it is signed or encrypted with S/MIME, which the S/MIME
+	 * module applies to the message as a whole, or when the email cannot be sent over a Transport (see
+	 * {@link OperationalConfig#isTransportModeLoggingOnly()} and {@link OperationalConfig#getCustomMailer()}), this falls back to producing the email
+	 * once for each recipient.
+	 * <p>
+	 * Otherwise, sending and failure reporting work as with {@link #sendMails(Collection)}.
+	 *
+	 * @param email      The email to send, without regard for its own recipients.
+	 * @param recipients The recipients that each get their own copy, in order.
+	 * @return One {@link CompletableFuture} per recipient, in the same order as the given recipients.
+	 * @throws MailException When the email or any of the recipients doesn't validate.
+	 */
+	@NotNull List<CompletableFuture<Void>> sendMailToEach(@NotNull Email email, @NotNull Collection<Recipient> recipients);
+
+	/**
+	 * Does everything {@link #sendMail(Email)} does before the email is handed to the Transport: applying defaults and overrides, validating,
+	 * producing the MIME message (including S/MIME and DKIM), checking the maximum email size and logging. The result holds the final bytes and
+	 * SMTP envelope, which can then be sent with {@link #send(PreparedMessage)}, possibly on another thread.
+	 * <p>
+	 * This allows the CPU bound rendering to be scaled separately from the I/O bound sending. Note that with the batch-module, the email is
+	 * rendered using this mailer's Session and governance, even if it ends up being sent by another server in the cluster.
+	 *
+	 * @return The rendered email, which is immutable.
+	 * @throws MailException When the email doesn't validate, is too big or fails to render.
+	 */
+	@NotNull PreparedMessage prepare(@NotNull Email email);
+
+	/**
+	 * Sends the exact bytes of the given message to its envelope recipients, without producing, encoding or logging the message again. Like
+	 * {@link #sendMail(Email)}, this is done on a separate thread when {@link OperationalConfig#isAsync()} is {@code true}.
+	 * <p>
+	 * Not supported in combination with a {@link CustomMailer}, as it requires the original {@link Email}.
+	 *
+	 * @param preparedMessage The result of {@link #prepare(Email)}, from this or any other Mailer.
+	 */
+	@NotNull CompletableFuture<Void> send(@NotNull PreparedMessage preparedMessage);
 	
 	/**
 	 * Validates an {@link Email} instance. Validation fails if the subject is missing, content is missing, or no recipients are defined or that
@@ -118,10 +190,38 @@ public interface Mailer extends AutoCloseable {
 	 * <p>
 	 * <strong>Note:</strong> This does *not* shut down the executor service if it was provided by the user.
 	 * <p>
-	 * <strong>Note:</strong> this is only works in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 * <strong>Note:</strong> without the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, this shuts down the simpler built-in connection pool, if
+	 * enabled with {@link MailerGenericBuilder#withBuiltInConnectionPool(boolean)}.
 	 */
 	Future<?> shutdownConnectionPool();
 
+	/**
+	 * @return The number of async sends that have been submitted but haven't finished yet, which includes emails still queued in the executor.
+	 * @see MailerGenericBuilder#withMaximumInFlightSends(int, org.simplejavamail.api.mailer.config.InFlightLimitPolicy)
+	 */
+	int getInFlightSendCount();
+
+	/**
+	 * @return Start and stop counts of the proxy bridge, which is only used with an authenticated proxy.
+	 * @see MailerGenericBuilder#withProxyBridgeIdleTimeoutMillis(Integer)
+	 */
+	@NotNull
+	ProxyBridgeStats getProxyBridgeStats();
+
+	/**
+	 * @return Hit, miss and eviction counts of the cache of encoded attachments, which are all zero when the cache isn't used.
+	 * @see MailerGenericBuilder#withEncodedAttachmentCache(long)
+	 */
+	@NotNull
+	EncodedAttachmentCacheStats getEncodedAttachmentCacheStats();
+
+	/**
+	 * @return Queue depth and latency of the crypto and transport stages of async sending, which are all zero when the stages aren't used.
+	 * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	@NotNull
+	SendPipelineStats getSendPipelineStats();
+
 	/**
 	 * @return The server connection details. Will be {@code null} in case a custom fixed {@link Session} instance is used.
 	 * @see MailerRegularBuilder#withSMTPServer(String, Integer, String, String)
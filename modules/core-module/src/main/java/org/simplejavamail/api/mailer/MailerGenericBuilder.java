@@ -8,6 +8,7 @@ import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.clisupport.model.Cli;
 import org.simplejavamail.api.internal.clisupport.model.CliBuilderApiType;
+import org.simplejavamail.api.mailer.config.InFlightLimitPolicy;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 
@@ -95,6 +96,30 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * Default port is <code>{@value}</code>.
 	 */
 	int DEFAULT_PROXY_BRIDGE_PORT = 1081;
+	/**
+	 * Defaults to <code>{@value}</code>, stopping the proxy bridge as soon as the last running send has finished.
+	 */
+	int DEFAULT_PROXY_BRIDGE_IDLE_TIMEOUT_MILLIS = 0;
+	/**
+	 * Defaults to <code>{@value}</code>, failing sends on the first failure.
+	 */
+	int DEFAULT_TRANSIENT_FAILURE_RETRIES = 0;
+	/**
+	 * Default backoff before the first retry is <code>{@value}</code>ms.
+	 */
+	int DEFAULT_RETRY_INITIAL_BACKOFF_MILLIS = 1000;
+	/**
+	 * Default maximum backoff between retries is <code>{@value}</code>ms.
+	 */
+	int DEFAULT_RETRY_MAX_BACKOFF_MILLIS = 60_000;
+	/**
+	 * Defaults to <code>{@value}</code>, encoding attachments for every email.
+	 */
+	long DEFAULT_ENCODED_ATTACHMENT_CACHE_SIZE = 0;
+	/**
+	 * Defaults to <code>{@value}</code>, encoding attachments one after another while writing the email.
+	 */
+	int DEFAULT_PARALLEL_ATTACHMENT_ENCODING_THRESHOLD = 0;
 	/**
 	 * Defaults to <code>{@value}</code>, sending mails rather than just only logging the mails.
 	 */
@@ -197,6 +222,21 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withProxyBridgePort(@NotNull Integer proxyBridgePort);
 
+	/**
+	 * Relevant only when using username authentication with a proxy.
+	 * <p>
+	 * Keeps the intermediary SOCKS5 relay server bridge running for the given time after the last running send (or connection test) has finished,
+	 * so that a steady trickle of emails doesn't have to restart the bridge for every email.
+	 * <p>
+	 * Defaults to {@value DEFAULT_PROXY_BRIDGE_IDLE_TIMEOUT_MILLIS}.
+	 * <p>
+	 * <strong>Note:</strong> this is only works in combination with the {@value org.simplejavamail.internal.modules.AuthenticatedSocksModule#NAME}.
+	 *
+	 * @param proxyBridgeIdleTimeoutMillis Time in milliseconds the proxy bridge may stay idle before it is stopped.
+	 * @see Mailer#getProxyBridgeStats()
+	 */
+	T withProxyBridgeIdleTimeoutMillis(@NotNull Integer proxyBridgeIdleTimeoutMillis);
+
 	/**
 	 * This flag is set on the Session instance through {@link Session#setDebug(boolean)} so that it generates debug information. To get more
 	 * information out of the underlying JavaMail framework or out of Simple Java Mail, increase logging config of your chosen logging-framework.
@@ -259,12 +299,27 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 
 	/**
 	 * Sets a maximum size for emails (as MimeMessage) in bytes. If an email exceeds this size, exception @{@link EmailTooBigException} will be thrown (as the cause).
+	 * <p>
+	 * The size check only counts bytes, also when {@link #withMaximumEmailSize(int, boolean)} was called before.
 	 *
 	 * @param maximumEmailSize Maximum size of an email (as MimeMessage) in bytes.
 	 * @see #clearMaximumEmailSize()
 	 */
 	T withMaximumEmailSize(int maximumEmailSize);
 
+	/**
+	 * Like {@link #withMaximumEmailSize(int)}, but with the option to send the bytes that were rendered for the size check, rather than rendering the
+	 * email a second time for sending. Either way, rendering stops as soon as the maximum size is exceeded.
+	 * <p>
+	 * Sending the size checked bytes saves the CPU time of producing and encoding the email twice, at the cost of keeping the rendered email
+	 * (at most the maximum size) in memory until it has been sent. Without it, the size check only counts bytes and needs no extra memory.
+	 *
+	 * @param maximumEmailSize     Maximum size of an email (as MimeMessage) in bytes.
+	 * @param sendSizeCheckedBytes Whether to send the bytes rendered for the size check.
+	 * @see #clearMaximumEmailSize()
+	 */
+	T withMaximumEmailSize(int maximumEmailSize, boolean sendSizeCheckedBytes);
+
 	/**
 	 * <strong>For advanced use cases.</strong>
 	 * <p>
@@ -291,6 +346,142 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withExecutorService(@NotNull ExecutorService executorService);
 
+	/**
+	 * Sends asynchronously using a new virtual thread per email (Java 21's {@code Executors.newVirtualThreadPerTaskExecutor()}), instead of the
+	 * fixed size thread pool configured with {@link #withThreadPoolSize(Integer)}. Since sending an email mostly means waiting for the SMTP
+	 * server, this allows many concurrent sends without having to size a platform thread pool for it.
+	 * <p>
+	 * Concurrency is then limited only by the connection pool, if one is used (see {@link #withConnectionPoolMaxSize(Integer)} and
+	 * {@link #withBuiltInConnectionPool(boolean)}).
+	 * <p>
+	 * <strong>Note:</strong> requires Java 21 or newer at runtime, building the mailer fails otherwise. Also note that before Java 24, a virtual thread
+	 * that is blocked inside a {@code synchronized} section (which Jakarta Mail's Transport uses while sending) occupies its carrier thread.
+	 * <p>
+	 * <strong>Note:</strong> an executor service provided with {@link #withExecutorService(ExecutorService)} takes precedence over this.
+	 *
+	 * @see #resetExecutorService()
+	 */
+	T withVirtualThreadExecutor();
+
+	/**
+	 * Limits the number of async sends that have been submitted to the executor but haven't finished yet. Without this limit, a burst of async sends
+	 * keeps queueing up fully built emails (attachments included) until memory runs out.
+	 * <p>
+	 * When the maximum has been reached, the given policy determines what happens with the next async send. Sending synchronously is never limited.
+	 * A single {@link Mailer#sendMails(java.util.Collection)} call counts as one in-flight send.
+	 *
+	 * @param maximumInFlightSends Maximum number of async sends queued or in progress at the same time (at least 1).
+	 * @param inFlightLimitPolicy  Whether to block, reject or send in the calling thread when the maximum has been reached.
+	 * @see Mailer#getInFlightSendCount()
+	 * @see #clearMaximumInFlightSends()
+	 */
+	T withMaximumInFlightSends(int maximumInFlightSends, @NotNull InFlightLimitPolicy inFlightLimitPolicy);
+
+	/**
+	 * Retries async sends that failed for a transient reason, such as an SMTP 4xx reply (server busy, greylisting, mailbox temporarily unavailable)
+	 * or a lost or refused connection. Permanent failures, such as 5xx replies, authentication failures and invalid emails, are never retried.
+	 * Neither are failures of an email that was already sent to some of its recipients (with {@code mail.smtp.sendpartial} enabled), as
+	 * retrying would send it to those recipients again.
+	 * <p>
+	 * Retries are scheduled with exponential backoff and jitter: the n-th retry waits a random time between half and all of
+	 * {@code initialBackoffMillis * 2^(n-1)}, capped at {@code maxBackoffMillis}. No thread is kept waiting in the meantime, so retrying doesn't
+	 * block the executor's threads, which also means other emails keep being sent while a relay is having trouble. An email that is waiting to be
+	 * retried still counts as in-flight, though (see {@link #withMaximumInFlightSends(int, InFlightLimitPolicy)}), so it adds back pressure rather
+	 * than load.
+	 * <p>
+	 * The future returned by {@link Mailer#sendMail(Email)} completes with the outcome of the last attempt. When all
+	 * attempts failed, the failures of the earlier attempts are added to its exception as {@link Throwable#getSuppressed() suppressed} exceptions.
+	 * <p>
+	 * <strong>Note:</strong> only applies to {@link Mailer#sendMail(Email)} and {@link Mailer#send(PreparedMessage)}
+	 * when sending asynchronously, as a synchronous send would have to block the calling thread for the backoff.
+	 *
+	 * @param maxRetries           Maximum number of retries after the first attempt, or {@code 0} to disable retrying
+	 *                             (default {@value DEFAULT_TRANSIENT_FAILURE_RETRIES}).
+	 * @param initialBackoffMillis Backoff before the first retry, not negative (default {@value DEFAULT_RETRY_INITIAL_BACKOFF_MILLIS}).
+	 * @param maxBackoffMillis     Upper limit for the backoff between retries, not negative (default {@value DEFAULT_RETRY_MAX_BACKOFF_MILLIS}).
+	 * @see #clearTransientFailureRetries()
+	 */
+	T withTransientFailureRetries(int maxRetries, int initialBackoffMillis, int maxBackoffMillis);
+
+	/**
+	 * Splits async sending into separate stages, so producing emails doesn't compete with sending them for the same threads:
+	 * <ol>
+	 *     <li><strong>build</strong>: applying defaults and overrides and validating the email, in the calling thread as usual;</li>
+	 *     <li><strong>crypto</strong>: producing the message, including S/MIME signing, S/MIME encryption and DKIM signing, and rendering it to its
+	 *     final bytes, on a dedicated pool of the given size;</li>
+	 *     <li><strong>transport</strong>: sending the rendered message, on the executor service (see {@link #withThreadPoolSize(Integer)} and
+	 *     {@link #withExecutorService(ExecutorService)}).</li>
+	 * </ol>
+	 * Without this, every stage runs on the executor service's threads, so a burst of signing or encrypting occupies the threads that should be
+	 * sending, and the pool can't be sized for both the CPU bound and the I/O bound work. Size the crypto pool to the number of cores (see
+	 * {@link Runtime#availableProcessors()}) and the executor service to the number of concurrent SMTP connections.
+	 * <p>
+	 * Each stage takes at most the given number of emails waiting in its queue. When the crypto queue is full, the calling thread blocks until
+	 * there is room; when the transport queue is full, the crypto threads block, so producing emails never gets ahead of sending them by more than
+	 * the queue capacity. Use {@link Mailer#getSendPipelineStats()} to see the queue depth and latency of each stage.
+	 * <p>
+	 * <strong>Note:</strong> only applies to {@link Mailer#sendMail(Email)} when sending asynchronously, not in combination with
+	 * {@link #withTransportModeLoggingOnly(Boolean)} or {@link #withCustomMailer(CustomMailer)}, as both need the email itself rather than the
+	 * rendered message. Transient failures are retried in the transport stage (see {@link #withTransientFailureRetries(int, int, int)}).
+	 * <p>
+	 * <strong>Note:</strong> the crypto threads are non-daemon threads that die off when idle, so the JVM waits for accepted sends that haven't been
+	 * produced or sent yet before exiting, as it does for the executor service.
+	 *
+	 * @param cryptoThreadPoolSize The number of threads that produce, sign and encrypt emails (at least 1).
+	 * @param stageQueueCapacity   The maximum number of emails waiting in each stage's queue (at least 1).
+	 * @see #clearStagedSendPipeline()
+	 */
+	T withStagedSendPipeline(int cryptoThreadPoolSize, int stageQueueCapacity);
+
+	/**
+	 * Keeps the encoded (base64, quoted-printable etc.) bodies of attachments and embedded images in a cache, so attachments that are sent with
+	 * many emails, such as terms and conditions or a company logo, are encoded only once rather than for every email.
+	 * <p>
+	 * Bodies are cached by a hash of their data, so the same attachment is found regardless of its name or the data source it's provided with.
+	 * The least recently used bodies are evicted once the combined size of the cached bodies exceeds the given size, which should leave room for
+	 * the base64 overhead of a third. Use {@link Mailer#getEncodedAttachmentCacheStats()} to see how effective the cache is.
+	 * <p>
+	 * <strong>Note:</strong> the cache is bound to this Mailer's Session, so it doesn't apply to the {@code EmailConverter}.
+	 *
+	 * @param maximumCacheSizeInBytes The maximum combined size of the cached bodies, or {@code 0} to disable the cache
+	 *                                (default {@value DEFAULT_ENCODED_ATTACHMENT_CACHE_SIZE}).
+	 * @see #clearEncodedAttachmentCache()
+	 */
+	T withEncodedAttachmentCache(long maximumCacheSizeInBytes);
+
+	/**
+	 * Writes emails straight to their final MIME form, rather than building a {@code MimeMessage} with nested multiparts and body parts first
+	 * and having Jakarta Mail render that. This saves the intermediate objects and Jakarta Mail's {@code saveChanges()} pass for every email. The
+	 * MIME structure, headers and encodings are the same as otherwise; only multipart boundaries and the order of some headers differ.
+	 * <p>
+	 * Emails that need the {@code MimeMessage}, such as emails that are signed or encrypted with S/MIME or that forward another email, are
+	 * still produced as {@code MimeMessage} as usual. Emails signed with DKIM are signed while they are written, hashing the body in the same
+	 * pass, rather than by the DKIM module.
+	 *
+	 * @param directMimeRendering Whether to write supported emails directly (default false).
+	 * @see #clearDirectMimeRendering()
+	 */
+	T withDirectMimeRendering(boolean directMimeRendering);
+
+	/**
+	 * Base64 encodes attachments and embedded images of at least the given size in parallel (on a dedicated pool as big as the number of
+	 * processors), rather than one after another on the sending thread while the email is written. This reduces the time to send emails with
+	 * several large attachments, while the emails themselves are byte for byte the same.
+	 * <p>
+	 * Only applies to attachments whose size is known up front, which is the case for files and byte arrays. Combines with
+	 * {@link #withEncodedAttachmentCache(long)}, in which case attachments that aren't cached yet are encoded in parallel.
+	 * <p>
+	 * <strong>Note:</strong> each attachment that is encoded in parallel is held in memory as a whole (encoded, so a third bigger) until the email
+	 * has been written. Attachments that are streamed from disk while the email is written (see
+	 * {@link org.simplejavamail.api.email.EmailPopulatingBuilder#withAttachment(String, java.nio.file.Path)}) are therefore never encoded in
+	 * parallel, so they keep needing next to no memory.
+	 *
+	 * @param thresholdInBytes The minimum (unencoded) size for encoding an attachment in parallel, or {@code 0} to disable parallel encoding
+	 *                         (default {@value DEFAULT_PARALLEL_ATTACHMENT_ENCODING_THRESHOLD}).
+	 * @see #clearParallelAttachmentEncoding()
+	 */
+	T withParallelAttachmentEncoding(int thresholdInBytes);
+
 	/**
 	 * Sets max thread pool size to the given size (default is {@value #DEFAULT_POOL_SIZE}).
 	 * <p>
@@ -340,7 +531,8 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * Configures the connection pool's core size (default {@value DEFAULT_CONNECTIONPOOL_CORE_SIZE}), which means the SMTP connection pool will keep X connections open at all times until shut down.
 	 * Note that this also means that if you configure an auto-expiry timeout, these connections die off and new ones are created immediately to maintain core size.
 	 * <p>
-	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 * <strong>Note:</strong> without the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, this is used by the simpler built-in
+	 * connection pool (which doesn't support clustering), if enabled with {@link #withBuiltInConnectionPool(boolean)}.
 	 *
 	 * @param connectionPoolCoreSize See main description.
 	 */
@@ -356,7 +548,8 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * on a <em>claim</em> for an available {@code Transport} instance. In other words: by having an oversized connection pool, you inadvertently bypass the blocking claim mechanism of the
 	 * connection pool and wait on the Transport directly instead.
 	 * <p>
-	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 * <strong>Note:</strong> without the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, this is used by the simpler built-in
+	 * connection pool (which doesn't support clustering), if enabled with {@link #withBuiltInConnectionPool(boolean)}.
 	 *
 	 * @param connectionPoolMaxSize See main description.
 	 */
@@ -366,7 +559,8 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * If {@code >0}, configures the connection pool to wait for a limited time after which the attempt to claim a Transport connection errors out.
 	 * The default is to wait indefinately until a connection becomes available in the pool.
 	 * <p>
-	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 * <strong>Note:</strong> without the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, this is used by the simpler built-in
+	 * connection pool (which doesn't support clustering), if enabled with {@link #withBuiltInConnectionPool(boolean)}.
 	 *
 	 * @param connectionPoolClaimTimeoutMillis See main description.
 	 */
@@ -378,7 +572,8 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * Note that if you combine this with {@link #withConnectionPoolCoreSize(Integer)} also {@code >0} (default is {@value DEFAULT_CONNECTIONPOOL_CORE_SIZE}), connections will keep
 	 * closing and opening to keep core pool populated until shut down.
 	 * <p>
-	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 * <strong>Note:</strong> without the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, this is used by the simpler built-in
+	 * connection pool (which doesn't support clustering), if enabled with {@link #withBuiltInConnectionPool(boolean)}.
 	 *
 	 * @param connectionPoolExpireAfterMillis See main description.
 	 */
@@ -396,6 +591,19 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withConnectionPoolLoadBalancingStrategy(@NotNull LoadBalancingStrategy loadBalancingStrategy);
 
+	/**
+	 * Reuses SMTP connections between emails with a simpler built-in connection pool, in case the {@value org.simplejavamail.internal.modules.BatchModule#NAME}
+	 * is not loaded. By default, every email is sent over a new connection which is closed right after, unless the batch-module is loaded.
+	 * <p>
+	 * The built-in pool is sized by {@link #withConnectionPoolCoreSize(Integer)}, {@link #withConnectionPoolMaxSize(Integer)},
+	 * {@link #withConnectionPoolClaimTimeoutMillis(Integer)} and {@link #withConnectionPoolExpireAfterMillis(Integer)}, so idle connections stay
+	 * open until they expire and concurrent sends are limited to the pool's max size. It doesn't support clustering.
+	 *
+	 * @param builtInConnectionPool Whether to pool connections when the batch-module is not loaded.
+	 * @see #clearBuiltInConnectionPool()
+	 */
+	T withBuiltInConnectionPool(boolean builtInConnectionPool);
+
 	/**
 	 * Determines whether at the very last moment an email is sent out using JavaMail's native API or whether the email is simply only logged.
 	 *
@@ -405,6 +613,19 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withTransportModeLoggingOnly(@NotNull Boolean transportModeLoggingOnly);
 
+	/**
+	 * Hands every email to the given sink in {@link #withTransportModeLoggingOnly(Boolean) logging only mode}, instead of logging the complete
+	 * email at INFO level. The complete email (attachments included) is otherwise rendered into a single String first, which doesn't go well with
+	 * large attachments under load.
+	 * <p>
+	 * See {@code org.simplejavamail.mailer.EmailDumpSinks} for sinks that write EML files to a rotating directory or that log emails with their
+	 * attachments truncated.
+	 *
+	 * @param emailDumpSink The sink that receives the emails that are not actually sent.
+	 * @see #clearEmailDumpSink()
+	 */
+	T withEmailDumpSink(@NotNull EmailDumpSink emailDumpSink);
+
 	/**
 	 * Configures the new session to only accept server certificates issued to one of the provided hostnames. Note that verifying server identity
 	 * can be turned on and off with {@link #verifyingServerIdentity(boolean)}.
@@ -512,7 +733,7 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 
 	/**
 	 * Resets the executor services to be used back to the default, created by the Batch module if loaded, or else
-	 * {@link Executors#newSingleThreadExecutor()}.
+	 * {@link Executors#newSingleThreadExecutor()}. Also undoes {@link #withVirtualThreadExecutor()}.
 	 * <p>
 	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
 	 *
@@ -610,6 +831,13 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T resetConnectionPoolLoadBalancingStrategy();
 
+	/**
+	 * Sends every email over a new connection again when the batch-module is not loaded, which is the default.
+	 *
+	 * @see #withBuiltInConnectionPool(boolean)
+	 */
+	T clearBuiltInConnectionPool();
+
 	/**
 	 * Resets transportModeLoggingOnly to {@value #DEFAULT_TRANSPORT_MODE_LOGGING_ONLY}.
 	 *
@@ -645,12 +873,62 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	T clearEmailOverrides();
 
 	/**
-	 * Makes the maximum email size <code>null</code>, meaning no size check will be performed.
+	 * Makes the maximum email size <code>null</code>, meaning no size check will be performed. Also stops sending the size checked bytes.
 	 *
 	 * @see #withMaximumEmailSize(int)
+	 * @see #withMaximumEmailSize(int, boolean)
 	 */
 	T clearMaximumEmailSize();
 
+	/**
+	 * Removes the limit on the number of in-flight async sends.
+	 *
+	 * @see #withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	T clearMaximumInFlightSends();
+
+	/**
+	 * Disables retrying transient failures, which is the default.
+	 *
+	 * @see #withTransientFailureRetries(int, int, int)
+	 */
+	T clearTransientFailureRetries();
+
+	/**
+	 * Runs every stage of async sending on the executor service's threads, which is the default.
+	 *
+	 * @see #withStagedSendPipeline(int, int)
+	 */
+	T clearStagedSendPipeline();
+
+	/**
+	 * Disables the cache of encoded attachments, which is the default.
+	 *
+	 * @see #withEncodedAttachmentCache(long)
+	 */
+	T clearEncodedAttachmentCache();
+
+	/**
+	 * Produces all emails as {@code MimeMessage} again, which is the default.
+	 *
+	 * @see #withDirectMimeRendering(boolean)
+	 */
+	T clearDirectMimeRendering();
+
+	/**
+	 * Encodes attachments one after another again, which is the default.
+	 *
+	 * @see #withParallelAttachmentEncoding(int)
+	 */
+	T clearParallelAttachmentEncoding();
+
+	/**
+	 * Logs the complete email at INFO level again in logging only mode, which is the default.
+	 *
+	 * @see #withEmailDumpSink(EmailDumpSink)
+	 */
+	T clearEmailDumpSink();
+
 	/**
 	 * Removes all trusted hosts from the list.
 	 *
@@ -705,6 +983,12 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@Nullable
 	Integer getProxyBridgePort();
 
+	/**
+	 * @see #withProxyBridgeIdleTimeoutMillis(Integer)
+	 */
+	@NotNull
+	Integer getProxyBridgeIdleTimeoutMillis();
+
 	/**
 	 * @see #withDebugLogging(Boolean)
 	 */
@@ -745,6 +1029,11 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@Nullable
 	Integer getMaximumEmailSize();
 
+	/**
+	 * @see #withMaximumEmailSize(int, boolean)
+	 */
+	boolean isSendingSizeCheckedBytes();
+
 	/**
 	 * Returns the user set ExecutorService or else null as the default ExecutorService is not created until the {@link org.simplejavamail.api.mailer.config.OperationalConfig} is created for the
 	 * new {@link Mailer} instance.
@@ -754,6 +1043,64 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@Nullable
 	ExecutorService getExecutorService();
 
+	/**
+	 * @see #withVirtualThreadExecutor()
+	 */
+	boolean isVirtualThreadExecutor();
+
+	/**
+	 * @see #withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@Nullable
+	Integer getMaximumInFlightSends();
+
+	/**
+	 * @see #withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@NotNull
+	InFlightLimitPolicy getInFlightLimitPolicy();
+
+	/**
+	 * @see #withTransientFailureRetries(int, int, int)
+	 */
+	int getTransientFailureRetries();
+
+	/**
+	 * @see #withTransientFailureRetries(int, int, int)
+	 */
+	int getRetryInitialBackoffMillis();
+
+	/**
+	 * @see #withTransientFailureRetries(int, int, int)
+	 */
+	int getRetryMaxBackoffMillis();
+
+	/**
+	 * @see #withStagedSendPipeline(int, int)
+	 */
+	@Nullable
+	Integer getSendPipelineCryptoThreadPoolSize();
+
+	/**
+	 * @see #withStagedSendPipeline(int, int)
+	 */
+	int getSendPipelineStageQueueCapacity();
+
+	/**
+	 * @see #withEncodedAttachmentCache(long)
+	 */
+	long getEncodedAttachmentCacheSize();
+
+	/**
+	 * @see #withDirectMimeRendering(boolean)
+	 */
+	boolean isDirectMimeRendering();
+
+	/**
+	 * @see #withParallelAttachmentEncoding(int)
+	 */
+	int getParallelAttachmentEncodingThreshold();
+
 	/**
 	 * @see #withThreadPoolSize(Integer)
 	 */
@@ -802,6 +1149,11 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@NotNull
 	LoadBalancingStrategy getConnectionPoolLoadBalancingStrategy();
 
+	/**
+	 * @see #withBuiltInConnectionPool(boolean)
+	 */
+	boolean isBuiltInConnectionPool();
+
 	/**
 	 * @see #trustingSSLHosts(String...)
 	 */
@@ -829,6 +1181,12 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@Nullable
 	Properties getProperties();
 
+	/**
+	 * @see #withEmailDumpSink(EmailDumpSink)
+	 */
+	@Nullable
+	EmailDumpSink getEmailDumpSink();
+
 	/**
 	 * @see #withCustomMailer(CustomMailer)
 	 */
@@ -0,0 +1,115 @@
+package org.simplejavamail.api.mailer;
+
+import jakarta.mail.internet.SharedInputStream;
+import jakarta.mail.util.SharedByteArrayInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * An email that has been fully rendered by {@link Mailer#prepare(Email)}: defaults and overrides have been applied, it has been validated and
+ * produced as MIME message, including S/MIME and DKIM if configured. What remains are the exact bytes that go over the wire and the SMTP
+ * envelope, which is all {@link Mailer#send(PreparedMessage)} needs.
+ * <p>
+ * Instances are immutable and can be handed over between threads freely, so emails can be rendered on one thread pool (CPU bound) and sent on
+ * another (I/O bound).
+ */
+public final class PreparedMessage {
+
+	@Nullable private final String id;
+	@Nullable private final String subject;
+	@NotNull private final byte[] wireBytes;
+	@NotNull private final List<String> envelopeRecipients;
+	@Nullable private final String envelopeFrom;
+
+	/**
+	 * For internal use; instances are created by {@link Mailer#prepare(Email)}.
+	 *
+	 * @param wireBytes Not copied, so the caller must not modify it afterwards.
+	 */
+	public PreparedMessage(@Nullable final String id, @Nullable final String subject, @NotNull final byte[] wireBytes,
+			@NotNull final List<String> envelopeRecipients, @Nullable final String envelopeFrom) {
+		this.id = id;
+		this.subject = subject;
+		this.wireBytes = wireBytes;
+		this.envelopeRecipients = Collections.unmodifiableList(new ArrayList<>(envelopeRecipients));
+		this.envelopeFrom = envelopeFrom;
+	}
+
+	/**
+	 * @return The Message-ID header value of the rendered message.
+	 */
+	@Nullable
+	public String getId() {
+		return id;
+	}
+
+	@Nullable
+	public String getSubject() {
+		return subject;
+	}
+
+	/**
+	 * @return The size of the rendered message in bytes.
+	 */
+	public int getSize() {
+		return wireBytes.length;
+	}
+
+	/**
+	 * @return A new stream over the rendered message, without copying it. Being a {@link SharedInputStream}, a {@link jakarta.mail.internet.MimeMessage}
+	 * parsed from it shares the bytes as well, rather than copying its content.
+	 */
+	@NotNull
+	public InputStream getInputStream() {
+		return new SharedByteArrayInputStream(wireBytes);
+	}
+
+	/**
+	 * Writes the rendered message to the given stream, without copying it first.
+	 */
+	public void writeTo(@NotNull final OutputStream outputStream)
+			throws IOException {
+		outputStream.write(wireBytes);
+	}
+
+	/**
+	 * @return A copy of the rendered message.
+	 */
+	@NotNull
+	public byte[] toByteArray() {
+		return wireBytes.clone();
+	}
+
+	/**
+	 * @return The addresses the message is delivered to (RCPT TO), which are the override receivers if set, or else all recipients of the email.
+	 * @see org.simplejavamail.api.email.EmailPopulatingBuilder#withOverrideReceivers(org.simplejavamail.api.email.Recipient...)
+	 */
+	@NotNull
+	public List<String> getEnvelopeRecipients() {
+		return envelopeRecipients;
+	}
+
+	/**
+	 * @return The bounce address (MAIL FROM), or {@code null} if the Session's default should be used.
+	 * @see org.simplejavamail.api.email.EmailPopulatingBuilder#withBounceTo(String)
+	 */
+	@Nullable
+	public String getEnvelopeFrom() {
+		return envelopeFrom;
+	}
+
+	@Override
+	public String toString() {
+		return format("PreparedMessage{id=%s, subject=%s, size=%s, envelopeRecipients=%s, envelopeFrom=%s}", id, subject, wireBytes.length, envelopeRecipients, envelopeFrom);
+	}
+}
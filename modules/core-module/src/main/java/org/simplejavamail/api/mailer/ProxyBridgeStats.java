@@ -0,0 +1,62 @@
+package org.simplejavamail.api.mailer;
+
+import org.simplejavamail.api.mailer.config.ProxyConfig;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of the life cycle of the intermediary SOCKS5 relay server (the proxy bridge), which is only used for authenticated proxies.
+ * <p>
+ * A start count that keeps pace with the number of emails sent means the bridge is stopped between sends; in that case consider raising
+ * {@link MailerGenericBuilder#withProxyBridgeIdleTimeoutMillis(Integer)}.
+ *
+ * @see Mailer#getProxyBridgeStats()
+ * @see ProxyConfig#requiresAuthentication()
+ */
+public final class ProxyBridgeStats {
+
+	private final long startCount;
+	private final long stopCount;
+	private final int activeOperations;
+	private final boolean running;
+
+	public ProxyBridgeStats(final long startCount, final long stopCount, final int activeOperations, final boolean running) {
+		this.startCount = startCount;
+		this.stopCount = stopCount;
+		this.activeOperations = activeOperations;
+		this.running = running;
+	}
+
+	/**
+	 * @return How many times the proxy bridge was started by the Mailer.
+	 */
+	public long getStartCount() {
+		return startCount;
+	}
+
+	/**
+	 * @return How many times the proxy bridge was stopped by the Mailer.
+	 */
+	public long getStopCount() {
+		return stopCount;
+	}
+
+	/**
+	 * @return The number of send and connection test operations that are currently running or queued.
+	 */
+	public int getActiveOperations() {
+		return activeOperations;
+	}
+
+	/**
+	 * @return Whether the proxy bridge is currently running (always {@code false} when no authenticated proxy is used).
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public String toString() {
+		return format("ProxyBridgeStats{startCount=%s, stopCount=%s, activeOperations=%s, running=%s}", startCount, stopCount, activeOperations, running);
+	}
+}
@@ -0,0 +1,57 @@
+package org.simplejavamail.api.mailer;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of a single stage of async sending.
+ *
+ * @see SendPipelineStats
+ */
+public final class SendPipelineStageStats {
+
+	private final int queueDepth;
+	private final int activeCount;
+	private final long completedCount;
+	private final long averageLatencyMillis;
+
+	public SendPipelineStageStats(final int queueDepth, final int activeCount, final long completedCount, final long averageLatencyMillis) {
+		this.queueDepth = queueDepth;
+		this.activeCount = activeCount;
+		this.completedCount = completedCount;
+		this.averageLatencyMillis = averageLatencyMillis;
+	}
+
+	/**
+	 * @return The number of emails waiting in the stage's queue.
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * @return The number of emails currently being processed by the stage, which for the transport stage includes emails waiting to be retried.
+	 */
+	public int getActiveCount() {
+		return activeCount;
+	}
+
+	/**
+	 * @return How many emails went through the stage, successfully or not.
+	 */
+	public long getCompletedCount() {
+		return completedCount;
+	}
+
+	/**
+	 * @return The average time from entering the stage's queue until leaving the stage, of the emails that went through it.
+	 */
+	public long getAverageLatencyMillis() {
+		return averageLatencyMillis;
+	}
+
+	@Override
+	public String toString() {
+		return format("SendPipelineStageStats{queueDepth=%s, activeCount=%s, completedCount=%s, averageLatencyMillis=%s}",
+				queueDepth, activeCount, completedCount, averageLatencyMillis);
+	}
+}
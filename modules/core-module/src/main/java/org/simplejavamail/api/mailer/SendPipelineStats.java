@@ -0,0 +1,46 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of the crypto and transport stages of async sending, which are only used when enabled.
+ * <p>
+ * A crypto stage that keeps a deep queue while the transport stage's queue stays empty means the crypto pool is too small for the signing and
+ * encryption load; the other way around, the executor service (or the connection pool) can't keep up with sending.
+ *
+ * @see Mailer#getSendPipelineStats()
+ * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+ */
+public final class SendPipelineStats {
+
+	@NotNull private final SendPipelineStageStats cryptoStage;
+	@NotNull private final SendPipelineStageStats transportStage;
+
+	public SendPipelineStats(@NotNull final SendPipelineStageStats cryptoStage, @NotNull final SendPipelineStageStats transportStage) {
+		this.cryptoStage = cryptoStage;
+		this.transportStage = transportStage;
+	}
+
+	/**
+	 * @return The stage that produces, signs, encrypts and renders emails.
+	 */
+	@NotNull
+	public SendPipelineStageStats getCryptoStage() {
+		return cryptoStage;
+	}
+
+	/**
+	 * @return The stage that sends the rendered emails.
+	 */
+	@NotNull
+	public SendPipelineStageStats getTransportStage() {
+		return transportStage;
+	}
+
+	@Override
+	public String toString() {
+		return format("SendPipelineStats{cryptoStage=%s, transportStage=%s}", cryptoStage, transportStage);
+	}
+}
@@ -0,0 +1,24 @@
+package org.simplejavamail.api.mailer.config;
+
+import org.simplejavamail.api.mailer.InFlightLimitExceededException;
+import org.simplejavamail.api.mailer.MailerGenericBuilder;
+
+/**
+ * Defines what happens when an email is sent asynchronously while the maximum number of in-flight async sends has been reached.
+ *
+ * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+ */
+public enum InFlightLimitPolicy {
+	/**
+	 * Blocks the calling thread until one of the in-flight sends has finished.
+	 */
+	BLOCK,
+	/**
+	 * Throws an {@link InFlightLimitExceededException} immediately.
+	 */
+	REJECT,
+	/**
+	 * Sends the email in the calling thread, so the caller is slowed down by its own send.
+	 */
+	CALLER_RUNS
+}
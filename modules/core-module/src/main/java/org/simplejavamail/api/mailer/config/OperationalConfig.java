@@ -3,6 +3,7 @@ package org.simplejavamail.api.mailer.config;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.EmailDumpSink;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.MailerGenericBuilder;
 import org.simplejavamail.api.mailer.MailerRegularBuilder;
@@ -64,12 +65,22 @@ public interface OperationalConfig {
 	 */
 	@NotNull
 	LoadBalancingStrategy getConnectionPoolLoadBalancingStrategy();
+
+	/**
+	 * @see MailerGenericBuilder#withBuiltInConnectionPool(boolean)
+	 */
+	boolean isBuiltInConnectionPool();
 	
 	/**
 	 * @see MailerGenericBuilder#withTransportModeLoggingOnly(Boolean)
 	 */
 	boolean isTransportModeLoggingOnly();
 
+	/**
+	 * @see MailerGenericBuilder#withMaximumEmailSize(int, boolean)
+	 */
+	boolean isSendingSizeCheckedBytes();
+
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
 	 */
@@ -120,6 +131,65 @@ public interface OperationalConfig {
 	 */
 	boolean isExecutorServiceIsUserProvided();
 
+	/**
+	 * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@Nullable
+	Integer getMaximumInFlightSends();
+
+	/**
+	 * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@NotNull
+	InFlightLimitPolicy getInFlightLimitPolicy();
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	int getTransientFailureRetries();
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	int getRetryInitialBackoffMillis();
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	int getRetryMaxBackoffMillis();
+
+	/**
+	 * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	@Nullable
+	Integer getSendPipelineCryptoThreadPoolSize();
+
+	/**
+	 * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	int getSendPipelineStageQueueCapacity();
+
+	/**
+	 * @see MailerGenericBuilder#withEncodedAttachmentCache(long)
+	 */
+	long getEncodedAttachmentCacheSize();
+
+	/**
+	 * @see MailerGenericBuilder#withDirectMimeRendering(boolean)
+	 */
+	boolean isDirectMimeRendering();
+
+	/**
+	 * @see MailerGenericBuilder#withParallelAttachmentEncoding(int)
+	 */
+	int getParallelAttachmentEncodingThreshold();
+
+	/**
+	 * @see MailerGenericBuilder#withEmailDumpSink(EmailDumpSink)
+	 */
+	@Nullable
+	EmailDumpSink getEmailDumpSink();
+
 	/**
 	 * @see MailerGenericBuilder#withCustomMailer(CustomMailer)
 	 */
@@ -34,6 +34,11 @@ public interface ProxyConfig {
 	@Nullable
 	Integer getProxyBridgePort();
 
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withProxyBridgeIdleTimeoutMillis(Integer)
+	 */
+	int getProxyBridgeIdleTimeoutMillis();
+
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerRegularBuilder#withProxyHost(String)
 	 */
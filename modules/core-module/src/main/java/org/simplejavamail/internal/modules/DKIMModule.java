@@ -5,6 +5,8 @@ import org.jetbrains.annotations.NotNull;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.internal.dkimsupport.DkimSignerCache;
+import org.simplejavamail.api.internal.dkimsupport.DkimSigningMaterial;
 
 /**
  * This interface only serves to hide the DKIM implementation behind an easy-to-load-with-reflection class.
@@ -26,6 +28,17 @@ public interface DKIMModule {
 	 */
 	MimeMessage signMessageWithDKIM(@NotNull Email email, @NotNull MimeMessage messageToSign, @NotNull DkimConfig dkimConfig, @NotNull Recipient fromRecipient);
 
+	/**
+	 * Implementations should take the private key and settings for signing from here, rather than from the {@link DkimConfig} directly, as this
+	 * decodes the private key and resolves the headers to sign only the first time a config is seen.
+	 *
+	 * @see DkimSignerCache
+	 */
+	@NotNull
+	default DkimSigningMaterial resolveSigningMaterial(@NotNull final DkimConfig dkimConfig) {
+		return DkimSignerCache.signingMaterialFor(dkimConfig);
+	}
+
 	/**
 	 * @return Whether the email has been properly wrapped in a MimeMessage subtype that overrides Message-ID. This is to
 	 * make sure we never send an email without making sure the Message-ID is properly customized (using
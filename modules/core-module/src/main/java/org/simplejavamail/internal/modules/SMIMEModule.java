@@ -11,12 +11,16 @@ import org.simplejavamail.api.email.OriginalSmimeDetails;
 import org.simplejavamail.api.email.config.SmimeEncryptionConfig;
 import org.simplejavamail.api.email.config.SmimeSigningConfig;
 import org.simplejavamail.api.internal.outlooksupport.model.OutlookMessage;
+import org.simplejavamail.api.internal.smimesupport.ParallelSmimeDecryption;
+import org.simplejavamail.api.internal.smimesupport.Pkcs12KeyStoreCache;
+import org.simplejavamail.api.internal.smimesupport.Pkcs12KeyStoreMaterial;
 import org.simplejavamail.api.internal.smimesupport.builder.SmimeParseResult;
 import org.simplejavamail.api.internal.smimesupport.model.AttachmentDecryptionResult;
 import org.simplejavamail.api.internal.smimesupport.model.SmimeDetails;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * This interface only serves to hide the S/MIME implementation behind an easy-to-load-with-reflection class.
@@ -35,6 +39,30 @@ public interface SMIMEModule {
 	 */
 	SmimeParseResult decryptAttachments(@NotNull List<AttachmentResource> attachments, @NotNull MimeMessage mimeMessage, @Nullable Pkcs12Config pkcs12Config);
 
+	/**
+	 * Like {@link #decryptAttachments(List, OutlookMessage, Pkcs12Config)}, but decrypts and verifies the attachments concurrently on the given
+	 * executor, keeping their order. Implementations may override this with a more efficient version.
+	 *
+	 * @see ParallelSmimeDecryption
+	 */
+	default SmimeParseResult decryptAttachments(@NotNull final List<AttachmentResource> attachments, @NotNull final OutlookMessage outlookMessage,
+			@Nullable final Pkcs12Config pkcs12Config, @NotNull final Executor executor) {
+		return ParallelSmimeDecryption.decryptAttachments(this, attachments,
+				messageAttachments -> decryptAttachments(messageAttachments, outlookMessage, pkcs12Config), pkcs12Config, executor);
+	}
+
+	/**
+	 * Like {@link #decryptAttachments(List, MimeMessage, Pkcs12Config)}, but decrypts and verifies the attachments concurrently on the given
+	 * executor, keeping their order. Implementations may override this with a more efficient version.
+	 *
+	 * @see ParallelSmimeDecryption
+	 */
+	default SmimeParseResult decryptAttachments(@NotNull final List<AttachmentResource> attachments, @NotNull final MimeMessage mimeMessage,
+			@Nullable final Pkcs12Config pkcs12Config, @NotNull final Executor executor) {
+		return ParallelSmimeDecryption.decryptAttachments(this, attachments,
+				messageAttachments -> decryptAttachments(messageAttachments, mimeMessage, pkcs12Config), pkcs12Config, executor);
+	}
+
 	/**
 	 * @return A copy of given original 'true' attachments, with S/MIME encrypted / signed attachments replaced with the actual attachment.
 	 */
@@ -76,6 +104,17 @@ public interface SMIMEModule {
 	@NotNull
 	MimeMessage encryptMessageWithSmime(@NotNull Session session, @NotNull final Email email, @NotNull MimeMessage messageToProtect, @NotNull SmimeEncryptionConfig smimeEncryptionConfig);
 
+	/**
+	 * Implementations should take the keystore, private key and certificates for signing and decrypting from here, rather than loading the
+	 * {@link Pkcs12Config} store data themselves, as this decodes the keystore only the first time a config is seen.
+	 *
+	 * @see Pkcs12KeyStoreCache
+	 */
+	@NotNull
+	default Pkcs12KeyStoreMaterial resolveKeyStoreMaterial(@NotNull final Pkcs12Config pkcs12Config) {
+		return Pkcs12KeyStoreCache.keyStoreMaterialFor(pkcs12Config);
+	}
+
 	/**
 	 * @return Whether the email has been properly wrapped in a MimeMessage subtype that overrides Message-ID. This is to
 	 * make sure we never send an email without making sure the Message-ID is properly customized (using
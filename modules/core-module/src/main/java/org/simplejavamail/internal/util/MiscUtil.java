@@ -453,6 +453,31 @@ public final class MiscUtil {
 		field.set(subject, newValue);
 	}
 
+	/**
+	 * @return The size of the data source's data if it is readily available (files and byte arrays), or {@code 0} otherwise. Never performs I/O
+	 * beyond a file size lookup. Named data sources are unwrapped.
+	 */
+	public static long determineKnownSize(@NotNull final DataSource dataSource) {
+		if (dataSource instanceof NamedDataSource) {
+			return determineKnownSize(((NamedDataSource) dataSource).getDataSource());
+		} else if (dataSource instanceof FileDataSource) {
+			return ((FileDataSource) dataSource).getFile().length();
+		} else if (dataSource instanceof PathDataSource) {
+			try {
+				return ((PathDataSource) dataSource).size();
+			} catch (final IOException e) {
+				return 0;
+			}
+		} else if (dataSource instanceof ByteArrayDataSource) {
+			try (InputStream is = dataSource.getInputStream()) {
+				return is.available(); // a ByteArrayInputStream over the data
+			} catch (final IOException e) {
+				return 0;
+			}
+		}
+		return 0;
+	}
+
 	@NotNull
 	public static List<InternetAddress> asInternetAddresses(@NotNull List<Recipient> recipient, @NotNull Charset charset) {
 		return recipient.stream()
@@ -37,6 +37,13 @@ public class NamedDataSource implements DataSource, EncodingAware {
 		this.name = name;
 	}
 
+	/**
+	 * @return The original data source, which is what determines the data.
+	 */
+	public DataSource getDataSource() {
+		return dataSource;
+	}
+
 	/**
 	 * @return {@link DataSource#getInputStream()}
 	 */
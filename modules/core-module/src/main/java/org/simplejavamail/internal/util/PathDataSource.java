@@ -0,0 +1,84 @@
+package org.simplejavamail.internal.util;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.EncodingAware;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Data source for a file on disk that is read only while the email is written, so the file's content is never held in memory as a whole: the
+ * {@code DataHandler} copies it in small chunks from a {@link FileChannel} through the transfer encoder straight into the transport stream.
+ * <p>
+ * A new channel is opened for every read, so the same instance can be used for any number of emails, including concurrently.
+ */
+public class PathDataSource implements DataSource, EncodingAware {
+
+	@NotNull private final Path path;
+	@NotNull private final String contentType;
+
+	public PathDataSource(@NotNull final Path path) {
+		this.path = path;
+		this.contentType = ImageMimeType.getContentType(path.getFileName().toString());
+	}
+
+	@NotNull
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * @return The current size of the file, without reading it.
+	 */
+	public long size()
+			throws IOException {
+		return Files.size(path);
+	}
+
+	@Override
+	public InputStream getInputStream()
+			throws IOException {
+		return Channels.newInputStream(FileChannel.open(path, READ));
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		throw new UnsupportedOperationException("PathDataSource is read-only");
+	}
+
+	/**
+	 * @return The mimetype based on the file's extension, or {@code application/octet-stream} if unknown.
+	 */
+	@NotNull
+	@Override
+	public String getContentType() {
+		return contentType;
+	}
+
+	@NotNull
+	@Override
+	public String getName() {
+		return path.getFileName().toString();
+	}
+
+	/**
+	 * Without an encoding, Jakarta Mail reads the entire file an extra time to find out whether non-text data happens to be ASCII only. For text
+	 * it only samples the start of the file, so that's left to Jakarta Mail.
+	 *
+	 * @return {@code base64} for anything but text, {@code null} otherwise.
+	 */
+	@Nullable
+	@Override
+	public String getEncoding() {
+		return contentType.startsWith("text/") ? null : "base64";
+	}
+}
@@ -4,12 +4,16 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.concurrent.CompletableFuture.runAsync;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
 
 /**
@@ -19,17 +23,27 @@ import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AsyncOperationHelper {
 
+	private static final AtomicInteger SHARED_THREAD_COUNTER = new AtomicInteger();
+
+	private static final long SHARED_THREAD_KEEP_ALIVE_SECONDS = 5;
+
 	/**
-	 * Executes using a single-execution ExecutorService, which is shutdown immediately after the operation finishes.
-	 *
-	 * @see Executors#newSingleThreadExecutor()
+	 * Grows as needed and keeps idle threads around for a few seconds, so operations in quick succession reuse them. The threads are not daemon
+	 * threads, so the JVM waits for operations still running (such as an async send) before shutting down. Idle threads keep the JVM alive for at
+	 * most the keep-alive time after the last operation finished.
+	 */
+	private static final ExecutorService SHARED_EXECUTOR_SERVICE = new ThreadPoolExecutor(0, Integer.MAX_VALUE, SHARED_THREAD_KEEP_ALIVE_SECONDS, SECONDS,
+			new SynchronousQueue<>(),
+			runnable -> new Thread(runnable, "Simple Java Mail async operation #" + SHARED_THREAD_COUNTER.incrementAndGet()));
+
+	/**
+	 * Executes using a shared ExecutorService, which reuses threads that are still alive from earlier operations, rather than creating
+	 * (and shutting down) an ExecutorService for every operation.
 	 */
 	public static CompletableFuture<Void> executeAsync(final @NotNull String processName, final @NotNull Runnable operation) {
-		final ExecutorService executorService = newSingleThreadExecutor();
-		return runAsync(new NamedRunnable(processName, operation), executorService)
-				.thenRun(executorService::shutdown);
+		return runAsync(new NamedRunnable(processName, operation), SHARED_EXECUTOR_SERVICE);
 	}
-	
+
 	/**
 	 * Executes using the given ExecutorService, which is left running after the thread finishes running.
 	 */
@@ -37,4 +51,18 @@ public class AsyncOperationHelper {
 		assumeTrue(!executorService.isShutdown(), "cannot send async email, executor service is already shut down!");
 		return runAsync(new NamedRunnable(processName, operation), executorService);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Java 21's {@code Executors.newVirtualThreadPerTaskExecutor()}, invoked reflectively since Simple Java Mail itself still targets Java 17.
+	 *
+	 * @throws IllegalStateException When the current JVM doesn't support virtual threads.
+	 */
+	@NotNull
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Virtual threads are not supported on this JVM (Java 21 or newer is required)", e);
+		}
+	}
+}
@@ -19,7 +19,9 @@ import org.simplejavamail.api.internal.outlooksupport.model.OutlookMessage;
 import org.simplejavamail.api.internal.smimesupport.builder.SmimeParseResult;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.converter.internal.ByteBufferOutputStream;
 import org.simplejavamail.converter.internal.InternalEmailConverterImpl;
+import org.simplejavamail.converter.internal.PooledByteArrayOutputStream;
 import org.simplejavamail.converter.internal.mimemessage.MimeDataSource;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageParser;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageParser.ParsedMimeMessageComponents;
@@ -32,7 +34,6 @@ import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -40,8 +41,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -118,11 +122,25 @@ public final class EmailConverter {
 	 */
 	@NotNull
 	public static EmailPopulatingBuilder mimeMessageToEmailBuilder(@NotNull final MimeMessage mimeMessage, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData) {
+		return mimeMessageToEmailBuilder(mimeMessage, pkcs12Config, fetchAttachmentData, null);
+	}
+
+	/**
+	 * @param mimeMessage The MimeMessage from which to create the {@link Email}.
+	 * @param pkcs12Config Private key store for decrypting S/MIME encrypted attachments
+	 *                        (only needed when the message is encrypted rather than just signed).
+	 * @param fetchAttachmentData When false only the names of the attachments are retrieved but no data
+	 * @param attachmentDecryptionExecutor When provided, S/MIME attachments are decrypted and verified concurrently on this executor (in the
+	 *                                     original order of the attachments), rather than one after another in the calling thread.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder mimeMessageToEmailBuilder(@NotNull final MimeMessage mimeMessage, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData,
+			@Nullable final Executor attachmentDecryptionExecutor) {
 		checkNonEmptyArgument(mimeMessage, "mimeMessage");
 		val builder = EmailBuilder.startingBlank();
 		val parsed = MimeMessageParser.parseMimeMessage(mimeMessage, fetchAttachmentData);
 		val emailBuilder = buildEmailFromMimeMessage(builder, parsed);
-		return decryptAttachments(emailBuilder, mimeMessage, pkcs12Config);
+		return decryptAttachments(emailBuilder, mimeMessage, pkcs12Config, attachmentDecryptionExecutor);
 	}
 
 	/**
@@ -231,15 +249,33 @@ public final class EmailConverter {
 	@SuppressWarnings("deprecation")
 	@NotNull
 	public static EmailFromOutlookMessage outlookMsgToEmailBuilder(@NotNull final InputStream msgInputStream, @Nullable final Pkcs12Config pkcs12Config) {
+		return outlookMsgToEmailBuilder(msgInputStream, pkcs12Config, null);
+	}
+
+	/**
+	 * Like {@link #outlookMsgToEmailBuilder(InputStream, Pkcs12Config)}, but when an executor is provided, S/MIME attachments are decrypted and
+	 * verified concurrently on it (in the original order of the attachments), rather than one after another in the calling thread.
+	 */
+	@SuppressWarnings("deprecation")
+	@NotNull
+	public static EmailFromOutlookMessage outlookMsgToEmailBuilder(@NotNull final InputStream msgInputStream, @Nullable final Pkcs12Config pkcs12Config,
+			@Nullable final Executor attachmentDecryptionExecutor) {
 		EmailFromOutlookMessage fromMsgBuilder = ModuleLoader.loadOutlookModule()
 				.outlookMsgToEmailBuilder(msgInputStream, new EmailStartingBuilderImpl(), new EmailPopulatingBuilderFactoryImpl(), InternalEmailConverterImpl.INSTANCE);
-		decryptAttachments(fromMsgBuilder.getEmailBuilder(), fromMsgBuilder.getOutlookMessage(), pkcs12Config);
+		decryptAttachments(fromMsgBuilder.getEmailBuilder(), fromMsgBuilder.getOutlookMessage(), pkcs12Config, attachmentDecryptionExecutor);
 		return fromMsgBuilder;
 	}
 
 	private static EmailPopulatingBuilder decryptAttachments(final EmailPopulatingBuilder emailBuilder, final OutlookMessage outlookMessage, @Nullable final Pkcs12Config pkcs12Config) {
+		return decryptAttachments(emailBuilder, outlookMessage, pkcs12Config, null);
+	}
+
+	private static EmailPopulatingBuilder decryptAttachments(final EmailPopulatingBuilder emailBuilder, final OutlookMessage outlookMessage, @Nullable final Pkcs12Config pkcs12Config,
+			@Nullable final Executor attachmentDecryptionExecutor) {
 		if (ModuleLoader.smimeModuleAvailable()) {
-			SmimeParseResult smimeParseResult = loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), outlookMessage, pkcs12Config);
+			SmimeParseResult smimeParseResult = attachmentDecryptionExecutor != null
+					? loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), outlookMessage, pkcs12Config, attachmentDecryptionExecutor)
+					: loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), outlookMessage, pkcs12Config);
 			handleSmimeParseResult((InternalEmailPopulatingBuilder) emailBuilder, smimeParseResult);
 			updateEmailIfBothSignedAndEncrypted(emailBuilder, smimeParseResult);
 		}
@@ -247,9 +283,12 @@ public final class EmailConverter {
 	}
 
 	@NotNull
-	private static EmailPopulatingBuilder decryptAttachments(final EmailPopulatingBuilder emailBuilder, final MimeMessage mimeMessage, @Nullable final Pkcs12Config pkcs12Config) {
+	private static EmailPopulatingBuilder decryptAttachments(final EmailPopulatingBuilder emailBuilder, final MimeMessage mimeMessage, @Nullable final Pkcs12Config pkcs12Config,
+			@Nullable final Executor attachmentDecryptionExecutor) {
 		if (ModuleLoader.smimeModuleAvailable()) {
-			SmimeParseResult smimeParseResult = loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), mimeMessage, pkcs12Config);
+			SmimeParseResult smimeParseResult = attachmentDecryptionExecutor != null
+					? loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), mimeMessage, pkcs12Config, attachmentDecryptionExecutor)
+					: loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), mimeMessage, pkcs12Config);
 			handleSmimeParseResult((InternalEmailPopulatingBuilder) emailBuilder, smimeParseResult);
 			updateEmailIfBothSignedAndEncrypted(emailBuilder, smimeParseResult);
 		}
@@ -456,8 +495,18 @@ public final class EmailConverter {
 	 */
 	@NotNull
 	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final String eml, @Nullable final Pkcs12Config pkcs12Config, @NotNull final Session session) {
+		return emlToEmailBuilder(eml, pkcs12Config, session, null);
+	}
+
+	/**
+	 * Delegates to {@link #emlToMimeMessage(String, Session)} and passes the result to {@link
+	 * #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config, boolean, Executor)}, so S/MIME attachments are decrypted on the given executor.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final String eml, @Nullable final Pkcs12Config pkcs12Config, @NotNull final Session session,
+			@Nullable final Executor attachmentDecryptionExecutor) {
 		final MimeMessage mimeMessage = emlToMimeMessage(checkNonEmptyArgument(eml, "eml"), session);
-		return mimeMessageToEmailBuilder(mimeMessage, pkcs12Config);
+		return mimeMessageToEmailBuilder(mimeMessage, pkcs12Config, true, attachmentDecryptionExecutor);
 	}
 
 	/*
@@ -621,8 +670,7 @@ public final class EmailConverter {
 	 * @return The result of {@link MimeMessage#writeTo(OutputStream)} which should be in the standard EML format.
 	 */
 	public static byte[] mimeMessageToEMLByteArray(@NotNull final MimeMessage mimeMessage) {
-		final ByteArrayOutputStream os = new ByteArrayOutputStream();
-		try {
+		try (val os = new PooledByteArrayOutputStream()) {
 			checkNonEmptyArgument(mimeMessage, "mimeMessage").writeTo(os);
 			return os.toByteArray();
 		} catch (IOException | MessagingException e) {
@@ -631,14 +679,44 @@ public final class EmailConverter {
 		}
 	}
 
+	/**
+	 * Like {@link #mimeMessageToEMLByteArray(MimeMessage)}, but writes into the given buffer (heap or direct) rather than a new array, starting
+	 * at the buffer's position. Useful for reusing buffers when converting many messages.
+	 *
+	 * @return The number of bytes written, by which the buffer's position has been advanced.
+	 * @throws BufferOverflowException If the message doesn't fit in the buffer's remaining space, in which case the buffer's position is left
+	 *                                 unchanged (though the remaining space may have been written to).
+	 */
+	public static int mimeMessageToEMLByteBuffer(@NotNull final MimeMessage mimeMessage, @NotNull final ByteBuffer buffer) {
+		final int startPosition = checkNonEmptyArgument(buffer, "buffer").position();
+		try {
+			checkNonEmptyArgument(mimeMessage, "mimeMessage").writeTo(new ByteBufferOutputStream(buffer));
+			return buffer.position() - startPosition;
+		} catch (BufferOverflowException e) {
+			buffer.position(startPosition);
+			throw e;
+		} catch (IOException | MessagingException e) {
+			// this should never happen, so we don't acknowledge this exception (and simply bubble up)
+			throw new IllegalStateException("This should never happen", e);
+		}
+	}
+
+	/**
+	 * Delegates to {@link #mimeMessageToEMLByteBuffer(MimeMessage, ByteBuffer)} with the array's space from the given offset onwards.
+	 *
+	 * @return The number of bytes written.
+	 */
+	public static int mimeMessageToEMLByteArray(@NotNull final MimeMessage mimeMessage, final byte@NotNull[] buffer, final int offset) {
+		return mimeMessageToEMLByteBuffer(mimeMessage, ByteBuffer.wrap(checkNonEmptyArgument(buffer, "buffer"), offset, buffer.length - offset));
+	}
+
 	/**
 	 * @return The result of {@link MimeMessage#writeTo(OutputStream)} with which should be in the standard EML format, to UTF8 string.
 	 */
 	public static String mimeMessageToEML(@NotNull final MimeMessage mimeMessage) {
-		final ByteArrayOutputStream os = new ByteArrayOutputStream();
-		try {
+		try (val os = new PooledByteArrayOutputStream()) {
 			checkNonEmptyArgument(mimeMessage, "mimeMessage").writeTo(os);
-			return os.toString(UTF_8.name());
+			return os.toString(UTF_8);
 		} catch (IOException | MessagingException e) {
 			// this should never happen, so we don't acknowledge this exception (and simply bubble up)
 			throw new IllegalStateException("This should never happen", e);
@@ -0,0 +1,88 @@
+package org.simplejavamail.converter.internal;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide pool of byte arrays for serialising messages, so rendering an email to bytes (for EML conversion or logging, for example) reuses
+ * the buffers of previous emails rather than allocating (and growing) new ones every time.
+ * <p>
+ * Arrays come in size classes of powers of two, from {@value #MINIMUM_SIZE} up to {@value #MAXIMUM_POOLED_SIZE} bytes. Larger arrays are
+ * allocated as needed and not pooled. The pool retains at most {@value #MAXIMUM_RETAINED_BYTES} bytes; arrays released beyond that are left to
+ * the garbage collector.
+ *
+ * @see PooledByteArrayOutputStream
+ */
+public final class ByteArrayPool {
+
+	static final int MINIMUM_SIZE = 16 * 1024;
+	static final int MAXIMUM_POOLED_SIZE = 4 * 1024 * 1024;
+	static final long MAXIMUM_RETAINED_BYTES = 16 * 1024 * 1024;
+
+	private static final int SIZE_CLASS_SHIFT = Integer.numberOfTrailingZeros(MINIMUM_SIZE);
+
+	@SuppressWarnings("unchecked")
+	private static final Queue<byte[]>[] POOLED_ARRAYS = new Queue[Integer.numberOfTrailingZeros(MAXIMUM_POOLED_SIZE) - SIZE_CLASS_SHIFT + 1];
+
+	private static final AtomicLong RETAINED_BYTES = new AtomicLong();
+
+	static {
+		for (int i = 0; i < POOLED_ARRAYS.length; i++) {
+			POOLED_ARRAYS[i] = new ConcurrentLinkedQueue<>();
+		}
+	}
+
+	private ByteArrayPool() {
+	}
+
+	/**
+	 * @return An array of at least the given size, which should be {@link #release(byte[]) released} once no longer used. Its contents are
+	 * undefined.
+	 */
+	public static byte@NotNull[] acquire(final int minimumSize) {
+		final int size = determineSizeClass(minimumSize);
+		if (size > MAXIMUM_POOLED_SIZE) {
+			return new byte[minimumSize];
+		}
+		final byte[] pooledArray = POOLED_ARRAYS[sizeClassIndex(size)].poll();
+		if (pooledArray != null) {
+			RETAINED_BYTES.addAndGet(-pooledArray.length);
+			return pooledArray;
+		}
+		return new byte[size];
+	}
+
+	/**
+	 * Returns the array to the pool, provided it was acquired from the pool and the pool isn't full. The array must not be used after this.
+	 */
+	public static void release(final byte@NotNull[] array) {
+		final int size = array.length;
+		if (size < MINIMUM_SIZE || size > MAXIMUM_POOLED_SIZE || Integer.bitCount(size) != 1) {
+			return; // not one of ours
+		}
+		if (RETAINED_BYTES.addAndGet(size) > MAXIMUM_RETAINED_BYTES) {
+			RETAINED_BYTES.addAndGet(-size);
+			return;
+		}
+		POOLED_ARRAYS[sizeClassIndex(size)].offer(array);
+	}
+
+	/**
+	 * @return The smallest size class that fits the given size, or the size itself if that is too big to be pooled.
+	 */
+	static int determineSizeClass(final int minimumSize) {
+		if (minimumSize <= MINIMUM_SIZE) {
+			return MINIMUM_SIZE;
+		} else if (minimumSize > MAXIMUM_POOLED_SIZE) {
+			return minimumSize;
+		}
+		return Integer.highestOneBit(minimumSize - 1) << 1;
+	}
+
+	private static int sizeClassIndex(final int size) {
+		return Integer.numberOfTrailingZeros(size) - SIZE_CLASS_SHIFT;
+	}
+}
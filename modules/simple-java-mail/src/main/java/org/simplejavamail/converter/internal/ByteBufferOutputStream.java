@@ -0,0 +1,30 @@
+package org.simplejavamail.converter.internal;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes into a caller-provided (heap or direct) buffer, starting at its position. Doesn't grow the buffer: writing more than its remaining space
+ * throws a {@link BufferOverflowException} without writing any of the bytes.
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+	@NotNull private final ByteBuffer buffer;
+
+	public ByteBufferOutputStream(@NotNull final ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public void write(final int b) {
+		buffer.put((byte) b);
+	}
+
+	@Override
+	public void write(final byte@NotNull[] b, final int off, final int len) {
+		buffer.put(b, off, len);
+	}
+}
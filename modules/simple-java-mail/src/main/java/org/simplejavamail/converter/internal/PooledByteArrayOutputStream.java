@@ -0,0 +1,99 @@
+package org.simplejavamail.converter.internal;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Like {@link java.io.ByteArrayOutputStream}, but takes its buffer from the {@link ByteArrayPool}, also when growing, and returns it to the pool
+ * when closed. Growing still copies the buffer, but the old buffer is reused by the next message rather than left as garbage.
+ * <p>
+ * The stream must be closed once its contents have been used, after which it can't be used anymore. Not thread-safe.
+ */
+public class PooledByteArrayOutputStream extends OutputStream {
+
+	private byte[] buffer;
+	private int count;
+
+	public PooledByteArrayOutputStream() {
+		this.buffer = ByteArrayPool.acquire(ByteArrayPool.MINIMUM_SIZE);
+	}
+
+	@Override
+	public void write(final int b) {
+		ensureCapacity(count + 1);
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte@NotNull[] b, final int off, final int len) {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		ensureCapacity(count + len);
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	private void ensureCapacity(final int minimumCapacity) {
+		if (minimumCapacity < 0) {
+			throw new OutOfMemoryError("message too big for a byte array");
+		}
+		final byte[] currentBuffer = checkOpen();
+		if (minimumCapacity > currentBuffer.length) {
+			final int grownCapacity = currentBuffer.length <= Integer.MAX_VALUE / 2 ? currentBuffer.length * 2 : Integer.MAX_VALUE - 8;
+			final byte[] newBuffer = ByteArrayPool.acquire(Math.max(minimumCapacity, grownCapacity));
+			System.arraycopy(currentBuffer, 0, newBuffer, 0, count);
+			ByteArrayPool.release(currentBuffer);
+			buffer = newBuffer;
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * @return A copy of the written bytes.
+	 */
+	public byte@NotNull[] toByteArray() {
+		return Arrays.copyOf(checkOpen(), count);
+	}
+
+	/**
+	 * @return The written bytes decoded with the given charset, without copying them first.
+	 */
+	@NotNull
+	public String toString(@NotNull final Charset charset) {
+		return new String(checkOpen(), 0, count, charset);
+	}
+
+	/**
+	 * Writes the written bytes to the given stream, without copying them first.
+	 */
+	public void writeTo(@NotNull final OutputStream os)
+			throws IOException {
+		os.write(checkOpen(), 0, count);
+	}
+
+	/**
+	 * Returns the buffer to the pool.
+	 */
+	@Override
+	public void close() {
+		if (buffer != null) {
+			ByteArrayPool.release(buffer);
+			buffer = null;
+		}
+	}
+
+	private byte@NotNull[] checkOpen() {
+		if (buffer == null) {
+			throw new IllegalStateException("stream is closed, its buffer has been returned to the pool");
+		}
+		return buffer;
+	}
+}
@@ -0,0 +1,60 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The optional means of speeding up encoding attachment and embedded image bodies, as primed on the Session by the Mailer: the
+ * {@link EncodedAttachmentCache} and the {@link ParallelAttachmentEncoder}, which can be combined.
+ */
+final class AttachmentEncoders {
+
+	static final AttachmentEncoders NONE = new AttachmentEncoders(null, null);
+
+	@Nullable private final EncodedAttachmentCache encodedAttachmentCache;
+	@Nullable private final ParallelAttachmentEncoder parallelAttachmentEncoder;
+
+	private AttachmentEncoders(@Nullable final EncodedAttachmentCache encodedAttachmentCache, @Nullable final ParallelAttachmentEncoder parallelAttachmentEncoder) {
+		this.encodedAttachmentCache = encodedAttachmentCache;
+		this.parallelAttachmentEncoder = parallelAttachmentEncoder;
+	}
+
+	/**
+	 * @return The Session's encoders, or {@link #NONE} if the Session has neither.
+	 */
+	@NotNull
+	static AttachmentEncoders fromSession(@NotNull final Session session) {
+		final EncodedAttachmentCache encodedAttachmentCache = EncodedAttachmentCache.fromSession(session);
+		final ParallelAttachmentEncoder parallelAttachmentEncoder = ParallelAttachmentEncoder.fromSession(session);
+		return encodedAttachmentCache != null || parallelAttachmentEncoder != null
+				? new AttachmentEncoders(encodedAttachmentCache, parallelAttachmentEncoder)
+				: NONE;
+	}
+
+	/**
+	 * @return The encoded body, already being encoded in parallel or to be taken from the cache when needed, or {@code null} if the body should
+	 * simply be encoded while it is written.
+	 */
+	@Nullable
+	EncodedBody prepareEncodedBody(@NotNull final DataSource dataSource, @NotNull final String encoding) {
+		if (parallelAttachmentEncoder != null) {
+			final CompletableFuture<byte[]> encodedBody = parallelAttachmentEncoder.startEncoding(dataSource, encoding, encodedAttachmentCache);
+			if (encodedBody != null) {
+				return () -> ParallelAttachmentEncoder.awaitEncodedBody(encodedBody);
+			}
+		}
+		if (encodedAttachmentCache != null) {
+			return () -> encodedAttachmentCache.getEncodedBody(dataSource, encoding);
+		}
+		return null;
+	}
+
+	interface EncodedBody {
+		byte@NotNull[] get() throws MessagingException;
+	}
+}
@@ -0,0 +1,101 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.ContentTransferEncoding;
+
+/**
+ * Selects the Content-Transfer-Encoding resulting in the smallest text part for {@link ContentTransferEncoding#AUTO}, from a single scan over
+ * the text: 7bit if the (UTF-8) text is valid as is, otherwise the smaller of quoted-printable and base64. Mostly ASCII text ends up as 7bit
+ * or quoted-printable, while text in non-Latin scripts (where quoted-printable triples nearly every byte) ends up as base64.
+ * <p>
+ * 8bit is never selected here, as whether the server supports 8BITMIME is only known once connected. Instead, with
+ * {@code mail.smtp.allow8bitmime} enabled, Jakarta Mail converts quoted-printable and base64 text parts to 8bit when the server advertises it.
+ */
+final class ContentTransferEncodingSelector {
+
+	/**
+	 * RFC 5322 maximum line length, excluding the CRLF.
+	 */
+	private static final int MAXIMUM_LINE_LENGTH = 998;
+
+	/**
+	 * Maximum quoted-printable line length, excluding the '=' of the soft line break, as used by Jakarta Mail's encoder.
+	 */
+	private static final int QUOTED_PRINTABLE_LINE_LENGTH = 75;
+
+	private static final int BASE64_LINE_LENGTH = 76;
+
+	private static final int CRLF_LENGTH = 2;
+	private static final int SOFT_LINE_BREAK_LENGTH = 3;
+	private static final int QUOTED_BYTE_LENGTH = 3;
+
+	private ContentTransferEncodingSelector() {
+	}
+
+	@NotNull
+	static ContentTransferEncoding selectEncoding(@NotNull final String text) {
+		boolean valid7bit = true;
+		long utf8Length = 0;
+		long quotedPrintableLength = 0;
+		int lineLength = 0;
+		int quotedPrintableLineLength = 0;
+		char previous = 0;
+
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '\r' || c == '\n') {
+				utf8Length++;
+				if (c == '\r' || previous != '\r') {
+					quotedPrintableLength += CRLF_LENGTH;
+				}
+				if (previous == ' ' || previous == '\t') {
+					quotedPrintableLength += QUOTED_BYTE_LENGTH - 1; // whitespace before a line break is quoted
+				}
+				lineLength = 0;
+				quotedPrintableLineLength = 0;
+			} else {
+				final int byteCount = utf8ByteCount(c);
+				utf8Length += byteCount;
+				lineLength += byteCount;
+				valid7bit &= c < 0x80 && c != 0 && lineLength <= MAXIMUM_LINE_LENGTH;
+
+				final int encodedByteLength = mustBeQuoted(c) ? QUOTED_BYTE_LENGTH : 1;
+				for (int b = 0; b < byteCount; b++) {
+					if (quotedPrintableLineLength + encodedByteLength > QUOTED_PRINTABLE_LINE_LENGTH) {
+						quotedPrintableLength += SOFT_LINE_BREAK_LENGTH;
+						quotedPrintableLineLength = 0;
+					}
+					quotedPrintableLength += encodedByteLength;
+					quotedPrintableLineLength += encodedByteLength;
+				}
+			}
+			previous = c;
+		}
+
+		if (valid7bit) {
+			return ContentTransferEncoding.BIT7;
+		}
+		final long base64Length = (utf8Length + 2) / 3 * 4;
+		final long base64LengthWithLineBreaks = base64Length + (base64Length + BASE64_LINE_LENGTH - 1) / BASE64_LINE_LENGTH * CRLF_LENGTH;
+		return quotedPrintableLength <= base64LengthWithLineBreaks
+				? ContentTransferEncoding.QUOTED_PRINTABLE
+				: ContentTransferEncoding.BASE_64;
+	}
+
+	/**
+	 * Surrogates come in pairs that together take four bytes.
+	 */
+	private static int utf8ByteCount(final char c) {
+		if (c < 0x80) {
+			return 1;
+		} else if (c < 0x800 || Character.isSurrogate(c)) {
+			return 2;
+		} else {
+			return 3;
+		}
+	}
+
+	private static boolean mustBeQuoted(final char c) {
+		return (c < ' ' && c != '\t') || c >= 0x7F || c == '=';
+	}
+}
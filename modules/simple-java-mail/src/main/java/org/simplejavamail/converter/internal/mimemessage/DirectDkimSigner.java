@@ -0,0 +1,236 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.config.DkimConfig.Canonicalization;
+import org.simplejavamail.api.internal.dkimsupport.DkimSigningMaterial;
+import org.simplejavamail.converter.internal.PooledByteArrayOutputStream;
+import org.simplejavamail.converter.internal.mimemessage.DirectMimeMessageWriter.PartWriter;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream.SizeLimitExceededException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Signs emails with DKIM while the {@link DirectMimeMessageWriter} writes them: the body is hashed by a {@link DkimBodyHashingOutputStream} as it
+ * is written, after which the headers are signed and the DKIM-Signature header is put in front. This takes a single pass over the body, rather
+ * than rendering the message and canonicalizing its body again for signing.
+ * <p>
+ * Signs with the settings from the {@link org.simplejavamail.api.internal.dkimsupport.DkimSignerCache}, with the same canonicalizations and
+ * signing algorithms as the DKIM module.
+ */
+final class DirectDkimSigner {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	private static final Pattern LINE_BREAK = Pattern.compile("\r\n");
+	private static final Pattern FOLDED_LINE_BREAK = Pattern.compile("\r\n(?=[ \t])");
+	private static final Pattern WHITESPACE = Pattern.compile("[ \t]+");
+
+	private DirectDkimSigner() {
+	}
+
+	/**
+	 * Writes the message with a DKIM-Signature header in front of its other headers. The message is buffered, as the signature can only be
+	 * determined once the whole body is written.
+	 *
+	 * @param maximumSize Buffering is aborted with a {@link SizeLimitExceededException} as soon as the message exceeds this size, since nothing
+	 *                    reaches the given stream (which may check the size itself) before the whole message is buffered.
+	 */
+	static void writeSigned(@NotNull final DkimSigningMaterial signingMaterial, @NotNull final PartWriter message, @NotNull final OutputStream os,
+			final long maximumSize)
+			throws IOException, MessagingException {
+		val signingAlgorithm = DkimSigningAlgorithm.of(signingMaterial.getSigningAlgorithm());
+		try (val headers = new PooledByteArrayOutputStream(); val body = new PooledByteArrayOutputStream()) {
+			val bodyHasher = new DkimBodyHashingOutputStream(body, signingMaterial.getBodyCanonicalization(), messageDigest(signingAlgorithm.digestAlgorithm));
+			message.writeTo(new HeaderBodySplittingOutputStream(headers, bodyHasher, maximumSize));
+			val bodyHash = bodyHasher.finish();
+
+			val signatureHeader = createSignatureHeader(signingMaterial, signingAlgorithm, headers.toString(ISO_8859_1), bodyHash,
+					bodyHasher.getCanonicalizedLength());
+			os.write(signatureHeader.getBytes(ISO_8859_1));
+			os.write(CRLF);
+			headers.writeTo(os);
+			body.writeTo(os);
+		}
+	}
+
+	@NotNull
+	static String createSignatureHeader(@NotNull final DkimSigningMaterial signingMaterial, @NotNull final DkimSigningAlgorithm signingAlgorithm,
+			@NotNull final String headerBlock, final byte@NotNull[] bodyHash, final long bodyLength)
+			throws MessagingException {
+		val relaxedHeaders = signingMaterial.getHeaderCanonicalization() == Canonicalization.RELAXED;
+		val headers = splitHeaders(headerBlock);
+
+		// multiple instances of a header are signed from the bottom up
+		val signedHeaderNames = new ArrayList<String>();
+		val signedData = new StringBuilder();
+		for (final String headerName : signingMaterial.getHeadersToSign()) {
+			for (int i = headers.size() - 1; i >= 0; i--) {
+				if (nameOf(headers.get(i)).equalsIgnoreCase(headerName)) {
+					signedHeaderNames.add(headerName);
+					signedData.append(canonicalizeHeader(headers.get(i), relaxedHeaders)).append("\r\n");
+				}
+			}
+		}
+
+		val signatureHeader = new StringBuilder("DKIM-Signature: v=1; a=").append(signingAlgorithm.tag)
+				.append("; c=").append(signingMaterial.getHeaderCanonicalization().name().toLowerCase(Locale.ENGLISH))
+				.append('/').append(signingMaterial.getBodyCanonicalization().name().toLowerCase(Locale.ENGLISH))
+				.append(";\r\n\td=").append(signingMaterial.getSigningDomain())
+				.append("; s=").append(signingMaterial.getSelector())
+				.append("; t=").append(System.currentTimeMillis() / 1000)
+				.append(";\r\n\th=").append(String.join(":", signedHeaderNames));
+		if (signingMaterial.isUseLengthParam()) {
+			signatureHeader.append("; l=").append(bodyLength);
+		}
+		signatureHeader.append(";\r\n\tbh=").append(Base64.getEncoder().encodeToString(bodyHash))
+				.append(";\r\n\tb=");
+		// the DKIM-Signature header itself is signed with an empty b= tag and without its line break
+		signedData.append(canonicalizeHeader(signatureHeader.toString(), relaxedHeaders));
+
+		return signatureHeader.append(Base64.getEncoder().encodeToString(sign(signingMaterial, signingAlgorithm, signedData.toString()))).toString();
+	}
+
+	/**
+	 * @return The headers without their final line break, but with their folding line breaks.
+	 */
+	@NotNull
+	private static List<String> splitHeaders(@NotNull final String headerBlock) {
+		val headers = new ArrayList<String>();
+		for (final String header : FOLDED_LINE_BREAK.matcher(headerBlock).replaceAll("\u0000").split("\r\n")) {
+			if (!header.isEmpty()) {
+				headers.add(header.replace("\u0000", "\r\n"));
+			}
+		}
+		return headers;
+	}
+
+	@NotNull
+	private static String nameOf(@NotNull final String header) {
+		val colon = header.indexOf(':');
+		return (colon >= 0 ? header.substring(0, colon) : header).trim();
+	}
+
+	@NotNull
+	static String canonicalizeHeader(@NotNull final String header, final boolean relaxed) {
+		if (!relaxed) {
+			return header;
+		}
+		val colon = header.indexOf(':');
+		val value = LINE_BREAK.matcher(header.substring(colon + 1)).replaceAll("");
+		return nameOf(header).toLowerCase(Locale.ENGLISH) + ":" + WHITESPACE.matcher(value).replaceAll(" ").trim();
+	}
+
+	private static byte@NotNull[] sign(@NotNull final DkimSigningMaterial signingMaterial, @NotNull final DkimSigningAlgorithm signingAlgorithm,
+			@NotNull final String signedData)
+			throws MessagingException {
+		try {
+			byte[] data = signedData.getBytes(ISO_8859_1);
+			if (signingAlgorithm == DkimSigningAlgorithm.ED25519_SHA256) {
+				// RFC 8463: Ed25519 signs the SHA-256 hash of the headers
+				data = messageDigest(signingAlgorithm.digestAlgorithm).digest(data);
+			}
+			val signature = Signature.getInstance(signingAlgorithm.signatureAlgorithm);
+			signature.initSign(signingMaterial.getPrivateKey());
+			signature.update(data);
+			return signature.sign();
+		} catch (GeneralSecurityException e) {
+			throw new MessagingException("failed to sign email with DKIM for signing domain " + signingMaterial.getSigningDomain(), e);
+		}
+	}
+
+	@NotNull
+	private static MessageDigest messageDigest(@NotNull final String digestAlgorithm) {
+		try {
+			return MessageDigest.getInstance(digestAlgorithm);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(digestAlgorithm + " is supported by every Java platform", e);
+		}
+	}
+
+	@RequiredArgsConstructor
+	enum DkimSigningAlgorithm {
+		RSA_SHA256("rsa-sha256", "SHA256withRSA", "SHA-256"),
+		RSA_SHA1("rsa-sha1", "SHA1withRSA", "SHA-1"),
+		ED25519_SHA256("ed25519-sha256", "Ed25519", "SHA-256");
+
+		@NotNull private final String tag;
+		@NotNull private final String signatureAlgorithm;
+		@NotNull private final String digestAlgorithm;
+
+		/**
+		 * @param signingAlgorithm As configured in the DkimConfig, such as {@code SHA256_WITH_RSA} or {@code SHA256withRSA}.
+		 */
+		@NotNull
+		static DkimSigningAlgorithm of(@NotNull final String signingAlgorithm) {
+			val normalized = signingAlgorithm.toUpperCase(Locale.ENGLISH);
+			if (normalized.contains("ED25519")) {
+				return ED25519_SHA256;
+			}
+			return normalized.contains("SHA1") ? RSA_SHA1 : RSA_SHA256;
+		}
+	}
+
+	/**
+	 * Sends everything up to and including the empty line that ends the headers to one stream, and the body to another. Fails as soon as more than
+	 * the maximum size is written in total.
+	 */
+	private static class HeaderBodySplittingOutputStream extends OutputStream {
+
+		private static final byte[] END_OF_HEADERS = { '\r', '\n', '\r', '\n' };
+
+		@NotNull private final OutputStream headers;
+		@NotNull private final OutputStream body;
+		private final long maximumSize;
+		private int matchedEndOfHeaders;
+		private long size;
+
+		private HeaderBodySplittingOutputStream(@NotNull final OutputStream headers, @NotNull final OutputStream body, final long maximumSize) {
+			this.headers = headers;
+			this.body = body;
+			this.maximumSize = maximumSize;
+		}
+
+		@Override
+		public void write(final int b)
+				throws IOException {
+			write(new byte[]{ (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(final byte@NotNull[] b, final int off, final int len)
+				throws IOException {
+			size += len;
+			if (size > maximumSize) {
+				throw new SizeLimitExceededException();
+			}
+			int headerLength = 0;
+			while (matchedEndOfHeaders < END_OF_HEADERS.length && headerLength < len) {
+				final byte next = b[off + headerLength++];
+				if (next == END_OF_HEADERS[matchedEndOfHeaders]) {
+					matchedEndOfHeaders++;
+				} else {
+					matchedEndOfHeaders = next == '\r' ? 1 : 0;
+				}
+			}
+			headers.write(b, off, headerLength);
+			if (headerLength < len) {
+				body.write(b, off + headerLength, len - headerLength);
+			}
+		}
+	}
+}
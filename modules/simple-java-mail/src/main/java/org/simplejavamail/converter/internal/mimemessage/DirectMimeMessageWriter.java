@@ -0,0 +1,390 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.Address;
+import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MailDateFormat;
+import jakarta.mail.internet.MimeUtility;
+import jakarta.mail.internet.ParameterList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.internal.dkimsupport.DkimSignerCache;
+import org.simplejavamail.api.internal.general.MessageHeader;
+import org.simplejavamail.converter.internal.mimemessage.AttachmentEncoders.EncodedBody;
+import org.simplejavamail.internal.util.MiscUtil;
+import org.simplejavamail.internal.util.NamedDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Boolean.TRUE;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static org.simplejavamail.converter.internal.mimemessage.SpecializedMimeMessageProducer.emailContainsAlternativeContent;
+import static org.simplejavamail.converter.internal.mimemessage.SpecializedMimeMessageProducer.emailContainsMixedContent;
+import static org.simplejavamail.converter.internal.mimemessage.SpecializedMimeMessageProducer.emailContainsRelatedContent;
+import static org.simplejavamail.internal.util.MiscUtil.valueNullOrEmpty;
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+
+/**
+ * Alternative to the {@link SpecializedMimeMessageProducer}s that writes an email straight to its RFC 5322 form, without building a
+ * MimeMessage with MimeMultipart and MimeBodyPart instances first and without {@code saveChanges()}. The result has the same MIME structure,
+ * headers and encodings the producers produce, so parsing it results in the same MimeMessage; only the multipart boundaries, the order of
+ * some headers and generated Message-IDs differ.
+ * <p>
+ * Only emails that don't need the MimeMessage object model are supported (see {@link #canWrite(Email, Session)}): S/MIME operates on a
+ * MimeMessage, and forwarded emails are a MimeMessage already. Other emails should be produced with {@link MimeMessageProducerHelper}. Emails
+ * are signed with DKIM while they are written, see {@link DirectDkimSigner}.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDirectMimeRendering(boolean)
+ */
+public final class DirectMimeMessageWriter {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	private static final AtomicInteger BOUNDARY_COUNTER = new AtomicInteger();
+
+	/**
+	 * Guarded by itself, as it's not thread-safe.
+	 */
+	private static final MailDateFormat MAIL_DATE_FORMAT = new MailDateFormat();
+
+	/**
+	 * Headers that Jakarta Mail would replace or position differently when set as custom header, which is left to Jakarta Mail.
+	 */
+	private static final Set<String> HEADERS_MANAGED_BY_JAKARTA_MAIL = new HashSet<>(Arrays.asList(
+			"date", "from", "reply-to", "to", "cc", "bcc", "message-id", "subject", "mime-version", "content-type", "content-transfer-encoding"));
+
+	private DirectMimeMessageWriter() {
+	}
+
+	/**
+	 * @return Whether the email can be written directly, which is the case unless it is signed or encrypted with S/MIME, forwards
+	 * another email, has composite attachments (multipart/* or message/*), has no content at all or sets headers managed by Jakarta Mail. Neither
+	 * are Sessions supported that allow UTF-8 in headers.
+	 */
+	public static boolean canWrite(@NotNull final Email email, @NotNull final Session session) {
+		return email.getSmimeSigningConfig() == null
+				&& email.getSmimeEncryptionConfig() == null
+				&& email.getEmailToForward() == null
+				&& !Boolean.parseBoolean(session.getProperty("mail.mime.allowutf8"))
+				&& (hasText(email) || emailContainsMixedContent(email) || emailContainsRelatedContent(email))
+				&& email.getAttachments().stream().noneMatch(DirectMimeMessageWriter::isComposite)
+				&& email.getEmbeddedImages().stream().noneMatch(DirectMimeMessageWriter::isComposite)
+				&& email.getHeaders().keySet().stream().noneMatch(name -> HEADERS_MANAGED_BY_JAKARTA_MAIL.contains(name.toLowerCase(Locale.ENGLISH)));
+	}
+
+	/**
+	 * Writes the email as {@link MimeMessageProducerHelper#produceMimeMessage(Email, Session)} followed by {@code MimeMessage.writeTo()} would.
+	 * The Session is used for generating a Message-ID if the email has no ID and for the {@link EncodedAttachmentCache} and {@link ParallelAttachmentEncoder}, if any.
+	 *
+	 * @throws IllegalArgumentException if the email is not supported, see {@link #canWrite(Email, Session)}.
+	 */
+	public static void write(@NotNull final Email email, @NotNull final Session session, @NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		write(email, session, os, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Like {@link #write(Email, Session, OutputStream)}, but aborts emails that are signed with DKIM as soon as they exceed the maximum size.
+	 * These are buffered before anything is written to the given stream, so a size check on that stream alone would only fail once the whole
+	 * email was buffered.
+	 *
+	 * @param maximumSize Use {@link Long#MAX_VALUE} for no limit.
+	 * @see DirectDkimSigner#writeSigned(org.simplejavamail.api.internal.dkimsupport.DkimSigningMaterial, PartWriter, OutputStream, long)
+	 */
+	public static void write(@NotNull final Email email, @NotNull final Session session, @NotNull final OutputStream os, final long maximumSize)
+			throws IOException, MessagingException {
+		if (!canWrite(email, session)) {
+			throw new IllegalArgumentException("email cannot be written directly, produce a MimeMessage instead");
+		}
+		final PartWriter rootPart = determineRootPart(email, AttachmentEncoders.fromSession(session));
+		final PartWriter message = messageOs -> {
+			writeMessageHeaders(email, session, messageOs);
+			rootPart.writeTo(messageOs);
+		};
+		if (email.getDkimConfig() != null) {
+			DirectDkimSigner.writeSigned(DkimSignerCache.signingMaterialFor(email.getDkimConfig()), message, os, maximumSize);
+		} else {
+			message.writeTo(os);
+		}
+		os.flush();
+	}
+
+	private static void writeMessageHeaders(@NotNull final Email email, @NotNull final Session session, @NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		writeHeader(os, "Date", formatDate(ofNullable(email.getSentDate()).orElse(new Date())));
+		if (email.getFromRecipient() != null) {
+			writeAddressHeader(os, "From", MimeHeaderCache.asInternetAddress(email.getFromRecipient()));
+		}
+		if (!email.getReplyToRecipients().isEmpty()) {
+			final Address[] replyToAddresses = new Address[email.getReplyToRecipients().size()];
+			for (int i = 0; i < replyToAddresses.length; i++) {
+				replyToAddresses[i] = MimeHeaderCache.asInternetAddress(email.getReplyToRecipients().get(i));
+			}
+			writeAddressHeader(os, "Reply-To", replyToAddresses);
+		}
+		writeRecipientsHeader(os, "To", RecipientType.TO, email.getRecipients());
+		writeRecipientsHeader(os, "Cc", RecipientType.CC, email.getRecipients());
+		writeRecipientsHeader(os, "Bcc", RecipientType.BCC, email.getRecipients());
+		writeHeader(os, "Message-ID", !valueNullOrEmpty(email.getId()) ? email.getId() : generateMessageId(session));
+		if (email.getSubject() != null) {
+			writeHeader(os, "Subject", MimeUtility.fold(9, MimeUtility.encodeText(email.getSubject(), UTF_8.name(), null)));
+		}
+		writeHeader(os, "MIME-Version", "1.0");
+
+		for (final Map.Entry<String, Collection<String>> header : email.getHeaders().entrySet()) {
+			for (final String headerValue : header.getValue()) {
+				writeHeader(os, header.getKey(), MimeHeaderCache.encodeAndFoldHeaderValue(header.getKey(), headerValue));
+			}
+		}
+		if (TRUE.equals(email.getUseDispositionNotificationTo())) {
+			final Recipient dispositionTo = checkNonEmptyArgument(email.getDispositionNotificationTo(), "dispositionNotificationTo");
+			writeHeader(os, MessageHeader.DISPOSITION_NOTIFICATION_TO.getName(), MimeHeaderCache.asInternetAddress(dispositionTo).toString());
+		}
+		if (TRUE.equals(email.getUseReturnReceiptTo())) {
+			final Recipient returnReceiptTo = checkNonEmptyArgument(email.getReturnReceiptTo(), "returnReceiptTo");
+			writeHeader(os, MessageHeader.RETURN_RECEIPT_TO.getName(), MimeHeaderCache.asInternetAddress(returnReceiptTo).toString());
+		}
+	}
+
+	/**
+	 * Follows the same structure as the {@link SpecializedMimeMessageProducer}s: texts are wrapped in an alternative multipart if there is more
+	 * than one, which together with the embedded images is wrapped in a related multipart if there are any, which together with the attachments
+	 * is wrapped in a mixed multipart if there are any.
+	 */
+	@NotNull
+	private static PartWriter determineRootPart(@NotNull final Email email, @NotNull final AttachmentEncoders attachmentEncoders) {
+		final List<PartWriter> textParts = determineTextParts(email);
+		PartWriter rootPart = emailContainsAlternativeContent(email) ? new MultipartWriter("alternative", textParts) : null;
+
+		if (emailContainsRelatedContent(email)) {
+			final List<PartWriter> relatedParts = rootPart != null ? new ArrayList<>(List.of(rootPart)) : new ArrayList<>(textParts);
+			for (final AttachmentResource embeddedImage : email.getEmbeddedImages()) {
+				relatedParts.add(new AttachmentPartWriter(embeddedImage, Part.INLINE, attachmentEncoders));
+			}
+			rootPart = new MultipartWriter("related", relatedParts);
+		}
+
+		if (emailContainsMixedContent(email)) {
+			final List<PartWriter> mixedParts = rootPart != null ? new ArrayList<>(List.of(rootPart)) : new ArrayList<>(textParts);
+			for (final AttachmentResource attachment : email.getAttachments()) {
+				mixedParts.add(new AttachmentPartWriter(attachment, Part.ATTACHMENT, attachmentEncoders));
+			}
+			rootPart = new MultipartWriter("mixed", mixedParts);
+		}
+
+		return rootPart != null ? rootPart : textParts.get(0);
+	}
+
+	@NotNull
+	private static List<PartWriter> determineTextParts(@NotNull final Email email) {
+		final List<PartWriter> textParts = new ArrayList<>();
+		if (email.getPlainText() != null) {
+			textParts.add(new TextPartWriter(email.getPlainText(), "text/plain; charset=" + UTF_8.name(),
+					MimeMessageHelper.determineContentTransferEncoder(email, email.getPlainText())));
+		}
+		if (email.getHTMLText() != null) {
+			textParts.add(new TextPartWriter(email.getHTMLText(), format("text/html; charset=\"%s\"", UTF_8.name()),
+					MimeMessageHelper.determineContentTransferEncoder(email, email.getHTMLText())));
+		}
+		if (email.getCalendarText() != null) {
+			final Object calendarMethod = requireNonNull(email.getCalendarMethod(), "calendarMethod is required when calendarText is set");
+			textParts.add(new TextPartWriter(email.getCalendarText(), format("text/calendar; charset=\"%s\"; method=\"%s\"", UTF_8.name(), calendarMethod),
+					MimeMessageHelper.determineContentTransferEncoder(email, email.getCalendarText())));
+		}
+		return textParts;
+	}
+
+	private static boolean hasText(@NotNull final Email email) {
+		return email.getPlainText() != null || email.getHTMLText() != null || email.getCalendarText() != null;
+	}
+
+	private static boolean isComposite(@NotNull final AttachmentResource attachmentResource) {
+		final String contentType = attachmentResource.getDataSource().getContentType();
+		final String baseType = contentType != null ? contentType.toLowerCase(Locale.ENGLISH) : "";
+		return baseType.startsWith("multipart/") || baseType.startsWith("message/");
+	}
+
+	private static void writeAddressHeader(@NotNull final OutputStream os, @NotNull final String name, @NotNull final Address... addresses)
+			throws IOException {
+		writeHeader(os, name, InternetAddress.toString(addresses, name.length() + 2));
+	}
+
+	private static void writeRecipientsHeader(@NotNull final OutputStream os, @NotNull final String name, @NotNull final RecipientType type,
+			@NotNull final List<Recipient> recipients)
+			throws IOException {
+		final List<Address> addressesOfType = new ArrayList<>();
+		for (final Recipient recipient : recipients) {
+			if (type.equals(recipient.getType())) {
+				addressesOfType.add(MiscUtil.asInternetAddress(recipient, UTF_8));
+			}
+		}
+		if (!addressesOfType.isEmpty()) {
+			writeAddressHeader(os, name, addressesOfType.toArray(new Address[0]));
+		}
+	}
+
+	private static void writeHeader(@NotNull final OutputStream os, @NotNull final String name, @NotNull final String value)
+			throws IOException {
+		os.write((name + ": " + value).getBytes(ISO_8859_1));
+		os.write(CRLF);
+	}
+
+	@NotNull
+	private static String formatDate(@NotNull final Date date) {
+		synchronized (MAIL_DATE_FORMAT) {
+			return MAIL_DATE_FORMAT.format(date);
+		}
+	}
+
+	/**
+	 * Same format as Jakarta Mail's generated Message-IDs: unique, followed by the domain of the Session's local address.
+	 */
+	@NotNull
+	private static String generateMessageId(@NotNull final Session session) {
+		final InternetAddress localAddress = InternetAddress.getLocalAddress(session);
+		final String address = localAddress != null ? localAddress.getAddress() : "jakartamail.user@localhost";
+		return "<" + UUID.randomUUID() + ".JavaMail" + address.substring(Math.max(0, address.lastIndexOf('@'))) + ">";
+	}
+
+	/**
+	 * Writes a part's headers, followed by an empty line and the part's content.
+	 */
+	interface PartWriter {
+		void writeTo(@NotNull OutputStream os) throws IOException, MessagingException;
+	}
+
+	private static class TextPartWriter implements PartWriter {
+		@NotNull private final String text;
+		@NotNull private final String contentType;
+		@NotNull private final String encoding;
+
+		private TextPartWriter(@NotNull final String text, @NotNull final String contentType, @NotNull final String encoding) {
+			this.text = text;
+			this.contentType = contentType;
+			this.encoding = encoding;
+		}
+
+		@Override
+		public void writeTo(@NotNull final OutputStream os)
+				throws IOException, MessagingException {
+			writeHeader(os, "Content-Type", contentType);
+			writeHeader(os, "Content-Transfer-Encoding", encoding);
+			os.write(CRLF);
+			final OutputStream encoder = MimeUtility.encode(os, encoding);
+			encoder.write(text.getBytes(UTF_8));
+			encoder.flush(); // completes the encoding
+		}
+	}
+
+	private static class AttachmentPartWriter implements PartWriter {
+		@NotNull private final AttachmentResource attachmentResource;
+		@NotNull private final String dispositionType;
+		@NotNull private final String fileName;
+		@NotNull private final DataSource dataSource;
+		@NotNull private final String encoding;
+		@Nullable private final EncodedBody encodedBody;
+
+		/**
+		 * Prepares the encoded body right away, so large bodies are encoded in parallel while the parts before them are written.
+		 */
+		private AttachmentPartWriter(@NotNull final AttachmentResource attachmentResource, @NotNull final String dispositionType,
+				@NotNull final AttachmentEncoders attachmentEncoders) {
+			this.attachmentResource = attachmentResource;
+			this.dispositionType = dispositionType;
+			this.fileName = MimeMessageHelper.determineResourceName(attachmentResource, dispositionType, false, false);
+			this.dataSource = new NamedDataSource(fileName, attachmentResource.getDataSource());
+			this.encoding = MimeMessageHelper.determineAttachmentContentTransferEncoder(attachmentResource, dataSource);
+			this.encodedBody = attachmentEncoders.prepareEncodedBody(dataSource, encoding);
+		}
+
+		/**
+		 * Writes the same headers as {@code MimeMessageHelper.getBodyPartFromDatasource} sets, including the ones Jakarta Mail derives from them.
+		 */
+		@Override
+		public void writeTo(@NotNull final OutputStream os)
+				throws IOException, MessagingException {
+			final String contentID = MimeMessageHelper.determineResourceName(attachmentResource, dispositionType, true, true);
+
+			final ParameterList contentTypeParameters = new ParameterList();
+			contentTypeParameters.set("filename", fileName);
+			contentTypeParameters.set("name", fileName);
+			final ParameterList dispositionParameters = new ParameterList();
+			dispositionParameters.set("filename", fileName);
+
+			writeHeader(os, "Content-Type", attachmentResource.getDataSource().getContentType() + contentTypeParameters);
+			writeHeader(os, "Content-ID", format("<%s>", contentID));
+			final String description = MimeMessageHelper.determineAttachmentDescription(attachmentResource);
+			if (description != null) {
+				writeHeader(os, "Content-Description", description);
+			}
+			writeHeader(os, "Content-Disposition", dispositionType + dispositionParameters.toString(dispositionType.length() + 21));
+			writeHeader(os, "Content-Transfer-Encoding", encoding);
+			os.write(CRLF);
+
+			if (encodedBody != null) {
+				os.write(encodedBody.get());
+			} else {
+				final OutputStream encoder = MimeUtility.encode(os, encoding);
+				try (InputStream is = dataSource.getInputStream()) {
+					is.transferTo(encoder);
+				}
+				encoder.flush(); // completes the encoding
+			}
+		}
+	}
+
+	private static class MultipartWriter implements PartWriter {
+		@NotNull private final String subType;
+		@NotNull private final List<PartWriter> parts;
+
+		private MultipartWriter(@NotNull final String subType, @NotNull final List<PartWriter> parts) {
+			this.subType = subType;
+			this.parts = parts;
+		}
+
+		/**
+		 * Same format as MimeMultipart, with the same kind of boundary (which can't occur in encoded content).
+		 */
+		@Override
+		public void writeTo(@NotNull final OutputStream os)
+				throws IOException, MessagingException {
+			final String boundary = "----=_Part_" + BOUNDARY_COUNTER.getAndIncrement() + "_" + UUID.randomUUID() + "." + System.currentTimeMillis();
+			writeHeader(os, "Content-Type", format("multipart/%s; \r\n\tboundary=\"%s\"", subType, boundary));
+			os.write(CRLF);
+			final byte[] delimiter = ("--" + boundary).getBytes(ISO_8859_1);
+			for (final PartWriter part : parts) {
+				os.write(delimiter);
+				os.write(CRLF);
+				part.writeTo(os);
+				os.write(CRLF);
+			}
+			os.write(delimiter);
+			os.write(new byte[]{ '-', '-' });
+			os.write(CRLF);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.config.DkimConfig.Canonicalization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+/**
+ * Passes the body of a message on unchanged, while hashing its DKIM canonicalized form (<a href="https://tools.ietf.org/html/rfc6376#section-3.4.3">simple</a>
+ * or <a href="https://tools.ietf.org/html/rfc6376#section-3.4.4">relaxed</a>) along the way, so the body hash doesn't take a separate pass over
+ * the body. Bare line feeds are treated as line breaks, as they are sent as CRLF.
+ * <p>
+ * Line breaks and (for relaxed) whitespace are only hashed once followed by content, as trailing empty lines and whitespace at the end of lines
+ * are ignored.
+ */
+final class DkimBodyHashingOutputStream extends OutputStream {
+
+	private static final int DIGEST_BUFFER_SIZE = 8192;
+
+	@NotNull private final OutputStream os;
+	@NotNull private final MessageDigest digest;
+	private final boolean relaxed;
+
+	private final byte[] digestBuffer = new byte[DIGEST_BUFFER_SIZE];
+	private int digestBufferCount;
+	private long canonicalizedLength;
+
+	private int pendingLineBreaks;
+	private boolean pendingWhitespace;
+	private boolean pendingCarriageReturn;
+	private boolean hashedContent;
+
+	DkimBodyHashingOutputStream(@NotNull final OutputStream os, @NotNull final Canonicalization bodyCanonicalization, @NotNull final MessageDigest digest) {
+		this.os = os;
+		this.digest = digest;
+		this.relaxed = bodyCanonicalization == Canonicalization.RELAXED;
+	}
+
+	@Override
+	public void write(final int b)
+			throws IOException {
+		os.write(b);
+		canonicalize(b & 0xFF);
+	}
+
+	@Override
+	public void write(final byte@NotNull[] b, final int off, final int len)
+			throws IOException {
+		os.write(b, off, len);
+		for (int i = off; i < off + len; i++) {
+			canonicalize(b[i] & 0xFF);
+		}
+	}
+
+	/**
+	 * Completes the canonicalized body. The stream should not be written to anymore afterwards.
+	 *
+	 * @return The hash of the canonicalized body.
+	 */
+	byte@NotNull[] finish() {
+		if (pendingCarriageReturn) {
+			hashContent('\r');
+		}
+		// the last line always ends with a line break, except that with relaxed canonicalization an empty body stays empty
+		if (hashedContent || !relaxed) {
+			hash('\r');
+			hash('\n');
+		}
+		flushDigestBuffer();
+		return digest.digest();
+	}
+
+	/**
+	 * @return The number of bytes hashed so far, for the DKIM l= tag.
+	 */
+	long getCanonicalizedLength() {
+		return canonicalizedLength;
+	}
+
+	private void canonicalize(final int b) {
+		if (pendingCarriageReturn) {
+			pendingCarriageReturn = false;
+			if (b == '\n') {
+				endLine();
+				return;
+			}
+			hashContent('\r');
+		}
+		if (b == '\r') {
+			pendingCarriageReturn = true;
+		} else if (b == '\n') {
+			endLine();
+		} else if (relaxed && (b == ' ' || b == '\t')) {
+			pendingWhitespace = true;
+		} else {
+			hashContent(b);
+		}
+	}
+
+	private void endLine() {
+		pendingWhitespace = false;
+		pendingLineBreaks++;
+	}
+
+	private void hashContent(final int b) {
+		for (; pendingLineBreaks > 0; pendingLineBreaks--) {
+			hash('\r');
+			hash('\n');
+		}
+		if (pendingWhitespace) {
+			pendingWhitespace = false;
+			hash(' ');
+		}
+		hash(b);
+		hashedContent = true;
+	}
+
+	private void hash(final int b) {
+		if (digestBufferCount == digestBuffer.length) {
+			flushDigestBuffer();
+		}
+		digestBuffer[digestBufferCount++] = (byte) b;
+		canonicalizedLength++;
+	}
+
+	private void flushDigestBuffer() {
+		digest.update(digestBuffer, 0, digestBufferCount);
+		digestBufferCount = 0;
+	}
+}
@@ -0,0 +1,160 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.EncodedAttachmentCacheStats;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Cache of encoded (base64, quoted-printable etc.) attachment and embedded image bodies, so that attachments that are sent with many emails, such
+ * as terms and conditions or a logo, are encoded only once. Used by the {@link MimeMessageHelper} when primed on the Session by the Mailer.
+ * <p>
+ * Bodies are cached by a SHA-256 hash of their data (and the encoding), so the same attachment is found regardless of its name, the data source
+ * instance or the email it's in, and a changed file simply results in a new entry. Hashing still reads the data, but that is a lot cheaper
+ * than encoding it and doesn't produce any garbage. The least recently used bodies are evicted once the combined size of the cached bodies
+ * exceeds the maximum size; bodies that are bigger than that on their own aren't cached at all.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withEncodedAttachmentCache(long)
+ */
+public class EncodedAttachmentCache {
+
+	private static final Logger LOGGER = getLogger(EncodedAttachmentCache.class);
+
+	private static final String ENCODED_ATTACHMENT_CACHE_KEY = "SESSION_BASED_ENCODED_ATTACHMENT_CACHE_KEY";
+
+	private final long maximumSizeInBytes;
+
+	/**
+	 * Access ordered, so the least recently used body is the first.
+	 */
+	private final Map<String, byte[]> encodedBodies = new LinkedHashMap<>(16, 0.75f, true);
+	private long sizeInBytes;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	private EncodedAttachmentCache(final long maximumSizeInBytes) {
+		this.maximumSizeInBytes = maximumSizeInBytes;
+	}
+
+	/**
+	 * Creates a new cache for the Session and stores it in the Session's properties, or removes the cache if the maximum size isn't positive.
+	 */
+	public static void primeSession(@NotNull final Session session, final long maximumSizeInBytes) {
+		if (maximumSizeInBytes > 0) {
+			session.getProperties().put(ENCODED_ATTACHMENT_CACHE_KEY, new EncodedAttachmentCache(maximumSizeInBytes));
+		} else {
+			session.getProperties().remove(ENCODED_ATTACHMENT_CACHE_KEY);
+		}
+	}
+
+	@Nullable
+	static EncodedAttachmentCache fromSession(@NotNull final Session session) {
+		return (EncodedAttachmentCache) session.getProperties().get(ENCODED_ATTACHMENT_CACHE_KEY);
+	}
+
+	/**
+	 * @return The statistics of the Session's cache, which are all zero if the Session has no cache.
+	 */
+	@NotNull
+	public static EncodedAttachmentCacheStats getStats(@NotNull final Session session) {
+		final EncodedAttachmentCache cache = fromSession(session);
+		return cache != null ? cache.getStats() : new EncodedAttachmentCacheStats(0, 0, 0, 0, 0);
+	}
+
+	@NotNull
+	private synchronized EncodedAttachmentCacheStats getStats() {
+		return new EncodedAttachmentCacheStats(hitCount, missCount, evictionCount, encodedBodies.size(), sizeInBytes);
+	}
+
+	/**
+	 * @return The data of the data source, encoded with the given Content-Transfer-Encoding, from the cache if possible. Concurrent misses for the
+	 * same data are encoded in parallel rather than waiting for each other, as that's no slower than without the cache.
+	 */
+	@NotNull
+	byte[] getEncodedBody(@NotNull final DataSource dataSource, @NotNull final String encoding)
+			throws MessagingException {
+		final String key = determineContentHash(dataSource) + "/" + encoding;
+		synchronized (this) {
+			final byte[] encodedBody = encodedBodies.get(key);
+			if (encodedBody != null) {
+				hitCount++;
+				return encodedBody;
+			}
+			missCount++;
+		}
+		final byte[] encodedBody = encode(dataSource, encoding);
+		store(key, encodedBody);
+		return encodedBody;
+	}
+
+	private synchronized void store(@NotNull final String key, final byte@NotNull[] encodedBody) {
+		if (encodedBody.length > maximumSizeInBytes) {
+			LOGGER.trace("encoded attachment of {} bytes exceeds the cache size of {} bytes, not caching it", encodedBody.length, maximumSizeInBytes);
+			return;
+		}
+		final byte[] replacedBody = encodedBodies.put(key, encodedBody);
+		sizeInBytes += encodedBody.length - (replacedBody != null ? replacedBody.length : 0);
+		for (final Iterator<byte[]> it = encodedBodies.values().iterator(); sizeInBytes > maximumSizeInBytes && it.hasNext(); ) {
+			sizeInBytes -= it.next().length;
+			it.remove();
+			evictionCount++;
+		}
+	}
+
+	@NotNull
+	private static String determineContentHash(@NotNull final DataSource dataSource)
+			throws MessagingException {
+		final MessageDigest digest = createDigest();
+		try (InputStream is = dataSource.getInputStream();
+			 OutputStream os = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+			is.transferTo(os);
+		} catch (final IOException e) {
+			throw new MessagingException("Failed to read attachment data", e);
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	/**
+	 * Encodes the same way {@code MimeBodyPart.writeTo} does.
+	 */
+	static byte@NotNull[] encode(@NotNull final DataSource dataSource, @NotNull final String encoding)
+			throws MessagingException {
+		final ByteArrayOutputStream encodedBody = new ByteArrayOutputStream();
+		try (InputStream is = dataSource.getInputStream()) {
+			final OutputStream encoder = MimeUtility.encode(encodedBody, encoding);
+			is.transferTo(encoder);
+			encoder.flush(); // completes the encoding
+		} catch (final IOException e) {
+			throw new MessagingException("Failed to encode attachment data", e);
+		}
+		return encodedBody.toByteArray();
+	}
+
+	@NotNull
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is supported by every Java platform", e);
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeUtility;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.internal.util.MiscUtil;
+
+import java.io.UnsupportedEncodingException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Caches the work that is the same for most emails: encoding and folding header values (List-Unsubscribe, X-Mailer and the like) and
+ * encoding the personal names of the sender's addresses (from, reply-to etc.). Both are cached by their raw value, in process-wide caches
+ * that evict the least recently used entry once full.
+ * <p>
+ * The addresses of actual recipients are not cached, as they tend to differ for every email and would only push out the entries that
+ * do repeat. Neither are exceptionally long header values cached.
+ */
+public final class MimeHeaderCache {
+
+	static final int MAXIMUM_ENTRIES = 1000;
+	static final int MAXIMUM_CACHED_HEADER_VALUE_LENGTH = 1000;
+
+	/**
+	 * Keyed by header name and value, as the folding depends on the header name's length. Guarded by itself.
+	 */
+	private static final Map<String, String> ENCODED_HEADER_VALUES = new LeastRecentlyUsedMap<>();
+
+	/**
+	 * Guarded by itself.
+	 */
+	private static final Map<Recipient, InternetAddress> INTERNET_ADDRESSES = new LeastRecentlyUsedMap<>();
+
+	private MimeHeaderCache() {
+	}
+
+	/**
+	 * @return The header value, encoded and folded like {@code MimeMessage.setSubject()} would.
+	 * @see MimeUtility#encodeText(String, String, String)
+	 * @see MimeUtility#fold(int, String)
+	 */
+	@NotNull
+	public static String encodeAndFoldHeaderValue(@NotNull final String headerName, @NotNull final String headerValue)
+			throws UnsupportedEncodingException {
+		if (headerValue.length() > MAXIMUM_CACHED_HEADER_VALUE_LENGTH) {
+			return encodeAndFold(headerName, headerValue);
+		}
+		final String key = headerName + ':' + headerValue;
+		synchronized (ENCODED_HEADER_VALUES) {
+			final String encodedHeaderValue = ENCODED_HEADER_VALUES.get(key);
+			if (encodedHeaderValue != null) {
+				return encodedHeaderValue;
+			}
+		}
+		final String encodedHeaderValue = encodeAndFold(headerName, headerValue);
+		synchronized (ENCODED_HEADER_VALUES) {
+			ENCODED_HEADER_VALUES.put(key, encodedHeaderValue);
+		}
+		return encodedHeaderValue;
+	}
+
+	/**
+	 * @return A shared address with the personal name already encoded, which therefore cannot be modified.
+	 * @see MiscUtil#asInternetAddress(Recipient, java.nio.charset.Charset)
+	 */
+	@NotNull
+	@SneakyThrows
+	public static InternetAddress asInternetAddress(@NotNull final Recipient recipient) {
+		synchronized (INTERNET_ADDRESSES) {
+			final InternetAddress internetAddress = INTERNET_ADDRESSES.get(recipient);
+			if (internetAddress != null) {
+				return internetAddress;
+			}
+		}
+		final InternetAddress internetAddress = new ImmutableInternetAddress(recipient);
+		synchronized (INTERNET_ADDRESSES) {
+			INTERNET_ADDRESSES.put(recipient, internetAddress);
+		}
+		return internetAddress;
+	}
+
+	@NotNull
+	private static String encodeAndFold(@NotNull final String headerName, @NotNull final String headerValue)
+			throws UnsupportedEncodingException {
+		return MimeUtility.fold(headerName.length() + 2, MimeUtility.encodeText(headerValue, UTF_8.name(), null));
+	}
+
+	private static class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		private LeastRecentlyUsedMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+			return size() > MAXIMUM_ENTRIES;
+		}
+	}
+
+	/**
+	 * Refuses any change once constructed (with the personal name encoded), so it can safely be shared between emails.
+	 */
+	private static class ImmutableInternetAddress extends InternetAddress {
+		private static final long serialVersionUID = 1L;
+
+		private final boolean constructed;
+
+		private ImmutableInternetAddress(@NotNull final Recipient recipient)
+				throws UnsupportedEncodingException {
+			super(recipient.getAddress(), recipient.getName(), UTF_8.name());
+			this.constructed = true;
+		}
+
+		@Override
+		public void setAddress(final String address) {
+			checkNotConstructed();
+			super.setAddress(address);
+		}
+
+		@Override
+		public void setPersonal(final String name, final String charset)
+				throws UnsupportedEncodingException {
+			checkNotConstructed();
+			super.setPersonal(name, charset);
+		}
+
+		@Override
+		public void setPersonal(final String name)
+				throws UnsupportedEncodingException {
+			checkNotConstructed();
+			super.setPersonal(name);
+		}
+
+		private void checkNotConstructed() {
+			if (constructed) {
+				throw new UnsupportedOperationException("address is shared between emails and cannot be modified");
+			}
+		}
+	}
+}
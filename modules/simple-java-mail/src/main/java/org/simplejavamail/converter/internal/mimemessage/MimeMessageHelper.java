@@ -29,6 +29,7 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -57,7 +58,7 @@ public class MimeMessageHelper {
 	static void setFrom(@NotNull final Email email, final MimeMessage message) throws MessagingException {
 		val fromRecipient = email.getFromRecipient();
 		if (fromRecipient != null) {
-			message.setFrom(MiscUtil.asInternetAddress(fromRecipient, CHARACTER_ENCODING));
+			message.setFrom(MimeHeaderCache.asInternetAddress(fromRecipient));
 		}
 	}
 	
@@ -88,7 +89,7 @@ public class MimeMessageHelper {
 			val replyToAddresses = new Address[email.getReplyToRecipients().size()];
 			int i = 0;
 			for (val replyToRecipient : email.getReplyToRecipients()) {
-				replyToAddresses[i++] = MiscUtil.asInternetAddress(replyToRecipient, CHARACTER_ENCODING);
+				replyToAddresses[i++] = MimeHeaderCache.asInternetAddress(replyToRecipient);
 			}
 			message.setReplyTo(replyToAddresses);
 		}
@@ -106,28 +107,47 @@ public class MimeMessageHelper {
 		if (email.getPlainText() != null) {
 			val messagePart = new MimeBodyPart();
 			messagePart.setText(email.getPlainText(), CHARACTER_ENCODING.name());
-			messagePart.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email));
+			messagePart.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email, email.getPlainText()));
 			multipartAlternativeMessages.addBodyPart(messagePart);
 		}
 		if (email.getHTMLText() != null) {
 			val messagePartHTML = new MimeBodyPart();
 			messagePartHTML.setContent(email.getHTMLText(), format("text/html; charset=\"%s\"", CHARACTER_ENCODING.name()));
-			messagePartHTML.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email));
+			messagePartHTML.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email, email.getHTMLText()));
 			multipartAlternativeMessages.addBodyPart(messagePartHTML);
 		}
 		if (email.getCalendarText() != null) {
 			val calendarMethod = requireNonNull(email.getCalendarMethod(), "calendarMethod is required when calendarText is set");
 			val messagePartCalendar = new MimeBodyPart();
 			messagePartCalendar.setContent(email.getCalendarText(), format("text/calendar; charset=\"%s\"; method=\"%s\"", CHARACTER_ENCODING.name(), calendarMethod));
-			messagePartCalendar.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email));
+			messagePartCalendar.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email, email.getCalendarText()));
 			multipartAlternativeMessages.addBodyPart(messagePartCalendar);
 		}
 	}
 
-	private static String determineContentTransferEncoder(@NotNull Email email) {
-		return (email.getContentTransferEncoding() != null
+	/**
+	 * @param text The content body the encoding is for, which {@link ContentTransferEncoding#AUTO} bases the encoding on.
+	 */
+	static String determineContentTransferEncoder(@NotNull Email email, @NotNull String text) {
+		val contentTransferEncoding = email.getContentTransferEncoding() != null
 				? email.getContentTransferEncoding()
-				: ContentTransferEncoding.getDefault()).getEncoder();
+				: ContentTransferEncoding.getDefault();
+		return (contentTransferEncoding == ContentTransferEncoding.AUTO
+				? ContentTransferEncodingSelector.selectEncoding(text)
+				: contentTransferEncoding).getEncoder();
+	}
+
+	/**
+	 * @return The attachment's own encoding, or else the encoding Jakarta Mail would determine for the data source.
+	 */
+	static String determineAttachmentContentTransferEncoder(@NotNull AttachmentResource attachmentResource, @NotNull DataSource dataSource) {
+		return hasExplicitContentTransferEncoding(attachmentResource)
+				? requireNonNull(attachmentResource.getContentTransferEncoding()).getEncoder()
+				: MimeUtility.getEncoding(dataSource);
+	}
+
+	private static boolean hasExplicitContentTransferEncoding(@NotNull AttachmentResource attachmentResource) {
+		return attachmentResource.getContentTransferEncoding() != null && attachmentResource.getContentTransferEncoding() != ContentTransferEncoding.AUTO;
 	}
 
 	/**
@@ -150,7 +170,18 @@ public class MimeMessageHelper {
 			val calendarMethod = requireNonNull(email.getCalendarMethod(), "CalendarMethod must be set when CalendarText is set");
 			messagePart.setContent(email.getCalendarText(), format("text/calendar; charset=\"%s\"; method=\"%s\"", CHARACTER_ENCODING.name(), calendarMethod));
 		}
-		messagePart.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email));
+		messagePart.addHeader(MessageHeader.CONTENT_TRANSFER_ENCODING.getName(), determineContentTransferEncoder(email, determineSingleText(email)));
+	}
+
+	/**
+	 * @return The text that ends up as the content of a single part email, which is the last one set by {@link #setTexts(Email, MimePart)}.
+	 */
+	@NotNull
+	private static String determineSingleText(@NotNull final Email email) {
+		return email.getCalendarText() != null ? email.getCalendarText()
+				: email.getHTMLText() != null ? email.getHTMLText()
+				: email.getPlainText() != null ? email.getPlainText()
+				: "";
 	}
 	
 	/**
@@ -172,12 +203,13 @@ public class MimeMessageHelper {
 	 *
 	 * @param email            The message in which the embedded images are defined.
 	 * @param multipartRelated The branch in the email structure in which we'll stuff the embedded images.
-	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String)}
+	 * @param attachmentEncoders The means of speeding up encoding the images, if any.
+	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String, AttachmentEncoders)}
 	 */
-	static void setEmbeddedImages(@NotNull final Email email, final MimeMultipart multipartRelated)
+	static void setEmbeddedImages(@NotNull final Email email, final MimeMultipart multipartRelated, @NotNull final AttachmentEncoders attachmentEncoders)
 			throws MessagingException {
 		for (final AttachmentResource embeddedImage : email.getEmbeddedImages()) {
-			multipartRelated.addBodyPart(getBodyPartFromDatasource(embeddedImage, Part.INLINE));
+			multipartRelated.addBodyPart(getBodyPartFromDatasource(embeddedImage, Part.INLINE, attachmentEncoders));
 		}
 	}
 
@@ -187,12 +219,13 @@ public class MimeMessageHelper {
 	 *
 	 * @param email         The message in which the attachments are defined.
 	 * @param multipartRoot The branch in the email structure in which we'll stuff the attachments.
-	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String)}
+	 * @param attachmentEncoders The means of speeding up encoding the attachments, if any.
+	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String, AttachmentEncoders)}
 	 */
-	static void setAttachments(@NotNull final Email email, final MimeMultipart multipartRoot)
+	static void setAttachments(@NotNull final Email email, final MimeMultipart multipartRoot, @NotNull final AttachmentEncoders attachmentEncoders)
 			throws MessagingException {
 		for (final AttachmentResource attachment : email.getAttachments()) {
-			multipartRoot.addBodyPart(getBodyPartFromDatasource(attachment, Part.ATTACHMENT));
+			multipartRoot.addBodyPart(getBodyPartFromDatasource(attachment, Part.ATTACHMENT, attachmentEncoders));
 		}
 	}
 
@@ -220,13 +253,13 @@ public class MimeMessageHelper {
 
 		if (TRUE.equals(email.getUseDispositionNotificationTo())) {
 			final Recipient dispositionTo = checkNonEmptyArgument(email.getDispositionNotificationTo(), "dispositionNotificationTo");
-			final Address address = MiscUtil.asInternetAddress(dispositionTo, CHARACTER_ENCODING);
+			final Address address = MimeHeaderCache.asInternetAddress(dispositionTo);
 			message.setHeader(MessageHeader.DISPOSITION_NOTIFICATION_TO.getName(), address.toString());
 		}
 
 		if (TRUE.equals(email.getUseReturnReceiptTo())) {
 			final Recipient returnReceiptTo = checkNonEmptyArgument(email.getReturnReceiptTo(), "returnReceiptTo");
-			final Address address = MiscUtil.asInternetAddress(returnReceiptTo, CHARACTER_ENCODING);
+			final Address address = MimeHeaderCache.asInternetAddress(returnReceiptTo);
 			message.setHeader(MessageHeader.RETURN_RECEIPT_TO.getName(), address.toString());
 		}
 	}
@@ -234,8 +267,7 @@ public class MimeMessageHelper {
 	private static void setHeader(Message message, Map.Entry<String, Collection<String>> header) throws UnsupportedEncodingException, MessagingException {
 		for (final String headerValue : header.getValue()) {
 			final String headerName = header.getKey();
-			final String headerValueEncoded = MimeUtility.encodeText(headerValue, CHARACTER_ENCODING.name(), null);
-			final String foldedHeaderValue = MimeUtility.fold(headerName.length() + 2, headerValueEncoded);
+			final String foldedHeaderValue = MimeHeaderCache.encodeAndFoldHeaderValue(headerName, headerValue);
 			message.addHeader(header.getKey(), foldedHeaderValue);
 		}
 	}
@@ -248,19 +280,21 @@ public class MimeMessageHelper {
 	 *
 	 * @param attachmentResource An object that describes the attachment and contains the actual content data.
 	 * @param dispositionType    The type of attachment, {@link Part#INLINE} or {@link Part#ATTACHMENT} .
+	 * @param attachmentEncoders The means of speeding up encoding the data, if any, rather than encoding it every time the email is written.
 	 *
 	 * @return An object with the attachment data read for placement in the email structure.
 	 * @throws MessagingException All BodyPart setters.
 	 */
-	private static BodyPart getBodyPartFromDatasource(final AttachmentResource attachmentResource, final String dispositionType)
+	private static BodyPart getBodyPartFromDatasource(final AttachmentResource attachmentResource, final String dispositionType, @NotNull final AttachmentEncoders attachmentEncoders)
 			throws MessagingException {
-		final BodyPart attachmentPart = new MimeBodyPart();
 		// setting headers isn't working nicely using the javax mail API, so let's do that manually
 		final String fileName = determineResourceName(attachmentResource, dispositionType, false, false);
 		final String contentID = determineResourceName(attachmentResource, dispositionType, true, true);
-		attachmentPart.setDataHandler(new DataHandler(new NamedDataSource(fileName, attachmentResource.getDataSource())));
-		attachmentPart.setFileName(fileName);
+		final DataSource dataSource = new NamedDataSource(fileName, attachmentResource.getDataSource());
 		final String contentType = attachmentResource.getDataSource().getContentType();
+		final BodyPart attachmentPart = createBodyPart(attachmentResource, dataSource, contentType, attachmentEncoders);
+		attachmentPart.setDataHandler(new DataHandler(dataSource));
+		attachmentPart.setFileName(fileName);
 		ParameterList pl = new ParameterList();
 		pl.set("filename", fileName);
 		pl.set("name", fileName);
@@ -268,13 +302,28 @@ public class MimeMessageHelper {
 		attachmentPart.setHeader("Content-ID", format("<%s>", contentID));
 
 		attachmentPart.setHeader("Content-Description", determineAttachmentDescription(attachmentResource));
-		if (!valueNullOrEmpty(attachmentResource.getContentTransferEncoding())) {
+		if (hasExplicitContentTransferEncoding(attachmentResource)) {
 			attachmentPart.setHeader("Content-Transfer-Encoding", attachmentResource.getContentTransferEncoding().getEncoder());
 		}
 		attachmentPart.setDisposition(dispositionType);
 		return attachmentPart;
 	}
 
+	/**
+	 * Composite types are left to Jakarta Mail, as it restricts their encoding when writing them.
+	 */
+	private static BodyPart createBodyPart(final AttachmentResource attachmentResource, final DataSource dataSource, final String contentType,
+			@NotNull final AttachmentEncoders attachmentEncoders)
+			throws MessagingException {
+		final String baseType = contentType != null ? contentType.toLowerCase(Locale.ENGLISH) : "";
+		if (attachmentEncoders == AttachmentEncoders.NONE || baseType.startsWith("multipart/") || baseType.startsWith("message/")) {
+			return new MimeBodyPart();
+		}
+		final String encoding = determineAttachmentContentTransferEncoder(attachmentResource, dataSource);
+		final AttachmentEncoders.EncodedBody encodedBody = attachmentEncoders.prepareEncodedBody(dataSource, encoding);
+		return encodedBody != null ? new PreEncodedMimeBodyPart(encodedBody, encoding) : new MimeBodyPart();
+	}
+
 	/**
 	 * Determines the right resource name and optionally attaches the correct extension to the name. The result is mime encoded.
 	 */
@@ -317,7 +366,7 @@ public class MimeMessageHelper {
 	}
 
 	@Nullable
-	private static String determineAttachmentDescription(AttachmentResource attachmentResource) {
+	static String determineAttachmentDescription(AttachmentResource attachmentResource) {
 		return ofNullable(attachmentResource.getDescription()).map(MiscUtil::encodeText).orElse(null);
 	}
 }
\ No newline at end of file
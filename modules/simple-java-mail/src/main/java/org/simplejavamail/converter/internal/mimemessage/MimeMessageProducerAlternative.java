@@ -13,7 +13,7 @@ class MimeMessageProducerAlternative extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MimeMultipart multipartRootAlternative = new MimeMultipart("alternative");
 		MimeMessageHelper.setTexts(email, multipartRootAlternative);
 		message.setContent(multipartRootAlternative);
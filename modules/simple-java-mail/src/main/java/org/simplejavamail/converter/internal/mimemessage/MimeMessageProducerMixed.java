@@ -13,11 +13,11 @@ class MimeMessageProducerMixed extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MimeMultipart multipartRootMixed = new MimeMultipart("mixed");
 		MimeMessageHelper.setTexts(email, multipartRootMixed);
 		MimeMessageHelper.configureForwarding(email, multipartRootMixed);
-		MimeMessageHelper.setAttachments(email, multipartRootMixed);
+		MimeMessageHelper.setAttachments(email, multipartRootMixed, attachmentEncoders);
 		message.setContent(multipartRootMixed);
 	}
 }
\ No newline at end of file
@@ -15,12 +15,12 @@ class MimeMessageProducerMixedAlternative extends SpecializedMimeMessageProducer
 	
 	@SuppressWarnings("Duplicates")
 	@Override
-	void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MultipartStructureWrapper multipartStructureWrapper = new MultipartStructureWrapper();
 		
 		MimeMessageHelper.setTexts(email, multipartStructureWrapper.multipartAlternativeMessages);
 		MimeMessageHelper.configureForwarding(email, multipartStructureWrapper.multipartRootMixed);
-		MimeMessageHelper.setAttachments(email, multipartStructureWrapper.multipartRootMixed);
+		MimeMessageHelper.setAttachments(email, multipartStructureWrapper.multipartRootMixed, attachmentEncoders);
 		
 		message.setContent(multipartStructureWrapper.multipartRootMixed);
 	}
@@ -15,13 +15,13 @@ class MimeMessageProducerMixedRelated extends SpecializedMimeMessageProducer {
 	
 	@SuppressWarnings("Duplicates")
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MultipartStructureWrapper multipartStructureWrapper = new MultipartStructureWrapper();
 		
 		MimeMessageHelper.setTexts(email, multipartStructureWrapper.multipartRelated);
 		MimeMessageHelper.configureForwarding(email, multipartStructureWrapper.multipartRootMixed);
-		MimeMessageHelper.setEmbeddedImages(email, multipartStructureWrapper.multipartRelated);
-		MimeMessageHelper.setAttachments(email, multipartStructureWrapper.multipartRootMixed);
+		MimeMessageHelper.setEmbeddedImages(email, multipartStructureWrapper.multipartRelated, attachmentEncoders);
+		MimeMessageHelper.setAttachments(email, multipartStructureWrapper.multipartRootMixed, attachmentEncoders);
 		
 		message.setContent(multipartStructureWrapper.multipartRootMixed);
 	}
@@ -32,13 +32,13 @@ class MimeMessageProducerMixedRelatedAlternative extends SpecializedMimeMessageP
 	}
 	
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MultipartStructureWrapper multipartStructureWrapper = new MultipartStructureWrapper();
 		
 		MimeMessageHelper.setTexts(email, multipartStructureWrapper.multipartAlternativeMessages);
 		MimeMessageHelper.configureForwarding(email, multipartStructureWrapper.multipartRootMixed);
-		MimeMessageHelper.setEmbeddedImages(email, multipartStructureWrapper.multipartRelated);
-		MimeMessageHelper.setAttachments(email, multipartStructureWrapper.multipartRootMixed);
+		MimeMessageHelper.setEmbeddedImages(email, multipartStructureWrapper.multipartRelated, attachmentEncoders);
+		MimeMessageHelper.setAttachments(email, multipartStructureWrapper.multipartRootMixed, attachmentEncoders);
 		
 		message.setContent(multipartStructureWrapper.multipartRootMixed);
 	}
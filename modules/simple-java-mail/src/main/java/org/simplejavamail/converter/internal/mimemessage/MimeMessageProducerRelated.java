@@ -13,10 +13,10 @@ class MimeMessageProducerRelated extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MimeMultipart multipartRootRelated = new MimeMultipart("related");
 		MimeMessageHelper.setTexts(email, multipartRootRelated);
-		MimeMessageHelper.setEmbeddedImages(email, multipartRootRelated);
+		MimeMessageHelper.setEmbeddedImages(email, multipartRootRelated, attachmentEncoders);
 		message.setContent(multipartRootRelated);
 	}
 }
\ No newline at end of file
@@ -14,11 +14,11 @@ class MimeMessageProducerRelatedAlternative extends SpecializedMimeMessageProduc
 	}
 	
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MultipartStructureWrapper multipartStructureWrapper = new MultipartStructureWrapper();
 		
 		MimeMessageHelper.setTexts(email, multipartStructureWrapper.multipartAlternativeMessages);
-		MimeMessageHelper.setEmbeddedImages(email, multipartStructureWrapper.multipartRootRelated);
+		MimeMessageHelper.setEmbeddedImages(email, multipartStructureWrapper.multipartRootRelated, attachmentEncoders);
 		
 		message.setContent(multipartStructureWrapper.multipartRootRelated);
 	}
@@ -23,7 +23,7 @@ class MimeMessageProducerSimple extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException {
 		MimeMessageHelper.setTexts(email, message);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.internal.util.MiscUtil;
+import org.simplejavamail.internal.util.NamedDataSource;
+import org.simplejavamail.internal.util.PathDataSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Base64 encodes large attachment and embedded image bodies on a dedicated pool as soon as their body part is created, so the
+ * bodies of an email with several large attachments are encoded in parallel rather than one after another when the email is written. The
+ * bodies are encoded exactly like {@code MimeBodyPart.writeTo} would, so the email is byte for byte the same as without parallel encoding.
+ * <p>
+ * Only data sources that know their size without being read (files and byte arrays) are considered, as reading a data source just to find out
+ * would defeat the purpose. The encoded body is held in memory until the email is written, so files that are streamed from disk while the email
+ * is written ({@link PathDataSource}) are left alone, as encoding those up front would load them into memory after all.
+ * <p>
+ * Encoding reads files and streams, so it runs on its own pool of (at most) as many threads as there are processors, rather than on the common
+ * {@code ForkJoinPool}, where blocking reads would hold up unrelated parallel streams and futures of the application. Idle threads die off and
+ * are daemon threads, so the pool doesn't keep the JVM running.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withParallelAttachmentEncoding(int)
+ */
+public class ParallelAttachmentEncoder {
+
+	private static final String PARALLEL_ATTACHMENT_ENCODER_KEY = "SESSION_BASED_PARALLEL_ATTACHMENT_ENCODER_KEY";
+
+	private static final AtomicInteger ENCODER_THREAD_COUNTER = new AtomicInteger();
+
+	private static final ExecutorService ENCODER_EXECUTOR_SERVICE = newEncoderExecutorService(Runtime.getRuntime().availableProcessors());
+
+	private final int thresholdInBytes;
+
+	private ParallelAttachmentEncoder(final int thresholdInBytes) {
+		this.thresholdInBytes = thresholdInBytes;
+	}
+
+	/**
+	 * Creates a new encoder for the Session and stores it in the Session's properties, or removes the encoder if the threshold isn't positive.
+	 */
+	public static void primeSession(@NotNull final Session session, final int thresholdInBytes) {
+		if (thresholdInBytes > 0) {
+			session.getProperties().put(PARALLEL_ATTACHMENT_ENCODER_KEY, new ParallelAttachmentEncoder(thresholdInBytes));
+		} else {
+			session.getProperties().remove(PARALLEL_ATTACHMENT_ENCODER_KEY);
+		}
+	}
+
+	@Nullable
+	static ParallelAttachmentEncoder fromSession(@NotNull final Session session) {
+		return (ParallelAttachmentEncoder) session.getProperties().get(PARALLEL_ATTACHMENT_ENCODER_KEY);
+	}
+
+	/**
+	 * @return The encoding in progress, taking the encoded body from the cache if there is one, or {@code null} if the data source isn't base64
+	 * encoded, is streamed from disk or isn't known to be at least as big as the threshold.
+	 */
+	@Nullable
+	CompletableFuture<byte[]> startEncoding(@NotNull final DataSource dataSource, @NotNull final String encoding,
+			@Nullable final EncodedAttachmentCache encodedAttachmentCache) {
+		if (!encoding.equalsIgnoreCase("base64") || isStreamedFromDisk(dataSource) || MiscUtil.determineKnownSize(dataSource) < thresholdInBytes) {
+			return null;
+		}
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return encodedAttachmentCache != null
+						? encodedAttachmentCache.getEncodedBody(dataSource, encoding)
+						: EncodedAttachmentCache.encode(dataSource, encoding);
+			} catch (final MessagingException e) {
+				throw new CompletionException(e);
+			}
+		}, ENCODER_EXECUTOR_SERVICE);
+	}
+
+	private static boolean isStreamedFromDisk(@NotNull final DataSource dataSource) {
+		return dataSource instanceof NamedDataSource
+				? isStreamedFromDisk(((NamedDataSource) dataSource).getDataSource())
+				: dataSource instanceof PathDataSource;
+	}
+
+	@NotNull
+	private static ExecutorService newEncoderExecutorService(final int threadPoolSize) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 60, SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					final Thread thread = new Thread(runnable, "Simple Java Mail attachment encoder #" + ENCODER_THREAD_COUNTER.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Waits for the encoding to complete, rethrowing the failure the encoding would have thrown had it been done on the current thread.
+	 */
+	static byte@NotNull[] awaitEncodedBody(@NotNull final CompletableFuture<byte[]> encodedBody)
+			throws MessagingException {
+		try {
+			return encodedBody.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof MessagingException) {
+				throw (MessagingException) e.getCause();
+			}
+			throw new MessagingException("Failed to encode attachment data", e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.converter.internal.mimemessage.AttachmentEncoders.EncodedBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Enumeration;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Attachment body part that writes a body that was encoded already, taken from the {@link EncodedAttachmentCache} or encoded in parallel by the
+ * {@link ParallelAttachmentEncoder}, rather than encoding the data source's data every time it is written. The encoded body is obtained the first
+ * time the part is written, and kept for writing it again (as happens when the size of the email is checked before sending it, for example).
+ * <p>
+ * The Content-Transfer-Encoding is fixed when the part is created, so the header always matches the encoded body.
+ */
+class PreEncodedMimeBodyPart extends MimeBodyPart {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	@NotNull private final EncodedBody preparedEncodedBody;
+	@NotNull private final String encoding;
+	private byte@Nullable[] encodedBody;
+
+	PreEncodedMimeBodyPart(@NotNull final EncodedBody preparedEncodedBody, @NotNull final String encoding) {
+		this.preparedEncodedBody = preparedEncodedBody;
+		this.encoding = encoding;
+	}
+
+	@Override
+	protected void updateHeaders()
+			throws MessagingException {
+		super.updateHeaders();
+		setHeader("Content-Transfer-Encoding", encoding);
+	}
+
+	/**
+	 * Writes the headers like {@code MimeBodyPart.writeTo} does, followed by the encoded body as is.
+	 */
+	@Override
+	public void writeTo(final OutputStream os)
+			throws IOException, MessagingException {
+		if (encodedBody == null) {
+			encodedBody = preparedEncodedBody.get();
+		}
+		for (final Enumeration<String> headerLines = getAllHeaderLines(); headerLines.hasMoreElements(); ) {
+			os.write(headerLines.nextElement().getBytes(ISO_8859_1));
+			os.write(CRLF);
+		}
+		os.write(CRLF);
+		os.write(encodedBody);
+		os.flush();
+	}
+}
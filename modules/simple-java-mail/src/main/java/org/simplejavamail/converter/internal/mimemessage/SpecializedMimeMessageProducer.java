@@ -50,7 +50,7 @@ public abstract class SpecializedMimeMessageProducer {
 		MimeMessageHelper.setReplyTo(email, message);
 		MimeMessageHelper.setRecipients(email, message);
 		
-		populateMimeMessageMultipartStructure(message, email);
+		populateMimeMessageMultipartStructure(message, email, AttachmentEncoders.fromSession(session));
 		
 		MimeMessageHelper.setHeaders(email, message);
 		message.setSentDate(ofNullable(email.getSentDate()).orElse(new Date()));
@@ -82,7 +82,7 @@ public abstract class SpecializedMimeMessageProducer {
 		return message;
 	}
 
-	abstract void populateMimeMessageMultipartStructure(MimeMessage  message, Email email) throws MessagingException;
+	abstract void populateMimeMessageMultipartStructure(MimeMessage  message, Email email, @NotNull AttachmentEncoders attachmentEncoders) throws MessagingException;
 	
 	
 	static boolean emailContainsMixedContent(@NotNull Email email) {
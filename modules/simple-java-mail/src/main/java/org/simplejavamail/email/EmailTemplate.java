@@ -0,0 +1,104 @@
+package org.simplejavamail.email;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.email.internal.CompiledTemplateText;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mail-merge template for sending the same email with personalized values, for example once per row of a mailing list.
+ * <p>
+ * The subject, plain text and HTML text of the given email can contain {@code ${placeholder}} markers. These are parsed once when the template is
+ * compiled, after which rendering only concatenates the literal parts with the values, rather than doing string replacement on the whole
+ * (possibly large) HTML body for every placeholder and every email. Everything else, including attachments and embedded images, is shared by
+ * all rendered emails rather than copied.
+ * <p>
+ * Instances are immutable and thread-safe.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * EmailTemplate template = EmailTemplate.compile(EmailBuilder.startingBlank()
+ *         .from("shop@example.com")
+ *         .withSubject("Your order ${orderId}")
+ *         .withHTMLText("<p>Dear ${name}, ...</p>")
+ *         .buildEmail());
+ *
+ * for (Customer customer : customers) {
+ *     mailer.sendMail(template.render(customer.asMap())
+ *             .to(customer.getName(), customer.getEmail())
+ *             .buildEmail());
+ * }
+ * }</pre>
+ */
+public final class EmailTemplate {
+
+	@NotNull private final Email email;
+	@Nullable private final CompiledTemplateText subject;
+	@Nullable private final CompiledTemplateText plainText;
+	@Nullable private final CompiledTemplateText htmlText;
+
+	private EmailTemplate(@NotNull final Email email) {
+		this.email = email;
+		this.subject = compileIfPresent(email.getSubject());
+		this.plainText = compileIfPresent(email.getPlainText());
+		this.htmlText = compileIfPresent(email.getHTMLText());
+	}
+
+	/**
+	 * @param email The email to use as template, which can contain {@code ${placeholder}} markers in its subject, plain text and HTML text.
+	 */
+	@NotNull
+	public static EmailTemplate compile(@NotNull final Email email) {
+		return new EmailTemplate(email);
+	}
+
+	/**
+	 * @param values The values for all placeholders in the template, which are inserted using {@link String#valueOf(Object)}. Note that values
+	 *               are not escaped, so values for the HTML text should already be HTML-safe.
+	 * @return A builder copied from the template email, with the placeholders replaced, which can be further populated (with recipients, for
+	 * example) before building the email.
+	 * @throws org.simplejavamail.MailException When no value is provided for any of the placeholders.
+	 */
+	@NotNull
+	public EmailPopulatingBuilder render(@NotNull final Map<String, ?> values) {
+		final EmailPopulatingBuilder builder = EmailBuilder.copying(email);
+		if (subject != null) {
+			builder.withSubject(subject.render(values));
+		}
+		if (plainText != null) {
+			builder.withPlainText(plainText.render(values));
+		}
+		if (htmlText != null) {
+			builder.withHTMLText(htmlText.render(values));
+		}
+		return builder;
+	}
+
+	/**
+	 * @return The names of all placeholders used in the template, in order of first appearance (subject, plain text, then HTML text).
+	 */
+	@NotNull
+	public Set<String> getPlaceholders() {
+		final Set<String> placeholders = new LinkedHashSet<>();
+		if (subject != null) {
+			placeholders.addAll(subject.getPlaceholders());
+		}
+		if (plainText != null) {
+			placeholders.addAll(plainText.getPlaceholders());
+		}
+		if (htmlText != null) {
+			placeholders.addAll(htmlText.getPlaceholders());
+		}
+		return placeholders;
+	}
+
+	@Nullable
+	private static CompiledTemplateText compileIfPresent(@Nullable final String text) {
+		return text != null ? CompiledTemplateText.compile(text) : null;
+	}
+}
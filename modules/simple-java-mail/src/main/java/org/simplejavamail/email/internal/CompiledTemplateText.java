@@ -0,0 +1,124 @@
+package org.simplejavamail.email.internal;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static org.simplejavamail.email.internal.EmailException.MISSING_TEMPLATE_VALUE;
+
+/**
+ * Text with {@code ${placeholder}} markers, split up front into literal segments and placeholder names, so rendering it is a single pass that
+ * only appends, rather than searching and replacing in the whole text for every placeholder.
+ * <p>
+ * Placeholder names consist of letters, digits, {@code _}, {@code .} and {@code -}. A {@code ${} that isn't followed by such a name and a closing
+ * brace is kept as literal text.
+ *
+ * @see org.simplejavamail.email.EmailTemplate
+ */
+public final class CompiledTemplateText {
+
+	private static final String PLACEHOLDER_START = "${";
+	private static final char PLACEHOLDER_END = '}';
+
+	/**
+	 * Always one more than the placeholders, as the text starts and ends with a (possibly empty) literal.
+	 */
+	@NotNull private final String[] literals;
+	@NotNull private final String[] placeholders;
+	private final int literalsLength;
+
+	private CompiledTemplateText(@NotNull final String[] literals, @NotNull final String[] placeholders) {
+		this.literals = literals;
+		this.placeholders = placeholders;
+		this.literalsLength = Arrays.stream(literals).mapToInt(String::length).sum();
+	}
+
+	@NotNull
+	public static CompiledTemplateText compile(@NotNull final String text) {
+		final List<String> literals = new ArrayList<>();
+		final List<String> placeholders = new ArrayList<>();
+		int position = 0;
+		int start = text.indexOf(PLACEHOLDER_START);
+		while (start >= 0) {
+			final int end = findPlaceholderEnd(text, start + PLACEHOLDER_START.length());
+			if (end < 0) {
+				// not a placeholder, such as CSS or JavaScript that happens to contain "${", so it's kept as literal text
+				start = text.indexOf(PLACEHOLDER_START, start + PLACEHOLDER_START.length());
+				continue;
+			}
+			literals.add(text.substring(position, start));
+			placeholders.add(text.substring(start + PLACEHOLDER_START.length(), end).trim());
+			position = end + 1;
+			start = text.indexOf(PLACEHOLDER_START, position);
+		}
+		literals.add(text.substring(position));
+		return new CompiledTemplateText(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+	}
+
+	/**
+	 * Only accepts a name, optionally surrounded by whitespace, directly followed by the closing brace, so a stray {@code ${} can't swallow the
+	 * text up to some unrelated closing brace further on.
+	 *
+	 * @return The index of the closing brace, or -1 when the text at the given index isn't a placeholder name followed by a closing brace.
+	 */
+	private static int findPlaceholderEnd(@NotNull final String text, final int nameStart) {
+		int i = skipWhitespace(text, nameStart);
+		final int nameEnd = skipNameCharacters(text, i);
+		if (nameEnd == i) {
+			return -1;
+		}
+		i = skipWhitespace(text, nameEnd);
+		return i < text.length() && text.charAt(i) == PLACEHOLDER_END ? i : -1;
+	}
+
+	private static int skipWhitespace(@NotNull final String text, int i) {
+		while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipNameCharacters(@NotNull final String text, int i) {
+		while (i < text.length() && isNameCharacter(text.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isNameCharacter(final char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+	}
+
+	/**
+	 * @param values Values are inserted using {@link String#valueOf(Object)}, without any escaping.
+	 * @throws EmailException When a placeholder has no value (a {@code null} value is fine and is inserted as "null").
+	 */
+	@NotNull
+	public String render(@NotNull final Map<String, ?> values) {
+		if (placeholders.length == 0) {
+			return literals[0];
+		}
+		final StringBuilder rendered = new StringBuilder(literalsLength + placeholders.length * 16);
+		for (int i = 0; i < placeholders.length; i++) {
+			rendered.append(literals[i]);
+			if (!values.containsKey(placeholders[i])) {
+				throw new EmailException(format(MISSING_TEMPLATE_VALUE, placeholders[i]));
+			}
+			rendered.append(values.get(placeholders[i]));
+		}
+		return rendered.append(literals[placeholders.length]).toString();
+	}
+
+	/**
+	 * @return The placeholder names in order of appearance, including duplicates.
+	 */
+	@NotNull
+	public List<String> getPlaceholders() {
+		return Collections.unmodifiableList(Arrays.asList(placeholders));
+	}
+}
@@ -12,6 +12,7 @@ class EmailException extends MailException {
     static final String ERROR_READING_FROM_FILE = "Error reading from file: %s";
     static final String ERROR_RESOLVING_IMAGE_DATASOURCE = "Unable to dynamically resolve data source for the following image src: %s";
     static final String ERROR_PARSING_URL = "Unable to parse URL: %s";
+    static final String MISSING_TEMPLATE_VALUE = "No value provided for template placeholder: %s";
 
     EmailException(@SuppressWarnings("SameParameterValue") final String message) {
         super(message);
@@ -28,11 +28,13 @@ import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.util.FileUtil;
 import org.simplejavamail.internal.util.MiscUtil;
 import org.simplejavamail.internal.util.NamedDataSource;
+import org.simplejavamail.internal.util.PathDataSource;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -1667,6 +1669,15 @@ public class EmailPopulatingBuilderImpl implements InternalEmailPopulatingBuilde
 		embeddedImages.add(new AttachmentResource(name, imagedata, null));
 		return this;
 	}
+
+	/**
+	 * @see EmailPopulatingBuilder#withEmbeddedImage(String, Path)
+	 */
+	@Override
+	public EmailPopulatingBuilder withEmbeddedImage(@Nullable final String name, @NotNull final Path file) {
+		checkNonEmptyArgument(file, "file");
+		return withEmbeddedImage(name, new PathDataSource(file));
+	}
 	
 	/**
 	 * @see EmailPopulatingBuilder#withEmbeddedImages(List)
@@ -1788,6 +1799,15 @@ public class EmailPopulatingBuilderImpl implements InternalEmailPopulatingBuilde
 		return this;
 	}
 
+	/**
+	 * @see EmailPopulatingBuilder#withAttachment(String, Path)
+	 */
+	@Override
+	public EmailPopulatingBuilder withAttachment(@Nullable final String name, @NotNull final Path file) {
+		checkNonEmptyArgument(file, "file");
+		return withAttachment(name, new PathDataSource(file));
+	}
+
 	/**
 	 * @see EmailPopulatingBuilder#withAttachments(List)
 	 */
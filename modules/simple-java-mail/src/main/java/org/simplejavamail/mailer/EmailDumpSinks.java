@@ -0,0 +1,37 @@
+package org.simplejavamail.mailer;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.EmailDumpSink;
+import org.simplejavamail.mailer.internal.util.RotatingDirectoryEmailDumpSink;
+import org.simplejavamail.mailer.internal.util.TruncatingLoggingEmailDumpSink;
+
+import java.nio.file.Path;
+
+/**
+ * The {@link EmailDumpSink}s that come with Simple Java Mail, for use with logging only mode.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withEmailDumpSink(EmailDumpSink)
+ */
+public final class EmailDumpSinks {
+
+	private EmailDumpSinks() {
+	}
+
+	/**
+	 * @return A sink that streams each email to an EML file in the given directory, keeping only the most recent {@code maximumFiles} emails.
+	 * @see RotatingDirectoryEmailDumpSink
+	 */
+	@NotNull
+	public static EmailDumpSink toDirectory(@NotNull final Path directory, final int maximumFiles) {
+		return new RotatingDirectoryEmailDumpSink(directory, maximumFiles);
+	}
+
+	/**
+	 * @return A sink that logs emails at INFO level, with the body of each attachment and embedded image cut off after the given number of bytes.
+	 * @see TruncatingLoggingEmailDumpSink
+	 */
+	@NotNull
+	public static EmailDumpSink toLog(final int attachmentBodyBudget) {
+		return new TruncatingLoggingEmailDumpSink(attachmentBodyBudget);
+	}
+}
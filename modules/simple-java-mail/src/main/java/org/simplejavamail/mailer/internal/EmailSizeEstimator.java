@@ -0,0 +1,114 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.EncodingAware;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.ContentTransferEncoding;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.internal.util.MiscUtil;
+import org.simplejavamail.internal.util.NamedDataSource;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.simplejavamail.api.email.ContentTransferEncoding.BASE_64;
+import static org.simplejavamail.api.email.ContentTransferEncoding.B;
+
+/**
+ * Estimates the size an email will have once produced as MimeMessage, without producing it, so emails that are clearly too big can be rejected
+ * before spending time on MIME production, S/MIME and DKIM.
+ * <p>
+ * The estimate is a lower bound, so it never rejects an email that would have fit: every part is counted at its raw size, which no transfer
+ * encoding makes smaller, and the base64 expansion (4/3, plus line breaks) is only applied where base64 is certain to be used. Boundaries, MIME
+ * headers and the like are not counted at all. Data sources whose size isn't known without reading them (such as URLs) count as empty. Emails
+ * that are too big but aren't caught by the estimate are still caught by the exact size check once rendered.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumEmailSize(int)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class EmailSizeEstimator {
+
+	private static final int BASE64_LINE_LENGTH = 76;
+
+	static long estimateMinimumSize(@NotNull final Email email) {
+		final boolean base64Texts = isBase64(email.getContentTransferEncoding());
+		long size = estimateHeadersSize(email);
+		size += estimateTextSize(email.getPlainText(), base64Texts);
+		size += estimateTextSize(email.getHTMLText(), base64Texts);
+		size += estimateTextSize(email.getCalendarText(), base64Texts);
+		for (final AttachmentResource attachment : email.getAttachments()) {
+			size += estimateAttachmentSize(attachment);
+		}
+		for (final AttachmentResource embeddedImage : email.getEmbeddedImages()) {
+			size += estimateAttachmentSize(embeddedImage);
+		}
+		return size;
+	}
+
+	private static long estimateHeadersSize(@NotNull final Email email) {
+		long size = length(email.getSubject());
+		if (email.getFromRecipient() != null) {
+			size += length(email.getFromRecipient().getAddress());
+		}
+		for (final Recipient recipient : email.getRecipients()) {
+			size += length(recipient.getAddress());
+		}
+		for (final Map.Entry<String, Collection<String>> header : email.getHeaders().entrySet()) {
+			for (final String value : header.getValue()) {
+				size += length(header.getKey()) + length(value);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * A character takes at least one byte in any charset used for email, and quoted-printable only adds to that.
+	 */
+	private static long estimateTextSize(@Nullable final String text, final boolean base64) {
+		return base64 ? base64Size(length(text)) : length(text);
+	}
+
+	private static long estimateAttachmentSize(@NotNull final AttachmentResource attachment) {
+		final DataSource dataSource = unwrap(attachment.getDataSource());
+		final long dataSize = MiscUtil.determineKnownSize(dataSource);
+		return isCertainlyBase64(attachment, dataSource) ? base64Size(dataSize) : dataSize;
+	}
+
+	/**
+	 * Without an explicit encoding, Jakarta Mail picks base64 for any non-text data with non-ASCII bytes, which is the case for practically all
+	 * images, audio and video. Other types can be ASCII only, in which case they are sent as-is.
+	 */
+	private static boolean isCertainlyBase64(@NotNull final AttachmentResource attachment, @NotNull final DataSource dataSource) {
+		if (attachment.getContentTransferEncoding() != null) {
+			return isBase64(attachment.getContentTransferEncoding());
+		} else if (dataSource instanceof EncodingAware && ((EncodingAware) dataSource).getEncoding() != null) {
+			return "base64".equalsIgnoreCase(((EncodingAware) dataSource).getEncoding());
+		}
+		final String contentType = dataSource.getContentType();
+		return contentType != null && !contentType.contains("+xml")
+				&& (contentType.startsWith("image/") || contentType.startsWith("audio/") || contentType.startsWith("video/"));
+	}
+
+	@NotNull
+	private static DataSource unwrap(@NotNull final DataSource dataSource) {
+		return dataSource instanceof NamedDataSource ? unwrap(((NamedDataSource) dataSource).getDataSource()) : dataSource;
+	}
+
+	private static boolean isBase64(@Nullable final ContentTransferEncoding encoding) {
+		return encoding == BASE_64 || encoding == B;
+	}
+
+	private static long base64Size(final long dataSize) {
+		final long encodedSize = (dataSize + 2) / 3 * 4;
+		return encodedSize + encodedSize / BASE64_LINE_LENGTH * 2;
+	}
+
+	private static long length(@Nullable final String value) {
+		return value != null ? value.length() : 0;
+	}
+}
@@ -0,0 +1,120 @@
+package org.simplejavamail.mailer.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.InFlightLimitExceededException;
+import org.simplejavamail.api.mailer.config.InFlightLimitPolicy;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.simplejavamail.mailer.internal.MailerException.INTERRUPTED_WAITING_FOR_IN_FLIGHT_SENDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps track of the number of async sends that have been submitted but haven't finished yet, and applies the {@link InFlightLimitPolicy}
+ * when a maximum was configured.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+ */
+class InFlightSendLimiter {
+
+	private static final Logger LOGGER = getLogger(InFlightSendLimiter.class);
+
+	@Nullable private final Integer maximumInFlightSends;
+	@NotNull private final InFlightLimitPolicy inFlightLimitPolicy;
+	@Nullable private final Semaphore permits;
+	@NotNull private final AtomicInteger inFlightCount = new AtomicInteger();
+
+	InFlightSendLimiter(@NotNull final OperationalConfig operationalConfig) {
+		this(operationalConfig.getMaximumInFlightSends(), operationalConfig.getInFlightLimitPolicy());
+	}
+
+	/**
+	 * @param maximumInFlightSends {@code null} for no limit.
+	 */
+	InFlightSendLimiter(@Nullable final Integer maximumInFlightSends, @NotNull final InFlightLimitPolicy inFlightLimitPolicy) {
+		this.maximumInFlightSends = maximumInFlightSends;
+		this.inFlightLimitPolicy = inFlightLimitPolicy;
+		this.permits = maximumInFlightSends != null ? new Semaphore(maximumInFlightSends) : null;
+	}
+
+	/**
+	 * Creates the operation only once a permit was acquired (so nothing needs to be undone when rejected) and hands it to the asyncExecutor.
+	 * In case of {@link InFlightLimitPolicy#CALLER_RUNS}, the operation may be run in the calling thread instead.
+	 *
+	 * @return The future from the asyncExecutor, or an already completed future if the operation was run in the calling thread.
+	 */
+	@NotNull
+	<T extends Runnable> CompletableFuture<Void> submit(@NotNull final Supplier<T> operationFactory, @NotNull final Function<T, CompletableFuture<Void>> asyncExecutor) {
+		if (!acquirePermit()) {
+			LOGGER.debug("maximum of {} in-flight sends reached, running in calling thread", maximumInFlightSends);
+			return runInCallingThread(operationFactory.get());
+		}
+		inFlightCount.incrementAndGet();
+		try {
+			return asyncExecutor.apply(operationFactory.get())
+					.whenComplete((result, throwable) -> releasePermit());
+		} catch (final RuntimeException e) {
+			releasePermit();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return Whether the operation can be submitted to the executor; {@code false} means it should run in the calling thread.
+	 */
+	private boolean acquirePermit() {
+		if (permits == null) {
+			return true;
+		}
+		switch (inFlightLimitPolicy) {
+			case BLOCK:
+				try {
+					permits.acquire();
+					return true;
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new MailerException(INTERRUPTED_WAITING_FOR_IN_FLIGHT_SENDS, e);
+				}
+			case REJECT:
+				if (permits.tryAcquire()) {
+					return true;
+				}
+				throw new InFlightLimitExceededException(maximumInFlightSends);
+			case CALLER_RUNS:
+				return permits.tryAcquire();
+			default:
+				throw new IllegalStateException("unknown in-flight limit policy: " + inFlightLimitPolicy);
+		}
+	}
+
+	private void releasePermit() {
+		inFlightCount.decrementAndGet();
+		if (permits != null) {
+			permits.release();
+		}
+	}
+
+	@NotNull
+	private static CompletableFuture<Void> runInCallingThread(@NotNull final Runnable operation) {
+		try {
+			operation.run();
+			return CompletableFuture.completedFuture(null);
+		} catch (final RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * @see org.simplejavamail.api.mailer.Mailer#getInFlightSendCount()
+	 */
+	int getInFlightCount() {
+		return inFlightCount.get();
+	}
+}
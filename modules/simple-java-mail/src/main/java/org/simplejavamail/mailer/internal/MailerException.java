@@ -13,7 +13,11 @@ class MailerException extends MailException {
 	static final String MAILER_ERROR = "Failed to send email [%s]";
 	static final String GENERIC_ERROR = "Failed to send email [%s], reason: Third party error";
 	static final String INVALID_ENCODING = "Failed to send email [%s], reason: Encoding not accepted";
+	static final String DUMP_ERROR = "Failed to dump email [%s] in logging only mode";
 	static final String UNKNOWN_ERROR = "Failed to send email [%s], reason: Unknown error";
+	static final String PREPARED_MESSAGE_NOT_SUPPORTED_BY_CUSTOM_MAILER = "Failed to send email [%s], reason: a CustomMailer needs the Email, which a PreparedMessage no longer has";
+	static final String INTERRUPTED_WAITING_FOR_IN_FLIGHT_SENDS = "Interrupted while waiting for in-flight async sends to finish";
+	static final String INTERRUPTED_WAITING_FOR_SEND_PIPELINE = "Interrupted while waiting for room in the queue of the send pipeline's %s stage";
 
 	MailerException(@SuppressWarnings("SameParameterValue") final String message) {
 		super(message);
@@ -6,13 +6,16 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.EmailDumpSink;
 import org.simplejavamail.api.mailer.MailerGenericBuilder;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.api.mailer.config.InFlightLimitPolicy;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.config.ConfigLoader.Property;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -73,6 +76,12 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	@NotNull
 	private Integer proxyBridgePort;
+
+	/**
+	 * @see MailerGenericBuilder#withProxyBridgeIdleTimeoutMillis(Integer)
+	 */
+	@NotNull
+	private Integer proxyBridgeIdleTimeoutMillis = DEFAULT_PROXY_BRIDGE_IDLE_TIMEOUT_MILLIS;
 	
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
@@ -114,12 +123,75 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@Nullable
 	private Integer maximumEmailSize;
 
+	/**
+	 * @see MailerGenericBuilder#withMaximumEmailSize(int, boolean)
+	 */
+	private boolean sendingSizeCheckedBytes;
+
 	/**
 	 * @see MailerGenericBuilder#withExecutorService(ExecutorService)
 	 */
 	@Nullable
 	private ExecutorService executorService;
 
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreadExecutor()
+	 */
+	private boolean virtualThreadExecutor;
+
+	/**
+	 * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@Nullable
+	private Integer maximumInFlightSends;
+
+	/**
+	 * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@NotNull
+	private InFlightLimitPolicy inFlightLimitPolicy = InFlightLimitPolicy.BLOCK;
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	private int transientFailureRetries = DEFAULT_TRANSIENT_FAILURE_RETRIES;
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	private int retryInitialBackoffMillis = DEFAULT_RETRY_INITIAL_BACKOFF_MILLIS;
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	private int retryMaxBackoffMillis = DEFAULT_RETRY_MAX_BACKOFF_MILLIS;
+
+	/**
+	 * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	@Nullable
+	private Integer sendPipelineCryptoThreadPoolSize;
+
+	/**
+	 * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	private int sendPipelineStageQueueCapacity;
+
+	/**
+	 * @see MailerGenericBuilder#withEncodedAttachmentCache(long)
+	 */
+	private long encodedAttachmentCacheSize = DEFAULT_ENCODED_ATTACHMENT_CACHE_SIZE;
+
+	/**
+	 * @see MailerGenericBuilder#withDirectMimeRendering(boolean)
+	 */
+	private boolean directMimeRendering;
+
+	/**
+	 * @see MailerGenericBuilder#withParallelAttachmentEncoding(int)
+	 */
+	private int parallelAttachmentEncodingThreshold = DEFAULT_PARALLEL_ATTACHMENT_ENCODING_THRESHOLD;
+
 	/**
 	 * @see MailerGenericBuilder#withThreadPoolSize(Integer)
 	 */
@@ -168,6 +240,11 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@NotNull
 	private LoadBalancingStrategy connectionPoolLoadBalancingStrategy;
 
+	/**
+	 * @see MailerGenericBuilder#withBuiltInConnectionPool(boolean)
+	 */
+	private boolean builtInConnectionPool;
+
 	/**
 	 * @see MailerGenericBuilder#trustingSSLHosts(String...)
 	 */
@@ -195,6 +272,12 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	private boolean transportModeLoggingOnly;
 
+	/**
+	 * @see MailerGenericBuilder#withEmailDumpSink(EmailDumpSink)
+	 */
+	@Nullable
+	private EmailDumpSink emailDumpSink;
+
 	/**
 	 * @see MailerGenericBuilder#withCustomMailer(CustomMailer)
 	 */
@@ -249,7 +332,7 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	ProxyConfig buildProxyConfig() {
 		validateProxy();
-		return new ProxyConfigImpl(getProxyHost(), getProxyPort(), getProxyUsername(), getProxyPassword(), getProxyBridgePort());
+		return new ProxyConfigImpl(getProxyHost(), getProxyPort(), getProxyUsername(), getProxyPassword(), getProxyBridgePort(), getProxyBridgeIdleTimeoutMillis());
 	}
 	
 	private void validateProxy() {
@@ -295,7 +378,9 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 				getConnectionPoolClaimTimeoutMillis(),
 				getConnectionPoolExpireAfterMillis(),
 				getConnectionPoolLoadBalancingStrategy(),
+				isBuiltInConnectionPool(),
 				isTransportModeLoggingOnly(),
+				isSendingSizeCheckedBytes(),
 				isDebugLogging(),
 				isDisableAllClientValidation(),
 				getSslHostsToTrust(),
@@ -303,6 +388,17 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 				isVerifyingServerIdentity(),
 				getExecutorService() != null ? getExecutorService() : determineDefaultExecutorService(),
 				isExecutorServiceUserProvided(),
+				getMaximumInFlightSends(),
+				getInFlightLimitPolicy(),
+				getTransientFailureRetries(),
+				getRetryInitialBackoffMillis(),
+				getRetryMaxBackoffMillis(),
+				getSendPipelineCryptoThreadPoolSize(),
+				getSendPipelineStageQueueCapacity(),
+				getEncodedAttachmentCacheSize(),
+				isDirectMimeRendering(),
+				getParallelAttachmentEncodingThreshold(),
+				getEmailDumpSink(),
 				getCustomMailer());
 	}
 	
@@ -380,6 +476,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withProxyBridgeIdleTimeoutMillis(Integer)
+	 */
+	@Override
+	public T withProxyBridgeIdleTimeoutMillis(@NotNull final Integer proxyBridgeIdleTimeoutMillis) {
+		this.proxyBridgeIdleTimeoutMillis = proxyBridgeIdleTimeoutMillis;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
 	 */
@@ -439,7 +544,16 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	@Override
 	public T withMaximumEmailSize(int maximumEmailSize) {
+		return withMaximumEmailSize(maximumEmailSize, false);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withMaximumEmailSize(int, boolean)
+	 */
+	@Override
+	public T withMaximumEmailSize(final int maximumEmailSize, final boolean sendSizeCheckedBytes) {
 		this.maximumEmailSize = maximumEmailSize;
+		this.sendingSizeCheckedBytes = sendSizeCheckedBytes;
 		return (T) this;
 	}
 
@@ -452,6 +566,91 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreadExecutor()
+	 */
+	@Override
+	public T withVirtualThreadExecutor() {
+		this.virtualThreadExecutor = true;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@Override
+	public T withMaximumInFlightSends(final int maximumInFlightSends, @NotNull final InFlightLimitPolicy inFlightLimitPolicy) {
+		if (maximumInFlightSends < 1) {
+			throw new IllegalArgumentException("maximumInFlightSends should be at least 1, but was " + maximumInFlightSends);
+		}
+		this.maximumInFlightSends = maximumInFlightSends;
+		this.inFlightLimitPolicy = inFlightLimitPolicy;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	@Override
+	public T withTransientFailureRetries(final int maxRetries, final int initialBackoffMillis, final int maxBackoffMillis) {
+		if (maxRetries < 0) {
+			throw new IllegalArgumentException("maxRetries should not be negative, but was " + maxRetries);
+		}
+		if (initialBackoffMillis < 0) {
+			throw new IllegalArgumentException("initialBackoffMillis should not be negative, but was " + initialBackoffMillis);
+		}
+		if (maxBackoffMillis < 0) {
+			throw new IllegalArgumentException("maxBackoffMillis should not be negative, but was " + maxBackoffMillis);
+		}
+		this.transientFailureRetries = maxRetries;
+		this.retryInitialBackoffMillis = initialBackoffMillis;
+		this.retryMaxBackoffMillis = maxBackoffMillis;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	@Override
+	public T withStagedSendPipeline(final int cryptoThreadPoolSize, final int stageQueueCapacity) {
+		if (cryptoThreadPoolSize < 1) {
+			throw new IllegalArgumentException("cryptoThreadPoolSize should be at least 1, but was " + cryptoThreadPoolSize);
+		}
+		if (stageQueueCapacity < 1) {
+			throw new IllegalArgumentException("stageQueueCapacity should be at least 1, but was " + stageQueueCapacity);
+		}
+		this.sendPipelineCryptoThreadPoolSize = cryptoThreadPoolSize;
+		this.sendPipelineStageQueueCapacity = stageQueueCapacity;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withEncodedAttachmentCache(long)
+	 */
+	@Override
+	public T withEncodedAttachmentCache(final long maximumCacheSizeInBytes) {
+		this.encodedAttachmentCacheSize = maximumCacheSizeInBytes;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withDirectMimeRendering(boolean)
+	 */
+	@Override
+	public T withDirectMimeRendering(final boolean directMimeRendering) {
+		this.directMimeRendering = directMimeRendering;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withParallelAttachmentEncoding(int)
+	 */
+	@Override
+	public T withParallelAttachmentEncoding(final int thresholdInBytes) {
+		this.parallelAttachmentEncodingThreshold = thresholdInBytes;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#withThreadPoolSize(Integer)
 	 */
@@ -524,6 +723,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withBuiltInConnectionPool(boolean)
+	 */
+	@Override
+	public T withBuiltInConnectionPool(final boolean builtInConnectionPool) {
+		this.builtInConnectionPool = builtInConnectionPool;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#withTransportModeLoggingOnly(Boolean)
 	 */
@@ -595,6 +803,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withEmailDumpSink(EmailDumpSink)
+	 */
+	@Override
+	public T withEmailDumpSink(@NotNull final EmailDumpSink emailDumpSink) {
+		this.emailDumpSink = emailDumpSink;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#withCustomMailer(CustomMailer)
 	 */
@@ -650,11 +867,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@Override
 	public T resetExecutorService() {
 		this.executorService = null;
+		this.virtualThreadExecutor = false;
 		return (T) this;
 	}
 
 	@NotNull
 	private ExecutorService determineDefaultExecutorService() {
+		if (isVirtualThreadExecutor()) {
+			return AsyncOperationHelper.newVirtualThreadPerTaskExecutor();
+		}
 		return (ModuleLoader.batchModuleAvailable())
 				? ModuleLoader.loadBatchModule().createDefaultExecutorService(getThreadPoolSize(), getThreadPoolKeepAliveTime())
 				: Executors.newSingleThreadExecutor();
@@ -724,6 +945,14 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return this.withConnectionPoolLoadBalancingStrategy(LoadBalancingStrategy.valueOf(DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY));
 	}
 
+	/**
+	 * @see MailerGenericBuilder#clearBuiltInConnectionPool()
+	 */
+	@Override
+	public T clearBuiltInConnectionPool() {
+		return this.withBuiltInConnectionPool(false);
+	}
+
 	/**
 	 * @see MailerGenericBuilder#resetTransportModeLoggingOnly()
 	 */
@@ -738,7 +967,8 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@Override
 	public T clearProxy() {
 		return (T) withProxy(null, null, null, null)
-				.withProxyBridgePort(DEFAULT_PROXY_BRIDGE_PORT);
+				.withProxyBridgePort(DEFAULT_PROXY_BRIDGE_PORT)
+				.withProxyBridgeIdleTimeoutMillis(DEFAULT_PROXY_BRIDGE_IDLE_TIMEOUT_MILLIS);
 	}
 
 	/**
@@ -774,6 +1004,71 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@Override
 	public T clearMaximumEmailSize() {
 		this.maximumEmailSize = null;
+		this.sendingSizeCheckedBytes = false;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearMaximumInFlightSends()
+	 */
+	@Override
+	public T clearMaximumInFlightSends() {
+		this.maximumInFlightSends = null;
+		this.inFlightLimitPolicy = InFlightLimitPolicy.BLOCK;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearTransientFailureRetries()
+	 */
+	@Override
+	public T clearTransientFailureRetries() {
+		this.transientFailureRetries = DEFAULT_TRANSIENT_FAILURE_RETRIES;
+		this.retryInitialBackoffMillis = DEFAULT_RETRY_INITIAL_BACKOFF_MILLIS;
+		this.retryMaxBackoffMillis = DEFAULT_RETRY_MAX_BACKOFF_MILLIS;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearStagedSendPipeline()
+	 */
+	@Override
+	public T clearStagedSendPipeline() {
+		this.sendPipelineCryptoThreadPoolSize = null;
+		this.sendPipelineStageQueueCapacity = 0;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearEncodedAttachmentCache()
+	 */
+	@Override
+	public T clearEncodedAttachmentCache() {
+		return withEncodedAttachmentCache(DEFAULT_ENCODED_ATTACHMENT_CACHE_SIZE);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearDirectMimeRendering()
+	 */
+	@Override
+	public T clearDirectMimeRendering() {
+		return withDirectMimeRendering(false);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearParallelAttachmentEncoding()
+	 */
+	@Override
+	public T clearParallelAttachmentEncoding() {
+		return withParallelAttachmentEncoding(DEFAULT_PARALLEL_ATTACHMENT_ENCODING_THRESHOLD);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#clearEmailDumpSink()
+	 */
+	@Override
+	public T clearEmailDumpSink() {
+		this.emailDumpSink = null;
 		return (T) this;
 	}
 
@@ -847,6 +1142,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return proxyBridgePort;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#getProxyBridgeIdleTimeoutMillis()
+	 */
+	@Override
+	@NotNull
+	public Integer getProxyBridgeIdleTimeoutMillis() {
+		return proxyBridgeIdleTimeoutMillis;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#isDebugLogging()
 	 */
@@ -908,6 +1212,14 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return maximumEmailSize;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#isSendingSizeCheckedBytes()
+	 */
+	@Override
+	public boolean isSendingSizeCheckedBytes() {
+		return sendingSizeCheckedBytes;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#getExecutorService()
 	 */
@@ -917,6 +1229,97 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return executorService;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#isVirtualThreadExecutor()
+	 */
+	@Override
+	public boolean isVirtualThreadExecutor() {
+		return virtualThreadExecutor;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getMaximumInFlightSends()
+	 */
+	@Override
+	@Nullable
+	public Integer getMaximumInFlightSends() {
+		return maximumInFlightSends;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getInFlightLimitPolicy()
+	 */
+	@Override
+	@NotNull
+	public InFlightLimitPolicy getInFlightLimitPolicy() {
+		return inFlightLimitPolicy;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getTransientFailureRetries()
+	 */
+	@Override
+	public int getTransientFailureRetries() {
+		return transientFailureRetries;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getRetryInitialBackoffMillis()
+	 */
+	@Override
+	public int getRetryInitialBackoffMillis() {
+		return retryInitialBackoffMillis;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getRetryMaxBackoffMillis()
+	 */
+	@Override
+	public int getRetryMaxBackoffMillis() {
+		return retryMaxBackoffMillis;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getSendPipelineCryptoThreadPoolSize()
+	 */
+	@Override
+	@Nullable
+	public Integer getSendPipelineCryptoThreadPoolSize() {
+		return sendPipelineCryptoThreadPoolSize;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getSendPipelineStageQueueCapacity()
+	 */
+	@Override
+	public int getSendPipelineStageQueueCapacity() {
+		return sendPipelineStageQueueCapacity;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getEncodedAttachmentCacheSize()
+	 */
+	@Override
+	public long getEncodedAttachmentCacheSize() {
+		return encodedAttachmentCacheSize;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#isDirectMimeRendering()
+	 */
+	@Override
+	public boolean isDirectMimeRendering() {
+		return directMimeRendering;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getParallelAttachmentEncodingThreshold()
+	 */
+	@Override
+	public int getParallelAttachmentEncodingThreshold() {
+		return parallelAttachmentEncodingThreshold;
+	}
+
 	/**
 	 * @see InternalMailerBuilder#isExecutorServiceUserProvided()
 	 */
@@ -997,6 +1400,14 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return connectionPoolLoadBalancingStrategy;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#isBuiltInConnectionPool()
+	 */
+	@Override
+	public boolean isBuiltInConnectionPool() {
+		return builtInConnectionPool;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#getSslHostsToTrust()
 	 */
@@ -1039,6 +1450,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return properties;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#getEmailDumpSink()
+	 */
+	@Override
+	@Nullable
+	public EmailDumpSink getEmailDumpSink() {
+		return emailDumpSink;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#getCustomMailer()
 	 */
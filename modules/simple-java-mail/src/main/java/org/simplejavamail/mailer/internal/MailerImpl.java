@@ -7,30 +7,48 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.MailException;
 import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.mailer.EncodedAttachmentCacheStats;
 import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.PreparedMessage;
+import org.simplejavamail.api.mailer.ProxyBridgeStats;
+import org.simplejavamail.api.mailer.SendPipelineStats;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.api.mailer.config.InFlightLimitPolicy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.api.mailer.config.ServerConfig;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.config.ConfigLoader;
+import org.simplejavamail.converter.internal.mimemessage.EncodedAttachmentCache;
+import org.simplejavamail.converter.internal.mimemessage.ParallelAttachmentEncoder;
 import org.simplejavamail.converter.internal.mimemessage.SpecializedMimeMessageProducer;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.email.internal.InternalEmail;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.MiscUtil;
 import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
 import org.simplejavamail.mailer.MailerHelper;
 import org.simplejavamail.mailer.internal.util.SmtpAuthenticator;
+import org.simplejavamail.mailer.internal.util.SmtpConnectionPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+import static jakarta.mail.Message.RecipientType.TO;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP_OAUTH2;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.findStrategyForSession;
 import static org.simplejavamail.config.ConfigLoader.Property.EXTRA_PROPERTIES;
@@ -59,17 +77,32 @@ public class MailerImpl implements Mailer {
 	private final OperationalConfig operationalConfig;
 
 	/**
-	 * Intermediary SOCKS5 relay server that acts as bridge between JavaMail and remote proxy (since JavaMail only supports anonymous SOCKS proxies).
-	 * Only set when {@link ProxyConfig} is provided with authentication details.
+	 * Used to keep track of running SMTP requests, so that we know when to close down the proxy bridging server (if used). The intermediary SOCKS5
+	 * relay server acts as bridge between JavaMail and remote proxy (since JavaMail only supports anonymous SOCKS proxies) and is only set when
+	 * {@link ProxyConfig} is provided with authentication details.
 	 */
-	@Nullable
-	private final AnonymousSocks5Server proxyServer;
+	@NotNull
+	private final ProxyBridgeLifecycle proxyBridgeLifecycle;
 
 	/**
-	 * Used to keep track of running SMTP requests, so that we know when to close down the proxy bridging server (if used).
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
 	 */
 	@NotNull
-	private final AtomicInteger smtpConnectionCounter = new AtomicInteger();
+	private final InFlightSendLimiter inFlightSendLimiter;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	@NotNull
+	private final TransientFailureRetrier transientFailureRetrier;
+
+	/**
+	 * Only set when async sends are split into stages, and the stages apply to this mailer.
+	 *
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	@Nullable
+	private final StagedSendPipeline sendPipeline;
 	
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withEmailValidator(EmailValidator)
@@ -124,8 +157,18 @@ public class MailerImpl implements Mailer {
 		}
 		this.session = session;
 		this.operationalConfig = operationalConfig;
+		this.inFlightSendLimiter = new InFlightSendLimiter(operationalConfig);
+		this.transientFailureRetrier = new TransientFailureRetrier(operationalConfig);
 		TransportStrategy effectiveTransportStrategy = ofNullable(transportStrategy).orElse(findStrategyForSession(session));
-		this.proxyServer = configureSessionWithProxy(proxyConfig, operationalConfig, session, effectiveTransportStrategy);
+		this.proxyBridgeLifecycle = new ProxyBridgeLifecycle(
+				configureSessionWithProxy(proxyConfig, operationalConfig, session, effectiveTransportStrategy),
+				proxyConfig.getProxyBridgeIdleTimeoutMillis());
+		this.sendPipeline = operationalConfig.getSendPipelineCryptoThreadPoolSize() != null
+				&& !operationalConfig.isTransportModeLoggingOnly()
+				&& operationalConfig.getCustomMailer() == null
+				? new StagedSendPipeline(operationalConfig, session, proxyBridgeLifecycle, transientFailureRetrier,
+						transportClosure -> executeAsync("sendMail transport stage", transportClosure))
+				: null;
 		initSession(session, operationalConfig, emailGovernance, effectiveTransportStrategy);
 		initCluster(session, operationalConfig);
 	}
@@ -200,6 +243,8 @@ public class MailerImpl implements Mailer {
 		configureServerIdentityVerification(session, operationalConfig, transportStrategy);
 
 		SessionBasedEmailToMimeMessageConverter.primeSession(session, operationalConfig, emailGovernance);
+		EncodedAttachmentCache.primeSession(session, operationalConfig.getEncodedAttachmentCacheSize());
+		ParallelAttachmentEncoder.primeSession(session, operationalConfig.getParallelAttachmentEncodingThreshold());
 	}
 
 	/**
@@ -298,6 +343,8 @@ public class MailerImpl implements Mailer {
 	private void initCluster(@NotNull final Session session, @NotNull final OperationalConfig operationalConfig) {
 		if (ModuleLoader.batchModuleAvailable()) {
 			ModuleLoader.loadBatchModule().registerToCluster(operationalConfig, operationalConfig.getClusterKey(), session);
+		} else if (operationalConfig.isBuiltInConnectionPool()) {
+			SmtpConnectionPool.primeSession(session, operationalConfig);
 		}
 	}
 
@@ -314,7 +361,7 @@ public class MailerImpl implements Mailer {
 	 */
 	@NotNull
 	public synchronized CompletableFuture<Void> testConnection(boolean async) {
-		TestConnectionClosure testConnectionClosure = new TestConnectionClosure(operationalConfig, session, proxyServer, async, smtpConnectionCounter);
+		TestConnectionClosure testConnectionClosure = new TestConnectionClosure(operationalConfig, session, proxyBridgeLifecycle, async);
 
 		if (!async) {
 			testConnectionClosure.run();
@@ -343,21 +390,186 @@ public class MailerImpl implements Mailer {
 		val email = emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
 
 		if (validate(email)) {
-			SendMailClosure sendMailClosure = new SendMailClosure(operationalConfig, session, email, proxyServer, operationalConfig.isTransportModeLoggingOnly(), smtpConnectionCounter);
-
 			if (!async) {
-				sendMailClosure.run();
+				new SendMailClosure(operationalConfig, session, email, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()).run();
 				return CompletableFuture.completedFuture(null);
+			} else if (sendPipeline != null) {
+				return inFlightSendLimiter.submit(() -> sendPipeline.newSend(email), sendPipeline::submit);
 			} else
-				return ModuleLoader.batchModuleAvailable()
-						? ModuleLoader.loadBatchModule()
-							.executeAsync(operationalConfig.getExecutorService(), "sendMail process", sendMailClosure)
-						: AsyncOperationHelper
-							.executeAsync(operationalConfig.getExecutorService(), "sendMail process", sendMailClosure);
+				return inFlightSendLimiter.submit(
+						() -> new SendMailClosure(operationalConfig, session, email, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()),
+						sendMailClosure -> transientFailureRetrier.executeWithRetries(sendMailClosure,
+								() -> new SendMailClosure(operationalConfig, session, email, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()),
+								retryClosure -> executeAsync("sendMail process", retryClosure)));
+		}
+		throw new IllegalStateException("Email not valid, but no MailException was thrown for it");
+	}
+
+	/**
+	 * @see Mailer#sendMails(Collection)
+	 */
+	@Override
+	@NotNull
+	public final List<CompletableFuture<Void>> sendMails(@NotNull final Collection<Email> userProvidedEmails) {
+		val emails = new ArrayList<Email>(userProvidedEmails.size());
+		for (val userProvidedEmail : userProvidedEmails) {
+			val email = emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
+			if (!validate(email)) {
+				throw new IllegalStateException("Email not valid, but no MailException was thrown for it");
+			}
+			emails.add(email);
+		}
+		return sendGovernedMails(emails);
+	}
+
+	/**
+	 * The part of {@link #sendMails(Collection)} after the emails were governed and validated.
+	 */
+	@NotNull
+	private List<CompletableFuture<Void>> sendGovernedMails(@NotNull final List<Email> emails) {
+		val futures = new ArrayList<CompletableFuture<Void>>(emails.size());
+		for (int i = 0; i < emails.size(); i++) {
+			futures.add(new CompletableFuture<>());
+		}
+
+		if (!emails.isEmpty()) {
+			if (!operationalConfig.isAsync()) {
+				new SendMailsClosure(operationalConfig, session, emails, futures, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()).run();
+			} else {
+				val processFuture = inFlightSendLimiter.submit(
+						() -> new SendMailsClosure(operationalConfig, session, emails, futures, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()),
+						sendMailsClosure -> executeAsync("sendMails process", sendMailsClosure));
+				processFuture.exceptionally(e -> {
+					// the closure reports per email, so this would be a problem with the executor itself
+					futures.forEach(future -> future.completeExceptionally(e));
+					return null;
+				});
+			}
+		}
+		return futures;
+	}
+
+	/**
+	 * @see Mailer#sendMails(Stream)
+	 */
+	@Override
+	@NotNull
+	public final List<CompletableFuture<Void>> sendMails(@NotNull final Stream<Email> userProvidedEmails) {
+		return sendMails(userProvidedEmails.collect(toList()));
+	}
+
+	/**
+	 * @see Mailer#sendMailToEach(Email, Collection)
+	 */
+	@Override
+	@NotNull
+	public final List<CompletableFuture<Void>> sendMailToEach(@NotNull final Email userProvidedEmail, @NotNull final Collection<Recipient> recipients) {
+		if (recipients.isEmpty()) {
+			return new ArrayList<>();
+		}
+		// validating with all recipients at once covers their addresses as well
+		val email = emailGovernance.produceEmailApplyingDefaultsAndOverrides(EmailBuilder.copying(userProvidedEmail)
+				.clearRecipients()
+				.withRecipients(recipients, TO)
+				.buildEmail());
+		if (!validate(email)) {
+			throw new IllegalStateException("Email not valid, but no MailException was thrown for it");
+		}
+
+		if (email.getDkimConfig() != null || email.getSmimeSigningConfig() != null || email.getSmimeEncryptionConfig() != null
+				|| operationalConfig.getCustomMailer() != null || operationalConfig.isTransportModeLoggingOnly()) {
+			// DKIM signs the To header and Message-ID, S/MIME replaces the message (and fixes its Message-ID) in the S/MIME module,
+			// and the other modes need an actual Email per recipient
+			return sendGovernedMails(recipients.stream()
+					.map(recipient -> copyForRecipient(email, recipient))
+					.collect(toList()));
+		}
+
+		val template = copyForRecipient(email, recipients.iterator().next());
+		val recipientAddresses = MiscUtil.asInternetAddresses(new ArrayList<>(recipients), UTF_8);
+
+		val futures = new ArrayList<CompletableFuture<Void>>(recipients.size());
+		for (int i = 0; i < recipients.size(); i++) {
+			futures.add(new CompletableFuture<>());
+		}
+
+		if (!operationalConfig.isAsync()) {
+			new SendFanOutClosure(operationalConfig, session, template, recipientAddresses, futures, proxyBridgeLifecycle).run();
+		} else {
+			val processFuture = inFlightSendLimiter.submit(
+					() -> new SendFanOutClosure(operationalConfig, session, template, recipientAddresses, futures, proxyBridgeLifecycle),
+					sendFanOutClosure -> executeAsync("sendMailToEach process", sendFanOutClosure));
+			processFuture.exceptionally(e -> {
+				// the closure reports per recipient, so this would be a problem with the executor itself
+				futures.forEach(future -> future.completeExceptionally(e));
+				return null;
+			});
+		}
+		return futures;
+	}
+
+	/**
+	 * Copies are made from the governed email rather than governed again, which would add the default and override recipients back to every copy.
+	 *
+	 * @return The governed email with only the given recipient and without Message-ID, so each copy gets its own.
+	 */
+	@NotNull
+	private static Email copyForRecipient(@NotNull final Email governedEmail, @NotNull final Recipient recipient) {
+		val copy = EmailBuilder.copying(governedEmail)
+				.clearRecipients()
+				.clearId()
+				.withRecipients(singletonList(recipient), TO)
+				.buildEmail();
+		//noinspection deprecation
+		((InternalEmail) copy).markAsDefaultsAndOverridesApplied();
+		return copy;
+	}
+
+	/**
+	 * @see Mailer#prepare(Email)
+	 */
+	@Override
+	@NotNull
+	public final PreparedMessage prepare(@NotNull final Email userProvidedEmail) {
+		val email = emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
+
+		if (validate(email)) {
+			try {
+				return SessionBasedEmailToMimeMessageConverter.convertToPreparedMessage(session, email);
+			} catch (final Exception e) {
+				throw SendMailClosure.toMailerException(email, e);
+			}
 		}
 		throw new IllegalStateException("Email not valid, but no MailException was thrown for it");
 	}
 
+	/**
+	 * @see Mailer#send(PreparedMessage)
+	 */
+	@Override
+	@NotNull
+	public final CompletableFuture<Void> send(@NotNull final PreparedMessage preparedMessage) {
+		if (!operationalConfig.isAsync()) {
+			new SendPreparedMessageClosure(operationalConfig, session, preparedMessage, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()).run();
+			return CompletableFuture.completedFuture(null);
+		} else
+			return inFlightSendLimiter.submit(
+					() -> new SendPreparedMessageClosure(operationalConfig, session, preparedMessage, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()),
+					sendPreparedMessageClosure -> transientFailureRetrier.executeWithRetries(sendPreparedMessageClosure,
+							() -> new SendPreparedMessageClosure(operationalConfig, session, preparedMessage, proxyBridgeLifecycle, operationalConfig.isTransportModeLoggingOnly()),
+							retryClosure -> executeAsync("send prepared message process", retryClosure)));
+	}
+
+	/**
+	 * Executes the closure on the executor service, through the batch-module if available.
+	 */
+	@NotNull
+	private CompletableFuture<Void> executeAsync(@NotNull final String processName, @NotNull final Runnable closure) {
+		return ModuleLoader.batchModuleAvailable()
+				? ModuleLoader.loadBatchModule().executeAsync(operationalConfig.getExecutorService(), processName, closure)
+				: AsyncOperationHelper.executeAsync(operationalConfig.getExecutorService(), processName, closure);
+	}
+
 	/**
 	 * @see Mailer#validate(Email)
 	 */
@@ -374,10 +586,50 @@ public class MailerImpl implements Mailer {
 	 */
 	@Override
 	public Future<?> shutdownConnectionPool() {
+		if (sendPipeline != null) {
+			sendPipeline.shutdown();
+		}
 		if (!operationalConfig.isExecutorServiceIsUserProvided()) {
 			operationalConfig.getExecutorService().shutdown();
 		}
-		return ModuleLoader.loadBatchModule().shutdownConnectionPools(session);
+		return ModuleLoader.batchModuleAvailable()
+				? ModuleLoader.loadBatchModule().shutdownConnectionPools(session)
+				: SmtpConnectionPool.shutdownConnectionPool(session);
+	}
+
+	/**
+	 * @see Mailer#getProxyBridgeStats()
+	 */
+	@Override
+	@NotNull
+	public ProxyBridgeStats getProxyBridgeStats() {
+		return proxyBridgeLifecycle.getStats();
+	}
+
+	/**
+	 * @see Mailer#getEncodedAttachmentCacheStats()
+	 */
+	@Override
+	@NotNull
+	public EncodedAttachmentCacheStats getEncodedAttachmentCacheStats() {
+		return EncodedAttachmentCache.getStats(session);
+	}
+
+	/**
+	 * @see Mailer#getSendPipelineStats()
+	 */
+	@Override
+	@NotNull
+	public SendPipelineStats getSendPipelineStats() {
+		return sendPipeline != null ? sendPipeline.getStats() : StagedSendPipeline.noStats();
+	}
+
+	/**
+	 * @see Mailer#getInFlightSendCount()
+	 */
+	@Override
+	public int getInFlightSendCount() {
+		return inFlightSendLimiter.getInFlightCount();
 	}
 
 	@Override
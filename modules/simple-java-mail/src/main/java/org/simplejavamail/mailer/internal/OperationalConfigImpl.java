@@ -6,6 +6,8 @@ import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.EmailDumpSink;
+import org.simplejavamail.api.mailer.config.InFlightLimitPolicy;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 
@@ -81,10 +83,20 @@ class OperationalConfigImpl implements OperationalConfig {
 	@NotNull
 	private final LoadBalancingStrategy connectionPoolLoadBalancingStrategy;
 
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withBuiltInConnectionPool(boolean)
+	 */
+	private final boolean builtInConnectionPool;
+
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransportModeLoggingOnly(Boolean)
 	 */
 	private final boolean transportModeLoggingOnly;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumEmailSize(int, boolean)
+	 */
+	private final boolean sendingSizeCheckedBytes;
 	
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDebugLogging(Boolean)
@@ -123,6 +135,65 @@ class OperationalConfigImpl implements OperationalConfig {
 	 */
 	private final boolean executorServiceIsUserProvided;
 
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@Nullable
+	private final Integer maximumInFlightSends;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumInFlightSends(int, InFlightLimitPolicy)
+	 */
+	@NotNull
+	private final InFlightLimitPolicy inFlightLimitPolicy;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	private final int transientFailureRetries;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	private final int retryInitialBackoffMillis;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+	 */
+	private final int retryMaxBackoffMillis;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	@Nullable
+	private final Integer sendPipelineCryptoThreadPoolSize;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withStagedSendPipeline(int, int)
+	 */
+	private final int sendPipelineStageQueueCapacity;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withEncodedAttachmentCache(long)
+	 */
+	private final long encodedAttachmentCacheSize;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDirectMimeRendering(boolean)
+	 */
+	private final boolean directMimeRendering;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withParallelAttachmentEncoding(int)
+	 */
+	private final int parallelAttachmentEncodingThreshold;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withEmailDumpSink(EmailDumpSink)
+	 */
+	@Nullable
+	private final EmailDumpSink emailDumpSink;
+
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withCustomMailer(CustomMailer)
 	 */
@@ -0,0 +1,109 @@
+package org.simplejavamail.mailer.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.mailer.ProxyBridgeStats;
+import org.slf4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps track of running SMTP operations, so that we know when to close down the proxy bridging server (if used).
+ * <p>
+ * The bookkeeping is lock-free; only starting and stopping the proxy bridge itself is synchronized on the server instance. When the last operation
+ * finishes, the proxy bridge is stopped after the configured idle timeout, unless new operations started in the meantime.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withProxyBridgeIdleTimeoutMillis(Integer)
+ */
+class ProxyBridgeLifecycle {
+
+	private static final Logger LOGGER = getLogger(ProxyBridgeLifecycle.class);
+
+	@Nullable private final AnonymousSocks5Server proxyServer;
+	private final int idleTimeoutMillis;
+
+	@NotNull private final AtomicInteger activeOperations = new AtomicInteger();
+	@NotNull private final AtomicLong startCount = new AtomicLong();
+	@NotNull private final AtomicLong stopCount = new AtomicLong();
+	/**
+	 * Incremented every time the last active operation finishes, so a scheduled stop can tell the bridge was used again in the meantime.
+	 */
+	@NotNull private final AtomicLong idleGeneration = new AtomicLong();
+
+	ProxyBridgeLifecycle(@Nullable final AnonymousSocks5Server proxyServer, final int idleTimeoutMillis) {
+		this.proxyServer = proxyServer;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	/**
+	 * Registers a new operation, which is done when it is created rather than when it is run, so the bridge isn't stopped while operations are
+	 * still queued.
+	 */
+	void registerOperation() {
+		activeOperations.incrementAndGet();
+	}
+
+	void startProxyServerIfNeeded() {
+		if (proxyServer != null) {
+			synchronized (proxyServer) {
+				if (!proxyServer.isRunning()) {
+					LOGGER.trace("starting proxy bridge...");
+					proxyServer.start();
+					startCount.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	void operationFinished() {
+		if (activeOperations.decrementAndGet() == 0) {
+			LOGGER.trace("all threads have finished processing");
+			if (proxyServer != null) {
+				final long generation = idleGeneration.incrementAndGet();
+				if (idleTimeoutMillis > 0) {
+					LOGGER.trace("stopping proxy bridge in {}ms if it stays idle", idleTimeoutMillis);
+					IdleStopScheduler.INSTANCE.schedule(() -> stopProxyServerIfStillIdle(generation), idleTimeoutMillis, MILLISECONDS);
+				} else {
+					stopProxyServerIfStillIdle(generation);
+				}
+			}
+		} else {
+			LOGGER.trace("SMTP request threads left: {}", activeOperations.get());
+		}
+	}
+
+	private void stopProxyServerIfStillIdle(final long generation) {
+		//noinspection ConstantConditions
+		synchronized (proxyServer) {
+			// new operations register before taking this lock to start the bridge, so they either prevent stopping here or restart the bridge after
+			if (activeOperations.get() == 0 && idleGeneration.get() == generation && proxyServer.isRunning() && !proxyServer.isStopping()) {
+				LOGGER.trace("stopping proxy bridge...");
+				proxyServer.stop();
+				stopCount.incrementAndGet();
+			}
+		}
+	}
+
+	@NotNull
+	ProxyBridgeStats getStats() {
+		return new ProxyBridgeStats(startCount.get(), stopCount.get(), activeOperations.get(), proxyServer != null && proxyServer.isRunning());
+	}
+
+	/**
+	 * Lazily created, since most mailers don't use an authenticated proxy.
+	 */
+	private static class IdleStopScheduler {
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "Simple Java Mail proxy bridge idle timer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+}
@@ -19,6 +19,7 @@ class ProxyConfigImpl implements ProxyConfig {
 	@Nullable private final String username;
 	@Nullable private final String password;
 	@Nullable private final Integer proxyBridgePort;
+	private final int proxyBridgeIdleTimeoutMillis;
 	
 	@Override
 	public boolean requiresProxy() {
@@ -39,6 +40,7 @@ class ProxyConfigImpl implements ProxyConfig {
 		if (requiresAuthentication()) {
 			str += format(", username: %s", username);
 			str += format(", proxy bridge @ localhost:%s", proxyBridgePort);
+			str += format(", proxy bridge idle timeout: %sms", proxyBridgeIdleTimeoutMillis);
 		}
 		return str;
 	}
@@ -0,0 +1,67 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.TransportRunner;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.simplejavamail.mailer.internal.SendMailClosure.toMailerException;
+
+/**
+ * Fan-out version of {@link SendMailsClosure}: renders the template email once and then sends a copy of it to each recipient over the same
+ * Transport connection (see {@link TransportRunner#sendFanOut(java.util.UUID, Session, org.simplejavamail.api.mailer.PreparedMessage, List, boolean,
+ * TransportRunner.SendResultHandler)}), reporting the outcome per recipient through the given futures.
+ * <p>
+ * Note that this Runnable implementation is <strong>not</strong> thread related, it is just to encapsulate the code to
+ * be run directly or from a <em>real</em> Runnable.
+ */
+class SendFanOutClosure extends AbstractProxyServerSyncingClosure {
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final Email template;
+	@NotNull private final List<InternetAddress> recipients;
+	@NotNull private final List<CompletableFuture<Void>> futures;
+
+	SendFanOutClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email template, @NotNull List<InternetAddress> recipients,
+			@NotNull List<CompletableFuture<Void>> futures, @NotNull ProxyBridgeLifecycle proxyBridgeLifecycle) {
+		super(proxyBridgeLifecycle);
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.template = template;
+		this.recipients = recipients;
+		this.futures = futures;
+	}
+
+	@Override
+	public void executeClosure() {
+		LOGGER.trace("sending email to {} recipients...", recipients.size());
+		try {
+			val renderedTemplate = SessionBasedEmailToMimeMessageConverter.convertToPreparedMessage(session, template);
+			val useTemplateEnvelope = !template.getOverrideReceivers().isEmpty();
+			TransportRunner.sendFanOut(operationalConfig.getClusterKey(), session, renderedTemplate, recipients, useTemplateEnvelope, this::handleResult);
+		} catch (final Exception e) {
+			// couldn't render or (re)connect, so fail all recipients that weren't processed yet
+			for (int i = 0; i < recipients.size(); i++) {
+				if (!futures.get(i).isDone()) {
+					handleResult(i, e);
+				}
+			}
+		}
+	}
+
+	private void handleResult(final int recipientIndex, @Nullable final Exception failure) {
+		if (failure == null) {
+			futures.get(recipientIndex).complete(null);
+		} else {
+			futures.get(recipientIndex).completeExceptionally(toMailerException(null, template.getSubject(), failure));
+		}
+	}
+}
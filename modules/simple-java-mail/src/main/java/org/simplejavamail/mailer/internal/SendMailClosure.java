@@ -6,13 +6,10 @@ import lombok.val;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
-import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
 import org.simplejavamail.api.mailer.EmailTooBigException;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.mailer.internal.util.TransportRunner;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
 import static org.simplejavamail.mailer.internal.MailerException.GENERIC_ERROR;
@@ -32,8 +29,8 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 	@NotNull private final Email email;
 	private final boolean transportModeLoggingOnly;
 
-	SendMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email email, @Nullable AnonymousSocks5Server proxyServer, boolean transportModeLoggingOnly, @NotNull AtomicInteger smtpConnectionCounter) {
-		super(smtpConnectionCounter, proxyServer);
+	SendMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email email, @NotNull ProxyBridgeLifecycle proxyBridgeLifecycle, boolean transportModeLoggingOnly) {
+		super(proxyBridgeLifecycle);
 		this.operationalConfig = operationalConfig;
 		this.session = session;
 		this.email = email;
@@ -53,20 +50,37 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 			} else {
 				TransportRunner.sendMessage(operationalConfig.getClusterKey(), session, email);
 			}
-		} catch (final MessagingException e) {
-			handleException(e, GENERIC_ERROR);
-		} catch (final MailerException | EmailTooBigException e) {
-			handleException(e, MAILER_ERROR);
 		} catch (final Exception e) {
-			handleException(e, UNKNOWN_ERROR);
+			throw toMailerException(email, e);
 		}
 	}
 
-	private void handleException(final Exception e, String errorMsg) {
-		LOGGER.trace("Failed to send email {}\n{}\n\t{}", email.getId(), email, errorMsg);
-		val emailId = ofNullable(email.getId())
-				.map(id -> format("ID: '%s'", id))
-				.orElse(format("Subject: '%s'", email.getSubject()));
-		throw new MailerException(format(errorMsg, emailId), e);
+	/**
+	 * Wraps any exception that occurred while processing the given email, using an error message fitting the exception type.
+	 */
+	@NotNull
+	static MailerException toMailerException(@NotNull final Email email, @NotNull final Exception e) {
+		LOGGER.trace("Failed to send email {}\n{}", email.getId(), email);
+		return toMailerException(email.getId(), email.getSubject(), e);
+	}
+
+	/**
+	 * @see #toMailerException(Email, Exception)
+	 */
+	@NotNull
+	static MailerException toMailerException(@Nullable final String id, @Nullable final String subject, @NotNull final Exception e) {
+		final String errorMsg;
+		if (e instanceof MessagingException) {
+			errorMsg = GENERIC_ERROR;
+		} else if (e instanceof MailerException || e instanceof EmailTooBigException) {
+			errorMsg = MAILER_ERROR;
+		} else {
+			errorMsg = UNKNOWN_ERROR;
+		}
+		LOGGER.trace("\t{}", errorMsg);
+		val emailId = ofNullable(id)
+				.map(presentId -> format("ID: '%s'", presentId))
+				.orElse(format("Subject: '%s'", subject));
+		return new MailerException(format(errorMsg, emailId), e);
 	}
 }
\ No newline at end of file
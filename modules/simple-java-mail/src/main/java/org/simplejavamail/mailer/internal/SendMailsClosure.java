@@ -0,0 +1,81 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.Session;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.TransportRunner;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.simplejavamail.mailer.internal.SendMailClosure.toMailerException;
+
+/**
+ * Bulk version of {@link SendMailClosure}, which sends all emails over the same Transport connection (see
+ * {@link TransportRunner#sendMessages(java.util.UUID, Session, List, TransportRunner.SendResultHandler)}) and reports the outcome per email
+ * through the given futures, rather than throwing.
+ * <p>
+ * Note that this Runnable implementation is <strong>not</strong> thread related, it is just to encapsulate the code to
+ * be run directly or from a <em>real</em> Runnable.
+ */
+class SendMailsClosure extends AbstractProxyServerSyncingClosure {
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final List<Email> emails;
+	@NotNull private final List<CompletableFuture<Void>> futures;
+	private final boolean transportModeLoggingOnly;
+
+	SendMailsClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull List<Email> emails, @NotNull List<CompletableFuture<Void>> futures,
+			@NotNull ProxyBridgeLifecycle proxyBridgeLifecycle, boolean transportModeLoggingOnly) {
+		super(proxyBridgeLifecycle);
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.emails = emails;
+		this.futures = futures;
+		this.transportModeLoggingOnly = transportModeLoggingOnly;
+	}
+
+	@Override
+	public void executeClosure() {
+		LOGGER.trace("sending {} emails...", emails.size());
+		if (transportModeLoggingOnly || operationalConfig.getCustomMailer() != null) {
+			// no connection to reuse, so just process them one by one
+			for (int i = 0; i < emails.size(); i++) {
+				try {
+					val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, emails.get(i));
+					if (transportModeLoggingOnly) {
+						LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: skipping actual sending...");
+					} else {
+						operationalConfig.getCustomMailer().sendMessage(operationalConfig, session, emails.get(i), message);
+					}
+					handleResult(i, null);
+				} catch (final Exception e) {
+					handleResult(i, e);
+				}
+			}
+		} else {
+			try {
+				TransportRunner.sendMessages(operationalConfig.getClusterKey(), session, emails, this::handleResult);
+			} catch (final Exception e) {
+				// couldn't (re)connect, so fail all emails that weren't processed yet
+				for (int i = 0; i < emails.size(); i++) {
+					if (!futures.get(i).isDone()) {
+						handleResult(i, e);
+					}
+				}
+			}
+		}
+	}
+
+	private void handleResult(final int emailIndex, @Nullable final Exception failure) {
+		if (failure == null) {
+			futures.get(emailIndex).complete(null);
+		} else {
+			futures.get(emailIndex).completeExceptionally(toMailerException(emails.get(emailIndex), failure));
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.Session;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.PreparedMessage;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.TransportRunner;
+
+import static java.lang.String.format;
+import static org.simplejavamail.mailer.internal.MailerException.PREPARED_MESSAGE_NOT_SUPPORTED_BY_CUSTOM_MAILER;
+import static org.simplejavamail.mailer.internal.SendMailClosure.toMailerException;
+
+/**
+ * Counterpart of {@link SendMailClosure} for messages that were already rendered by {@link MailerImpl#prepare(org.simplejavamail.api.email.Email)},
+ * so only the Transport part remains.
+ * <p>
+ * Note that this Runnable implementation is <strong>not</strong> thread related, it is just to encapsulate the code to
+ * be run directly or from a <em>real</em> Runnable.
+ */
+class SendPreparedMessageClosure extends AbstractProxyServerSyncingClosure {
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final PreparedMessage preparedMessage;
+	private final boolean transportModeLoggingOnly;
+
+	SendPreparedMessageClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull PreparedMessage preparedMessage,
+			@NotNull ProxyBridgeLifecycle proxyBridgeLifecycle, boolean transportModeLoggingOnly) {
+		super(proxyBridgeLifecycle);
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.preparedMessage = preparedMessage;
+		this.transportModeLoggingOnly = transportModeLoggingOnly;
+	}
+
+	@Override
+	public void executeClosure() {
+		LOGGER.trace("sending prepared email...");
+		if (operationalConfig.getCustomMailer() != null) {
+			throw new MailerException(format(PREPARED_MESSAGE_NOT_SUPPORTED_BY_CUSTOM_MAILER, preparedMessage.getId()));
+		}
+		try {
+			if (transportModeLoggingOnly) {
+				// the message itself was already logged when it was prepared
+				LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: skipping actual sending of {}...", preparedMessage);
+			} else {
+				TransportRunner.sendPreparedMessage(operationalConfig.getClusterKey(), session, preparedMessage);
+			}
+		} catch (final Exception e) {
+			throw toMailerException(preparedMessage.getId(), preparedMessage.getSubject(), e);
+		}
+	}
+}
@@ -1,32 +1,47 @@
 package org.simplejavamail.mailer.internal;
 
+import jakarta.mail.Address;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.val;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
 import org.jetbrains.annotations.NotNull;
 import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.EmailDumpSink;
 import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.api.mailer.PreparedMessage;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.converter.internal.mimemessage.DirectMimeMessageWriter;
 import org.simplejavamail.converter.internal.mimemessage.ImmutableDelegatingSMTPMessage;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
 import org.simplejavamail.email.internal.InternalEmail;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.MiscUtil;
 import org.simplejavamail.mailer.internal.util.MessageIdFixingMimeMessage;
+import org.simplejavamail.mailer.internal.util.PreRenderedMimeMessage;
 import org.simplejavamail.mailer.internal.util.SessionLogger;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream.SizeLimitExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
 import static org.simplejavamail.converter.EmailConverter.mimeMessageToEML;
+import static org.simplejavamail.mailer.internal.MailerException.DUMP_ERROR;
 import static org.simplejavamail.mailer.internal.MailerException.INVALID_ENCODING;
 
 /**
@@ -64,26 +79,67 @@ public class SessionBasedEmailToMimeMessageConverter {
         val mimeMessage = mimeMessageConverter.convertAndLogMimeMessage(email);
         val governance = mimeMessageConverter.emailGovernance;
 
-        if (governance.getMaximumEmailSize() != null) {
-            val emailSize = calculateEmailSize(mimeMessage);
-            if (emailSize > governance.getMaximumEmailSize()) {
-                throw new EmailTooBigException(emailSize, governance.getMaximumEmailSize());
+        if (governance.getMaximumEmailSize() != null && !(mimeMessage instanceof PreRenderedMimeMessage)) {
+            val sendRenderedBytes = mimeMessageConverter.operationalConfig.isSendingSizeCheckedBytes();
+            val renderedEmail = renderEmail(mimeMessage, governance.getMaximumEmailSize(), sendRenderedBytes);
+            if (sendRenderedBytes) {
+                return new PreRenderedMimeMessage(mimeMessageConverter.session, renderedEmail.toSharedInputStream(), mimeMessage);
             }
         }
         return mimeMessage;
     }
 
-    private static int calculateEmailSize(MimeMessage mimeMessage) throws MessagingException {
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+    /**
+     * Like {@link #convertAndLogMimeMessage(Session, Email)}, but renders the message to its final bytes as well, while checking the size.
+     */
+    @NotNull
+    public static PreparedMessage convertToPreparedMessage(Session session, final Email email) throws MessagingException {
+        val mimeMessageConverter = (SessionBasedEmailToMimeMessageConverter) session.getProperties().get(MIMEMESSAGE_CONVERTER_KEY);
+        val mimeMessage = mimeMessageConverter.convertAndLogMimeMessage(email);
+        val maximumEmailSize = mimeMessageConverter.emailGovernance.getMaximumEmailSize();
+        val wireBytes = renderEmail(mimeMessage, maximumEmailSize != null ? maximumEmailSize : Long.MAX_VALUE, true).toByteArray();
+
+        val envelopeRecipients = new ArrayList<String>();
+        final List<? extends Address> actualRecipients = email.getOverrideReceivers().isEmpty()
+                ? asList(mimeMessage.getAllRecipients())
+                : MiscUtil.asInternetAddresses(email.getOverrideReceivers(), UTF_8);
+        for (final Address recipient : actualRecipients) {
+            envelopeRecipients.add(((InternetAddress) recipient).getAddress());
+        }
+        val envelopeFrom = mimeMessage instanceof SMTPMessage ? ((SMTPMessage) mimeMessage).getEnvelopeFrom() : null;
+        return new PreparedMessage(mimeMessage.getMessageID(), email.getSubject(), wireBytes, envelopeRecipients, envelopeFrom);
+    }
+
+    /**
+     * Writes the message to a stream that only retains the bytes if asked to, and that aborts as soon as the maximum size is exceeded, so an
+     * email that is too big is never rendered (nor buffered) completely.
+     */
+    @NotNull
+    static SizeLimitedOutputStream renderEmail(MimeMessage mimeMessage, long maximumEmailSize, boolean retainBytes) throws MessagingException {
+        val os = new SizeLimitedOutputStream(maximumEmailSize, retainBytes);
+        try {
             mimeMessage.writeTo(os);
-            return os.size();
+            return os;
+        } catch (SizeLimitExceededException e) {
+            throw new EmailTooBigException(maximumEmailSize);
+        } catch (MessagingException e) {
+            if (e.getCause() instanceof SizeLimitExceededException) {
+                throw new EmailTooBigException(maximumEmailSize);
+            }
+            throw e;
         } catch (IOException e) {
-            throw new RuntimeException("error trying to calculate email size", e);
+            throw new RuntimeException("error trying to render email", e);
         }
     }
 
     @NotNull
     private MimeMessage convertAndLogMimeMessage(final Email email) throws MessagingException {
+        rejectIfEstimatedTooBig(email);
+
+        if (operationalConfig.isDirectMimeRendering() && DirectMimeMessageWriter.canWrite(email, session)) {
+            return writeAndLogMimeMessage(email);
+        }
+
         val message = convertMimeMessage(email, session);
 
         SessionLogger.logSession(session, operationalConfig.isAsync(), "mail");
@@ -97,10 +153,59 @@ public class SessionBasedEmailToMimeMessageConverter {
         //noinspection deprecation
         ((InternalEmail) email).updateId(message.getMessageID());
 
-        logEmail(message, operationalConfig.isTransportModeLoggingOnly(), email);
+        logEmail(message, email);
+        return message;
+    }
+
+    /**
+     * Writes the email directly to its final bytes, which are checked against the maximum email size while writing, so the result doesn't need
+     * to be rendered again before sending.
+     */
+    @NotNull
+    private MimeMessage writeAndLogMimeMessage(final Email email) throws MessagingException {
+        val maximumEmailSize = emailGovernance.getMaximumEmailSize();
+        val maximumSize = maximumEmailSize != null ? maximumEmailSize : Long.MAX_VALUE;
+        val os = new SizeLimitedOutputStream(maximumSize, true);
+        try {
+            // DKIM signed emails are buffered before they reach the stream, so the writer aborts those itself
+            DirectMimeMessageWriter.write(email, session, os, maximumSize);
+        } catch (SizeLimitExceededException e) {
+            throw new EmailTooBigException(requireNonNull(maximumEmailSize));
+        } catch (UnsupportedEncodingException e) {
+            LOGGER.trace("Failed to send email {}\n{}", email.getId(), email);
+            throw new MailerException(format(INVALID_ENCODING, email.getId()), e);
+        } catch (IOException e) {
+            throw new RuntimeException("error trying to render email", e);
+        }
+
+        SessionLogger.logSession(session, operationalConfig.isAsync(), "mail");
+
+        val allRecipients = MiscUtil.asInternetAddresses(email.getRecipients(), UTF_8).toArray(new Address[0]);
+        val envelopeFrom = email.getBounceToRecipient() != null ? email.getBounceToRecipient().getAddress() : null;
+        val message = new PreRenderedMimeMessage(session, os.toSharedInputStream(), allRecipients, envelopeFrom);
+
+        //noinspection deprecation
+        ((InternalEmail) email).updateId(message.getMessageID());
+
+        logEmail(message, email);
         return message;
     }
 
+    /**
+     * Spares producing (and signing/encrypting) the MimeMessage for emails that can't fit anyway. Emails that pass are still checked
+     * exactly once rendered, since the estimate is only a lower bound.
+     */
+    private void rejectIfEstimatedTooBig(final Email email) {
+        val maximumEmailSize = emailGovernance.getMaximumEmailSize();
+        if (maximumEmailSize != null) {
+            val estimatedMinimumSize = EmailSizeEstimator.estimateMinimumSize(email);
+            if (estimatedMinimumSize > maximumEmailSize) {
+                LOGGER.debug("email {} estimated at {} bytes at least, rejecting before producing MimeMessage", email.getId(), estimatedMinimumSize);
+                throw new EmailTooBigException(maximumEmailSize);
+            }
+        }
+    }
+
     private static boolean messageIsProperlyWrappedForCustomMessageId(MimeMessage message) {
         return message instanceof MessageIdFixingMimeMessage || message instanceof ImmutableDelegatingSMTPMessage ||
                 (ModuleLoader.dkimModuleAvailable() && ModuleLoader.loadDKIMModule().isMessageIdFixingMessage(message)) ||
@@ -116,9 +221,11 @@ public class SessionBasedEmailToMimeMessageConverter {
         }
     }
 
-    static private void logEmail(final MimeMessage message, boolean transportModeLoggingOnly, final Email email) {
-        if (transportModeLoggingOnly) {
-            if (LOGGER.isInfoEnabled()) {
+    private void logEmail(final MimeMessage message, final Email email) throws MessagingException {
+        if (operationalConfig.isTransportModeLoggingOnly()) {
+            if (operationalConfig.getEmailDumpSink() != null) {
+                dumpEmail(operationalConfig.getEmailDumpSink(), message, email);
+            } else if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("\n\nEmail: {}\n", email);
                 LOGGER.info("\n\nMimeMessage: {}\n", mimeMessageToEML(message));
             }
@@ -129,4 +236,12 @@ public class SessionBasedEmailToMimeMessageConverter {
             }
         }
     }
+
+    static private void dumpEmail(final EmailDumpSink emailDumpSink, final MimeMessage message, final Email email) throws MessagingException {
+        try {
+            emailDumpSink.dump(email, message);
+        } catch (IOException e) {
+            throw new MailerException(format(DUMP_ERROR, email.getId()), e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPAddressSucceededException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.eclipse.angus.mail.util.MailConnectException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.mailer.MailValidationException;
+
+import java.io.EOFException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tells transient send failures, which may well succeed when retried later, apart from permanent ones, which will fail again:
+ * <ul>
+ *     <li>SMTP 4xx replies are transient (RFC 5321 section 4.2.1), 5xx replies are permanent</li>
+ *     <li>refused, reset and timed out connections are transient</li>
+ *     <li>authentication failures, invalid emails and emails that are too big are permanent</li>
+ *     <li>failures after the email was already sent to some of its recipients (with {@code mail.smtp.sendpartial}) are permanent, as retrying
+ *     would send it to those recipients again</li>
+ *     <li>anything else is considered permanent, so unexpected failures are not retried blindly</li>
+ * </ul>
+ * When a failure contains several reply codes (one per rejected recipient, for example), it is only transient if none of them are permanent.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class SmtpFailureClassifier {
+
+	/**
+	 * Jakarta Mail only reports a bad greeting (such as "421 too many connections") in the message, as in "..., response: 421".
+	 */
+	private static final Pattern RESPONSE_CODE_IN_MESSAGE = Pattern.compile("response: ([2-5]\\d\\d)");
+
+	static boolean isTransient(@NotNull final Throwable failure) {
+		final Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		boolean transientFailureFound = false;
+		// MessagingException returns its next exception as cause, so this also covers every failed recipient
+		for (Throwable t = failure; t != null && visited.add(t); t = t.getCause()) {
+			if (isPartiallySent(t)) {
+				return false;
+			}
+			final Integer replyCode = determineReplyCode(t);
+			if (replyCode != null) {
+				if (replyCode >= 500) {
+					return false;
+				}
+				transientFailureFound |= replyCode >= 400;
+			} else if (t instanceof AuthenticationFailedException || t instanceof MailValidationException || t instanceof EmailTooBigException) {
+				return false;
+			} else if (t instanceof MailConnectException || t instanceof SocketException || t instanceof SocketTimeoutException || t instanceof EOFException) {
+				transientFailureFound = true;
+			}
+		}
+		return transientFailureFound;
+	}
+
+	private static boolean isPartiallySent(@NotNull final Throwable t) {
+		if (t instanceof SendFailedException) {
+			final Address[] validSentAddresses = ((SendFailedException) t).getValidSentAddresses();
+			return validSentAddresses != null && validSentAddresses.length > 0;
+		}
+		return false;
+	}
+
+	@Nullable
+	private static Integer determineReplyCode(@NotNull final Throwable t) {
+		if (t instanceof SMTPSendFailedException) {
+			return ((SMTPSendFailedException) t).getReturnCode();
+		} else if (t instanceof SMTPAddressFailedException) {
+			return ((SMTPAddressFailedException) t).getReturnCode();
+		} else if (t instanceof SMTPSenderFailedException) {
+			return ((SMTPSenderFailedException) t).getReturnCode();
+		} else if (t instanceof SMTPAddressSucceededException) {
+			return ((SMTPAddressSucceededException) t).getReturnCode();
+		} else if (t instanceof MessagingException && t.getMessage() != null) {
+			final Matcher matcher = RESPONSE_CODE_IN_MESSAGE.matcher(t.getMessage());
+			return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+		}
+		return null;
+	}
+}
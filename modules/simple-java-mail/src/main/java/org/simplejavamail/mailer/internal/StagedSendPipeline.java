@@ -0,0 +1,275 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.Session;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.PreparedMessage;
+import org.simplejavamail.api.mailer.SendPipelineStageStats;
+import org.simplejavamail.api.mailer.SendPipelineStats;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.simplejavamail.internal.util.Preconditions.verifyNonnullOrEmpty;
+import static org.simplejavamail.mailer.internal.MailerException.INTERRUPTED_WAITING_FOR_SEND_PIPELINE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Runs async sends in two stages after the email was built: a crypto stage that produces, signs, encrypts and renders the message on its own
+ * pool, and a transport stage that sends the rendered message on the executor service. The stages are connected by queues of the configured
+ * capacity: when the crypto queue is full the calling thread waits, and when the transport queue is full the crypto threads wait, so neither
+ * stage runs away from the other.
+ * <p>
+ * The executor service's own queue isn't bounded (and may not be ours), so the transport queue is a number of permits for emails that were handed
+ * to the executor service, but of which sending hasn't started yet.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withStagedSendPipeline(int, int)
+ */
+class StagedSendPipeline {
+
+	private static final Logger LOGGER = getLogger(StagedSendPipeline.class);
+
+	private static final SendPipelineStats NO_STATS = new SendPipelineStats(new SendPipelineStageStats(0, 0, 0, 0), new SendPipelineStageStats(0, 0, 0, 0));
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final ProxyBridgeLifecycle proxyBridgeLifecycle;
+	@NotNull private final TransientFailureRetrier transientFailureRetrier;
+	@NotNull private final Function<Runnable, CompletableFuture<Void>> transportExecutor;
+
+	@NotNull private final ThreadPoolExecutor cryptoExecutor;
+	@NotNull private final Semaphore transportQueueSlots;
+
+	@NotNull private final StageMetrics cryptoMetrics = new StageMetrics();
+	@NotNull private final StageMetrics transportMetrics = new StageMetrics();
+
+	/**
+	 * @param transportExecutor Executes a transport attempt on the executor service, returning a future that completes when the attempt is done.
+	 */
+	StagedSendPipeline(@NotNull final OperationalConfig operationalConfig, @NotNull final Session session, @NotNull final ProxyBridgeLifecycle proxyBridgeLifecycle,
+			@NotNull final TransientFailureRetrier transientFailureRetrier, @NotNull final Function<Runnable, CompletableFuture<Void>> transportExecutor) {
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.proxyBridgeLifecycle = proxyBridgeLifecycle;
+		this.transientFailureRetrier = transientFailureRetrier;
+		this.transportExecutor = transportExecutor;
+
+		final int cryptoThreadPoolSize = verifyNonnullOrEmpty(operationalConfig.getSendPipelineCryptoThreadPoolSize());
+		final AtomicInteger threadCount = new AtomicInteger();
+		// like the default executor service, these are non-daemon threads, so the JVM waits for accepted sends to complete, while idle threads die off
+		// so they don't keep the JVM running afterwards
+		this.cryptoExecutor = new ThreadPoolExecutor(cryptoThreadPoolSize, cryptoThreadPoolSize,
+				Math.max(1, operationalConfig.getThreadPoolKeepAliveTime()), MILLISECONDS,
+				new ArrayBlockingQueue<>(operationalConfig.getSendPipelineStageQueueCapacity()),
+				runnable -> new Thread(runnable, "Simple Java Mail crypto stage " + threadCount.incrementAndGet()),
+				StagedSendPipeline::waitForCryptoQueueSlot);
+		this.cryptoExecutor.allowCoreThreadTimeOut(true);
+		this.transportQueueSlots = new Semaphore(operationalConfig.getSendPipelineStageQueueCapacity());
+	}
+
+	/**
+	 * @return The send for {@link #submit(StagedSend)}, which runs all stages in the calling thread when run directly.
+	 */
+	@NotNull
+	StagedSend newSend(@NotNull final Email email) {
+		return new StagedSend(email);
+	}
+
+	/**
+	 * Queues the email for the crypto stage, waiting for room in its queue if needed.
+	 *
+	 * @return A future that completes with the outcome of the transport stage, or of the crypto stage if producing the message failed.
+	 */
+	@NotNull
+	CompletableFuture<Void> submit(@NotNull final StagedSend send) {
+		val result = new CompletableFuture<Void>();
+		val enteredCryptoStageNanos = cryptoMetrics.enter();
+		try {
+			cryptoExecutor.execute(() -> runCryptoStage(send.email, enteredCryptoStageNanos, result));
+		} catch (final RuntimeException e) {
+			cryptoMetrics.abandon();
+			throw e;
+		}
+		return result;
+	}
+
+	private void runCryptoStage(@NotNull final Email email, final long enteredStageNanos, @NotNull final CompletableFuture<Void> result) {
+		cryptoMetrics.start();
+		final PreparedMessage preparedMessage;
+		try {
+			preparedMessage = SessionBasedEmailToMimeMessageConverter.convertToPreparedMessage(session, email);
+		} catch (final Exception e) {
+			result.completeExceptionally(SendMailClosure.toMailerException(email, e));
+			return;
+		} finally {
+			cryptoMetrics.finish(enteredStageNanos);
+		}
+		handOffToTransportStage(preparedMessage, result);
+	}
+
+	/**
+	 * Runs in a crypto thread, which waits for room in the transport queue, so the crypto stage can't get ahead of sending.
+	 */
+	private void handOffToTransportStage(@NotNull final PreparedMessage preparedMessage, @NotNull final CompletableFuture<Void> result) {
+		try {
+			transportQueueSlots.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result.completeExceptionally(new MailerException(format(INTERRUPTED_WAITING_FOR_SEND_PIPELINE, "transport"), e));
+			return;
+		}
+		val enteredStageNanos = transportMetrics.enter();
+		val started = new AtomicBoolean();
+
+		CompletableFuture<Void> transportFuture;
+		try {
+			transportFuture = transientFailureRetrier.executeWithRetries(
+					newTransportClosure(preparedMessage),
+					() -> newTransportClosure(preparedMessage),
+					attempt -> transportExecutor.apply(() -> {
+						// retries don't go through the queue again
+						if (started.compareAndSet(false, true)) {
+							transportQueueSlots.release();
+							transportMetrics.start();
+						}
+						attempt.run();
+					}));
+		} catch (final RuntimeException e) {
+			transportFuture = CompletableFuture.failedFuture(e);
+		}
+		transportFuture.whenComplete((ignored, throwable) -> {
+			if (started.compareAndSet(false, true)) {
+				// never got to run, for example because the executor service was shut down
+				transportQueueSlots.release();
+				transportMetrics.abandon();
+			} else {
+				transportMetrics.finish(enteredStageNanos);
+			}
+			if (throwable != null) {
+				result.completeExceptionally(throwable);
+			} else {
+				result.complete(null);
+			}
+		});
+	}
+
+	@NotNull
+	private SendPreparedMessageClosure newTransportClosure(@NotNull final PreparedMessage preparedMessage) {
+		return new SendPreparedMessageClosure(operationalConfig, session, preparedMessage, proxyBridgeLifecycle, false);
+	}
+
+	/**
+	 * Rejection handler of the crypto executor: rather than rejecting the send when the crypto queue is full, the calling thread waits for room.
+	 */
+	private static void waitForCryptoQueueSlot(@NotNull final Runnable task, @NotNull final ThreadPoolExecutor executor) {
+		if (executor.isShutdown()) {
+			throw new RejectedExecutionException("send pipeline was shut down");
+		}
+		LOGGER.debug("crypto stage queue is full, waiting for room...");
+		try {
+			executor.getQueue().put(task);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MailerException(format(INTERRUPTED_WAITING_FOR_SEND_PIPELINE, "crypto"), e);
+		}
+	}
+
+	/**
+	 * @see org.simplejavamail.api.mailer.Mailer#getSendPipelineStats()
+	 */
+	@NotNull
+	SendPipelineStats getStats() {
+		return new SendPipelineStats(cryptoMetrics.snapshot(), transportMetrics.snapshot());
+	}
+
+	/**
+	 * @return Stats for a mailer that doesn't use the pipeline.
+	 */
+	@NotNull
+	static SendPipelineStats noStats() {
+		return NO_STATS;
+	}
+
+	/**
+	 * Stops accepting new sends. Emails already queued still go through the crypto stage, but can only be sent if the executor service is still
+	 * running.
+	 */
+	void shutdown() {
+		cryptoExecutor.shutdown();
+	}
+
+	/**
+	 * An email on its way through the pipeline. Running it directly, as the in-flight limit does for
+	 * {@link org.simplejavamail.api.mailer.config.InFlightLimitPolicy#CALLER_RUNS}, sends it in the calling thread without the pipeline.
+	 */
+	final class StagedSend implements Runnable {
+
+		@NotNull private final Email email;
+
+		private StagedSend(@NotNull final Email email) {
+			this.email = email;
+		}
+
+		@Override
+		public void run() {
+			new SendMailClosure(operationalConfig, session, email, proxyBridgeLifecycle, false).run();
+		}
+	}
+
+	/**
+	 * Counts emails waiting in and being processed by a stage. Counters are read separately, so a snapshot may be slightly inconsistent.
+	 */
+	private static final class StageMetrics {
+
+		private final AtomicInteger queueDepth = new AtomicInteger();
+		private final AtomicInteger activeCount = new AtomicInteger();
+		private final AtomicLong completedCount = new AtomicLong();
+		private final AtomicLong totalLatencyNanos = new AtomicLong();
+
+		/**
+		 * @return The time the email entered the stage, for {@link #finish(long)}.
+		 */
+		long enter() {
+			queueDepth.incrementAndGet();
+			return System.nanoTime();
+		}
+
+		void start() {
+			queueDepth.decrementAndGet();
+			activeCount.incrementAndGet();
+		}
+
+		void finish(final long enteredStageNanos) {
+			activeCount.decrementAndGet();
+			totalLatencyNanos.addAndGet(System.nanoTime() - enteredStageNanos);
+			completedCount.incrementAndGet();
+		}
+
+		/**
+		 * For an email that left the queue without being processed.
+		 */
+		void abandon() {
+			queueDepth.decrementAndGet();
+		}
+
+		@NotNull
+		SendPipelineStageStats snapshot() {
+			val completed = completedCount.get();
+			return new SendPipelineStageStats(queueDepth.get(), activeCount.get(), completed,
+					completed > 0 ? NANOSECONDS.toMillis(totalLatencyNanos.get() / completed) : 0);
+		}
+	}
+}
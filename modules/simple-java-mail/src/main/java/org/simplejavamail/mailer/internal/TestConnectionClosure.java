@@ -3,14 +3,10 @@ package org.simplejavamail.mailer.internal;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.mailer.internal.util.SessionLogger;
 import org.simplejavamail.mailer.internal.util.TransportRunner;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
  * Extra closure for the actual connection test, so this can be called regularly as well as from async thread.
  */
@@ -20,8 +16,8 @@ class TestConnectionClosure extends AbstractProxyServerSyncingClosure {
 	@NotNull private final Session session;
 	private final boolean async;
 
-	TestConnectionClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @Nullable final AnonymousSocks5Server proxyServer, final boolean async, @NotNull AtomicInteger smtpConnectionCounter) {
-		super(smtpConnectionCounter, proxyServer);
+	TestConnectionClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull ProxyBridgeLifecycle proxyBridgeLifecycle, final boolean async) {
+		super(proxyBridgeLifecycle);
 		this.operationalConfig = operationalConfig;
 		this.session = session;
 		this.async = async;
@@ -0,0 +1,118 @@
+package org.simplejavamail.mailer.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Resubmits async operations that failed for a transient reason (see {@link SmtpFailureClassifier}), after an exponential backoff with jitter.
+ * Waiting is done by scheduling the next attempt on a shared timer, rather than by sleeping in one of the executor's threads.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransientFailureRetries(int, int, int)
+ */
+class TransientFailureRetrier {
+
+	private static final Logger LOGGER = getLogger(TransientFailureRetrier.class);
+
+	private final int maxRetries;
+	private final int initialBackoffMillis;
+	private final int maxBackoffMillis;
+
+	TransientFailureRetrier(@NotNull final OperationalConfig operationalConfig) {
+		this.maxRetries = operationalConfig.getTransientFailureRetries();
+		this.initialBackoffMillis = operationalConfig.getRetryInitialBackoffMillis();
+		this.maxBackoffMillis = operationalConfig.getRetryMaxBackoffMillis();
+	}
+
+	/**
+	 * @param firstAttempt  The operation to execute first.
+	 * @param retryFactory  Creates the operation for each retry, since closures are registered with the proxy bridge once and can't be rerun.
+	 * @param asyncExecutor Executes an attempt, returning a future that completes when the attempt is done.
+	 * @return A future that completes with the outcome of the last attempt.
+	 */
+	@NotNull
+	CompletableFuture<Void> executeWithRetries(@NotNull final Runnable firstAttempt, @NotNull final Supplier<Runnable> retryFactory,
+			@NotNull final Function<Runnable, CompletableFuture<Void>> asyncExecutor) {
+		if (maxRetries <= 0) {
+			return asyncExecutor.apply(firstAttempt);
+		}
+		final CompletableFuture<Void> result = new CompletableFuture<>();
+		executeAttempt(1, firstAttempt, retryFactory, asyncExecutor, result, new ArrayList<>());
+		return result;
+	}
+
+	private void executeAttempt(final int attempt, @NotNull final Runnable operation, @NotNull final Supplier<Runnable> retryFactory,
+			@NotNull final Function<Runnable, CompletableFuture<Void>> asyncExecutor, @NotNull final CompletableFuture<Void> result,
+			@NotNull final List<Throwable> earlierFailures) {
+		CompletableFuture<Void> attemptFuture;
+		try {
+			attemptFuture = asyncExecutor.apply(operation);
+		} catch (final RuntimeException e) {
+			attemptFuture = CompletableFuture.failedFuture(e);
+		}
+		attemptFuture.whenComplete((ignored, throwable) -> {
+			if (throwable == null) {
+				result.complete(null);
+				return;
+			}
+			final Throwable failure = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+			if (attempt <= maxRetries && SmtpFailureClassifier.isTransient(failure)) {
+				final long backoffMillis = determineBackoffMillis(attempt);
+				LOGGER.debug("attempt {} failed with a transient failure, retrying in {}ms: {}", attempt, backoffMillis, failure.getMessage());
+				earlierFailures.add(failure);
+				RetryTimer.INSTANCE.schedule(() -> {
+					try {
+						executeAttempt(attempt + 1, retryFactory.get(), retryFactory, asyncExecutor, result, earlierFailures);
+					} catch (final RuntimeException e) {
+						completeExceptionally(result, e, earlierFailures);
+					}
+				}, backoffMillis, MILLISECONDS);
+			} else {
+				completeExceptionally(result, failure, earlierFailures);
+			}
+		});
+	}
+
+	/**
+	 * Half of the exponential backoff is fixed and half is random, so retries of emails that failed at the same time are spread out, while still
+	 * backing off.
+	 */
+	long determineBackoffMillis(final int attempt) {
+		final long exponentialBackoff = Math.min(maxBackoffMillis, (long) initialBackoffMillis << Math.min(attempt - 1, 30));
+		return exponentialBackoff / 2 + ThreadLocalRandom.current().nextLong(exponentialBackoff / 2 + 1);
+	}
+
+	private static void completeExceptionally(@NotNull final CompletableFuture<Void> result, @NotNull final Throwable failure,
+			@NotNull final List<Throwable> earlierFailures) {
+		for (final Throwable earlierFailure : earlierFailures) {
+			if (earlierFailure != failure) {
+				failure.addSuppressed(earlierFailure);
+			}
+		}
+		result.completeExceptionally(failure);
+	}
+
+	/**
+	 * Lazily created, since most mailers don't retry.
+	 */
+	private static class RetryTimer {
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "Simple Java Mail retry scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+}
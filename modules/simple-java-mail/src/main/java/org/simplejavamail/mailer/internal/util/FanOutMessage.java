@@ -0,0 +1,37 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.PreparedMessage;
+
+import static java.lang.String.format;
+
+/**
+ * Copy of a rendered message for one recipient of a fan-out send. Only the top level headers are parsed from the rendered bytes, while the body
+ * is streamed from the bytes shared by all copies, so it is not produced nor encoded again.
+ * <p>
+ * Since a parsed message counts as saved, the To header and Message-ID set here are written as they are, without touching the body.
+ */
+class FanOutMessage extends SMTPMessage {
+
+	FanOutMessage(@NotNull final Session session, @NotNull final PreparedMessage template, @NotNull final InternetAddress recipient)
+			throws MessagingException {
+		super(session, template.getInputStream());
+		setEnvelopeFrom(template.getEnvelopeFrom());
+		setRecipient(RecipientType.TO, recipient);
+		updateMessageID();
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return format("FanOutMessage<id:%s, subject:%s>", getMessageID(), getSubject());
+		} catch (MessagingException e) {
+			throw new IllegalStateException("should not reach here");
+		}
+	}
+}
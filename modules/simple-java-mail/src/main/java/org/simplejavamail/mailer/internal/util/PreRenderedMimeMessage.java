@@ -0,0 +1,64 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+
+import static java.lang.String.format;
+
+/**
+ * A message parsed back from the bytes it was already rendered to, so that sending it streams those bytes rather than producing and encoding
+ * the message again. Since a parsed message counts as saved, its headers and body are sent exactly as they were rendered.
+ * <p>
+ * The recipients (and bounce address) are taken from the original message rather than parsed from the rendered headers, so the envelope is the
+ * one the message was produced for.
+ * <p>
+ * <strong>Note:</strong> the rendered bytes <em>do</em> contain the Bcc header. It is only left out on the wire, because {@code SMTPTransport}
+ * skips it when writing the message. Don't dump or forward the rendered bytes as-is if Bcc recipients must stay hidden.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumEmailSize(int, boolean)
+ */
+public class PreRenderedMimeMessage extends SMTPMessage {
+
+	@Nullable private final Address[] allRecipients;
+
+	public PreRenderedMimeMessage(@NotNull final Session session, @NotNull final InputStream renderedMessage, @NotNull final MimeMessage originalMessage)
+			throws MessagingException {
+		this(session, renderedMessage, originalMessage.getAllRecipients(),
+				originalMessage instanceof SMTPMessage ? ((SMTPMessage) originalMessage).getEnvelopeFrom() : null);
+	}
+
+	/**
+	 * For messages that were rendered without producing a MimeMessage first.
+	 *
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDirectMimeRendering(boolean)
+	 */
+	public PreRenderedMimeMessage(@NotNull final Session session, @NotNull final InputStream renderedMessage, @Nullable final Address[] allRecipients,
+			@Nullable final String envelopeFrom)
+			throws MessagingException {
+		super(session, renderedMessage);
+		this.allRecipients = allRecipients;
+		setEnvelopeFrom(envelopeFrom);
+	}
+
+	@Override
+	@Nullable
+	public Address[] getAllRecipients() {
+		return allRecipients;
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return format("PreRenderedMimeMessage<id:%s, subject:%s>", getMessageID(), getSubject());
+		} catch (MessagingException e) {
+			throw new IllegalStateException("should not reach here");
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.EmailDumpSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Streams each email to its own EML file in the given directory, through a {@link FileChannel}, so the email is never held in memory as a whole.
+ * Once the directory holds more than the maximum number of emails, the oldest emails are deleted. Files are written under a temporary name and
+ * renamed when complete, so anything picking up the EML files never sees a partial email.
+ * <p>
+ * Only the files written by this sink are rotated: files already in the directory are left alone.
+ *
+ * @see org.simplejavamail.mailer.EmailDumpSinks#toDirectory(Path, int)
+ */
+public class RotatingDirectoryEmailDumpSink implements EmailDumpSink {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RotatingDirectoryEmailDumpSink.class);
+
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+	@NotNull private final Path directory;
+	private final int maximumFiles;
+
+	/**
+	 * Distinguishes emails dumped within the same millisecond.
+	 */
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * The files written so far, oldest first, counted separately as {@link Queue#size()} is not a constant-time operation.
+	 */
+	private final Queue<Path> dumpedFiles = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger dumpedFileCount = new AtomicInteger();
+
+	/**
+	 * @param directory    The directory to write the EML files to, which is created if needed.
+	 * @param maximumFiles The maximum number of EML files to keep.
+	 */
+	@SneakyThrows(IOException.class)
+	public RotatingDirectoryEmailDumpSink(@NotNull final Path directory, final int maximumFiles) {
+		if (maximumFiles < 1) {
+			throw new IllegalArgumentException("maximumFiles should be at least 1, but was " + maximumFiles);
+		}
+		this.directory = Files.createDirectories(directory);
+		this.maximumFiles = maximumFiles;
+	}
+
+	@Override
+	public void dump(@NotNull final Email email, @NotNull final MimeMessage message)
+			throws IOException, MessagingException {
+		val fileName = format("%d-%d.eml", System.currentTimeMillis(), sequence.incrementAndGet());
+		val temporaryFile = directory.resolve(fileName + ".tmp");
+		try (val os = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(temporaryFile, CREATE_NEW, WRITE)), WRITE_BUFFER_SIZE)) {
+			message.writeTo(os);
+		} catch (IOException | MessagingException e) {
+			Files.deleteIfExists(temporaryFile);
+			throw e;
+		}
+		val file = Files.move(temporaryFile, directory.resolve(fileName), ATOMIC_MOVE);
+		LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: dumped email {} to {}", email.getId(), file);
+
+		dumpedFiles.add(file);
+		if (dumpedFileCount.incrementAndGet() > maximumFiles) {
+			deleteOldestFile();
+		}
+	}
+
+	private void deleteOldestFile()
+			throws IOException {
+		val oldestFile = dumpedFiles.poll();
+		if (oldestFile != null) {
+			dumpedFileCount.decrementAndGet();
+			Files.deleteIfExists(oldestFile);
+		}
+	}
+}
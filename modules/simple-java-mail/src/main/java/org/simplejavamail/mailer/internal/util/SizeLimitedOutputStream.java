@@ -0,0 +1,103 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.util.SharedByteArrayInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes of a message as it is being written and fails as soon as the maximum size is exceeded, so an email that is too big is never
+ * rendered completely. Optionally retains the bytes, so the message doesn't need to be written again for sending.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaximumEmailSize(int)
+ */
+public class SizeLimitedOutputStream extends OutputStream {
+
+	private final long maximumSize;
+	@Nullable private final RetainedBytes retainedBytes;
+	private long size;
+
+	/**
+	 * @param maximumSize Use {@link Long#MAX_VALUE} for no limit.
+	 * @param retainBytes Whether to keep the written bytes, or only count them.
+	 */
+	public SizeLimitedOutputStream(final long maximumSize, final boolean retainBytes) {
+		this.maximumSize = maximumSize;
+		this.retainedBytes = retainBytes ? new RetainedBytes() : null;
+	}
+
+	@Override
+	public void write(final int b)
+			throws SizeLimitExceededException {
+		count(1);
+		if (retainedBytes != null) {
+			retainedBytes.write(b);
+		}
+	}
+
+	@Override
+	public void write(@NotNull final byte[] b, final int off, final int len)
+			throws SizeLimitExceededException {
+		count(len);
+		if (retainedBytes != null) {
+			retainedBytes.write(b, off, len);
+		}
+	}
+
+	private void count(final int len)
+			throws SizeLimitExceededException {
+		size += len;
+		if (size > maximumSize) {
+			throw new SizeLimitExceededException();
+		}
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return A copy of the retained bytes.
+	 */
+	@NotNull
+	public byte[] toByteArray() {
+		return checkRetainedBytes().toByteArray();
+	}
+
+	/**
+	 * @return A stream over the retained bytes without copying them, which a {@link jakarta.mail.internet.MimeMessage} parsed from it shares
+	 * rather than copies as well.
+	 */
+	@NotNull
+	public InputStream toSharedInputStream() {
+		return checkRetainedBytes().toSharedInputStream();
+	}
+
+	@NotNull
+	private RetainedBytes checkRetainedBytes() {
+		if (retainedBytes == null) {
+			throw new IllegalStateException("bytes were only counted, not retained");
+		}
+		return retainedBytes;
+	}
+
+	/**
+	 * Thrown as soon as the maximum size is exceeded, to abort writing the message.
+	 */
+	public static class SizeLimitExceededException extends IOException {
+	}
+
+	/**
+	 * Exposes the internal buffer, so it can be read without copying it.
+	 */
+	private static class RetainedBytes extends ByteArrayOutputStream {
+		@NotNull
+		InputStream toSharedInputStream() {
+			return new SharedByteArrayInputStream(buf, 0, count);
+		}
+	}
+}
@@ -0,0 +1,307 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Minimal SMTP connection pool for a single {@link Session}, used by the {@link TransportRunner} when the batch-module is not loaded, so
+ * connections are reused between emails rather than connecting for every email. Unlike the batch-module, it doesn't support clustering.
+ * <p>
+ * It is only used when enabled with {@link org.simplejavamail.api.mailer.MailerGenericBuilder#withBuiltInConnectionPool(boolean)}, since it keeps
+ * idle connections open and limits how many emails are sent concurrently.
+ * <p>
+ * It uses the same settings as the batch-module's pool:
+ * <ul>
+ *     <li>{@link OperationalConfig#getConnectionPoolMaxSize()}: the maximum number of open connections; claims wait when all are in use</li>
+ *     <li>{@link OperationalConfig#getConnectionPoolClaimTimeoutMillis()}: how long a claim waits before failing</li>
+ *     <li>{@link OperationalConfig#getConnectionPoolExpireAfterMillis()}: idle time after which a connection is closed (if {@code >0})</li>
+ *     <li>{@link OperationalConfig#getConnectionPoolCoreSize()}: the number of connections that are exempt from expiring. Note that
+ *     these are opened on demand, rather than up front as with the batch-module</li>
+ * </ul>
+ * Idle connections are checked with {@link Transport#isConnected()} when claimed (which for SMTP performs a NOOP), and reconnected if the server
+ * closed them in the meantime.
+ */
+public class SmtpConnectionPool {
+
+	private static final Logger LOGGER = getLogger(SmtpConnectionPool.class);
+
+	private static final String CONNECTION_POOL_KEY = "SESSION_BASED_SMTP_CONNECTION_POOL_KEY";
+
+	@NotNull private final Session session;
+	private final int coreSize;
+	private final int maxSize;
+	private final int claimTimeoutMillis;
+	private final int expireAfterMillis;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition connectionReleased = lock.newCondition();
+
+	/**
+	 * Most recently used first, so that connections used less often are the ones that expire.
+	 */
+	private final Deque<PooledTransport> idleConnections = new ArrayDeque<>();
+	private final CompletableFuture<Void> shutdownFuture = new CompletableFuture<>();
+	private int allocatedConnections;
+	private boolean shutdown;
+	@Nullable private ScheduledFuture<?> expiryTask;
+
+	private SmtpConnectionPool(@NotNull final Session session, @NotNull final OperationalConfig operationalConfig) {
+		this(session, operationalConfig.getConnectionPoolCoreSize(), operationalConfig.getConnectionPoolMaxSize(),
+				operationalConfig.getConnectionPoolClaimTimeoutMillis(), operationalConfig.getConnectionPoolExpireAfterMillis());
+	}
+
+	SmtpConnectionPool(@NotNull final Session session, final int coreSize, final int maxSize, final int claimTimeoutMillis, final int expireAfterMillis) {
+		this.session = session;
+		this.coreSize = coreSize;
+		this.maxSize = Math.max(1, maxSize);
+		this.claimTimeoutMillis = claimTimeoutMillis;
+		this.expireAfterMillis = expireAfterMillis;
+	}
+
+	/**
+	 * Creates a new connection pool for the Session and stores it in the Session's properties, replacing the previous pool if any. Connections
+	 * are only opened once they are first claimed.
+	 */
+	public static void primeSession(@NotNull final Session session, @NotNull final OperationalConfig operationalConfig) {
+		session.getProperties().put(CONNECTION_POOL_KEY, new SmtpConnectionPool(session, operationalConfig));
+	}
+
+	@Nullable
+	static SmtpConnectionPool fromSession(@NotNull final Session session) {
+		return (SmtpConnectionPool) session.getProperties().get(CONNECTION_POOL_KEY);
+	}
+
+	/**
+	 * Shuts down the Session's pool, if any. Idle connections are closed immediately, connections in use are closed once they are released.
+	 *
+	 * @return A future that completes when all connections are closed.
+	 */
+	@NotNull
+	public static Future<?> shutdownConnectionPool(@NotNull final Session session) {
+		final SmtpConnectionPool connectionPool = fromSession(session);
+		return connectionPool != null ? connectionPool.shutdown() : CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * @return An idle connection, or a new connection if none are idle and the pool isn't full yet. Otherwise waits for a connection to be released.
+	 */
+	@NotNull
+	LifecycleDelegatingTransport claim()
+			throws MessagingException {
+		final PooledTransport idleConnection = claimIdleConnectionOrSlot();
+		if (idleConnection == null) {
+			LOGGER.trace("opening new pooled SMTP connection");
+			try {
+				final Transport transport = session.getTransport();
+				TransportConnectionHelper.connectTransport(transport, session);
+				return new PooledTransport(transport);
+			} catch (final MessagingException | RuntimeException e) {
+				releaseSlot();
+				throw e;
+			}
+		} else if (!idleConnection.transport.isConnected()) {
+			LOGGER.trace("pooled SMTP connection was closed by the server, reconnecting");
+			try {
+				TransportConnectionHelper.connectTransport(idleConnection.transport, session);
+			} catch (final MessagingException | RuntimeException e) {
+				idleConnection.signalTransportFailed();
+				throw e;
+			}
+		}
+		return idleConnection;
+	}
+
+	/**
+	 * @return An idle connection, or null if a slot for a new connection was reserved instead.
+	 */
+	@Nullable
+	private PooledTransport claimIdleConnectionOrSlot()
+			throws MessagingException {
+		lock.lock();
+		try {
+			long remainingNanos = claimTimeoutMillis > 0 ? MILLISECONDS.toNanos(claimTimeoutMillis) : Long.MAX_VALUE;
+			while (true) {
+				if (shutdown) {
+					throw new IllegalStateException("SMTP connection pool has been shut down");
+				} else if (!idleConnections.isEmpty()) {
+					return idleConnections.pollFirst();
+				} else if (allocatedConnections < maxSize) {
+					allocatedConnections++;
+					return null;
+				} else if (remainingNanos <= 0) {
+					throw new MessagingException(format("Timed out after %sms waiting for an SMTP connection from the pool", claimTimeoutMillis));
+				}
+				remainingNanos = connectionReleased.awaitNanos(remainingNanos);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while waiting for an SMTP connection from the pool", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void release(@NotNull final PooledTransport connection) {
+		lock.lock();
+		try {
+			if (!shutdown) {
+				connection.lastUsedNanos = System.nanoTime();
+				idleConnections.addFirst(connection);
+				connectionReleased.signal();
+				scheduleExpiryIfNeeded();
+				return;
+			}
+		} finally {
+			lock.unlock();
+		}
+		closeQuietly(connection);
+		releaseSlot();
+	}
+
+	private void releaseSlot() {
+		lock.lock();
+		try {
+			allocatedConnections--;
+			connectionReleased.signal();
+			if (shutdown && allocatedConnections == 0) {
+				shutdownFuture.complete(null);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Only schedules while there are idle connections that can expire, so an unused pool doesn't keep a task scheduled.
+	 */
+	private void scheduleExpiryIfNeeded() {
+		if (expireAfterMillis > 0 && expiryTask == null && !idleConnections.isEmpty() && allocatedConnections > coreSize) {
+			expiryTask = ExpiryScheduler.INSTANCE.schedule(this::closeExpiredConnections, expireAfterMillis, MILLISECONDS);
+		}
+	}
+
+	private void closeExpiredConnections() {
+		final List<PooledTransport> expiredConnections = new ArrayList<>();
+		lock.lock();
+		try {
+			expiryTask = null;
+			final long expiredBefore = System.nanoTime() - MILLISECONDS.toNanos(expireAfterMillis);
+			// least recently used connections are at the end
+			for (final Iterator<PooledTransport> it = idleConnections.descendingIterator(); it.hasNext(); ) {
+				final PooledTransport connection = it.next();
+				if (allocatedConnections - expiredConnections.size() > coreSize && connection.lastUsedNanos - expiredBefore <= 0) {
+					it.remove();
+					expiredConnections.add(connection);
+				}
+			}
+			allocatedConnections -= expiredConnections.size();
+			scheduleExpiryIfNeeded();
+		} finally {
+			lock.unlock();
+		}
+		if (!expiredConnections.isEmpty()) {
+			LOGGER.trace("closing {} expired pooled SMTP connection(s)", expiredConnections.size());
+			expiredConnections.forEach(SmtpConnectionPool::closeQuietly);
+		}
+	}
+
+	@NotNull
+	Future<?> shutdown() {
+		final List<PooledTransport> connectionsToClose;
+		lock.lock();
+		try {
+			shutdown = true;
+			if (expiryTask != null) {
+				expiryTask.cancel(false);
+				expiryTask = null;
+			}
+			connectionsToClose = new ArrayList<>(idleConnections);
+			idleConnections.clear();
+			allocatedConnections -= connectionsToClose.size();
+			connectionReleased.signalAll();
+			if (allocatedConnections == 0) {
+				shutdownFuture.complete(null);
+			}
+		} finally {
+			lock.unlock();
+		}
+		connectionsToClose.forEach(SmtpConnectionPool::closeQuietly);
+		return shutdownFuture;
+	}
+
+	private static void closeQuietly(@NotNull final PooledTransport connection) {
+		try {
+			connection.transport.close();
+		} catch (final MessagingException e) {
+			LOGGER.debug("failed to close pooled SMTP connection", e);
+		}
+	}
+
+	private class PooledTransport implements LifecycleDelegatingTransport {
+
+		@NotNull private final Transport transport;
+		private long lastUsedNanos;
+
+		private PooledTransport(@NotNull final Transport transport) {
+			this.transport = transport;
+		}
+
+		@NotNull
+		@Override
+		public Session getSessionUsedToObtainTransport() {
+			return session;
+		}
+
+		@NotNull
+		@Override
+		public Transport getTransport() {
+			return transport;
+		}
+
+		@Override
+		public void signalTransportUsed() {
+			release(this);
+		}
+
+		@Override
+		public void signalTransportFailed() {
+			// the connection may be in an undefined state, so don't reuse it
+			closeQuietly(this);
+			releaseSlot();
+		}
+	}
+
+	/**
+	 * Lazily created, since pools only need it once connections become idle.
+	 */
+	private static class ExpiryScheduler {
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "Simple Java Mail SMTP connection pool expiry");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+}
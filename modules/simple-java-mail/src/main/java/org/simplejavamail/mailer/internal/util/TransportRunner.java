@@ -5,16 +5,20 @@ import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import jakarta.mail.internet.InternetAddress;
 import lombok.val;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.mailer.PreparedMessage;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
-import org.simplejavamail.internal.modules.BatchModule;
 import org.simplejavamail.internal.util.MiscUtil;
 import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
 import org.slf4j.Logger;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -22,7 +26,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 /**
  * If available, runs activities on Transport connections using SMTP connection pool from the batch-module.
  * <p>
- * Otherwise, always creates a new connection to run the activity on.
+ * Otherwise, uses the {@link SmtpConnectionPool} primed on the Session, or else creates a new connection to run the activity on.
  * <p>
  * <strong>Note</strong> that <a href="https://stackoverflow.com/a/12733317/441662">
  *     multiple threads can safely use a Session</a>, but are synchronized in the Transport connection.
@@ -38,16 +42,114 @@ public class TransportRunner {
 	 */
 	public static void sendMessage(@NotNull final UUID clusterKey, final Session session, @NotNull Email email)
 			throws MessagingException {
+		runOnSessionTransport(clusterKey, session, false, (transport, actualSessionUsed) -> sendMessage(transport, actualSessionUsed, email));
+	}
+
+	/**
+	 * Sends all emails over a single Transport connection (or a single claimed connection in case the batch-module is used), rather than
+	 * connecting for every email. If the connection is lost after a failed email, a new connection is made for the remaining emails.
+	 * <p>
+	 * Failures for individual emails are reported to the resultHandler. Failing to (re)connect is not, and is thrown instead, in which case the
+	 * resultHandler was not called for the remaining emails.
+	 *
+	 * @param clusterKey    See {@link #sendMessage(UUID, Session, Email)}.
+	 * @param resultHandler Called once for every email that was processed, in order.
+	 */
+	public static void sendMessages(@NotNull final UUID clusterKey, final Session session, @NotNull final List<Email> emails, @NotNull final SendResultHandler resultHandler)
+			throws MessagingException {
+		sendEach(clusterKey, session, emails.size(), (transport, actualSessionUsed, index) -> sendMessage(transport, actualSessionUsed, emails.get(index)), resultHandler);
+	}
+
+	/**
+	 * Sends the same rendered message once per recipient, like {@link #sendMessages(UUID, Session, List, SendResultHandler)} does for separate
+	 * emails. Every copy shares the rendered body and only gets its own To header and Message-ID (see {@link FanOutMessage}).
+	 *
+	 * @param template            The rendered message, of which the To header and Message-ID are replaced for each recipient.
+	 * @param recipients          One copy of the message is sent to each recipient.
+	 * @param useTemplateEnvelope Whether to send every copy to the envelope recipients of the template (in case of override receivers),
+	 *                            rather than to the recipient in the To header.
+	 * @param resultHandler       Called once for every recipient that was processed, in order.
+	 */
+	public static void sendFanOut(@NotNull final UUID clusterKey, final Session session, @NotNull final PreparedMessage template,
+			@NotNull final List<InternetAddress> recipients, final boolean useTemplateEnvelope, @NotNull final SendResultHandler resultHandler)
+			throws MessagingException {
+		val templateEnvelope = toEnvelopeAddresses(template.getEnvelopeRecipients());
+		sendEach(clusterKey, session, recipients.size(), (transport, actualSessionUsed, index) -> {
+			val message = new FanOutMessage(actualSessionUsed, template, recipients.get(index));
+			transport.sendMessage(message, useTemplateEnvelope ? templateEnvelope : new InternetAddress[] { recipients.get(index) });
+			LOGGER.trace("...fan-out email sent");
+		}, resultHandler);
+	}
+
+	/**
+	 * Failing to (re)connect is thrown rather than reported to the resultHandler, see {@link #sendMessages(UUID, Session, List, SendResultHandler)}.
+	 */
+	static void sendEach(@NotNull final UUID clusterKey, final Session session, final int count, @NotNull final IndexedSendRunnable sendRunnable,
+			@NotNull final SendResultHandler resultHandler)
+			throws MessagingException {
+		val processedCount = new AtomicInteger();
+		while (processedCount.get() < count) {
+			try {
+				runOnSessionTransport(clusterKey, session, false, (transport, actualSessionUsed) -> {
+					while (processedCount.get() < count) {
+						val index = processedCount.getAndIncrement();
+						try {
+							sendRunnable.send(transport, actualSessionUsed, index);
+							resultHandler.handleResult(index, null);
+						} catch (final MessagingException | RuntimeException e) {
+							resultHandler.handleResult(index, e);
+							if (!transport.isConnected()) {
+								throw new ConnectionLostException();
+							}
+						}
+					}
+				});
+			} catch (final ConnectionLostException e) {
+				LOGGER.debug("connection lost, reconnecting for the remaining {} emails", count - processedCount.get());
+			}
+		}
+	}
+
+	private static void sendMessage(@NotNull final Transport transport, @NotNull final Session actualSessionUsed, @NotNull final Email email)
+			throws MessagingException {
+		val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(actualSessionUsed, email);
+		val actualRecipients = email.getOverrideReceivers().isEmpty()
+				? message.getAllRecipients()
+				: MiscUtil.asInternetAddresses(email.getOverrideReceivers(), UTF_8).toArray(new InternetAddress[0]);
+		transport.sendMessage(message, actualRecipients);
+		LOGGER.trace("...email sent");
+	}
+
+	/**
+	 * Sends the message exactly as it was rendered by {@link SessionBasedEmailToMimeMessageConverter#convertToPreparedMessage(Session, Email)},
+	 * so it is neither produced nor encoded again.
+	 *
+	 * @param clusterKey See {@link #sendMessage(UUID, Session, Email)}.
+	 */
+	public static void sendPreparedMessage(@NotNull final UUID clusterKey, final Session session, @NotNull final PreparedMessage preparedMessage)
+			throws MessagingException {
 		runOnSessionTransport(clusterKey, session, false, (transport, actualSessionUsed) -> {
-			val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(actualSessionUsed, email);
-			val actualRecipients = email.getOverrideReceivers().isEmpty()
-					? message.getAllRecipients()
-					: MiscUtil.asInternetAddresses(email.getOverrideReceivers(), UTF_8).toArray(new InternetAddress[0]);
-			transport.sendMessage(message, actualRecipients);
-			LOGGER.trace("...email sent");
+			// parsed messages are considered saved, so the headers are sent as they are and the body is streamed from the shared bytes
+			val message = new SMTPMessage(actualSessionUsed, preparedMessage.getInputStream());
+			message.setEnvelopeFrom(preparedMessage.getEnvelopeFrom());
+			transport.sendMessage(message, toEnvelopeAddresses(preparedMessage.getEnvelopeRecipients()));
+			LOGGER.trace("...prepared email sent");
 		});
 	}
 
+	/**
+	 * The addresses were taken from already validated InternetAddresses, so they don't need to be parsed again.
+	 */
+	@NotNull
+	private static InternetAddress[] toEnvelopeAddresses(@NotNull final List<String> addresses) {
+		val envelopeAddresses = new InternetAddress[addresses.size()];
+		for (int i = 0; i < envelopeAddresses.length; i++) {
+			envelopeAddresses[i] = new InternetAddress();
+			envelopeAddresses[i].setAddress(addresses.get(i));
+		}
+		return envelopeAddresses;
+	}
+
 	public static void connect(@NotNull UUID clusterKey, final Session session)
 			throws MessagingException {
 		runOnSessionTransport(clusterKey, session, true, (transport, actualSessionUsed) -> {
@@ -58,8 +160,11 @@ public class TransportRunner {
 
 	private static void runOnSessionTransport(@NotNull UUID clusterKey, Session session, final boolean stickySession, TransportRunnable runnable)
 			throws MessagingException {
+		val connectionPool = SmtpConnectionPool.fromSession(session);
 		if (ModuleLoader.batchModuleAvailable()) {
-			sendUsingConnectionPool(ModuleLoader.loadBatchModule(), clusterKey, session, stickySession, runnable);
+			sendUsingConnectionPool(ModuleLoader.loadBatchModule().acquireTransport(clusterKey, session, stickySession), runnable);
+		} else if (connectionPool != null) {
+			sendUsingConnectionPool(connectionPool.claim(), runnable);
 		} else {
 			try (Transport transport = session.getTransport()) {
 				TransportConnectionHelper.connectTransport(transport, session);
@@ -70,9 +175,8 @@ public class TransportRunner {
 		}
 	}
 
-	private static void sendUsingConnectionPool(@NotNull BatchModule batchModule, @NotNull UUID clusterKey, Session session, boolean stickySession, TransportRunnable runnable)
+	private static void sendUsingConnectionPool(@NotNull LifecycleDelegatingTransport delegatingTransport, TransportRunnable runnable)
 			throws MessagingException {
-		LifecycleDelegatingTransport delegatingTransport = batchModule.acquireTransport(clusterKey, session, stickySession);
 		try {
 			runnable.run(delegatingTransport.getTransport(), delegatingTransport.getSessionUsedToObtainTransport());
 		} catch (final Throwable t) {
@@ -87,4 +191,24 @@ public class TransportRunner {
 		void run(Transport transport, Session actualSessionUsed)
 				throws MessagingException;
 	}
+
+	interface IndexedSendRunnable {
+		void send(Transport transport, Session actualSessionUsed, int index)
+				throws MessagingException;
+	}
+
+	public interface SendResultHandler {
+		/**
+		 * @param emailIndex The index of the email (or recipient) in the list passed to {@link #sendMessages(UUID, Session, List, SendResultHandler)}
+		 *                   (or {@link #sendFanOut(UUID, Session, PreparedMessage, List, boolean, SendResultHandler)}).
+		 * @param failure    Null if the email was sent successfully.
+		 */
+		void handleResult(int emailIndex, @Nullable Exception failure);
+	}
+
+	/**
+	 * Thrown to abandon a Transport that was disconnected while sending, so that the claimed resources are released.
+	 */
+	private static class ConnectionLostException extends MessagingException {
+	}
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.internet.ContentType;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimePart;
+import jakarta.mail.internet.MimeUtility;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.EmailDumpSink;
+import org.simplejavamail.converter.internal.PooledByteArrayOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Enumeration;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Logs emails at INFO level like logging only mode does by default, except that the (encoded) bodies of attachments and embedded images are
+ * cut off after the given number of bytes. The rest of the attachment isn't even encoded, so the memory needed for logging an email doesn't
+ * depend on the size of its attachments.
+ *
+ * @see org.simplejavamail.mailer.EmailDumpSinks#toLog(int)
+ */
+public class TruncatingLoggingEmailDumpSink implements EmailDumpSink {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TruncatingLoggingEmailDumpSink.class);
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	private final int attachmentBodyBudget;
+
+	/**
+	 * @param attachmentBodyBudget The maximum number of bytes logged of each encoded attachment body, or {@code 0} to leave them out.
+	 */
+	public TruncatingLoggingEmailDumpSink(final int attachmentBodyBudget) {
+		if (attachmentBodyBudget < 0) {
+			throw new IllegalArgumentException("attachmentBodyBudget should not be negative, but was " + attachmentBodyBudget);
+		}
+		this.attachmentBodyBudget = attachmentBodyBudget;
+	}
+
+	@Override
+	public void dump(@NotNull final Email email, @NotNull final MimeMessage message)
+			throws IOException, MessagingException {
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("\n\nEmail: {}\n", email);
+			LOGGER.info("\n\nMimeMessage: {}\n", renderTruncated(message, attachmentBodyBudget));
+		}
+	}
+
+	@NotNull
+	static String renderTruncated(@NotNull final MimePart part, final int attachmentBodyBudget)
+			throws IOException, MessagingException {
+		try (val os = new PooledByteArrayOutputStream()) {
+			writeTruncated(part, os, attachmentBodyBudget);
+			return os.toString(UTF_8);
+		}
+	}
+
+	/**
+	 * Writes the part like {@link MimePart#writeTo(OutputStream)} would, except for the bodies of leaf parts with a disposition (attachments and
+	 * embedded images), which are replaced with a marker once they exceed the budget. The multipart preamble is left out.
+	 */
+	private static void writeTruncated(@NotNull final MimePart part, @NotNull final OutputStream os, final int attachmentBodyBudget)
+			throws IOException, MessagingException {
+		if (part.isMimeType("multipart/*")) {
+			writeHeaderLines(part, os);
+			val multipart = (Multipart) part.getContent();
+			val boundary = "--" + new ContentType(multipart.getContentType()).getParameter("boundary");
+			for (int i = 0; i < multipart.getCount(); i++) {
+				writeLine(boundary, os);
+				writeTruncated((MimePart) multipart.getBodyPart(i), os, attachmentBodyBudget);
+				os.write(CRLF);
+			}
+			writeLine(boundary + "--", os);
+		} else if (part.getDisposition() != null) {
+			writeHeaderLines(part, os);
+			val budgetedOutputStream = new BudgetedOutputStream(os, attachmentBodyBudget);
+			try (val encodedOutputStream = MimeUtility.encode(budgetedOutputStream, part.getEncoding())) {
+				part.getDataHandler().writeTo(encodedOutputStream);
+			} catch (BudgetExceededException e) {
+				writeTruncationMarker(os, attachmentBodyBudget);
+			} catch (MessagingException e) {
+				if (!(e.getCause() instanceof BudgetExceededException)) {
+					throw e;
+				}
+				writeTruncationMarker(os, attachmentBodyBudget);
+			}
+		} else {
+			part.writeTo(os);
+		}
+	}
+
+	private static void writeHeaderLines(@NotNull final MimePart part, @NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		for (final Enumeration<String> headerLines = part.getAllHeaderLines(); headerLines.hasMoreElements(); ) {
+			writeLine(headerLines.nextElement(), os);
+		}
+		os.write(CRLF);
+	}
+
+	private static void writeTruncationMarker(@NotNull final OutputStream os, final int attachmentBodyBudget)
+			throws IOException {
+		os.write(CRLF);
+		writeLine(format("[... truncated after %d bytes]", attachmentBodyBudget), os);
+	}
+
+	private static void writeLine(@NotNull final String line, @NotNull final OutputStream os)
+			throws IOException {
+		os.write(line.getBytes(UTF_8));
+		os.write(CRLF);
+	}
+
+	/**
+	 * Passes on bytes until the budget is used up and then aborts writing, leaving the underlying stream open.
+	 */
+	private static class BudgetedOutputStream extends OutputStream {
+
+		@NotNull private final OutputStream os;
+		private int remainingBudget;
+
+		private BudgetedOutputStream(@NotNull final OutputStream os, final int budget) {
+			this.os = os;
+			this.remainingBudget = budget;
+		}
+
+		@Override
+		public void write(final int b)
+				throws IOException {
+			write(new byte[]{ (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(final byte@NotNull[] b, final int off, final int len)
+				throws IOException {
+			if (len > remainingBudget) {
+				os.write(b, off, remainingBudget);
+				remainingBudget = 0;
+				throw new BudgetExceededException();
+			}
+			os.write(b, off, len);
+			remainingBudget -= len;
+		}
+	}
+
+	/**
+	 * Thrown as soon as the budget is used up, to abort encoding the rest of the body.
+	 */
+	private static class BudgetExceededException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+}
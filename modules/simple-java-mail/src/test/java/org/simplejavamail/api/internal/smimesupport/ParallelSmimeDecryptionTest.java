@@ -0,0 +1,268 @@
+package org.simplejavamail.api.internal.smimesupport;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimePart;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.OriginalSmimeDetails;
+import org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode;
+import org.simplejavamail.api.email.config.SmimeEncryptionConfig;
+import org.simplejavamail.api.email.config.SmimeSigningConfig;
+import org.simplejavamail.api.internal.outlooksupport.model.OutlookMessage;
+import org.simplejavamail.api.internal.smimesupport.builder.SmimeParseResult;
+import org.simplejavamail.api.internal.smimesupport.model.AttachmentDecryptionResult;
+import org.simplejavamail.api.internal.smimesupport.model.PlainSmimeDetails;
+import org.simplejavamail.api.internal.smimesupport.model.SmimeDetails;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.internal.modules.SMIMEModule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class ParallelSmimeDecryptionTest {
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setup() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testKeepsOrderOfAttachments() {
+		final List<AttachmentResource> attachments = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			attachments.add(attachment((i % 2 == 0 ? "smime" : "plain") + i));
+		}
+		// the S/MIME attachments only finish once all of them have started, which only works when they run concurrently
+		final CountDownLatch allSmimeAttachmentsStarted = new CountDownLatch(4);
+		final Set<String> decryptingThreads = ConcurrentHashMap.newKeySet();
+
+		final List<AttachmentDecryptionResult> results = ParallelSmimeDecryption.decryptInParallel(attachments, ParallelSmimeDecryptionTest::isSmime,
+				attachment -> {
+					if (isSmime(attachment)) {
+						decryptingThreads.add(Thread.currentThread().getName());
+						allSmimeAttachmentsStarted.countDown();
+						awaitQuietly(allSmimeAttachmentsStarted);
+						return singletonList(result(SmimeMode.ENCRYPTED, attachment("decrypted-" + attachment.getName())));
+					}
+					return singletonList(result(SmimeMode.PLAIN, attachment));
+				}, executor);
+
+		assertThat(results).extracting(result -> result.getAttachmentResource().getName()).containsExactly(
+				"decrypted-smime0", "plain1", "decrypted-smime2", "plain3", "decrypted-smime4", "plain5", "decrypted-smime6", "plain7");
+		assertThat(results).extracting(AttachmentDecryptionResult::getSmimeMode).containsExactly(
+				SmimeMode.ENCRYPTED, SmimeMode.PLAIN, SmimeMode.ENCRYPTED, SmimeMode.PLAIN, SmimeMode.ENCRYPTED, SmimeMode.PLAIN, SmimeMode.ENCRYPTED, SmimeMode.PLAIN);
+		assertThat(decryptingThreads).hasSize(4).doesNotContain(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void testRethrowsDecryptionFailure() {
+		final List<AttachmentResource> attachments = new ArrayList<>();
+		attachments.add(attachment("smime0"));
+		attachments.add(attachment("smime1"));
+
+		assertThatThrownBy(() -> ParallelSmimeDecryption.decryptInParallel(attachments, ParallelSmimeDecryptionTest::isSmime,
+				attachment -> {
+					throw new IllegalStateException("cannot decrypt " + attachment.getName());
+				}, executor))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("cannot decrypt smime0");
+	}
+
+	@Test
+	public void testSameResultAsSequentialDecryption() {
+		final List<AttachmentResource> attachments = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			attachments.add(attachment((i % 3 == 0 ? "plain" : "smime") + i));
+		}
+		final SMIMEModule smimeModule = new FakeSmimeModule();
+		final MimeMessage mimeMessage = new MimeMessage((Session) null);
+
+		final SmimeParseResult sequentialResult = smimeModule.decryptAttachments(attachments, mimeMessage, null);
+		final SmimeParseResult parallelResult = smimeModule.decryptAttachments(attachments, mimeMessage, null, executor);
+
+		assertThat(parallelResult.getOriginalSmimeDetails()).isEqualTo(sequentialResult.getOriginalSmimeDetails());
+		assertThat(parallelResult.getSmimeSignedOrEncryptedEmail()).isNull();
+		assertThat(sequentialResult.getSmimeSignedOrEncryptedEmail()).isNull();
+		assertThat(parallelResult.getDecryptedAttachmentResults())
+				.extracting(result -> result.getAttachmentResource().getName(), AttachmentDecryptionResult::getSmimeMode)
+				.containsExactlyElementsOf(sequentialResult.getDecryptedAttachmentResults().stream()
+						.map(result -> tuple(result.getAttachmentResource().getName(), result.getSmimeMode()))
+						.collect(toList()));
+		assertThat(parallelResult.getDecryptedAttachments()).extracting(AttachmentResource::getName)
+				.containsExactly("plain0", "decrypted-smime1", "decrypted-smime2", "plain3", "decrypted-smime4", "decrypted-smime5");
+	}
+
+	private static boolean isSmime(@NotNull final AttachmentResource attachment) {
+		return attachment.getName().startsWith("smime");
+	}
+
+	@NotNull
+	private static AttachmentResource attachment(@NotNull final String name) {
+		return new AttachmentResource(name, new ByteArrayDataSource(new byte[0], "application/octet-stream"));
+	}
+
+	@NotNull
+	private static AttachmentDecryptionResult result(@NotNull final SmimeMode smimeMode, @NotNull final AttachmentResource attachmentResource) {
+		return new AttachmentDecryptionResult() {
+			@NotNull
+			@Override
+			public SmimeMode getSmimeMode() {
+				return smimeMode;
+			}
+
+			@NotNull
+			@Override
+			public AttachmentResource getAttachmentResource() {
+				return attachmentResource;
+			}
+		};
+	}
+
+	private static void awaitQuietly(@NotNull final CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, SECONDS)).isTrue();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Parses the message the way an S/MIME module does: the message-level details are determined from the message alone, after which the attachments
+	 * are decrypted with those details, all at once.
+	 */
+	private static class FakeSmimeModule implements SMIMEModule {
+
+		@Override
+		public SmimeParseResult decryptAttachments(@NotNull final List<AttachmentResource> attachments, @NotNull final OutlookMessage outlookMessage,
+				@Nullable final Pkcs12Config pkcs12Config) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SmimeParseResult decryptAttachments(@NotNull final List<AttachmentResource> attachments, @NotNull final MimeMessage mimeMessage,
+				@Nullable final Pkcs12Config pkcs12Config) {
+			final OriginalSmimeDetails messageSmimeDetails = new PlainSmimeDetails();
+			final List<AttachmentDecryptionResult> decryptedAttachmentResults = decryptAttachments(attachments, pkcs12Config, messageSmimeDetails);
+			final AttachmentResource smimeSignedOrEncryptedEmail = attachments.size() == 1 && isSmimeAttachment(attachments.get(0))
+					? decryptedAttachmentResults.get(0).getAttachmentResource()
+					: null;
+			return new SmimeParseResult() {
+				@NotNull
+				@Override
+				public OriginalSmimeDetails getOriginalSmimeDetails() {
+					return messageSmimeDetails;
+				}
+
+				@Nullable
+				@Override
+				public AttachmentResource getSmimeSignedOrEncryptedEmail() {
+					return smimeSignedOrEncryptedEmail;
+				}
+
+				@NotNull
+				@Override
+				public List<AttachmentDecryptionResult> getDecryptedAttachmentResults() {
+					return decryptedAttachmentResults;
+				}
+
+				@NotNull
+				@Override
+				public List<AttachmentResource> getDecryptedAttachments() {
+					return decryptedAttachmentResults.stream().map(AttachmentDecryptionResult::getAttachmentResource).collect(toList());
+				}
+			};
+		}
+
+		@NotNull
+		@Override
+		public List<AttachmentDecryptionResult> decryptAttachments(@NotNull final List<AttachmentResource> attachments, @Nullable final Pkcs12Config pkcs12Config,
+				@NotNull final OriginalSmimeDetails messageSmimeDetails) {
+			final List<AttachmentDecryptionResult> results = new ArrayList<>();
+			for (final AttachmentResource attachment : attachments) {
+				results.add(isSmimeAttachment(attachment)
+						? result(SmimeMode.ENCRYPTED, attachment("decrypted-" + attachment.getName()))
+						: result(SmimeMode.PLAIN, attachment));
+			}
+			return results;
+		}
+
+		@Override
+		public boolean isSmimeAttachment(@NotNull final AttachmentResource attachment) {
+			return isSmime(attachment);
+		}
+
+		@NotNull
+		@Override
+		public SmimeDetails getSmimeDetails(@NotNull final AttachmentResource attachment) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Nullable
+		@Override
+		public String getSignedByAddress(@NotNull final AttachmentResource smimeAttachment) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Nullable
+		@Override
+		public String getSignedByAddress(@NotNull final MimePart mimePart) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean verifyValidSignature(@NotNull final MimeMessage mimeMessage, @NotNull final OriginalSmimeDetails messageSmimeDetails) {
+			throw new UnsupportedOperationException();
+		}
+
+		@NotNull
+		@Override
+		public MimeMessage signMessageWithSmime(@NotNull final Session session, @NotNull final Email email, @NotNull final MimeMessage messageToProtect,
+				@NotNull final SmimeSigningConfig smimeSigningConfig) {
+			throw new UnsupportedOperationException();
+		}
+
+		@NotNull
+		@Override
+		public MimeMessage encryptMessageWithSmime(@NotNull final Session session, @NotNull final Email email, @NotNull final MimeMessage messageToProtect,
+				@NotNull final SmimeEncryptionConfig smimeEncryptionConfig) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isMessageIdFixingMessage(final MimeMessage message) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T> boolean isGeneratedSmimeMessageId(final String key, final T headerValue) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package org.simplejavamail.api.internal.smimesupport;
+
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.simplejavamail.util.TestDataHelper.loadPkcs12KeyStore;
+
+public class Pkcs12KeyStoreCacheTest {
+
+	@Test
+	public void testDecodesOnlyOnce() {
+		final Pkcs12Config pkcs12Config = loadPkcs12KeyStore();
+
+		final Pkcs12KeyStoreMaterial keyStoreMaterial = Pkcs12KeyStoreCache.keyStoreMaterialFor(pkcs12Config);
+
+		assertThat(keyStoreMaterial.getPrivateKey().getAlgorithm()).isEqualTo("RSA");
+		assertThat(keyStoreMaterial.getCertificateChain()).isNotEmpty().startsWith(keyStoreMaterial.getCertificate());
+		assertThat(keyStoreMaterial.getCertificate().getSubjectX500Principal().getName()).contains("Benny Bottema");
+
+		assertThat(Pkcs12KeyStoreCache.keyStoreMaterialFor(loadPkcs12KeyStore())).isSameAs(keyStoreMaterial);
+		assertThat(Pkcs12KeyStoreCache.keyStoreMaterialFor(config(pkcs12Config, "smime_test_user_alias_dsa", "letmein"))).isNotSameAs(keyStoreMaterial);
+	}
+
+	@Test
+	public void testDecodesAgainOnceExpired() {
+		final Pkcs12Config pkcs12Config = loadPkcs12KeyStore();
+		final long now = System.nanoTime();
+
+		final Pkcs12KeyStoreMaterial keyStoreMaterial = Pkcs12KeyStoreCache.keyStoreMaterialFor(pkcs12Config, now);
+
+		assertThat(Pkcs12KeyStoreCache.keyStoreMaterialFor(pkcs12Config, now + Pkcs12KeyStoreCache.TIME_TO_LIVE_NANOS - 1)).isSameAs(keyStoreMaterial);
+		assertThat(Pkcs12KeyStoreCache.keyStoreMaterialFor(pkcs12Config, now + Pkcs12KeyStoreCache.TIME_TO_LIVE_NANOS)).isNotSameAs(keyStoreMaterial);
+	}
+
+	@Test
+	public void testRejectsWrongPasswordAndUnknownAlias() {
+		final Pkcs12Config pkcs12Config = loadPkcs12KeyStore();
+
+		assertThatThrownBy(() -> Pkcs12KeyStoreCache.keyStoreMaterialFor(config(pkcs12Config, "smime_test_user_alias_rsa", "wrong")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("invalid PKCS12 keystore or password for key alias smime_test_user_alias_rsa");
+		assertThatThrownBy(() -> Pkcs12KeyStoreCache.keyStoreMaterialFor(config(pkcs12Config, "unknown_alias", "letmein")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("PKCS12 keystore has no private key with certificate under key alias unknown_alias");
+	}
+
+	private static Pkcs12Config config(final Pkcs12Config pkcs12Config, final String keyAlias, final String keyPassword) {
+		return Pkcs12Config.builder()
+				.pkcs12Store(pkcs12Config.getPkcs12StoreData())
+				.storePassword(pkcs12Config.getStorePassword())
+				.keyAlias(keyAlias)
+				.keyPassword(keyPassword)
+				.build();
+	}
+}
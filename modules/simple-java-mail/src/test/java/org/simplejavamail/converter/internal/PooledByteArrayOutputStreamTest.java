@@ -0,0 +1,51 @@
+package org.simplejavamail.converter.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PooledByteArrayOutputStreamTest {
+
+	@Test
+	public void testGrowsAcrossSizeClasses() {
+		final byte[] data = new byte[100_000];
+		new Random(1).nextBytes(data);
+
+		try (PooledByteArrayOutputStream os = new PooledByteArrayOutputStream()) {
+			os.write(data[0]);
+			os.write(data, 1, data.length - 1);
+			assertThat(os.size()).isEqualTo(data.length);
+			assertThat(os.toByteArray()).isEqualTo(data);
+		}
+	}
+
+	@Test
+	public void testDecodesWithoutCopying() {
+		try (PooledByteArrayOutputStream os = new PooledByteArrayOutputStream()) {
+			final byte[] text = "Sübject".getBytes(UTF_8);
+			os.write(text, 0, text.length);
+			assertThat(os.toString(UTF_8)).isEqualTo("Sübject");
+		}
+	}
+
+	@Test
+	public void testRefusesUseAfterClose() {
+		final PooledByteArrayOutputStream os = new PooledByteArrayOutputStream();
+		os.close();
+		os.close();
+		assertThatThrownBy(os::toByteArray).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testSizeClasses() {
+		assertThat(ByteArrayPool.determineSizeClass(1)).isEqualTo(ByteArrayPool.MINIMUM_SIZE);
+		assertThat(ByteArrayPool.determineSizeClass(ByteArrayPool.MINIMUM_SIZE + 1)).isEqualTo(ByteArrayPool.MINIMUM_SIZE * 2);
+		assertThat(ByteArrayPool.determineSizeClass(ByteArrayPool.MINIMUM_SIZE * 4)).isEqualTo(ByteArrayPool.MINIMUM_SIZE * 4);
+		assertThat(ByteArrayPool.determineSizeClass(ByteArrayPool.MAXIMUM_POOLED_SIZE + 1)).isEqualTo(ByteArrayPool.MAXIMUM_POOLED_SIZE + 1);
+		assertThat(ByteArrayPool.acquire(ByteArrayPool.MAXIMUM_POOLED_SIZE + 1)).hasSize(ByteArrayPool.MAXIMUM_POOLED_SIZE + 1);
+	}
+}
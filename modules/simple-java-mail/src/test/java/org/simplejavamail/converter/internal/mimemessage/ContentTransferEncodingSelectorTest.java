@@ -0,0 +1,53 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.internet.MimeUtility;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.ContentTransferEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.api.email.ContentTransferEncoding.BASE_64;
+import static org.simplejavamail.api.email.ContentTransferEncoding.BIT7;
+import static org.simplejavamail.api.email.ContentTransferEncoding.QUOTED_PRINTABLE;
+
+public class ContentTransferEncodingSelectorTest {
+
+	@Test
+	public void testAsciiIsLeftAlone() {
+		assertThat(ContentTransferEncodingSelector.selectEncoding("")).isEqualTo(BIT7);
+		assertThat(ContentTransferEncodingSelector.selectEncoding("<html><body>\r\n<p>Hello = world</p>\r\n</body></html>")).isEqualTo(BIT7);
+	}
+
+	@Test
+	public void testLongLinesAreEncoded() {
+		assertThat(ContentTransferEncodingSelector.selectEncoding("a".repeat(999))).isEqualTo(QUOTED_PRINTABLE);
+		assertThat(ContentTransferEncodingSelector.selectEncoding("a".repeat(998) + "\r\n" + "a".repeat(998))).isEqualTo(BIT7);
+	}
+
+	@Test
+	public void testSelectsSmallestEncoding()
+			throws Exception {
+		assertSmallest("<p>Mostly ASCII with the odd accent: café, naïve, Zürich.</p>\r\n", QUOTED_PRINTABLE);
+		assertSmallest("Съешь же ещё этих мягких французских булок. ".repeat(20), BASE_64);
+		assertSmallest("吾輩は猫である。名前はまだ無い。".repeat(20), BASE_64);
+		assertSmallest("€".repeat(3) + " plain text".repeat(30), QUOTED_PRINTABLE);
+	}
+
+	private static void assertSmallest(final String text, final ContentTransferEncoding expected)
+			throws Exception {
+		assertThat(ContentTransferEncodingSelector.selectEncoding(text)).isEqualTo(expected);
+		assertThat(encodedLength(text, expected)).isLessThanOrEqualTo(encodedLength(text, expected == BASE_64 ? QUOTED_PRINTABLE : BASE_64));
+	}
+
+	private static int encodedLength(final String text, final ContentTransferEncoding encoding)
+			throws Exception {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		try (OutputStream encoder = MimeUtility.encode(os, encoding.getEncoder())) {
+			encoder.write(text.getBytes(UTF_8));
+		}
+		return os.size();
+	}
+}
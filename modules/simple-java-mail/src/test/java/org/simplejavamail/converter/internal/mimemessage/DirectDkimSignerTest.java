@@ -0,0 +1,196 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.email.config.DkimConfig.Canonicalization;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream.SizeLimitExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DirectDkimSignerTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Test
+	public void testBodyCanonicalization()
+			throws Exception {
+		// examples from RFC 6376 section 3.4.5
+		assertBodyHash(" C \r\nD \t E\r\n\r\n\r\n", Canonicalization.RELAXED, " C\r\nD E\r\n");
+		assertBodyHash(" C \r\nD \t E\r\n\r\n\r\n", Canonicalization.SIMPLE, " C \r\nD \t E\r\n");
+		// empty bodies, incomplete last lines and bare line feeds
+		assertBodyHash("", Canonicalization.RELAXED, "");
+		assertBodyHash("", Canonicalization.SIMPLE, "\r\n");
+		assertBodyHash("\r\n  \r\n", Canonicalization.RELAXED, "");
+		assertBodyHash("last line", Canonicalization.SIMPLE, "last line\r\n");
+		assertBodyHash("line\nline \n", Canonicalization.RELAXED, "line\r\nline\r\n");
+	}
+
+	@Test
+	public void testHeaderCanonicalization() {
+		// examples from RFC 6376 section 3.4.5
+		assertThat(DirectDkimSigner.canonicalizeHeader("A: X", true)).isEqualTo("a:X");
+		assertThat(DirectDkimSigner.canonicalizeHeader("B : Y\t\r\n\tZ  ", true)).isEqualTo("b:Y Z");
+		assertThat(DirectDkimSigner.canonicalizeHeader("B : Y\t\r\n\tZ  ", false)).isEqualTo("B : Y\t\r\n\tZ  ");
+	}
+
+	@Test
+	public void testSignsWhileWriting()
+			throws Exception {
+		final KeyPair keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		DirectMimeMessageWriter.write(emailSignedWith(DkimConfig.builder().dkimPrivateKeyData(keyPair.getPrivate().getEncoded())), SESSION, written);
+
+		final MimeMessage message = new MimeMessage(SESSION, new ByteArrayInputStream(written.toByteArray()));
+		final String signatureHeader = message.getHeader("DKIM-Signature", null);
+		assertThat(written.toString(ISO_8859_1)).startsWith("DKIM-Signature: v=1; a=rsa-sha256; c=relaxed/relaxed;");
+		assertThat(signatureHeader).contains("d=example.com; s=selector;", "h=Content-Type:Content-Transfer-Encoding:Date:From:MIME-Version:Message-ID:Subject:To;");
+		assertThat(bodyHashOf(signatureHeader)).isEqualTo(sha256(relaxedBody(bodyOf(written))));
+
+		// canonicalized independently of the signer, following RFC 6376 section 3.4.2
+		final StringBuilder signedData = new StringBuilder();
+		for (final String header : new String[]{ "Content-Type", "Content-Transfer-Encoding", "Date", "From", "MIME-Version", "Message-ID", "Subject", "To" }) {
+			signedData.append(relaxedHeader(header, message.getHeader(header, null))).append("\r\n");
+		}
+		final int signatureStart = signatureHeader.indexOf("\tb=") + 3;
+		signedData.append(relaxedHeader("DKIM-Signature", signatureHeader.substring(0, signatureStart)));
+		final Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initVerify(keyPair.getPublic());
+		signature.update(signedData.toString().getBytes(ISO_8859_1));
+		assertThat(signature.verify(Base64.getDecoder().decode(signatureHeader.substring(signatureStart)))).isTrue();
+	}
+
+	@Test
+	public void testHashesBodyWithSimpleCanonicalization()
+			throws Exception {
+		final KeyPair keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		DirectMimeMessageWriter.write(emailSignedWith(DkimConfig.builder()
+				.dkimPrivateKeyData(keyPair.getPrivate().getEncoded())
+				.bodyCanonicalization(Canonicalization.SIMPLE)), SESSION, written);
+
+		final MimeMessage message = new MimeMessage(SESSION, new ByteArrayInputStream(written.toByteArray()));
+		final String signatureHeader = message.getHeader("DKIM-Signature", null);
+		assertThat(signatureHeader).contains("c=relaxed/simple;");
+		assertThat(bodyHashOf(signatureHeader)).isEqualTo(sha256(simpleBody(bodyOf(written))));
+		assertThat(bodyHashOf(signatureHeader)).isNotEqualTo(sha256(relaxedBody(bodyOf(written))));
+	}
+
+	@Test
+	public void testAbortsBufferingOnceMaximumSizeIsExceeded()
+			throws Exception {
+		final KeyPair keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+		final Email email = EmailBuilder.copying(emailSignedWith(DkimConfig.builder().dkimPrivateKeyData(keyPair.getPrivate().getEncoded())))
+				.withPlainText("too big\r\n".repeat(10_000))
+				.buildEmail();
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+		assertThatThrownBy(() -> DirectMimeMessageWriter.write(email, SESSION, written, 1000))
+				.isInstanceOf(SizeLimitExceededException.class);
+		assertThat(written.size()).isZero();
+	}
+
+	@NotNull
+	private static Email emailSignedWith(@NotNull final DkimConfig.DkimConfigBuilder dkimConfig) {
+		return EmailBuilder.startingBlank()
+				.from("from@example.com")
+				.to("to@example.com")
+				.withSubject("subject")
+				// runs of whitespace, trailing whitespace and trailing empty lines, which simple and relaxed canonicalization treat differently
+				.withPlainText("plain  text \t\r\nsecond\tline\r\n\r\n\r\n")
+				.signWithDomainKey(dkimConfig
+						.dkimSigningDomain("example.com")
+						.dkimSelector("selector")
+						.build())
+				.buildEmailCompletedWithDefaultsAndOverrides();
+	}
+
+	@NotNull
+	private static String bodyOf(@NotNull final ByteArrayOutputStream written) {
+		final String message = written.toString(ISO_8859_1);
+		return message.substring(message.indexOf("\r\n\r\n") + 4);
+	}
+
+	@NotNull
+	private static String bodyHashOf(@NotNull final String signatureHeader) {
+		final Matcher bodyHash = Pattern.compile("bh=([^;]+);").matcher(signatureHeader);
+		assertThat(bodyHash.find()).isTrue();
+		return bodyHash.group(1).replaceAll("\\s", "");
+	}
+
+	@NotNull
+	private static String sha256(@NotNull final String canonicalized)
+			throws Exception {
+		return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(canonicalized.getBytes(ISO_8859_1)));
+	}
+
+	/**
+	 * RFC 6376 section 3.4.2: lower-case name, unfolded value, runs of whitespace reduced to a single space and no whitespace around the value.
+	 */
+	@NotNull
+	private static String relaxedHeader(@NotNull final String name, @NotNull final String value) {
+		return name.toLowerCase(Locale.ENGLISH) + ":" + value.replace("\r\n", "").replaceAll("[ \t]+", " ").trim();
+	}
+
+	/**
+	 * RFC 6376 section 3.4.3: trailing empty lines removed, and a line break added to a last line without one. An empty body becomes a single
+	 * line break.
+	 */
+	@NotNull
+	private static String simpleBody(@NotNull final String body) {
+		String canonicalized = body.isEmpty() || body.endsWith("\r\n") ? body : body + "\r\n";
+		while (canonicalized.endsWith("\r\n\r\n")) {
+			canonicalized = canonicalized.substring(0, canonicalized.length() - 2);
+		}
+		return canonicalized.isEmpty() ? "\r\n" : canonicalized;
+	}
+
+	/**
+	 * RFC 6376 section 3.4.4: runs of whitespace reduced to a single space, whitespace at the end of lines and trailing empty lines removed. An
+	 * empty body stays empty.
+	 */
+	@NotNull
+	private static String relaxedBody(@NotNull final String body) {
+		final StringBuilder lines = new StringBuilder();
+		for (final String line : body.split("\r\n", -1)) {
+			lines.append(line.replaceAll("[ \t]+", " ").replaceAll(" $", "")).append("\r\n");
+		}
+		String canonicalized = lines.toString();
+		while (canonicalized.endsWith("\r\n\r\n")) {
+			canonicalized = canonicalized.substring(0, canonicalized.length() - 2);
+		}
+		return canonicalized.equals("\r\n") ? "" : canonicalized;
+	}
+
+	private static void assertBodyHash(final String body, final Canonicalization canonicalization, final String expectedCanonicalizedBody)
+			throws Exception {
+		final ByteArrayOutputStream passedOn = new ByteArrayOutputStream();
+		final DkimBodyHashingOutputStream hasher = new DkimBodyHashingOutputStream(passedOn, canonicalization, MessageDigest.getInstance("SHA-256"));
+		final byte[] bytes = body.getBytes(ISO_8859_1);
+		for (int i = 0; i < bytes.length; i += 3) {
+			hasher.write(bytes, i, Math.min(3, bytes.length - i));
+		}
+
+		assertThat(hasher.finish()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(expectedCanonicalizedBody.getBytes(ISO_8859_1)));
+		assertThat(hasher.getCanonicalizedLength()).isEqualTo(expectedCanonicalizedBody.length());
+		assertThat(passedOn.toByteArray()).isEqualTo(bytes);
+	}
+}
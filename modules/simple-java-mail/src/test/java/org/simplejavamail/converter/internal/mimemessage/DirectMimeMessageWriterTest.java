@@ -0,0 +1,194 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.ContentType;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.CalendarMethod;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the output of the {@link DirectMimeMessageWriter} with the MimeMessages produced by the {@link SpecializedMimeMessageProducer}s,
+ * for every MIME structure.
+ */
+public class DirectMimeMessageWriterTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	private static final List<String> MESSAGE_HEADERS = asList("Date", "From", "Reply-To", "To", "Cc", "Bcc", "Message-ID", "Subject",
+			"MIME-Version", "X-Custom", "Disposition-Notification-To");
+
+	private static final List<String> PART_HEADERS = asList("Content-Transfer-Encoding", "Content-Disposition", "Content-Description");
+
+	@Test
+	public void testSimple()
+			throws Exception {
+		assertConformance(minimalEmail().withPlainText("plain text"));
+		assertConformance(minimalEmail().withHTMLText("<b>HTML</b> text"));
+		assertConformance(minimalEmail().withCalendarText(CalendarMethod.REQUEST, "BEGIN:VCALENDAR\r\nEND:VCALENDAR"));
+	}
+
+	@Test
+	public void testAlternative()
+			throws Exception {
+		assertConformance(texts(minimalEmail()));
+	}
+
+	@Test
+	public void testRelated()
+			throws Exception {
+		assertConformance(embeddedImage(minimalEmail().withHTMLText("<img src='cid:logo'>")));
+	}
+
+	@Test
+	public void testMixed()
+			throws Exception {
+		assertConformance(attachments(minimalEmail().withPlainText("plain text")));
+		assertConformance(attachments(minimalEmail()));
+	}
+
+	@Test
+	public void testMixedRelated()
+			throws Exception {
+		assertConformance(attachments(embeddedImage(minimalEmail().withHTMLText("<img src='cid:logo'>"))));
+	}
+
+	@Test
+	public void testMixedAlternative()
+			throws Exception {
+		assertConformance(attachments(texts(minimalEmail())));
+	}
+
+	@Test
+	public void testRelatedAlternative()
+			throws Exception {
+		assertConformance(embeddedImage(texts(minimalEmail())));
+	}
+
+	@Test
+	public void testMixedRelatedAlternative()
+			throws Exception {
+		assertConformance(attachments(embeddedImage(texts(minimalEmail()))));
+	}
+
+	@Test
+	public void testHeadersAndAddresses()
+			throws Exception {
+		assertConformance(minimalEmail()
+				.withPlainText("plain text")
+				.withSubject("Sübject with a rather long text that needs to be folded because it doesn't fit on a single line")
+				.from("Frøm Name", "from@example.com")
+				.to("To One", "to1@example.com")
+				.to("To Two, with comma", "to2@example.com")
+				.cc("cc@example.com")
+				.bcc("bcc@example.com")
+				.withReplyTo("Reply Tø", "reply@example.com")
+				.withHeader("X-Custom", "välue")
+				.withDispositionNotificationTo("notify@example.com"));
+	}
+
+	@Test
+	public void testCanWrite() {
+		final Session utf8Session = Session.getInstance(new Properties());
+		utf8Session.getProperties().setProperty("mail.mime.allowutf8", "true");
+
+		assertThat(DirectMimeMessageWriter.canWrite(minimalEmail().withPlainText("text").buildEmailCompletedWithDefaultsAndOverrides(), SESSION)).isTrue();
+		assertThat(DirectMimeMessageWriter.canWrite(minimalEmail().withPlainText("text").buildEmailCompletedWithDefaultsAndOverrides(), utf8Session)).isFalse();
+		assertThat(DirectMimeMessageWriter.canWrite(minimalEmail().buildEmailCompletedWithDefaultsAndOverrides(), SESSION)).isFalse();
+		assertThat(DirectMimeMessageWriter.canWrite(minimalEmail().withPlainText("text").withHeader("Content-Type", "text/html")
+				.buildEmailCompletedWithDefaultsAndOverrides(), SESSION)).isFalse();
+		assertThat(DirectMimeMessageWriter.canWrite(minimalEmail().withPlainText("text").withAttachment("forward.eml", "".getBytes(UTF_8), "message/rfc822")
+				.buildEmailCompletedWithDefaultsAndOverrides(), SESSION)).isFalse();
+	}
+
+	private static EmailPopulatingBuilder minimalEmail() {
+		return EmailBuilder.startingBlank()
+				.from("from@example.com")
+				.to("to@example.com")
+				.withSubject("subject")
+				.fixingMessageId("<123@example.com>")
+				.fixingSentDate(new Date(1700000000000L));
+	}
+
+	private static EmailPopulatingBuilder texts(final EmailPopulatingBuilder builder) {
+		return builder
+				.withPlainText("plain text with non-ASCII: ëüø")
+				.withHTMLText("<b>HTML</b> text <img src='cid:logo'>")
+				.withCalendarText(CalendarMethod.REQUEST, "BEGIN:VCALENDAR\r\nEND:VCALENDAR");
+	}
+
+	private static EmailPopulatingBuilder embeddedImage(final EmailPopulatingBuilder builder) {
+		return builder.withEmbeddedImage("logo", new byte[]{ (byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3 }, "image/png");
+	}
+
+	private static EmailPopulatingBuilder attachments(final EmailPopulatingBuilder builder) {
+		return builder
+				.withAttachment("report.pdf", new byte[]{ '%', 'P', 'D', 'F', 0, (byte) 0xFF }, "application/pdf", "The report")
+				.withAttachment("nötes.txt", "Some notes\r\n".getBytes(UTF_8), "text/plain");
+	}
+
+	private static void assertConformance(final EmailPopulatingBuilder builder)
+			throws Exception {
+		final Email email = builder.buildEmailCompletedWithDefaultsAndOverrides();
+
+		final MimeMessage producedMessage = MimeMessageProducerHelper.produceMimeMessage(email, SESSION);
+		producedMessage.saveChanges();
+		final ByteArrayOutputStream produced = new ByteArrayOutputStream();
+		producedMessage.writeTo(produced);
+
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		DirectMimeMessageWriter.write(email, SESSION, written);
+
+		final MimeMessage expected = new MimeMessage(SESSION, new ByteArrayInputStream(produced.toByteArray()));
+		final MimeMessage actual = new MimeMessage(SESSION, new ByteArrayInputStream(written.toByteArray()));
+		for (final String header : MESSAGE_HEADERS) {
+			assertThat(actual.getHeader(header)).as(header).isEqualTo(expected.getHeader(header));
+		}
+		assertSamePart(actual, expected);
+	}
+
+	private static void assertSamePart(final Part actual, final Part expected)
+			throws MessagingException, IOException {
+		assertThat(withoutBoundary(actual.getContentType())).isEqualTo(withoutBoundary(expected.getContentType()));
+		if (expected.isMimeType("multipart/*")) {
+			final Multipart actualMultipart = (Multipart) actual.getContent();
+			final Multipart expectedMultipart = (Multipart) expected.getContent();
+			assertThat(actualMultipart.getCount()).isEqualTo(expectedMultipart.getCount());
+			for (int i = 0; i < expectedMultipart.getCount(); i++) {
+				assertSamePart(actualMultipart.getBodyPart(i), expectedMultipart.getBodyPart(i));
+			}
+		} else {
+			for (final String header : PART_HEADERS) {
+				assertThat(actual.getHeader(header)).as(header).isEqualTo(expected.getHeader(header));
+			}
+			if (Part.INLINE.equals(expected.getDisposition())) {
+				// attachments get a random Content-ID
+				assertThat(actual.getHeader("Content-ID")).isEqualTo(expected.getHeader("Content-ID"));
+			}
+			assertThat(actual.getInputStream()).hasSameContentAs(expected.getInputStream());
+		}
+	}
+
+	private static String withoutBoundary(final String contentType)
+			throws MessagingException {
+		final ContentType parsedContentType = new ContentType(contentType);
+		parsedContentType.getParameterList().remove("boundary");
+		return parsedContentType.toString();
+	}
+}
@@ -0,0 +1,68 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.EncodedAttachmentCacheStats;
+
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EncodedAttachmentCacheTest {
+
+	@Test
+	public void testHitsByContentRatherThanDataSource()
+			throws MessagingException {
+		final Session session = Session.getInstance(new Properties());
+		EncodedAttachmentCache.primeSession(session, 1000);
+		final EncodedAttachmentCache cache = EncodedAttachmentCache.fromSession(session);
+
+		assertThat(cache.getEncodedBody(dataSource("hello"), "base64")).asString(US_ASCII).isEqualTo("aGVsbG8=");
+		assertThat(cache.getEncodedBody(dataSource("hello"), "base64")).asString(US_ASCII).isEqualTo("aGVsbG8=");
+		assertThat(cache.getEncodedBody(dataSource("hello"), "7bit")).asString(US_ASCII).isEqualTo("hello");
+
+		final EncodedAttachmentCacheStats stats = EncodedAttachmentCache.getStats(session);
+		assertThat(stats.getHitCount()).isEqualTo(1);
+		assertThat(stats.getMissCount()).isEqualTo(2);
+		assertThat(stats.getEntryCount()).isEqualTo(2);
+		assertThat(stats.getSizeInBytes()).isEqualTo(13);
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed()
+			throws MessagingException {
+		final Session session = Session.getInstance(new Properties());
+		EncodedAttachmentCache.primeSession(session, 10);
+		final EncodedAttachmentCache cache = EncodedAttachmentCache.fromSession(session);
+
+		cache.getEncodedBody(dataSource("aaaa"), "7bit");
+		cache.getEncodedBody(dataSource("bbbb"), "7bit");
+		cache.getEncodedBody(dataSource("aaaa"), "7bit");
+		cache.getEncodedBody(dataSource("cccc"), "7bit"); // evicts bbbb
+		cache.getEncodedBody(dataSource("too big to cache"), "7bit");
+		cache.getEncodedBody(dataSource("aaaa"), "7bit");
+
+		final EncodedAttachmentCacheStats stats = EncodedAttachmentCache.getStats(session);
+		assertThat(stats.getHitCount()).isEqualTo(2);
+		assertThat(stats.getMissCount()).isEqualTo(4);
+		assertThat(stats.getEvictionCount()).isEqualTo(1);
+		assertThat(stats.getEntryCount()).isEqualTo(2);
+		assertThat(stats.getSizeInBytes()).isEqualTo(8);
+	}
+
+	@Test
+	public void testDisabledCache() {
+		final Session session = Session.getInstance(new Properties());
+		EncodedAttachmentCache.primeSession(session, 0);
+
+		assertThat(EncodedAttachmentCache.fromSession(session)).isNull();
+		assertThat(EncodedAttachmentCache.getStats(session).getMissCount()).isZero();
+	}
+
+	private static ByteArrayDataSource dataSource(final String data) {
+		return new ByteArrayDataSource(data.getBytes(US_ASCII), "application/octet-stream");
+	}
+}
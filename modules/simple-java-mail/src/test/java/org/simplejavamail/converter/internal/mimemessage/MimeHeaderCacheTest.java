@@ -0,0 +1,37 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeUtility;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.Recipient;
+
+import java.io.UnsupportedEncodingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MimeHeaderCacheTest {
+
+	@Test
+	public void testEncodesAndFoldsHeaderValues()
+			throws UnsupportedEncodingException {
+		final String value = "<mailto:unsubscribe@example.com?subject=ünsubscribe>, <https://example.com/unsubscribe?id=1234567890>";
+		final String expected = MimeUtility.fold("List-Unsubscribe".length() + 2, MimeUtility.encodeText(value, "UTF-8", null));
+
+		assertThat(MimeHeaderCache.encodeAndFoldHeaderValue("List-Unsubscribe", value)).isEqualTo(expected);
+		assertThat(MimeHeaderCache.encodeAndFoldHeaderValue("List-Unsubscribe", value)).isEqualTo(expected);
+		assertThat(MimeHeaderCache.encodeAndFoldHeaderValue("X", value))
+				.isEqualTo(MimeUtility.fold("X".length() + 2, MimeUtility.encodeText(value, "UTF-8", null)));
+	}
+
+	@Test
+	public void testSharesImmutableAddresses()
+			throws UnsupportedEncodingException {
+		final InternetAddress address = MimeHeaderCache.asInternetAddress(new Recipient("Frøm Name", "from@example.com", null));
+
+		assertThat(MimeHeaderCache.asInternetAddress(new Recipient("Frøm Name", "from@example.com", null))).isSameAs(address);
+		assertThat(address.toString()).isEqualTo(new InternetAddress("from@example.com", "Frøm Name", "UTF-8").toString());
+		assertThatThrownBy(() -> address.setPersonal("Other Name")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> address.setAddress("other@example.com")).isInstanceOf(UnsupportedOperationException.class);
+	}
+}
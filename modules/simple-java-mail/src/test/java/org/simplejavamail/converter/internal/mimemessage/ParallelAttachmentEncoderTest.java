@@ -0,0 +1,123 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.FileDataSource;
+import jakarta.mail.BodyPart;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.internal.util.NamedDataSource;
+import org.simplejavamail.internal.util.PathDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelAttachmentEncoderTest {
+
+	@Test
+	public void testEncodesLargeBase64BodiesInParallelWithIdenticalOutput()
+			throws MessagingException, IOException {
+		final Session session = Session.getInstance(new Properties());
+		ParallelAttachmentEncoder.primeSession(session, 100_000);
+
+		final Email email = EmailBuilder.startingBlank()
+				.withEmbeddedImage("large1", randomBytes(300_000, 1), "image/png")
+				.withEmbeddedImage("large2", randomBytes(200_001, 2), "image/jpeg")
+				.withEmbeddedImage("small", randomBytes(1000, 3), "image/png")
+				.withEmbeddedImage("text", "large but not base64 encoded\r\n".repeat(5000).getBytes(UTF_8), "text/plain")
+				.buildEmail();
+
+		final MimeMultipart parallel = produceRelatedMultipart(session, email, AttachmentEncoders.fromSession(session));
+		final MimeMultipart sequential = produceRelatedMultipart(session, email, AttachmentEncoders.NONE);
+
+		assertThat(parallel.getBodyPart(0)).isInstanceOf(PreEncodedMimeBodyPart.class);
+		assertThat(parallel.getBodyPart(1)).isInstanceOf(PreEncodedMimeBodyPart.class);
+		assertThat(parallel.getBodyPart(2)).isNotInstanceOf(PreEncodedMimeBodyPart.class);
+		assertThat(parallel.getBodyPart(3)).isNotInstanceOf(PreEncodedMimeBodyPart.class);
+		for (int i = 0; i < sequential.getCount(); i++) {
+			assertThat(write(parallel.getBodyPart(i))).isEqualTo(write(sequential.getBodyPart(i)));
+		}
+	}
+
+	@Test
+	public void testEncodesOnDedicatedPool()
+			throws MessagingException {
+		final Session session = Session.getInstance(new Properties());
+		ParallelAttachmentEncoder.primeSession(session, 1000);
+		final Set<String> readingThreads = ConcurrentHashMap.newKeySet();
+		final ByteArrayDataSource dataSource = new ByteArrayDataSource(randomBytes(2000, 4), "image/png") {
+			@Override
+			public InputStream getInputStream()
+					throws IOException {
+				readingThreads.add(Thread.currentThread().getName());
+				return super.getInputStream();
+			}
+		};
+
+		final byte[] encodedBody = ParallelAttachmentEncoder.awaitEncodedBody(ParallelAttachmentEncoder.fromSession(session).startEncoding(dataSource, "base64", null));
+
+		assertThat(encodedBody).isNotEmpty();
+		assertThat(readingThreads).anyMatch(threadName -> threadName.startsWith("Simple Java Mail attachment encoder #"));
+		assertThat(readingThreads).noneMatch(threadName -> threadName.startsWith("ForkJoinPool"));
+	}
+
+	@Test
+	public void testLeavesFilesStreamedFromDiskAlone(@TempDir final Path tempDir)
+			throws IOException {
+		final Session session = Session.getInstance(new Properties());
+		ParallelAttachmentEncoder.primeSession(session, 1000);
+		final Path file = Files.write(tempDir.resolve("large.png"), randomBytes(2000, 5));
+		final ParallelAttachmentEncoder encoder = ParallelAttachmentEncoder.fromSession(session);
+
+		assertThat(encoder.startEncoding(new PathDataSource(file), "base64", null)).isNull();
+		assertThat(encoder.startEncoding(new NamedDataSource("renamed.png", new PathDataSource(file)), "base64", null)).isNull();
+		assertThat(encoder.startEncoding(new FileDataSource(file.toFile()), "base64", null)).isNotNull();
+	}
+
+	@Test
+	public void testDisabledEncoder() {
+		final Session session = Session.getInstance(new Properties());
+		ParallelAttachmentEncoder.primeSession(session, 0);
+
+		assertThat(ParallelAttachmentEncoder.fromSession(session)).isNull();
+		assertThat(AttachmentEncoders.fromSession(session)).isSameAs(AttachmentEncoders.NONE);
+	}
+
+	private static MimeMultipart produceRelatedMultipart(final Session session, final Email email, final AttachmentEncoders attachmentEncoders)
+			throws MessagingException {
+		final MimeMultipart multipartRelated = new MimeMultipart("related");
+		MimeMessageHelper.setEmbeddedImages(email, multipartRelated, attachmentEncoders);
+		final MimeMessage message = new MimeMessage(session);
+		message.setContent(multipartRelated);
+		message.saveChanges(); // sets the Content-Transfer-Encoding headers
+		return multipartRelated;
+	}
+
+	private static byte[] write(final BodyPart bodyPart)
+			throws MessagingException, IOException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		bodyPart.writeTo(os);
+		return os.toByteArray();
+	}
+
+	private static byte[] randomBytes(final int size, final long seed) {
+		final byte[] bytes = new byte[size];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+}
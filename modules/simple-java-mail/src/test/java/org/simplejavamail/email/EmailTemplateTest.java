@@ -0,0 +1,66 @@
+package org.simplejavamail.email;
+
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.MailException;
+import org.simplejavamail.api.email.Email;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmailTemplateTest {
+
+	@Test
+	public void testRender() {
+		final Email templateEmail = EmailBuilder.startingBlank()
+				.from("shop", "shop@example.com")
+				.withSubject("Your order ${orderId}")
+				.withPlainText("Dear ${name}, order ${orderId} has shipped.")
+				.withHTMLText("<p>Dear ${ name }, order <b>${orderId}</b> has shipped. ${unclosed</p>")
+				.withAttachment("terms.txt", "terms".getBytes(), "text/plain")
+				.buildEmail();
+		final EmailTemplate template = EmailTemplate.compile(templateEmail);
+
+		assertThat(template.getPlaceholders()).containsExactly("orderId", "name");
+
+		final Map<String, Object> values = new HashMap<>();
+		values.put("name", "Jane");
+		values.put("orderId", 42);
+		final Email email = template.render(values).to("jane@example.com").buildEmail();
+
+		assertThat(email.getSubject()).isEqualTo("Your order 42");
+		assertThat(email.getPlainText()).isEqualTo("Dear Jane, order 42 has shipped.");
+		assertThat(email.getHTMLText()).isEqualTo("<p>Dear Jane, order <b>42</b> has shipped. ${unclosed</p>");
+		assertThat(email.getAttachments()).hasSize(1);
+		assertThat(email.getAttachments().get(0).getDataSource()).isSameAs(templateEmail.getAttachments().get(0).getDataSource());
+	}
+
+	@Test
+	public void testStrayPlaceholderStartInHtmlIsKeptAsLiteralText() {
+		final String html = "<style>p { color: red; } a:after { content: \"${\"; }</style>"
+				+ "<script>const total = `${ items.map(i => i.price).sum() }`; if (total) { show(); }</script>"
+				+ "<p>Dear ${name}, ${}</p>";
+		final EmailTemplate template = EmailTemplate.compile(EmailBuilder.startingBlank()
+				.withHTMLText(html)
+				.buildEmail());
+
+		assertThat(template.getPlaceholders()).containsExactly("name");
+
+		final Map<String, Object> values = new HashMap<>();
+		values.put("name", "Jane");
+		assertThat(template.render(values).buildEmail().getHTMLText()).isEqualTo(html.replace("${name}", "Jane"));
+	}
+
+	@Test
+	public void testRenderMissingValue() {
+		final EmailTemplate template = EmailTemplate.compile(EmailBuilder.startingBlank()
+				.withSubject("Hello ${name}")
+				.buildEmail());
+
+		assertThatThrownBy(() -> template.render(new HashMap<>()))
+				.isInstanceOf(MailException.class)
+				.hasMessage("No value provided for template placeholder: name");
+	}
+}
@@ -0,0 +1,69 @@
+package org.simplejavamail.internal.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PathDataSourceTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testContentTypeAndNameFromFileName()
+			throws IOException {
+		final PathDataSource image = new PathDataSource(Files.write(tempDir.resolve("picture.png"), new byte[] { 1, 2, 3 }));
+		final PathDataSource unknown = new PathDataSource(Files.write(tempDir.resolve("data.unknownextension"), new byte[] { 1, 2, 3 }));
+
+		assertThat(image.getContentType()).isEqualTo("image/png");
+		assertThat(image.getName()).isEqualTo("picture.png");
+		assertThat(image.getEncoding()).isEqualTo("base64");
+		assertThat(unknown.getContentType()).isEqualTo("application/octet-stream");
+		assertThat(unknown.getName()).isEqualTo("data.unknownextension");
+	}
+
+	@Test
+	public void testInputStreamCanBeOpenedRepeatedly()
+			throws IOException {
+		final byte[] content = new byte[100_000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		final PathDataSource dataSource = new PathDataSource(Files.write(tempDir.resolve("data.bin"), content));
+
+		assertThat(dataSource.size()).isEqualTo(content.length);
+		try (InputStream first = dataSource.getInputStream(); InputStream second = dataSource.getInputStream()) {
+			assertThat(first.readAllBytes()).isEqualTo(content);
+			assertThat(second.readAllBytes()).isEqualTo(content);
+		}
+		try (InputStream third = dataSource.getInputStream()) {
+			assertThat(third.readAllBytes()).isEqualTo(content);
+		}
+	}
+
+	@Test
+	public void testMissingFile() {
+		final PathDataSource dataSource = new PathDataSource(tempDir.resolve("missing.png"));
+
+		assertThat(dataSource.getName()).isEqualTo("missing.png");
+		assertThat(dataSource.getContentType()).isEqualTo("image/png");
+		assertThatThrownBy(dataSource::getInputStream).isInstanceOf(NoSuchFileException.class);
+		assertThatThrownBy(dataSource::size).isInstanceOf(NoSuchFileException.class);
+		assertThat(MiscUtil.determineKnownSize(dataSource)).isZero();
+	}
+
+	@Test
+	public void testIsReadOnly() {
+		final PathDataSource dataSource = new PathDataSource(tempDir.resolve("missing.png"));
+
+		assertThatThrownBy(dataSource::getOutputStream).isInstanceOf(UnsupportedOperationException.class);
+	}
+}
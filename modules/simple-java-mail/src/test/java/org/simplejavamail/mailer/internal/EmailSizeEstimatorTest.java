@@ -0,0 +1,86 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.activation.DataSource;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.api.email.ContentTransferEncoding.BASE_64;
+
+public class EmailSizeEstimatorTest {
+
+	@Test
+	public void testTextsAndHeadersCountAtRawSize() {
+		final Email email = EmailBuilder.startingBlank()
+				.from("sender@domain.com")
+				.to("receiver@domain.com")
+				.withSubject("subject")
+				.withPlainText("0123456789")
+				.withHeader("X-Header", "value")
+				.buildEmail();
+
+		final long expectedMinimum = "sender@domain.com".length() + "receiver@domain.com".length() + "subject".length() + "0123456789".length()
+				+ "X-Header".length() + "value".length();
+		assertThat(EmailSizeEstimator.estimateMinimumSize(email)).isEqualTo(expectedMinimum);
+	}
+
+	@Test
+	public void testTextsCountAsBase64WhenForced() {
+		final Email email = EmailBuilder.startingBlank()
+				.withPlainText("012345678")
+				.withContentTransferEncoding(BASE_64)
+				.buildEmail();
+
+		assertThat(EmailSizeEstimator.estimateMinimumSize(email)).isEqualTo(12);
+	}
+
+	@Test
+	public void testBinaryAttachmentsCountAsBase64() {
+		final Email email = EmailBuilder.startingBlank()
+				.withAttachment("image.png", new byte[3000], "image/png")
+				.withAttachment("document.txt", new byte[3000], "text/plain")
+				.buildEmail();
+
+		// 4000 base64 characters take 52 full lines of 76 characters, each followed by CRLF
+		assertThat(EmailSizeEstimator.estimateMinimumSize(email)).isEqualTo(4000 + 52 * 2 + 3000);
+	}
+
+	@Test
+	public void testUnknownSizeCountsAsEmpty() {
+		final Email email = EmailBuilder.startingBlank()
+				.withAttachment("unknown.png", new UnknownSizeDataSource())
+				.buildEmail();
+
+		assertThat(EmailSizeEstimator.estimateMinimumSize(email)).isZero();
+	}
+
+	/**
+	 * Like a URLDataSource, the size is only known by reading the data.
+	 */
+	private static class UnknownSizeDataSource implements DataSource {
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(new byte[3000]);
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getContentType() {
+			return "image/png";
+		}
+
+		@Override
+		public String getName() {
+			return "unknown.png";
+		}
+	}
+}
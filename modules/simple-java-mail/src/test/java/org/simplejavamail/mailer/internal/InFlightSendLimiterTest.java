@@ -0,0 +1,253 @@
+package org.simplejavamail.mailer.internal;
+
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.InFlightLimitExceededException;
+import org.simplejavamail.mailer.MailerBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.simplejavamail.api.mailer.config.InFlightLimitPolicy.BLOCK;
+import static org.simplejavamail.api.mailer.config.InFlightLimitPolicy.CALLER_RUNS;
+import static org.simplejavamail.api.mailer.config.InFlightLimitPolicy.REJECT;
+
+public class InFlightSendLimiterTest {
+
+	@Test
+	public void testWithoutLimitEverythingIsSubmitted() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(null, REJECT);
+		final ManualExecutor executor = new ManualExecutor();
+
+		for (int i = 0; i < 10; i++) {
+			final String name = "op" + i;
+			limiter.submit(() -> new Operation(name), executor);
+		}
+
+		assertThat(executor.submitted).hasSize(10);
+		assertThat(limiter.getInFlightCount()).isEqualTo(10);
+		executor.completeAll();
+		assertThat(limiter.getInFlightCount()).isZero();
+	}
+
+	@Test
+	public void testBuilderRejectsLimitBelowOne() {
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withMaximumInFlightSends(0, BLOCK))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maximumInFlightSends should be at least 1, but was 0");
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withMaximumInFlightSends(-1, REJECT))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maximumInFlightSends should be at least 1, but was -1");
+	}
+
+	@Test
+	public void testRejectPolicyThrowsWithoutCreatingTheOperation() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(2, REJECT);
+		final ManualExecutor executor = new ManualExecutor();
+		limiter.submit(() -> new Operation("op1"), executor);
+		limiter.submit(() -> new Operation("op2"), executor);
+		final AtomicBoolean created = new AtomicBoolean();
+
+		assertThatThrownBy(() -> limiter.submit(() -> {
+			created.set(true);
+			return new Operation("op3");
+		}, executor))
+				.isInstanceOf(InFlightLimitExceededException.class)
+				.hasMessage("Maximum of 2 in-flight async sends reached");
+		assertThat(created).isFalse();
+		assertThat(limiter.getInFlightCount()).isEqualTo(2);
+
+		executor.complete(0);
+		limiter.submit(() -> new Operation("op3"), executor);
+		assertThat(executor.submitted).extracting(operation -> operation.name).containsExactly("op1", "op2", "op3");
+	}
+
+	@Test
+	public void testCallerRunsPolicyRunsInCallingThreadWhenFull() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, CALLER_RUNS);
+		final ManualExecutor executor = new ManualExecutor();
+		limiter.submit(() -> new Operation("async"), executor);
+
+		final Operation callerRun = new Operation("caller runs");
+		final CompletableFuture<Void> result = limiter.submit(() -> callerRun, executor);
+
+		assertThat(result).isCompleted();
+		assertThat(callerRun.runBy).isSameAs(Thread.currentThread());
+		assertThat(executor.submitted).extracting(operation -> operation.name).containsExactly("async");
+		assertThat(limiter.getInFlightCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testCallerRunsPolicyReportsFailureThroughFuture() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, CALLER_RUNS);
+		final ManualExecutor executor = new ManualExecutor();
+		limiter.submit(() -> new Operation("async"), executor);
+		final IllegalStateException failure = new IllegalStateException("send failed");
+
+		final CompletableFuture<Void> result = limiter.submit(() -> new Operation("caller runs") {
+			@Override
+			public void run() {
+				throw failure;
+			}
+		}, executor);
+
+		assertThat(result).isCompletedExceptionally();
+		assertThatThrownBy(result::join).hasCause(failure);
+		assertThat(limiter.getInFlightCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testBlockPolicyWaitsForInFlightSendToFinish()
+			throws InterruptedException {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, BLOCK);
+		final ManualExecutor executor = new ManualExecutor();
+		limiter.submit(() -> new Operation("first"), executor);
+
+		final AtomicBoolean created = new AtomicBoolean();
+		final Thread submitter = new Thread(() -> limiter.submit(() -> {
+			created.set(true);
+			return new Operation("second");
+		}, executor));
+		submitter.start();
+
+		waitUntilWaiting(submitter);
+		assertThat(created).isFalse();
+		assertThat(executor.submitted).hasSize(1);
+
+		executor.complete(0);
+		submitter.join(SECONDS.toMillis(10));
+		assertThat(submitter.isAlive()).isFalse();
+		assertThat(created).isTrue();
+		assertThat(executor.submitted).extracting(operation -> operation.name).containsExactly("first", "second");
+	}
+
+	@Test
+	public void testBlockPolicyInterrupted()
+			throws InterruptedException {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, BLOCK);
+		final ManualExecutor executor = new ManualExecutor();
+		limiter.submit(() -> new Operation("first"), executor);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final AtomicBoolean interruptFlagRestored = new AtomicBoolean();
+
+		final Thread submitter = new Thread(() -> {
+			try {
+				limiter.submit(() -> new Operation("second"), executor);
+			} catch (final RuntimeException e) {
+				failure.set(e);
+				interruptFlagRestored.set(Thread.currentThread().isInterrupted());
+			}
+		});
+		submitter.start();
+		waitUntilWaiting(submitter);
+		submitter.interrupt();
+		submitter.join(SECONDS.toMillis(10));
+
+		assertThat(failure.get())
+				.isInstanceOf(MailerException.class)
+				.hasMessage("Interrupted while waiting for in-flight async sends to finish");
+		assertThat(interruptFlagRestored).isTrue();
+		assertThat(limiter.getInFlightCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testPermitReleasedWhenSendFails() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, REJECT);
+		final ManualExecutor executor = new ManualExecutor();
+		final CompletableFuture<Void> result = limiter.submit(() -> new Operation("failing"), executor);
+
+		executor.fail(0, new IllegalStateException("send failed"));
+
+		assertThat(result).isCompletedExceptionally();
+		assertThat(limiter.getInFlightCount()).isZero();
+		limiter.submit(() -> new Operation("next"), executor);
+		assertThat(executor.submitted).hasSize(2);
+	}
+
+	@Test
+	public void testPermitReleasedWhenSubmittingFails() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, REJECT);
+		final IllegalStateException failure = new IllegalStateException("executor service is shut down");
+
+		assertThatThrownBy(() -> limiter.submit(() -> new Operation("rejected"), operation -> {
+			throw failure;
+		})).isSameAs(failure);
+
+		assertThat(limiter.getInFlightCount()).isZero();
+		final ManualExecutor executor = new ManualExecutor();
+		limiter.submit(() -> new Operation("next"), executor);
+		assertThat(executor.submitted).hasSize(1);
+	}
+
+	@Test
+	public void testExecutorReceivesTheOperationTypeOfTheFactory() {
+		final InFlightSendLimiter limiter = new InFlightSendLimiter(1, REJECT);
+		final AtomicReference<String> executedName = new AtomicReference<>();
+
+		// the executor can use the specific operation type, like the staged send pipeline does
+		limiter.submit(() -> new Operation("typed"), (Operation operation) -> {
+			executedName.set(operation.name);
+			return CompletableFuture.completedFuture(null);
+		});
+
+		assertThat(executedName).hasValue("typed");
+		assertThat(limiter.getInFlightCount()).isZero();
+	}
+
+	private static void waitUntilWaiting(final Thread thread)
+			throws InterruptedException {
+		final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+		while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(1);
+		}
+	}
+
+	private static class Operation implements Runnable {
+		final String name;
+		volatile Thread runBy;
+
+		Operation(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void run() {
+			runBy = Thread.currentThread();
+		}
+	}
+
+	/**
+	 * Holds on to the submitted operations, completing them only when told to.
+	 */
+	private static class ManualExecutor implements Function<Operation, CompletableFuture<Void>> {
+		final List<Operation> submitted = new ArrayList<>();
+		final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+		@Override
+		public synchronized CompletableFuture<Void> apply(final Operation operation) {
+			final CompletableFuture<Void> future = new CompletableFuture<>();
+			submitted.add(operation);
+			futures.add(future);
+			return future;
+		}
+
+		void complete(final int index) {
+			futures.get(index).complete(null);
+		}
+
+		void fail(final int index, final Throwable throwable) {
+			futures.get(index).completeExceptionally(throwable);
+		}
+
+		void completeAll() {
+			futures.forEach(future -> future.complete(null));
+		}
+	}
+}
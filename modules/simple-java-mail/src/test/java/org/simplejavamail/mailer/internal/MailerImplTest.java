@@ -0,0 +1,232 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.StubTransport;
+
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.UnaryOperator;
+
+import static jakarta.mail.Message.RecipientType.CC;
+import static jakarta.mail.Message.RecipientType.TO;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MailerImplTest {
+
+	private static final List<Recipient> RECIPIENTS = asList(
+			new Recipient(null, "r0@domain.com", null),
+			new Recipient("Recipient 1", "r1@domain.com", CC),
+			new Recipient(null, "r2@domain.com", null));
+
+	private final List<Mailer> mailers = new ArrayList<>();
+
+	@BeforeEach
+	public void setup() {
+		StubTransport.reset();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		mailers.forEach(Mailer::shutdownConnectionPool);
+	}
+
+	@Test
+	public void testSendMailToEachSendsCopyToEachRecipient()
+			throws Exception {
+		final Mailer mailer = mailer(builder -> builder);
+
+		awaitAll(mailer.sendMailToEach(email().to("original@domain.com").cc("cc@domain.com").buildEmail(), RECIPIENTS));
+
+		// rendered once and sent over a single connection
+		assertThat(StubTransport.getInstances()).hasSize(1);
+		final List<StubTransport.SentMessage> sentMessages = StubTransport.getInstances().get(0).getSentMessages();
+		assertThat(headersOf(sentMessages, "To")).containsExactly("r0@domain.com", "Recipient 1 <r1@domain.com>", "r2@domain.com");
+		assertThat(headersOf(sentMessages, "Cc")).containsOnlyNulls();
+		assertThat(envelopesOf(sentMessages)).containsExactly("[r0@domain.com]", "[r1@domain.com]", "[r2@domain.com]");
+		assertThat(headersOf(sentMessages, "Message-ID")).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(headersOf(sentMessages, "Subject")).containsOnly("subject");
+	}
+
+	@Test
+	public void testSendMailToEachSendsEveryCopyToOverrideReceivers()
+			throws Exception {
+		final Mailer mailer = mailer(builder -> builder);
+
+		awaitAll(mailer.sendMailToEach(email().withOverrideReceivers(new Recipient(null, "override@domain.com", null)).buildEmail(), RECIPIENTS));
+
+		final List<StubTransport.SentMessage> sentMessages = StubTransport.getInstances().get(0).getSentMessages();
+		assertThat(headersOf(sentMessages, "To")).containsExactly("r0@domain.com", "Recipient 1 <r1@domain.com>", "r2@domain.com");
+		assertThat(envelopesOf(sentMessages)).containsOnly("[override@domain.com]").hasSize(3);
+	}
+
+	@Test
+	public void testSendMailToEachReportsFailuresPerRecipient()
+			throws Exception {
+		StubTransport.failWhenSendingTo("r1@domain.com", false);
+		final Mailer mailer = mailer(builder -> builder);
+
+		final List<CompletableFuture<Void>> futures = mailer.sendMailToEach(email().buildEmail(), RECIPIENTS);
+
+		futures.get(0).get(10, SECONDS);
+		assertThatThrownBy(() -> futures.get(1).get(10, SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(MailerException.class)
+				.hasRootCauseMessage("failed sending to r1@domain.com");
+		futures.get(2).get(10, SECONDS);
+		assertThat(headersOf(StubTransport.getInstances().get(0).getSentMessages(), "To")).containsExactly("r0@domain.com", "r2@domain.com");
+	}
+
+	@Test
+	public void testSendMailToEachFallbackDoesNotApplyOverridesAgain()
+			throws Exception {
+		final RecordingCustomMailer customMailer = new RecordingCustomMailer();
+		final Mailer mailer = mailer(builder -> builder
+				.withEmailOverrides(EmailBuilder.startingBlank().cc("override-cc@domain.com").buildEmail())
+				.withCustomMailer(customMailer));
+
+		awaitAll(mailer.sendMailToEach(email().buildEmail(), RECIPIENTS));
+
+		assertThat(customMailer.emails).hasSize(3);
+		for (int i = 0; i < RECIPIENTS.size(); i++) {
+			assertThat(customMailer.emails.get(i).getRecipients()).containsExactly(
+					new Recipient(RECIPIENTS.get(i).getName(), RECIPIENTS.get(i).getAddress(), TO));
+			assertThat(customMailer.messages.get(i).getAllRecipients()).hasSize(1);
+		}
+		assertThat(customMailer.messageIds()).doesNotHaveDuplicates();
+	}
+
+	@Test
+	public void testSendMailToEachFallbackForDkimSendsSameCopiesAsFanOut()
+			throws Exception {
+		final Mailer mailer = mailer(builder -> builder
+				.withEmailOverrides(EmailBuilder.startingBlank().cc("override-cc@domain.com").buildEmail())
+				.withDirectMimeRendering(true));
+		final DkimConfig dkimConfig = DkimConfig.builder()
+				.dkimPrivateKeyData(KeyPairGenerator.getInstance("RSA").generateKeyPair().getPrivate().getEncoded())
+				.dkimSigningDomain("domain.com")
+				.dkimSelector("selector")
+				.build();
+
+		awaitAll(mailer.sendMailToEach(email().buildEmail(), RECIPIENTS));
+		awaitAll(mailer.sendMailToEach(email().signWithDomainKey(dkimConfig).buildEmail(), RECIPIENTS));
+
+		// the fan-out copies share one connection, while the DKIM signed copies are sent as separate emails
+		assertThat(StubTransport.getInstances()).hasSize(2);
+		final List<StubTransport.SentMessage> fanOutMessages = StubTransport.getInstances().get(0).getSentMessages();
+		final List<StubTransport.SentMessage> dkimSignedMessages = StubTransport.getInstances().get(1).getSentMessages();
+		assertThat(toAddressesOf(dkimSignedMessages)).isEqualTo(toAddressesOf(fanOutMessages));
+		assertThat(headersOf(dkimSignedMessages, "Cc")).isEqualTo(headersOf(fanOutMessages, "Cc")).containsOnlyNulls();
+		assertThat(envelopesOf(dkimSignedMessages)).isEqualTo(envelopesOf(fanOutMessages));
+		assertThat(headersOf(dkimSignedMessages, "Message-ID")).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(headersOf(dkimSignedMessages, "DKIM-Signature")).doesNotContainNull();
+		assertThat(headersOf(fanOutMessages, "DKIM-Signature")).containsOnlyNulls();
+	}
+
+	@NotNull
+	private Mailer mailer(@NotNull final UnaryOperator<MailerRegularBuilderImpl> configurer)
+			throws MessagingException {
+		final Mailer mailer = configurer.apply(MailerBuilder.withSMTPServer("localhost", 25).withTransportStrategy(TransportStrategy.SMTP)).buildMailer();
+		StubTransport.install(mailer.getSession());
+		mailers.add(mailer);
+		return mailer;
+	}
+
+	@NotNull
+	private static EmailPopulatingBuilder email() {
+		return EmailBuilder.startingBlank()
+				.from("sender@domain.com")
+				.withSubject("subject")
+				.withPlainText("text");
+	}
+
+	private static void awaitAll(@NotNull final List<CompletableFuture<Void>> futures)
+			throws Exception {
+		for (final CompletableFuture<Void> future : futures) {
+			future.get(10, SECONDS);
+		}
+	}
+
+	@NotNull
+	private static List<String> headersOf(@NotNull final List<StubTransport.SentMessage> sentMessages, @NotNull final String headerName)
+			throws MessagingException {
+		final List<String> headers = new ArrayList<>();
+		for (final StubTransport.SentMessage sentMessage : sentMessages) {
+			headers.add(sentMessage.getMessage().getHeader(headerName, null));
+		}
+		return headers;
+	}
+
+	@NotNull
+	private static List<String> toAddressesOf(@NotNull final List<StubTransport.SentMessage> sentMessages)
+			throws MessagingException {
+		final List<String> toAddresses = new ArrayList<>();
+		for (final StubTransport.SentMessage sentMessage : sentMessages) {
+			toAddresses.add(asList(sentMessage.getMessage().getRecipients(TO)).toString());
+		}
+		return toAddresses;
+	}
+
+	@NotNull
+	private static List<String> envelopesOf(@NotNull final List<StubTransport.SentMessage> sentMessages) {
+		final List<String> envelopes = new ArrayList<>();
+		for (final StubTransport.SentMessage sentMessage : sentMessages) {
+			final List<String> addresses = new ArrayList<>();
+			for (final Address address : sentMessage.getEnvelopeRecipients()) {
+				addresses.add(((InternetAddress) address).getAddress());
+			}
+			envelopes.add(addresses.toString());
+		}
+		return envelopes;
+	}
+
+	private static class RecordingCustomMailer implements CustomMailer {
+
+		private final List<Email> emails = new ArrayList<>();
+		private final List<MimeMessage> messages = new ArrayList<>();
+
+		@Override
+		public void testConnection(@NotNull final OperationalConfig operationalConfig, @NotNull final Session session) {
+		}
+
+		@Override
+		public void sendMessage(@NotNull final OperationalConfig operationalConfig, @NotNull final Session session, @NotNull final Email email,
+				@NotNull final MimeMessage message) {
+			emails.add(email);
+			messages.add(message);
+		}
+
+		@NotNull
+		List<String> messageIds()
+				throws MessagingException {
+			final List<String> messageIds = new ArrayList<>();
+			for (final MimeMessage message : messages) {
+				messageIds.add(message.getMessageID());
+			}
+			return messageIds;
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package org.simplejavamail.mailer.internal;
+
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.mailer.ProxyBridgeStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyBridgeLifecycleTest {
+
+	@Test
+	public void testStopsAfterIdleTimeoutAndRestartsOnNextSend()
+			throws InterruptedException {
+		final FakeSocks5Server proxyServer = new FakeSocks5Server();
+		final ProxyBridgeLifecycle lifecycle = new ProxyBridgeLifecycle(proxyServer, 50);
+
+		send(lifecycle);
+		assertThat(proxyServer.isRunning()).isTrue();
+		waitUntil(() -> !proxyServer.isRunning());
+		assertStats(lifecycle.getStats(), 1, 1, false);
+
+		send(lifecycle);
+		assertThat(proxyServer.isRunning()).isTrue();
+		assertStats(lifecycle.getStats(), 2, 1, true);
+		waitUntil(() -> !proxyServer.isRunning());
+		assertStats(lifecycle.getStats(), 2, 2, false);
+	}
+
+	@Test
+	public void testStaysRunningWhenUsedAgainWithinIdleTimeout()
+			throws InterruptedException {
+		final FakeSocks5Server proxyServer = new FakeSocks5Server();
+		final ProxyBridgeLifecycle lifecycle = new ProxyBridgeLifecycle(proxyServer, 200);
+
+		send(lifecycle);
+		// registered before the scheduled stop runs, but finishes after it would have stopped the bridge
+		lifecycle.registerOperation();
+		lifecycle.startProxyServerIfNeeded();
+		Thread.sleep(400);
+		assertThat(proxyServer.isRunning()).isTrue();
+		lifecycle.operationFinished();
+
+		waitUntil(() -> !proxyServer.isRunning());
+		assertStats(lifecycle.getStats(), 1, 1, false);
+	}
+
+	@Test
+	public void testStaysRunningWhileOperationIsQueued()
+			throws InterruptedException {
+		final FakeSocks5Server proxyServer = new FakeSocks5Server();
+		final ProxyBridgeLifecycle lifecycle = new ProxyBridgeLifecycle(proxyServer, 0);
+
+		lifecycle.registerOperation(); // queued, not started yet
+		send(lifecycle);
+
+		assertThat(proxyServer.isRunning()).isTrue();
+		lifecycle.startProxyServerIfNeeded();
+		lifecycle.operationFinished();
+		assertStats(lifecycle.getStats(), 1, 1, false);
+	}
+
+	@Test
+	public void testSendsRacingTheIdleStopAlwaysFindTheBridgeRunning()
+			throws InterruptedException {
+		final FakeSocks5Server proxyServer = new FakeSocks5Server();
+		// without idle timeout the bridge is stopped as soon as the last send finishes, which races with sends starting on other threads
+		final ProxyBridgeLifecycle lifecycle = new ProxyBridgeLifecycle(proxyServer, 0);
+		final AtomicInteger sendsWithoutRunningBridge = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> senders = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			final Thread sender = new Thread(() -> {
+				awaitQuietly(start);
+				for (int j = 0; j < 2000; j++) {
+					lifecycle.registerOperation();
+					lifecycle.startProxyServerIfNeeded();
+					if (!proxyServer.isRunning()) {
+						sendsWithoutRunningBridge.incrementAndGet();
+					}
+					lifecycle.operationFinished();
+				}
+			});
+			senders.add(sender);
+			sender.start();
+		}
+		start.countDown();
+		for (final Thread sender : senders) {
+			sender.join(SECONDS.toMillis(30));
+		}
+
+		assertThat(sendsWithoutRunningBridge).hasValue(0);
+		final ProxyBridgeStats stats = lifecycle.getStats();
+		assertThat(stats.getActiveOperations()).isZero();
+		assertThat(stats.isRunning()).isFalse();
+		assertThat(stats.getStartCount()).isEqualTo(stats.getStopCount()).isEqualTo(proxyServer.startCount.get());
+	}
+
+	@Test
+	public void testWithoutProxyServer() {
+		final ProxyBridgeLifecycle lifecycle = new ProxyBridgeLifecycle(null, 0);
+
+		send(lifecycle);
+
+		assertStats(lifecycle.getStats(), 0, 0, false);
+	}
+
+	private static void send(final ProxyBridgeLifecycle lifecycle) {
+		lifecycle.registerOperation();
+		lifecycle.startProxyServerIfNeeded();
+		lifecycle.operationFinished();
+	}
+
+	private static void assertStats(final ProxyBridgeStats stats, final long startCount, final long stopCount, final boolean running) {
+		assertThat(stats.getStartCount()).isEqualTo(startCount);
+		assertThat(stats.getStopCount()).isEqualTo(stopCount);
+		assertThat(stats.isRunning()).isEqualTo(running);
+	}
+
+	private static void waitUntil(final BooleanSupplier condition)
+			throws InterruptedException {
+		final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	private static void awaitQuietly(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class FakeSocks5Server implements AnonymousSocks5Server {
+		final AtomicInteger startCount = new AtomicInteger();
+		private volatile boolean running;
+
+		@Override
+		public void start() {
+			assertThat(running).isFalse();
+			startCount.incrementAndGet();
+			running = true;
+		}
+
+		@Override
+		public void stop() {
+			running = false;
+		}
+
+		@Override
+		public boolean isStopping() {
+			return false;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return running;
+		}
+
+		@Override
+		public void run() {
+		}
+	}
+}
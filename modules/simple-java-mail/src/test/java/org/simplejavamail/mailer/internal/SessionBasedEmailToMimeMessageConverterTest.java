@@ -0,0 +1,109 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.mailer.MailerBuilder;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream.SizeLimitExceededException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SessionBasedEmailToMimeMessageConverterTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Test
+	public void testRenderEmailAcceptsExactlyTheMaximumSize()
+			throws MessagingException, IOException {
+		final MimeMessage message = message();
+		final byte[] expectedBytes = write(message);
+
+		final SizeLimitedOutputStream rendered = SessionBasedEmailToMimeMessageConverter.renderEmail(message, expectedBytes.length, true);
+
+		assertThat(rendered.getSize()).isEqualTo(expectedBytes.length);
+		assertThat(rendered.toByteArray()).isEqualTo(expectedBytes);
+		assertThatThrownBy(() -> SessionBasedEmailToMimeMessageConverter.renderEmail(message, expectedBytes.length - 1, true))
+				.isInstanceOf(EmailTooBigException.class)
+				.hasMessage("Email size exceeds maximum allowed size of %s bytes", expectedBytes.length - 1);
+	}
+
+	@Test
+	public void testMaximumEmailSizeWithoutOptionOnlyCounts() {
+		final MailerRegularBuilderImpl builder = MailerBuilder.withSMTPServer("localhost", 25).withMaximumEmailSize(1000, true);
+		assertThat(builder.isSendingSizeCheckedBytes()).isTrue();
+
+		builder.withMaximumEmailSize(2000);
+
+		assertThat(builder.getMaximumEmailSize()).isEqualTo(2000);
+		assertThat(builder.isSendingSizeCheckedBytes()).isFalse();
+	}
+
+	@Test
+	public void testRenderEmailOnlyCountsWithoutRetainingBytes()
+			throws MessagingException, IOException {
+		final MimeMessage message = message();
+		final byte[] expectedBytes = write(message);
+
+		final SizeLimitedOutputStream rendered = SessionBasedEmailToMimeMessageConverter.renderEmail(message, Long.MAX_VALUE, false);
+
+		assertThat(rendered.getSize()).isEqualTo(expectedBytes.length);
+		assertThatThrownBy(rendered::toByteArray).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> SessionBasedEmailToMimeMessageConverter.renderEmail(message, expectedBytes.length - 1, false))
+				.isInstanceOf(EmailTooBigException.class);
+	}
+
+	@Test
+	public void testRenderEmailUnwrapsSizeLimitExceededFromMessagingException() {
+		// Jakarta Mail wraps IOExceptions of nested body parts in a MessagingException
+		final MimeMessage message = new MimeMessage(SESSION) {
+			@Override
+			public void writeTo(final OutputStream os)
+					throws MessagingException {
+				throw new MessagingException("failed writing body part", new SizeLimitExceededException());
+			}
+		};
+
+		assertThatThrownBy(() -> SessionBasedEmailToMimeMessageConverter.renderEmail(message, 100, true))
+				.isInstanceOf(EmailTooBigException.class)
+				.hasMessage("Email size exceeds maximum allowed size of 100 bytes");
+	}
+
+	@Test
+	public void testRenderEmailRethrowsOtherMessagingExceptions() {
+		final MessagingException failure = new MessagingException("failed for another reason", new IOException("disk on fire"));
+		final MimeMessage message = new MimeMessage(SESSION) {
+			@Override
+			public void writeTo(final OutputStream os)
+					throws MessagingException {
+				throw failure;
+			}
+		};
+
+		assertThatThrownBy(() -> SessionBasedEmailToMimeMessageConverter.renderEmail(message, 100, true)).isSameAs(failure);
+	}
+
+	private static MimeMessage message()
+			throws MessagingException {
+		final MimeMessage message = new MimeMessage(SESSION);
+		message.setSubject("subject");
+		message.setText("some text that takes up a couple of bytes");
+		message.saveChanges();
+		return message;
+	}
+
+	private static byte[] write(final MimeMessage message)
+			throws MessagingException, IOException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		message.writeTo(os);
+		return os.toByteArray();
+	}
+}
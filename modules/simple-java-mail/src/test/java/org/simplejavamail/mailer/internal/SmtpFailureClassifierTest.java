@@ -0,0 +1,85 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.util.MailConnectException;
+import org.eclipse.angus.mail.util.SocketConnectException;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.EmailTooBigException;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SmtpFailureClassifierTest {
+
+	@Test
+	public void testReplyCodes() {
+		assertThat(SmtpFailureClassifier.isTransient(sendFailed(421))).isTrue();
+		assertThat(SmtpFailureClassifier.isTransient(sendFailed(452))).isTrue();
+		assertThat(SmtpFailureClassifier.isTransient(sendFailed(550))).isFalse();
+		assertThat(SmtpFailureClassifier.isTransient(new MessagingException("Got bad greeting from SMTP host: localhost, port: 25, response: 421"))).isTrue();
+		assertThat(SmtpFailureClassifier.isTransient(new MessagingException("Got bad greeting from SMTP host: localhost, port: 25, response: 554"))).isFalse();
+	}
+
+	@Test
+	public void testWrappedFailures() {
+		assertThat(SmtpFailureClassifier.isTransient(new MailerException("Failed to send email", sendFailed(450)))).isTrue();
+		assertThat(SmtpFailureClassifier.isTransient(new MailerException("Failed to send email", sendFailed(554)))).isFalse();
+	}
+
+	@Test
+	public void testRecipientFailures()
+			throws AddressException {
+		final SendFailedException onlyTransient = new SendFailedException("Invalid Addresses");
+		onlyTransient.setNextException(addressFailed("a@example.com", 450));
+		assertThat(SmtpFailureClassifier.isTransient(onlyTransient)).isTrue();
+
+		final SendFailedException alsoPermanent = new SendFailedException("Invalid Addresses");
+		final SMTPAddressFailedException transientFailure = addressFailed("a@example.com", 450);
+		transientFailure.setNextException(addressFailed("b@example.com", 550));
+		alsoPermanent.setNextException(transientFailure);
+		assertThat(SmtpFailureClassifier.isTransient(alsoPermanent)).isFalse();
+	}
+
+	@Test
+	public void testPartiallySentFailures()
+			throws AddressException {
+		final InternetAddress[] sent = { new InternetAddress("sent@example.com") };
+		final InternetAddress[] unsent = { new InternetAddress("unsent@example.com") };
+		assertThat(SmtpFailureClassifier.isTransient(new SMTPSendFailedException("DATA", 451, "451 failed", null, sent, unsent, null))).isFalse();
+		assertThat(SmtpFailureClassifier.isTransient(new SMTPSendFailedException("DATA", 451, "451 failed", null, null, unsent, null))).isTrue();
+
+		final SendFailedException partiallySent = new SendFailedException("Invalid Addresses", null, sent, unsent, null);
+		partiallySent.setNextException(addressFailed("unsent@example.com", 450));
+		assertThat(SmtpFailureClassifier.isTransient(new MailerException("Failed to send email", partiallySent))).isFalse();
+	}
+
+	@Test
+	public void testConnectionFailures() {
+		assertThat(SmtpFailureClassifier.isTransient(new MailConnectException(new SocketConnectException("refused", new ConnectException(), "localhost", 25, 1000)))).isTrue();
+		assertThat(SmtpFailureClassifier.isTransient(new MessagingException("Exception reading response", new SocketException("Connection reset")))).isTrue();
+	}
+
+	@Test
+	public void testPermanentFailures() {
+		assertThat(SmtpFailureClassifier.isTransient(new AuthenticationFailedException("535 authentication failed"))).isFalse();
+		assertThat(SmtpFailureClassifier.isTransient(new EmailTooBigException(2000, 1000))).isFalse();
+		assertThat(SmtpFailureClassifier.isTransient(new IllegalStateException("unexpected"))).isFalse();
+	}
+
+	private static SMTPSendFailedException sendFailed(final int replyCode) {
+		return new SMTPSendFailedException("DATA", replyCode, replyCode + " failed", null, null, null, null);
+	}
+
+	private static SMTPAddressFailedException addressFailed(final String address, final int replyCode)
+			throws AddressException {
+		return new SMTPAddressFailedException(new InternetAddress(address), "RCPT TO", replyCode, replyCode + " failed");
+	}
+}
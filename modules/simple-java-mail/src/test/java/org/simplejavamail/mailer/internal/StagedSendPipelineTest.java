@@ -0,0 +1,283 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.MessagingException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.SendPipelineStageStats;
+import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.StubTransport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StagedSendPipelineTest {
+
+	private static final int MAXIMUM_EMAIL_SIZE = 5000;
+
+	private Mailer mailer;
+	private HeldTransportExecutor transportExecutor;
+	private StagedSendPipeline pipeline;
+
+	@BeforeEach
+	public void setup()
+			throws MessagingException {
+		StubTransport.reset();
+		// a single crypto thread and room for a single email in each queue, so both stages are easily filled up
+		mailer = MailerBuilder.withSMTPServer("localhost", 25)
+				.withTransportStrategy(TransportStrategy.SMTP)
+				.withStagedSendPipeline(1, 1)
+				.withMaximumEmailSize(MAXIMUM_EMAIL_SIZE)
+				.buildMailer();
+		StubTransport.install(mailer.getSession());
+		transportExecutor = new HeldTransportExecutor();
+		pipeline = new StagedSendPipeline(mailer.getOperationalConfig(), mailer.getSession(), new ProxyBridgeLifecycle(null, 0),
+				new TransientFailureRetrier(mailer.getOperationalConfig()), transportExecutor);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		pipeline.shutdown();
+		mailer.shutdownConnectionPool();
+	}
+
+	@Test
+	public void testSendsThroughBothStages()
+			throws Exception {
+		final List<CompletableFuture<Void>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			results.add(pipeline.submit(pipeline.newSend(email("email " + i))));
+		}
+		for (int i = 0; i < 3; i++) {
+			transportExecutor.runNextAttempt();
+		}
+
+		for (final CompletableFuture<Void> result : results) {
+			result.get(10, SECONDS);
+		}
+		assertThat(sentSubjects()).containsExactly("email 0", "email 1", "email 2");
+		assertStageStats(pipeline.getStats().getCryptoStage(), 0, 0, 3);
+		assertStageStats(pipeline.getStats().getTransportStage(), 0, 0, 3);
+		assertThat(transportExecutor.handingOffThreads).isNotEmpty().allSatisfy(thread -> {
+			assertThat(thread.getName()).startsWith("Simple Java Mail crypto stage ");
+			assertThat(thread.isDaemon()).isFalse();
+		});
+	}
+
+	@Test
+	public void testSubmitterWaitsWhenCryptoQueueIsFull()
+			throws Exception {
+		final List<CompletableFuture<Void>> results = new ArrayList<>();
+		// email 0 waits in the transport queue, email 1 in the crypto thread for room in the transport queue, and email 2 in the crypto queue
+		for (int i = 0; i < 3; i++) {
+			results.add(pipeline.submit(pipeline.newSend(email("email " + i))));
+		}
+		awaitCondition(() -> transportExecutor.heldAttempts.size() == 1 && pipeline.getStats().getCryptoStage().getCompletedCount() == 2);
+		assertStageStats(pipeline.getStats().getCryptoStage(), 1, 0, 2);
+		assertStageStats(pipeline.getStats().getTransportStage(), 1, 0, 0);
+
+		final CompletableFuture<CompletableFuture<Void>> waitingSubmit = CompletableFuture.supplyAsync(() -> pipeline.submit(pipeline.newSend(email("email 3"))));
+		Thread.sleep(100);
+		assertThat(waitingSubmit).isNotDone();
+
+		transportExecutor.runNextAttempt();
+		results.add(waitingSubmit.get(10, SECONDS));
+		for (int i = 0; i < 3; i++) {
+			transportExecutor.runNextAttempt();
+		}
+
+		for (final CompletableFuture<Void> result : results) {
+			result.get(10, SECONDS);
+		}
+		assertThat(sentSubjects()).containsExactly("email 0", "email 1", "email 2", "email 3");
+		assertStageStats(pipeline.getStats().getCryptoStage(), 0, 0, 4);
+		assertStageStats(pipeline.getStats().getTransportStage(), 0, 0, 4);
+	}
+
+	@Test
+	public void testCryptoStageFailureFailsResult()
+			throws Exception {
+		final CompletableFuture<Void> tooBig = pipeline.submit(pipeline.newSend(EmailBuilder.copying(email("too big"))
+				.withPlainText("too big ".repeat(MAXIMUM_EMAIL_SIZE))
+				.buildEmail()));
+
+		assertThatThrownBy(() -> tooBig.get(10, SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(MailerException.class)
+				.hasRootCauseInstanceOf(EmailTooBigException.class);
+		assertThat(transportExecutor.handingOffThreads).isEmpty();
+
+		final CompletableFuture<Void> next = pipeline.submit(pipeline.newSend(email("next")));
+		transportExecutor.runNextAttempt();
+		next.get(10, SECONDS);
+		assertThat(sentSubjects()).containsExactly("next");
+		assertStageStats(pipeline.getStats().getCryptoStage(), 0, 0, 2);
+		assertStageStats(pipeline.getStats().getTransportStage(), 0, 0, 1);
+	}
+
+	@Test
+	public void testTransportStageFailureFailsResult()
+			throws Exception {
+		StubTransport.failWhenSending("failing", false);
+
+		final CompletableFuture<Void> failing = pipeline.submit(pipeline.newSend(email("failing")));
+		transportExecutor.runNextAttempt();
+
+		assertThatThrownBy(() -> failing.get(10, SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(MailerException.class)
+				.hasRootCauseMessage("failed sending failing");
+
+		final CompletableFuture<Void> next = pipeline.submit(pipeline.newSend(email("next")));
+		transportExecutor.runNextAttempt();
+		next.get(10, SECONDS);
+		assertThat(sentSubjects()).containsExactly("next");
+		assertStageStats(pipeline.getStats().getTransportStage(), 0, 0, 2);
+	}
+
+	@Test
+	public void testReleasesTransportQueueSlotWhenTransportNeverStarts()
+			throws Exception {
+		transportExecutor.rejecting = true;
+
+		final CompletableFuture<Void> rejected = pipeline.submit(pipeline.newSend(email("rejected")));
+
+		assertThatThrownBy(() -> rejected.get(10, SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(RejectedExecutionException.class);
+		assertStageStats(pipeline.getStats().getTransportStage(), 0, 0, 0);
+
+		// with room for a single email in the transport queue, this only reaches the transport stage if the slot was released
+		transportExecutor.rejecting = false;
+		final CompletableFuture<Void> next = pipeline.submit(pipeline.newSend(email("next")));
+		transportExecutor.runNextAttempt();
+		next.get(10, SECONDS);
+		assertThat(sentSubjects()).containsExactly("next");
+	}
+
+	@Test
+	public void testShutdownStillSendsQueuedEmails()
+			throws Exception {
+		final List<CompletableFuture<Void>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			results.add(pipeline.submit(pipeline.newSend(email("email " + i))));
+		}
+		awaitCondition(() -> transportExecutor.heldAttempts.size() == 1 && pipeline.getStats().getCryptoStage().getCompletedCount() == 2);
+
+		pipeline.shutdown();
+
+		assertThatThrownBy(() -> pipeline.submit(pipeline.newSend(email("too late"))))
+				.isInstanceOf(RejectedExecutionException.class)
+				.hasMessage("send pipeline was shut down");
+		assertStageStats(pipeline.getStats().getCryptoStage(), 1, 0, 2);
+
+		for (int i = 0; i < 3; i++) {
+			transportExecutor.runNextAttempt();
+		}
+		for (final CompletableFuture<Void> result : results) {
+			result.get(10, SECONDS);
+		}
+		assertThat(sentSubjects()).containsExactly("email 0", "email 1", "email 2");
+	}
+
+	@Test
+	public void testRejectsInvalidPipelineSizes() {
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withStagedSendPipeline(0, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("cryptoThreadPoolSize should be at least 1, but was 0");
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withStagedSendPipeline(1, -1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("stageQueueCapacity should be at least 1, but was -1");
+	}
+
+	@NotNull
+	private static Email email(@NotNull final String subject) {
+		return EmailBuilder.startingBlank()
+				.from("sender@domain.com")
+				.to("receiver@domain.com")
+				.withSubject(subject)
+				.withPlainText("text")
+				.buildEmail();
+	}
+
+	@NotNull
+	private static List<String> sentSubjects()
+			throws MessagingException {
+		final List<String> subjects = new ArrayList<>();
+		for (final StubTransport transport : StubTransport.getInstances()) {
+			for (final StubTransport.SentMessage sentMessage : transport.getSentMessages()) {
+				subjects.add(sentMessage.getSubject());
+			}
+		}
+		return subjects;
+	}
+
+	private static void assertStageStats(@NotNull final SendPipelineStageStats stats, final int queueDepth, final int activeCount, final long completedCount) {
+		assertThat(stats.getQueueDepth()).as("queue depth").isEqualTo(queueDepth);
+		assertThat(stats.getActiveCount()).as("active count").isEqualTo(activeCount);
+		assertThat(stats.getCompletedCount()).as("completed count").isEqualTo(completedCount);
+	}
+
+	private static void awaitCondition(@NotNull final BooleanSupplier condition)
+			throws InterruptedException {
+		final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime() - deadline).as("condition not met in time").isNegative();
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Holds the transport attempts until the test runs them, so the transport stage only makes progress when the test says so.
+	 */
+	private static class HeldTransportExecutor implements Function<Runnable, CompletableFuture<Void>> {
+
+		private final BlockingQueue<Runnable> heldAttempts = new LinkedBlockingQueue<>();
+		private final Set<Thread> handingOffThreads = ConcurrentHashMap.newKeySet();
+		private volatile boolean rejecting;
+
+		@Override
+		public CompletableFuture<Void> apply(final Runnable attempt) {
+			handingOffThreads.add(Thread.currentThread());
+			if (rejecting) {
+				return CompletableFuture.failedFuture(new RejectedExecutionException("executor service was shut down"));
+			}
+			final CompletableFuture<Void> attemptFuture = new CompletableFuture<>();
+			heldAttempts.add(() -> {
+				try {
+					attempt.run();
+					attemptFuture.complete(null);
+				} catch (final RuntimeException e) {
+					attemptFuture.completeExceptionally(e);
+				}
+			});
+			return attemptFuture;
+		}
+
+		void runNextAttempt()
+				throws InterruptedException {
+			final Runnable attempt = heldAttempts.poll(10, SECONDS);
+			assertThat(attempt).as("transport attempt").isNotNull();
+			attempt.run();
+		}
+	}
+}
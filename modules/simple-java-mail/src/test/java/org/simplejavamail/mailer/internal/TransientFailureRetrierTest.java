@@ -0,0 +1,140 @@
+package org.simplejavamail.mailer.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.mailer.MailerBuilder;
+
+import java.net.SocketException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransientFailureRetrierTest {
+
+	@Test
+	public void testRetriesTransientFailureUntilSuccess()
+			throws Exception {
+		final FailingExecutor executor = new FailingExecutor(2, FailingExecutor::transientFailure);
+
+		retrier(3, 1, 10).executeWithRetries(executor.attempt(), executor::attempt, executor).get(10, SECONDS);
+
+		assertThat(executor.attempts).hasValue(3);
+	}
+
+	@Test
+	public void testDoesNotRetryPermanentFailure() {
+		final FailingExecutor executor = new FailingExecutor(1, attempt -> new IllegalStateException("permanent failure " + attempt));
+
+		final CompletableFuture<Void> result = retrier(3, 1, 10).executeWithRetries(executor.attempt(), executor::attempt, executor);
+
+		assertThatThrownBy(() -> result.get(10, SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("permanent failure 1");
+		assertThat(executor.attempts).hasValue(1);
+	}
+
+	@Test
+	public void testGivesUpAfterMaximumRetries() {
+		final FailingExecutor executor = new FailingExecutor(Integer.MAX_VALUE, FailingExecutor::transientFailure);
+
+		final CompletableFuture<Void> result = retrier(2, 1, 10).executeWithRetries(executor.attempt(), executor::attempt, executor);
+
+		assertThatThrownBy(() -> result.get(10, SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasMessageContaining("transient failure 3")
+				.satisfies(e -> assertThat(e.getCause().getSuppressed())
+						.extracting(Throwable::getMessage)
+						.containsExactly("transient failure 1", "transient failure 2"));
+		assertThat(executor.attempts).hasValue(3);
+	}
+
+	@Test
+	public void testWithoutRetriesOnlyTheFirstAttemptIsExecuted() {
+		final FailingExecutor executor = new FailingExecutor(Integer.MAX_VALUE, FailingExecutor::transientFailure);
+
+		final CompletableFuture<Void> result = retrier(0, 1, 10).executeWithRetries(executor.attempt(), executor::attempt, executor);
+
+		assertThatThrownBy(() -> result.get(10, SECONDS)).hasMessageContaining("transient failure 1");
+		assertThat(executor.attempts).hasValue(1);
+	}
+
+	@Test
+	public void testBackoffGrowsExponentiallyWithJitterUpToMaximum() {
+		final TransientFailureRetrier retrier = retrier(10, 100, 1000);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(retrier.determineBackoffMillis(1)).isBetween(50L, 100L);
+			assertThat(retrier.determineBackoffMillis(2)).isBetween(100L, 200L);
+			assertThat(retrier.determineBackoffMillis(3)).isBetween(200L, 400L);
+			assertThat(retrier.determineBackoffMillis(5)).isBetween(500L, 1000L);
+			assertThat(retrier.determineBackoffMillis(40)).isBetween(500L, 1000L);
+		}
+	}
+
+	@Test
+	public void testBuilderRejectsNegativeArguments() {
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withTransientFailureRetries(-1, 100, 1000))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maxRetries should not be negative, but was -1");
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withTransientFailureRetries(3, -100, 1000))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("initialBackoffMillis should not be negative, but was -100");
+		assertThatThrownBy(() -> MailerBuilder.withSMTPServer("localhost", 25).withTransientFailureRetries(3, 100, -1000))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("maxBackoffMillis should not be negative, but was -1000");
+	}
+
+	@NotNull
+	private static TransientFailureRetrier retrier(final int maxRetries, final int initialBackoffMillis, final int maxBackoffMillis) {
+		final Mailer mailer = MailerBuilder.withSMTPServer("localhost", 25)
+				.withTransientFailureRetries(maxRetries, initialBackoffMillis, maxBackoffMillis)
+				.buildMailer();
+		try {
+			return new TransientFailureRetrier(mailer.getOperationalConfig());
+		} finally {
+			mailer.shutdownConnectionPool();
+		}
+	}
+
+	/**
+	 * Fails the given number of attempts with the given failure, and succeeds after that.
+	 */
+	private static class FailingExecutor implements Function<Runnable, CompletableFuture<Void>> {
+
+		private final AtomicInteger attempts = new AtomicInteger();
+		private final int failingAttempts;
+		private final Function<Integer, RuntimeException> failureFactory;
+
+		private FailingExecutor(final int failingAttempts, @NotNull final Function<Integer, RuntimeException> failureFactory) {
+			this.failingAttempts = failingAttempts;
+			this.failureFactory = failureFactory;
+		}
+
+		@NotNull
+		Runnable attempt() {
+			return () -> {
+				final int attempt = attempts.incrementAndGet();
+				if (attempt <= failingAttempts) {
+					throw failureFactory.apply(attempt);
+				}
+			};
+		}
+
+		@Override
+		public CompletableFuture<Void> apply(@NotNull final Runnable attempt) {
+			return CompletableFuture.runAsync(attempt);
+		}
+
+		@NotNull
+		private static RuntimeException transientFailure(final int attempt) {
+			return new MailerException("transient failure " + attempt, new SocketException("Connection reset"));
+		}
+	}
+}
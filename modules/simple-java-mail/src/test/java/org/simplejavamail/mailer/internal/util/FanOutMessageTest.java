@@ -0,0 +1,74 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.PreparedMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FanOutMessageTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Test
+	public void testReplacesOnlyToHeaderAndMessageId()
+			throws MessagingException, IOException {
+		final FanOutMessage message = new FanOutMessage(SESSION, fanOutTemplate(), new InternetAddress("recipient@domain.com"));
+
+		assertThat(message.getHeader("To", null)).isEqualTo("recipient@domain.com");
+		assertThat(message.getMessageID()).isNotEmpty().isNotEqualTo("<template@domain.com>");
+		assertThat(message.getSubject()).isEqualTo("fan-out");
+		assertThat(message.getEnvelopeFrom()).isEqualTo("bounce@domain.com");
+
+		final String written = write(message);
+		assertThat(written).contains("From: sender@domain.com\r\n", "Subject: fan-out\r\n", "To: recipient@domain.com\r\n");
+		assertThat(written).doesNotContain("template@domain.com");
+		assertThat(written).endsWith("\r\n\r\nshared body\r\n");
+	}
+
+	@Test
+	public void testEveryCopyGetsItsOwnMessageId()
+			throws MessagingException {
+		final PreparedMessage template = fanOutTemplate();
+
+		final FanOutMessage first = new FanOutMessage(SESSION, template, new InternetAddress("first@domain.com"));
+		final FanOutMessage second = new FanOutMessage(SESSION, template, new InternetAddress("second@domain.com"));
+
+		assertThat(first.getMessageID()).isNotEqualTo(second.getMessageID());
+	}
+
+	/**
+	 * A rendered message as {@link TransportRunner#sendFanOut} receives it, sent to {@code template@domain.com}.
+	 */
+	@NotNull
+	static PreparedMessage fanOutTemplate() {
+		final String renderedMessage = "From: sender@domain.com\r\n"
+				+ "To: template@domain.com\r\n"
+				+ "Message-ID: <template@domain.com>\r\n"
+				+ "Subject: fan-out\r\n"
+				+ "MIME-Version: 1.0\r\n"
+				+ "Content-Type: text/plain; charset=us-ascii\r\n"
+				+ "Content-Transfer-Encoding: 7bit\r\n"
+				+ "\r\n"
+				+ "shared body\r\n";
+		return new PreparedMessage("<template@domain.com>", "fan-out", renderedMessage.getBytes(ISO_8859_1),
+				singletonList("template@domain.com"), "bounce@domain.com");
+	}
+
+	@NotNull
+	private static String write(@NotNull final FanOutMessage message)
+			throws MessagingException, IOException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		message.writeTo(os);
+		return os.toString(ISO_8859_1);
+	}
+}
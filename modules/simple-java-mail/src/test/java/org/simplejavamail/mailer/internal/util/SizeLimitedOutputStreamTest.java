@@ -0,0 +1,53 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.mailer.internal.util.SizeLimitedOutputStream.SizeLimitExceededException;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SizeLimitedOutputStreamTest {
+
+	@Test
+	public void testAcceptsExactlyTheMaximumSize()
+			throws IOException {
+		final SizeLimitedOutputStream os = new SizeLimitedOutputStream(10, true);
+
+		os.write("0123456".getBytes(UTF_8));
+		os.write('7');
+		os.write("89".getBytes(UTF_8), 0, 2);
+
+		assertThat(os.getSize()).isEqualTo(10);
+		assertThat(new String(os.toByteArray(), UTF_8)).isEqualTo("0123456789");
+		assertThat(os.toSharedInputStream()).hasContent("0123456789");
+	}
+
+	@Test
+	public void testFailsOnTheFirstByteOverTheMaximumSize()
+			throws IOException {
+		final SizeLimitedOutputStream os = new SizeLimitedOutputStream(10, true);
+		os.write("0123456789".getBytes(UTF_8));
+
+		assertThatThrownBy(() -> os.write('X')).isInstanceOf(SizeLimitExceededException.class);
+		assertThatThrownBy(() -> new SizeLimitedOutputStream(10, true).write("01234567890".getBytes(UTF_8), 0, 11))
+				.isInstanceOf(SizeLimitExceededException.class);
+	}
+
+	@Test
+	public void testOnlyCountsWithoutRetainingBytes()
+			throws IOException {
+		final SizeLimitedOutputStream os = new SizeLimitedOutputStream(Long.MAX_VALUE, false);
+
+		os.write(new byte[1000]);
+		os.write('X');
+
+		assertThat(os.getSize()).isEqualTo(1001);
+		assertThatThrownBy(os::toByteArray)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("bytes were only counted, not retained");
+		assertThatThrownBy(os::toSharedInputStream).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,193 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.StubTransport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SmtpConnectionPoolTest {
+
+	private Session session;
+
+	@BeforeEach
+	public void setup()
+			throws MessagingException {
+		StubTransport.reset();
+		session = StubTransport.newSession();
+	}
+
+	@Test
+	public void testOnlyPrimedWhenEnabled() {
+		final Mailer defaultMailer = MailerBuilder.withSMTPServer("localhost", 25).buildMailer();
+		final Mailer pooledMailer = MailerBuilder.withSMTPServer("localhost", 25).withBuiltInConnectionPool(true).buildMailer();
+		try {
+			assertThat(SmtpConnectionPool.fromSession(defaultMailer.getSession())).isNull();
+			assertThat(SmtpConnectionPool.fromSession(pooledMailer.getSession())).isNotNull();
+		} finally {
+			defaultMailer.shutdownConnectionPool();
+			pooledMailer.shutdownConnectionPool();
+		}
+	}
+
+	@Test
+	public void testReusesReleasedConnection()
+			throws MessagingException {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 2, 0, 0);
+
+		final LifecycleDelegatingTransport first = pool.claim();
+		first.signalTransportUsed();
+		final LifecycleDelegatingTransport second = pool.claim();
+
+		assertThat(second.getTransport()).isSameAs(first.getTransport());
+		assertThat(second.getSessionUsedToObtainTransport()).isSameAs(session);
+		assertThat(StubTransport.getInstances()).hasSize(1);
+		assertThat(second.getTransport().isConnected()).isTrue();
+	}
+
+	@Test
+	public void testReconnectsIdleConnectionClosedByServer()
+			throws MessagingException {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 1, 0, 0);
+		final LifecycleDelegatingTransport first = pool.claim();
+		first.signalTransportUsed();
+		first.getTransport().close();
+
+		final LifecycleDelegatingTransport second = pool.claim();
+
+		assertThat(second.getTransport()).isSameAs(first.getTransport());
+		assertThat(second.getTransport().isConnected()).isTrue();
+	}
+
+	@Test
+	public void testClaimTimesOutWhenPoolIsExhausted()
+			throws MessagingException {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 2, 100, 0);
+		pool.claim();
+		pool.claim();
+
+		assertThatThrownBy(pool::claim)
+				.isInstanceOf(MessagingException.class)
+				.hasMessage("Timed out after 100ms waiting for an SMTP connection from the pool");
+		assertThat(StubTransport.getInstances()).hasSize(2);
+	}
+
+	@Test
+	public void testClaimWaitsForReleasedConnection()
+			throws Exception {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 1, 0, 0);
+		final LifecycleDelegatingTransport first = pool.claim();
+
+		final CompletableFuture<Transport> waitingClaim = CompletableFuture.supplyAsync(() -> claimQuietly(pool).getTransport());
+		Thread.sleep(100);
+		assertThat(waitingClaim).isNotDone();
+		first.signalTransportUsed();
+
+		assertThat(waitingClaim.get(10, SECONDS)).isSameAs(first.getTransport());
+		assertThat(StubTransport.getInstances()).hasSize(1);
+	}
+
+	@Test
+	public void testExpiresLeastRecentlyUsedIdleConnectionsAboveCoreSize()
+			throws MessagingException {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 1, 3, 0, 50);
+		final LifecycleDelegatingTransport first = pool.claim();
+		final LifecycleDelegatingTransport second = pool.claim();
+		first.signalTransportUsed();
+		second.signalTransportUsed();
+
+		awaitCondition(() -> ((StubTransport) first.getTransport()).isClosed());
+
+		assertThat(((StubTransport) second.getTransport()).isClosed()).isFalse();
+		assertThat(pool.claim().getTransport()).isSameAs(second.getTransport());
+	}
+
+	@Test
+	public void testEvictsFailedConnection()
+			throws MessagingException {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 1, 100, 0);
+		final LifecycleDelegatingTransport failed = pool.claim();
+
+		failed.signalTransportFailed();
+		final LifecycleDelegatingTransport next = pool.claim();
+
+		assertThat(((StubTransport) failed.getTransport()).isClosed()).isTrue();
+		assertThat(next.getTransport()).isNotSameAs(failed.getTransport());
+		assertThat(StubTransport.getInstances()).hasSize(2);
+	}
+
+	@Test
+	public void testReleasesSlotWhenConnectingFails()
+			throws MessagingException {
+		StubTransport.refuseConnectionsAfter(0);
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 1, 100, 0);
+
+		assertThatThrownBy(pool::claim).hasMessage("connection refused");
+		// the slot of the failed connection is available again, so this fails connecting rather than timing out
+		assertThatThrownBy(pool::claim).hasMessage("connection refused");
+	}
+
+	@Test
+	public void testShutdownClosesConnectionsOnceReleased()
+			throws Exception {
+		final SmtpConnectionPool pool = new SmtpConnectionPool(session, 0, 2, 0, 0);
+		final LifecycleDelegatingTransport idle = pool.claim();
+		final LifecycleDelegatingTransport inUse = pool.claim();
+		idle.signalTransportUsed();
+
+		final Future<?> shutdownFuture = pool.shutdown();
+
+		assertThat(((StubTransport) idle.getTransport()).isClosed()).isTrue();
+		assertThat(((StubTransport) inUse.getTransport()).isClosed()).isFalse();
+		assertThat(shutdownFuture).isNotDone();
+		assertThatThrownBy(pool::claim)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("SMTP connection pool has been shut down");
+
+		inUse.signalTransportUsed();
+
+		assertThat(((StubTransport) inUse.getTransport()).isClosed()).isTrue();
+		shutdownFuture.get(10, SECONDS);
+	}
+
+	@Test
+	public void testShutdownWithoutPool() {
+		assertThat(SmtpConnectionPool.shutdownConnectionPool(session)).isDone();
+	}
+
+	@NotNull
+	private static LifecycleDelegatingTransport claimQuietly(@NotNull final SmtpConnectionPool pool) {
+		try {
+			return pool.claim();
+		} catch (final MessagingException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private static void awaitCondition(@NotNull final BooleanSupplier condition) {
+		final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime() - deadline).as("condition not met in time").isNegative();
+			try {
+				Thread.sleep(10);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
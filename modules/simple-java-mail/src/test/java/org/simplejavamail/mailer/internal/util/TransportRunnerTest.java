@@ -0,0 +1,210 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testutil.StubTransport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransportRunnerTest {
+
+	private static final UUID CLUSTER_KEY = UUID.randomUUID();
+
+	private Session session;
+	private final List<Integer> reportedIndexes = new ArrayList<>();
+	private final List<Exception> reportedFailures = new ArrayList<>();
+
+	@BeforeEach
+	public void setup()
+			throws MessagingException {
+		StubTransport.reset();
+		session = StubTransport.newSession();
+	}
+
+	@Test
+	public void testSendsAllEmailsOverOneConnection()
+			throws MessagingException {
+		TransportRunner.sendEach(CLUSTER_KEY, session, 4, TransportRunnerTest::sendEmail, this::handleResult);
+
+		assertThat(reportedIndexes).containsExactly(0, 1, 2, 3);
+		assertThat(reportedFailures).containsOnlyNulls();
+		assertThat(StubTransport.getInstances()).hasSize(1);
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(0))).containsExactly("email 0", "email 1", "email 2", "email 3");
+		assertThat(StubTransport.getInstances().get(0).isClosed()).isTrue();
+	}
+
+	@Test
+	public void testFailureWithoutLosingConnectionContinuesOnSameConnection()
+			throws MessagingException {
+		StubTransport.failWhenSending("email 1", false);
+
+		TransportRunner.sendEach(CLUSTER_KEY, session, 4, TransportRunnerTest::sendEmail, this::handleResult);
+
+		assertThat(reportedIndexes).containsExactly(0, 1, 2, 3);
+		assertThat(reportedFailures.get(1)).hasMessage("failed sending email 1");
+		assertThat(reportedFailures).filteredOn(failure -> failure != null).hasSize(1);
+		assertThat(StubTransport.getInstances()).hasSize(1);
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(0))).containsExactly("email 0", "email 2", "email 3");
+	}
+
+	@Test
+	public void testReconnectsForRemainingEmailsWhenConnectionIsLost()
+			throws MessagingException {
+		StubTransport.failWhenSending("email 2", true);
+
+		TransportRunner.sendEach(CLUSTER_KEY, session, 6, TransportRunnerTest::sendEmail, this::handleResult);
+
+		assertThat(reportedIndexes).containsExactly(0, 1, 2, 3, 4, 5);
+		assertThat(reportedFailures.get(2)).hasMessage("failed sending email 2");
+		assertThat(reportedFailures).filteredOn(failure -> failure != null).hasSize(1);
+		assertThat(StubTransport.getInstances()).hasSize(2);
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(0))).containsExactly("email 0", "email 1");
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(1))).containsExactly("email 3", "email 4", "email 5");
+		assertThat(StubTransport.getInstances()).allMatch(StubTransport::isClosed);
+	}
+
+	@Test
+	public void testReconnectsAgainForEveryLostConnection()
+			throws MessagingException {
+		StubTransport.failWhenSending("email 0", true);
+		StubTransport.failWhenSending("email 1", true);
+		StubTransport.failWhenSending("email 3", true);
+
+		TransportRunner.sendEach(CLUSTER_KEY, session, 5, TransportRunnerTest::sendEmail, this::handleResult);
+
+		assertThat(reportedIndexes).containsExactly(0, 1, 2, 3, 4);
+		assertThat(StubTransport.getInstances()).hasSize(4);
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(2))).containsExactly("email 2");
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(3))).containsExactly("email 4");
+	}
+
+	@Test
+	public void testReconnectFailureIsThrown() {
+		StubTransport.failWhenSending("email 2", true);
+		StubTransport.refuseConnectionsAfter(1);
+
+		assertThatThrownBy(() -> TransportRunner.sendEach(CLUSTER_KEY, session, 6, TransportRunnerTest::sendEmail, this::handleResult))
+				.isInstanceOf(MessagingException.class)
+				.hasMessage("connection refused");
+
+		// the remaining emails are not reported, as they weren't processed
+		assertThat(reportedIndexes).containsExactly(0, 1, 2);
+		assertThat(subjectsSentOver(StubTransport.getInstances().get(0))).containsExactly("email 0", "email 1");
+	}
+
+	@Test
+	public void testInitialConnectFailureIsThrown() {
+		StubTransport.refuseConnectionsAfter(0);
+
+		assertThatThrownBy(() -> TransportRunner.sendEach(CLUSTER_KEY, session, 2, TransportRunnerTest::sendEmail, this::handleResult))
+				.isInstanceOf(MessagingException.class)
+				.hasMessage("connection refused");
+		assertThat(reportedIndexes).isEmpty();
+	}
+
+	@Test
+	public void testFanOutSendsCopyToEachRecipientOverOneConnection()
+			throws MessagingException {
+		TransportRunner.sendFanOut(CLUSTER_KEY, session, FanOutMessageTest.fanOutTemplate(), recipients("r0", "r1", "r2"), false, this::handleResult);
+
+		assertThat(reportedIndexes).containsExactly(0, 1, 2);
+		assertThat(reportedFailures).containsOnlyNulls();
+		assertThat(StubTransport.getInstances()).hasSize(1);
+		final List<StubTransport.SentMessage> sentMessages = StubTransport.getInstances().get(0).getSentMessages();
+		assertThat(headersOf(sentMessages, "To")).containsExactly("r0@domain.com", "r1@domain.com", "r2@domain.com");
+		assertThat(envelopesOf(sentMessages)).containsExactly("[r0@domain.com]", "[r1@domain.com]", "[r2@domain.com]");
+		assertThat(headersOf(sentMessages, "Message-ID")).doesNotHaveDuplicates().doesNotContain("<template@domain.com>");
+		assertThat(headersOf(sentMessages, "Subject")).containsOnly("fan-out");
+	}
+
+	@Test
+	public void testFanOutUsesTemplateEnvelopeForOverrideReceivers()
+			throws MessagingException {
+		TransportRunner.sendFanOut(CLUSTER_KEY, session, FanOutMessageTest.fanOutTemplate(), recipients("r0", "r1"), true, this::handleResult);
+
+		final List<StubTransport.SentMessage> sentMessages = StubTransport.getInstances().get(0).getSentMessages();
+		assertThat(headersOf(sentMessages, "To")).containsExactly("r0@domain.com", "r1@domain.com");
+		assertThat(envelopesOf(sentMessages)).containsExactly("[template@domain.com]", "[template@domain.com]");
+	}
+
+	@Test
+	public void testFanOutReportsFailuresPerRecipient()
+			throws MessagingException {
+		StubTransport.failWhenSendingTo("r1@domain.com", false);
+		StubTransport.failWhenSendingTo("r3@domain.com", true);
+
+		TransportRunner.sendFanOut(CLUSTER_KEY, session, FanOutMessageTest.fanOutTemplate(), recipients("r0", "r1", "r2", "r3", "r4"), false,
+				this::handleResult);
+
+		assertThat(reportedIndexes).containsExactly(0, 1, 2, 3, 4);
+		assertThat(reportedFailures.get(1)).hasMessage("failed sending to r1@domain.com");
+		assertThat(reportedFailures.get(3)).hasMessage("failed sending to r3@domain.com");
+		assertThat(reportedFailures).filteredOn(failure -> failure != null).hasSize(2);
+		assertThat(StubTransport.getInstances()).hasSize(2);
+		assertThat(headersOf(StubTransport.getInstances().get(0).getSentMessages(), "To")).containsExactly("r0@domain.com", "r2@domain.com");
+		assertThat(headersOf(StubTransport.getInstances().get(1).getSentMessages(), "To")).containsExactly("r4@domain.com");
+	}
+
+	private void handleResult(final int index, final Exception failure) {
+		reportedIndexes.add(index);
+		reportedFailures.add(failure);
+	}
+
+	private static void sendEmail(final Transport transport, final Session actualSessionUsed, final int index)
+			throws MessagingException {
+		final MimeMessage message = new MimeMessage(actualSessionUsed);
+		message.setSubject("email " + index);
+		message.setText("body " + index);
+		message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress("receiver@domain.com"));
+		transport.sendMessage(message, message.getAllRecipients());
+	}
+
+	private static List<InternetAddress> recipients(final String... names)
+			throws AddressException {
+		final List<InternetAddress> recipients = new ArrayList<>();
+		for (final String name : names) {
+			recipients.add(new InternetAddress(name + "@domain.com"));
+		}
+		return recipients;
+	}
+
+	private static List<String> headersOf(final List<StubTransport.SentMessage> sentMessages, final String headerName)
+			throws MessagingException {
+		final List<String> headers = new ArrayList<>();
+		for (final StubTransport.SentMessage sentMessage : sentMessages) {
+			headers.add(sentMessage.getMessage().getHeader(headerName, null));
+		}
+		return headers;
+	}
+
+	private static List<String> envelopesOf(final List<StubTransport.SentMessage> sentMessages) {
+		final List<String> envelopes = new ArrayList<>();
+		for (final StubTransport.SentMessage sentMessage : sentMessages) {
+			envelopes.add(sentMessage.getEnvelopeRecipients().toString());
+		}
+		return envelopes;
+	}
+
+	private static List<String> subjectsSentOver(final StubTransport transport) {
+		final List<String> subjects = new ArrayList<>();
+		for (final StubTransport.SentMessage sentMessage : transport.getSentMessages()) {
+			try {
+				subjects.add(sentMessage.getSubject());
+			} catch (final MessagingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return subjects;
+	}
+}
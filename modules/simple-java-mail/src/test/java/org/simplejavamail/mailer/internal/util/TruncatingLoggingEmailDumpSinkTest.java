@@ -0,0 +1,56 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.EmailDumpSinks;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TruncatingLoggingEmailDumpSinkTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Test
+	public void testTruncatesAttachmentBodiesOnly()
+			throws Exception {
+		final byte[] largeAttachment = new byte[1024 * 1024];
+		Arrays.fill(largeAttachment, (byte) 'x');
+
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(EmailBuilder.startingBlank()
+				.from("from@example.com")
+				.to("to@example.com")
+				.withSubject("subject")
+				.withPlainText("the plain text body")
+				.withAttachment("large.bin", largeAttachment, "application/octet-stream")
+				.withAttachment("small.txt", "small".getBytes(UTF_8), "text/plain")
+				.buildEmailCompletedWithDefaultsAndOverrides(), SESSION);
+		message.saveChanges();
+
+		final String rendered = TruncatingLoggingEmailDumpSink.renderTruncated(message, 100);
+
+		assertThat(rendered).hasSizeLessThan(10_000);
+		assertThat(rendered).contains("Subject: subject", "the plain text body", "[... truncated after 100 bytes]");
+		assertThat(rendered).containsOnlyOnce("[... truncated");
+		assertThat(rendered).contains("small.txt", "\r\n\r\nsmall\r\n");
+
+		// still parses as an email with all its parts
+		final MimeMessage parsed = new MimeMessage(SESSION, new ByteArrayInputStream(rendered.getBytes(UTF_8)));
+		assertThat(parsed.getSubject()).isEqualTo("subject");
+	}
+
+	@Test
+	public void testRejectsNegativeBudget() {
+		assertThatThrownBy(() -> EmailDumpSinks.toLog(-1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("attachmentBodyBudget should not be negative, but was -1");
+	}
+}
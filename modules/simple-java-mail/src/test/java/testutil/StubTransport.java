@@ -0,0 +1,191 @@
+package testutil;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Transport that records the messages sent over it rather than sending them, and that can be told to fail sending certain messages (by subject
+ * or envelope recipient), optionally losing the connection, or to refuse new connections. Sessions from {@link #newSession()} use it for the smtp protocol.
+ * <p>
+ * The behaviour is configured statically, as Jakarta Mail creates the transports, so call {@link #reset()} before every test.
+ */
+public class StubTransport extends Transport {
+
+	private static final Provider PROVIDER = new Provider(Provider.Type.TRANSPORT, "smtp", StubTransport.class.getName(), "Simple Java Mail", "test");
+
+	private static final List<StubTransport> INSTANCES = new CopyOnWriteArrayList<>();
+	/**
+	 * Subjects of messages that fail to send, mapped to whether the connection is lost as well.
+	 */
+	private static final Map<String, Boolean> FAILING_SUBJECTS = new ConcurrentHashMap<>();
+	/**
+	 * Envelope recipients that fail to be sent to, mapped to whether the connection is lost as well.
+	 */
+	private static final Map<String, Boolean> FAILING_RECIPIENTS = new ConcurrentHashMap<>();
+	private static final AtomicInteger CONNECT_COUNT = new AtomicInteger();
+	private static volatile int maximumConnects = Integer.MAX_VALUE;
+
+	private final List<SentMessage> sentMessages = new CopyOnWriteArrayList<>();
+	private volatile boolean closed;
+
+	public StubTransport(final Session session, final URLName urlname) {
+		super(session, urlname);
+		INSTANCES.add(this);
+	}
+
+	@NotNull
+	public static Session newSession()
+			throws NoSuchProviderException {
+		final Session session = Session.getInstance(new Properties());
+		install(session);
+		return session;
+	}
+
+	/**
+	 * Makes an existing Session, such as that of a Mailer, use this transport for the smtp protocol.
+	 */
+	public static void install(@NotNull final Session session)
+			throws NoSuchProviderException {
+		session.setProvider(PROVIDER);
+	}
+
+	public static void reset() {
+		INSTANCES.clear();
+		FAILING_SUBJECTS.clear();
+		FAILING_RECIPIENTS.clear();
+		CONNECT_COUNT.set(0);
+		maximumConnects = Integer.MAX_VALUE;
+	}
+
+	public static void failWhenSending(@NotNull final String subject, final boolean loseConnection) {
+		FAILING_SUBJECTS.put(subject, loseConnection);
+	}
+
+	public static void failWhenSendingTo(@NotNull final String address, final boolean loseConnection) {
+		FAILING_RECIPIENTS.put(address, loseConnection);
+	}
+
+	/**
+	 * Connecting fails once the given number of connections were made.
+	 */
+	public static void refuseConnectionsAfter(final int connects) {
+		maximumConnects = connects;
+	}
+
+	/**
+	 * @return The transports created so far, in order of creation.
+	 */
+	@NotNull
+	public static List<StubTransport> getInstances() {
+		return INSTANCES;
+	}
+
+	@Override
+	protected boolean protocolConnect(final String host, final int port, final String user, final String password)
+			throws MessagingException {
+		if (CONNECT_COUNT.incrementAndGet() > maximumConnects) {
+			throw new MessagingException("connection refused");
+		}
+		return true;
+	}
+
+	@Override
+	public void sendMessage(final Message message, final Address[] addresses)
+			throws MessagingException {
+		if (!isConnected()) {
+			throw new IllegalStateException("not connected");
+		}
+		final Boolean loseConnection = FAILING_SUBJECTS.get(message.getSubject());
+		if (loseConnection != null) {
+			if (loseConnection) {
+				setConnected(false);
+			}
+			throw new MessagingException("failed sending " + message.getSubject());
+		}
+		for (final Address address : addresses) {
+			final Boolean loseConnectionForRecipient = FAILING_RECIPIENTS.get(((InternetAddress) address).getAddress());
+			if (loseConnectionForRecipient != null) {
+				if (loseConnectionForRecipient) {
+					setConnected(false);
+				}
+				throw new MessagingException("failed sending to " + ((InternetAddress) address).getAddress());
+			}
+		}
+		sentMessages.add(new SentMessage(asWritten(message), asList(addresses)));
+	}
+
+	@Override
+	public synchronized void close()
+			throws MessagingException {
+		closed = true;
+		super.close();
+	}
+
+	@NotNull
+	private MimeMessage asWritten(@NotNull final Message message)
+			throws MessagingException {
+		try {
+			final ByteArrayOutputStream os = new ByteArrayOutputStream();
+			message.writeTo(os);
+			return new MimeMessage(session, new ByteArrayInputStream(os.toByteArray()));
+		} catch (final IOException e) {
+			throw new MessagingException("failed writing message", e);
+		}
+	}
+
+	@NotNull
+	public List<SentMessage> getSentMessages() {
+		return sentMessages;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * A message as it was written to the transport, with the envelope recipients it was sent to.
+	 */
+	public static class SentMessage {
+		private final MimeMessage message;
+		private final List<Address> envelopeRecipients;
+
+		SentMessage(final MimeMessage message, final List<Address> envelopeRecipients) {
+			this.message = message;
+			this.envelopeRecipients = envelopeRecipients;
+		}
+
+		public MimeMessage getMessage() {
+			return message;
+		}
+
+		public String getSubject()
+				throws MessagingException {
+			return message.getSubject();
+		}
+
+		public List<Address> getEnvelopeRecipients() {
+			return envelopeRecipients;
+		}
+	}
+}